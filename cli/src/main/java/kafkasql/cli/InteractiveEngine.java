@@ -26,6 +26,14 @@ public class InteractiveEngine extends KafkaSqlEngine {
             .add(new StreamRecord(typeName, value));
     }
     
+    @Override
+    protected void writeRecords(Name streamName, String typeName, List<StructValue> values) {
+        List<StreamRecord> records = streams.computeIfAbsent(streamName, k -> new ArrayList<>());
+        for (StructValue value : values) {
+            records.add(new StreamRecord(typeName, value));
+        }
+    }
+    
     @Override
     protected List<StreamRecord> readRecords(Name streamName) {
         return streams.getOrDefault(streamName, List.of());
@@ -1,5 +1,6 @@
 package kafkasql.cli;
 
+import kafkasql.engine.metrics.MetricsRegistry;
 import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.runtime.value.StructValue;
 
@@ -19,6 +20,7 @@ public class InteractiveRepl {
     private StringBuilder multilineBuffer;
     private boolean inMultilineMode;
     private String currentContext = "(global)"; // Track current context for prompt
+    private MetricsRegistry profile;            // Non-null while .profile is on
     
     public InteractiveRepl() {
         this.engine = new InteractiveEngine();
@@ -86,6 +88,7 @@ public class InteractiveRepl {
         System.out.println("    .help     - Show this help");
         System.out.println("    .clear    - Clear all data and reset state");
         System.out.println("    .streams  - List all streams");
+        System.out.println("    .profile  - Toggle per-statement timing profile");
         System.out.println("    .exit     - Exit the shell");
         System.out.println();
         System.out.println("  Use \\ at end of line for multi-line statements");
@@ -117,6 +120,12 @@ public class InteractiveRepl {
                 System.out.println("✓ All data cleared");
                 return true;
             }
+            case ".profile" -> {
+                profile = profile == null ? new MetricsRegistry() : null;
+                engine.setMetrics(profile);
+                System.out.println("✓ Profiling " + (profile != null ? "on" : "off"));
+                return true;
+            }
             case ".streams" -> {
                 // Get declared streams from persistent symbol table
                 var symbolTable = engine.getSymbolTable();
@@ -155,6 +164,9 @@ public class InteractiveRepl {
         try {
             // Clear any cached results from previous statement
             engine.clearResults();
+            if (profile != null) {
+                profile.reset();
+            }
             
             // Build incremental script with context prefix
             String script = buildIncrementalScript(statement);
@@ -197,6 +209,13 @@ public class InteractiveRepl {
                 System.out.println(msg);
             }
             
+            if (profile != null) {
+                System.out.println("Profile:");
+                for (String line : profile.snapshot().format()) {
+                    System.out.println("  " + line);
+                }
+            }
+            
         } catch (Exception e) {
             System.err.println();
             System.err.println("Error: " + e.getMessage());
@@ -0,0 +1,152 @@
+package kafkasql.engine;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import kafkasql.engine.KafkaSqlEngine.StreamListener;
+import kafkasql.engine.KafkaSqlEngine.StreamRecord;
+
+/**
+ * A running {@code READ ... FOLLOW} query.
+ * <p>
+ * Delivers the stream's history and then every new record to a sink,
+ * applying schema resolution, WHERE and projection record by record:
+ * <pre>{@code
+ * try (var query = engine.subscribe(
+ *         "READ FOLLOW FROM com.Events TYPE Customer Id, Name WHERE Id > 100;",
+ *         record -> System.out.println(record.value()))) {
+ *     ...
+ * }
+ * }</pre>
+ * When a schema marker for a selected type arrives, the query is
+ * re-bound against the current symbol table before the next record, so
+ * later records are read with the altered schema without restarting.
+ * <p>
+ * Windowed aggregates emit one row per group as each window closes;
+ * windows still open when the query is closed are discarded.
+ * <p>
+ * The sink is called on the backend's delivery thread. A failure in the
+ * sink or while re-binding closes the query; see {@link #failure()}.
+ *
+ * @see KafkaSqlEngine#subscribe(String, Consumer)
+ */
+public final class ContinuousQuery implements AutoCloseable {
+
+    private final KafkaSqlEngine engine;
+    private final String text;
+    private final Consumer<StreamRecord> sink;
+    private volatile ReadPipeline pipeline;
+    private volatile boolean stale;       // Schema marker seen, re-bind before next record
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+    private AutoCloseable source;
+
+    ContinuousQuery(
+        KafkaSqlEngine engine,
+        String text,
+        ReadPipeline pipeline,
+        Consumer<StreamRecord> sink
+    ) {
+        this.engine = engine;
+        this.text = text;
+        this.pipeline = pipeline;
+        this.sink = sink;
+    }
+
+    /**
+     * Start delivery from the backend. Records may arrive before this returns.
+     */
+    void start() {
+        AutoCloseable handle = engine.followRecords(pipeline.stream(), new Listener());
+        synchronized (this) {
+            source = handle;
+        }
+        if (closed) {
+            closeSource();
+        }
+    }
+
+    /**
+     * The statement text this query was started from.
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Returns true once the query has been closed or has failed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * The error that stopped the query, if any.
+     */
+    public Optional<RuntimeException> failure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /**
+     * Stop following the stream and release the backend subscription.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeSource();
+    }
+
+    private void closeSource() {
+        AutoCloseable handle;
+        synchronized (this) {
+            handle = source;
+            source = null;
+        }
+        if (handle == null) {
+            return;
+        }
+        try {
+            handle.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to stop continuous query: " + text, e);
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        failure = e;
+        closed = true;
+        try {
+            closeSource();
+        } catch (RuntimeException closeError) {
+            e.addSuppressed(closeError);
+        }
+    }
+
+    private final class Listener implements StreamListener {
+
+        @Override
+        public synchronized void onRecord(StreamRecord record) {
+            if (closed) {
+                return;
+            }
+            try {
+                if (stale) {
+                    stale = false;
+                    ReadPipeline next = engine.compileFollow(text);
+                    next.adoptState(pipeline);
+                    pipeline = next;
+                }
+                pipeline.accept(record, sink);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onSchemaMarker(String typeName) {
+            if (pipeline.selects(typeName)) {
+                stale = true;
+            }
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package kafkasql.engine;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+import kafkasql.engine.metrics.EngineMetrics;
+import kafkasql.engine.metrics.MetricsRegistry;
+import kafkasql.engine.metrics.Phase;
 import kafkasql.lang.KafkaSqlParser;
 import kafkasql.lang.KafkaSqlArgs;
 import kafkasql.lang.ParseResult;
@@ -16,6 +26,9 @@ import kafkasql.lang.input.Input;
 import kafkasql.lang.input.StringInput;
 import kafkasql.lang.semantic.BindingEnv;
 import kafkasql.lang.semantic.SemanticModel;
+import kafkasql.lang.semantic.bind.ParameterBinder;
+import kafkasql.lang.semantic.bind.ParameterValues;
+import kafkasql.lang.semantic.symbol.DependencyGraph;
 import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.lang.syntax.ast.Script;
 import kafkasql.lang.syntax.ast.stmt.*;
@@ -24,6 +37,8 @@ import kafkasql.lang.syntax.ast.show.ShowTarget;
 import kafkasql.lang.syntax.ast.literal.StructLiteralNode;
 import kafkasql.runtime.Name;
 import kafkasql.runtime.diagnostics.Range;
+import kafkasql.runtime.jfr.PipelinePhaseEvent;
+import kafkasql.runtime.jfr.StatementEvent;
 import kafkasql.runtime.type.SchemaResolver;
 import kafkasql.runtime.type.StructType;
 import kafkasql.runtime.value.StructValue;
@@ -45,12 +60,19 @@ import kafkasql.runtime.value.StructValue;
  */
 public abstract class KafkaSqlEngine {
     
-    private SemanticModel lastModel;
-    protected String currentContextName = null; // Track current context for SHOW filtering
-    private SymbolTable symbolTable;             // Persistent symbol table (null = ephemeral mode)
+    private final Session session = new Session(this); // The engine's own session, reported through the handle* hooks
+    private volatile SymbolTable symbolTable;    // Persistent symbol table (null = ephemeral mode)
+    private volatile SymbolTable snapshot;       // Last committed version of symbolTable, shared by DML
+    private final ReentrantLock ddlLock = new ReentrantLock(); // Serializes DDL against symbolTable
+    private final PlanCache planCache = new PlanCache(256); // Bound DML plans (persistent mode only)
+    private final ReadPlanCache readPlans = new ReadPlanCache(1024); // Read resolution plans, across READs
+    private final Map<Name, List<StreamListener>> followers = new ConcurrentHashMap<>(); // In-process READ FOLLOW listeners
     private ModelChangeListener changeListener;  // Notified on DDL mutations
     private ModelDropListener dropListener;      // Notified on DDL drops
     private ModelAlterListener alterListener;    // Notified on DDL alters
+    private ModelBatchListener batchListener;    // Brackets the notifications of one script
+    private volatile EngineMetrics metrics = EngineMetrics.NONE; // Phase timings and stream traffic
+    private final ThreadLocal<QueryPlan.ByteCounter> analyzing = new ThreadLocal<>(); // Set during EXPLAIN ANALYZE
     
     /**
      * Set a persistent symbol table for the engine.
@@ -61,11 +83,23 @@ public abstract class KafkaSqlEngine {
      * <p>
      * When null (default), the engine creates a fresh symbol table per call
      * (ephemeral mode — backward compatible).
+     * <p>
+     * DDL mutates the table under a lock and then publishes a read-only
+     * {@linkplain SymbolTable#snapshot snapshot}; READ and WRITE bind
+     * against the latest snapshot without locking, so sessions opened
+     * with {@link #openSession} can execute concurrently.
      *
      * @param symbolTable Persistent symbol table, or null for ephemeral mode
      */
     public void setSymbolTable(SymbolTable symbolTable) {
-        this.symbolTable = symbolTable;
+        ddlLock.lock();
+        try {
+            this.symbolTable = symbolTable;
+            this.snapshot = symbolTable != null ? symbolTable.snapshot() : null;
+            planCache.clear(); // Plans are bound to a specific table
+        } finally {
+            ddlLock.unlock();
+        }
     }
     
     /**
@@ -106,18 +140,99 @@ public abstract class KafkaSqlEngine {
         this.alterListener = listener;
     }
     
+    /**
+     * Set a listener that brackets the CREATE, DROP and ALTER
+     * notifications of each executed script, so they can be persisted
+     * as one unit.
+     *
+     * @param listener Batch listener, or null to notify change by change
+     */
+    public void setModelBatchListener(ModelBatchListener listener) {
+        this.batchListener = listener;
+    }
+    
+    /**
+     * Run a change to the persistent symbol table made outside DDL
+     * execution, e.g. by a follower of the model event log.
+     * <p>
+     * The change is serialized against DDL and published to READ and
+     * WRITE once it completes, so it can be passed as the applier of
+     * {@code ModelStore.follow}: {@code store.follow(reader, engine::applyModelChange)}.
+     *
+     * @param change Mutates the table set via {@link #setSymbolTable}
+     */
+    public void applyModelChange(Runnable change) {
+        ddlLock.lock();
+        try {
+            change.run();
+            if (symbolTable != null && snapshot.version() != symbolTable.version()) {
+                planCache.clear();
+                publish();
+            }
+        } finally {
+            ddlLock.unlock();
+        }
+    }
+    
+    /**
+     * Set where the engine reports phase timings and stream traffic.
+     * <p>
+     * Defaults to {@link EngineMetrics#NONE}, which the engine checks
+     * before reading the clock, so metrics cost nothing until enabled.
+     *
+     * @param metrics Metrics sink, e.g. a {@link MetricsRegistry}, or null to disable
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics != null ? metrics : EngineMetrics.NONE;
+    }
+    
+    /**
+     * The metrics sink, for backends to report bytes and their own timings.
+     */
+    protected EngineMetrics metrics() {
+        QueryPlan.ByteCounter counter = analyzing.get();
+        return counter != null ? counter : metrics;
+    }
+    
+    /**
+     * Start of a timed phase: the clock if metrics are enabled, else 0.
+     */
+    private long startTimer() {
+        return metrics.enabled() ? System.nanoTime() : 0L;
+    }
+    
+    private void stopTimer(Phase phase, long start) {
+        EngineMetrics m = metrics;
+        if (m.enabled() && start != 0L) {
+            m.time(phase, System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Open a session with its own current context and results.
+     * <p>
+     * Sessions share this engine's symbol table, plan cache and backend;
+     * the backend must be thread-safe for sessions to run concurrently.
+     * Results of a session are kept on it and not passed to the
+     * {@code handle*Result} hooks, which only serve the engine's own
+     * {@link #execute} calls.
+     */
+    public Session openSession() {
+        return new Session(this);
+    }
+    
     /**
      * Set the current context name for contextual SHOW commands.
      */
     public void setCurrentContext(String contextName) {
-        this.currentContextName = contextName;
+        session.setCurrentContext(contextName);
     }
     
     /**
      * Get the current context name.
      */
     public String getCurrentContext() {
-        return currentContextName;
+        return session.getCurrentContext();
     }
     
     /**
@@ -142,17 +257,234 @@ public abstract class KafkaSqlEngine {
      * @throws RuntimeException if parsing/binding fails or execution error
      */
     public void executeAll(String... scripts) {
-        // Build inputs and source map for statement text extraction
+        executeAll(session, List.of(scripts));
+    }
+    
+    void executeAll(Session session, List<String> scripts) {
+        executePlan(session, plan(session, scripts), ParameterValues.NONE);
+    }
+    
+    /**
+     * Prepare a READ/WRITE script for repeated execution.
+     * <p>
+     * The script is parsed and bound once; each execution of the returned
+     * statement skips the front end and only substitutes parameter values.
+     * Requires a persistent symbol table, since the statements reference
+     * types declared by earlier scripts.
+     * 
+     * @param script KafkaSQL source containing only READ/WRITE statements
+     * @return A statement that can be executed with parameter values
+     * @throws IllegalStateException if the engine is in ephemeral mode
+     * @throws IllegalArgumentException if the script contains DDL
+     * @throws RuntimeException if parsing/binding fails
+     */
+    public PreparedStatement prepare(String script) {
+        return prepare(session, script);
+    }
+    
+    PreparedStatement prepare(Session session, String script) {
+        if (symbolTable == null) {
+            throw new IllegalStateException(
+                "Prepared statements require a persistent symbol table");
+        }
+        List<String> key = List.of(script);
+        SymbolTable symbols = currentSnapshot();
+        Plan plan = planCache.get(key, symbols.version());
+        if (plan == null) {
+            // Reject DDL before binding so preparing never mutates the model
+            ParseResult parseResult = parse(key);
+            if (!Plan.isDml(parseResult)) {
+                throw new IllegalArgumentException(
+                    "Only READ and WRITE statements can be prepared");
+            }
+            plan = bindDml(key, parseResult, symbols);
+        }
+        return new PreparedStatement(session, script, plan);
+    }
+    
+    /**
+     * Returns the cache of bound DML plans, for inspecting hit/miss counters.
+     */
+    public PlanCache getPlanCache() {
+        return planCache;
+    }
+    
+    /**
+     * Returns the cache of read resolution plans.
+     */
+    ReadPlanCache readPlanCache() {
+        return readPlans;
+    }
+    
+    /**
+     * Start a continuous {@code READ FOLLOW} query.
+     * <p>
+     * The sink first receives the matching history of the stream, then
+     * each new matching record as it is written, until the returned query
+     * is closed. Schema resolution, WHERE and projection are applied per
+     * record; schema markers re-bind the query against the current
+     * symbol table. Requires a persistent symbol table.
+     * 
+     * @param query A single {@code READ FOLLOW} statement
+     * @param sink Receives resolved, filtered and projected records
+     * @return The running query
+     * @throws IllegalStateException if the engine is in ephemeral mode
+     * @throws IllegalArgumentException if the script is not a single READ FOLLOW
+     * @throws RuntimeException if parsing/binding fails
+     */
+    public ContinuousQuery subscribe(String query, Consumer<StreamRecord> sink) {
+        if (symbolTable == null) {
+            throw new IllegalStateException(
+                "Continuous queries require a persistent symbol table");
+        }
+        ContinuousQuery continuous = new ContinuousQuery(this, query, compileFollow(query), sink);
+        continuous.start();
+        return continuous;
+    }
+    
+    /**
+     * Parse and bind a READ FOLLOW statement against the current symbol
+     * table. Leaves the plan cache and last model untouched, since it is
+     * also called to re-bind a running query while other scripts execute.
+     */
+    ReadPipeline compileFollow(String query) {
+        ParseResult parseResult = parse(List.of(query));
+        List<Stmt> statements = parseResult.scripts().stream()
+            .flatMap(script -> script.statements().stream())
+            .toList();
+        if (statements.size() != 1
+                || !(statements.get(0) instanceof ReadStmt read)
+                || read.mode() != ReadMode.FOLLOW) {
+            throw new IllegalArgumentException(
+                "Continuous queries must be a single READ FOLLOW statement");
+        }
+        
+        SemanticModel model = KafkaSqlParser.bind(parseResult, currentSnapshot());
+        if (model.hasErrors()) {
+            String errorDetails = model.diags().errors().stream()
+                .map(Object::toString)
+                .reduce((a, b) -> a + "\n" + b)
+                .orElse("Unknown semantic error");
+            throw new RuntimeException("Semantic errors:\n" + errorDetails);
+        }
+        return ReadPipeline.compile(read, model.bindings(), ParameterValues.NONE, readPlans);
+    }
+    
+    /**
+     * Execute a prepared plan, re-binding it first if DDL has changed the
+     * symbol table since it was bound. Returns the plan that was executed.
+     */
+    Plan executePrepared(Session session, String script, Plan plan, ParameterValues values) {
+        if (plan.symbolVersion() != currentSnapshot().version()) {
+            plan = plan(session, List.of(script));
+        }
+        session.setLastModel(plan.model());
+        executePlan(session, plan, values);
+        return plan;
+    }
+    
+    /**
+     * The latest committed version of the persistent symbol table.
+     * <p>
+     * Never waits for DDL: while a DDL script holds {@code ddlLock} its
+     * changes are uncommitted, so the published snapshot is the answer.
+     * Otherwise republishes if the table was changed other than through
+     * DDL execution, e.g. by replaying an event log into it.
+     */
+    SymbolTable currentSnapshot() {
+        SymbolTable published = snapshot;
+        if (published.version() != symbolTable.version() && ddlLock.tryLock()) {
+            try {
+                published = publish();
+            } finally {
+                ddlLock.unlock();
+            }
+        }
+        return published;
+    }
+    
+    /**
+     * Make the current state of the symbol table visible to DML. Must
+     * hold {@code ddlLock}.
+     */
+    private SymbolTable publish() {
+        if (snapshot.version() != symbolTable.version()) {
+            snapshot = symbolTable.snapshot();
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Parse and bind scripts, reusing a cached plan for repeated DML.
+     * <p>
+     * In persistent mode, DML binds against the published snapshot
+     * without locking and DDL binds against the symbol table under
+     * {@code ddlLock}. In ephemeral mode every call binds against a
+     * fresh symbol table.
+     */
+    private Plan plan(Session session, List<String> scripts) {
+        if (symbolTable == null) {
+            Plan plan = bind(scripts, parse(scripts));
+            session.setLastModel(plan.model());
+            return plan;
+        }
+        
+        SymbolTable symbols = currentSnapshot();
+        Plan plan = planCache.get(scripts, symbols.version());
+        if (plan == null) {
+            ParseResult parseResult = parse(scripts);
+            if (Plan.isDml(parseResult)) {
+                plan = bindDml(scripts, parseResult, symbols);
+            } else {
+                ddlLock.lock();
+                try {
+                    plan = bind(scripts, parseResult);
+                } finally {
+                    ddlLock.unlock();
+                }
+            }
+        }
+        session.setLastModel(plan.model());
+        return plan;
+    }
+    
+    /**
+     * Bind READ/WRITE scripts against a snapshot and cache the plan.
+     */
+    private Plan bindDml(List<String> scripts, ParseResult parseResult, SymbolTable symbols) {
+        SemanticModel model = bindScripts(parseResult, symbols);
+        if (model.hasErrors()) {
+            String errorDetails = model.diags().errors().stream()
+                .map(Object::toString)
+                .reduce((a, b) -> a + "\n" + b)
+                .orElse("Unknown semantic error");
+            throw new RuntimeException("Semantic errors:\n" + errorDetails);
+        }
+        Plan plan = new Plan(parseResult, model, symbols.version());
+        planCache.put(scripts, plan);
+        return plan;
+    }
+    
+    private ParseResult parse(List<String> scripts) {
+        // Build inputs for the parser
         List<Input> inputs = new ArrayList<>();
-        Map<String, String> sourceMap = new HashMap<>();
-        for (int i = 0; i < scripts.length; i++) {
+        for (int i = 0; i < scripts.size(); i++) {
             String sourceName = "script" + i + ".kafka";
-            inputs.add(new StringInput(sourceName, scripts[i]));
-            sourceMap.put(sourceName, scripts[i]);
+            inputs.add(new StringInput(sourceName, scripts.get(i)));
         }
         
         KafkaSqlArgs args = new KafkaSqlArgs(Path.of(""), false, false);
+        PipelinePhaseEvent event = new PipelinePhaseEvent();
+        event.begin();
+        long start = startTimer();
         ParseResult parseResult = KafkaSqlParser.parse(inputs, args);
+        stopTimer(Phase.PARSE, start);
+        if (event.shouldCommit()) {
+            event.phase = "PARSE";
+            event.inputs = inputs.size();
+            event.errors = parseResult.diags().errors().size();
+            event.commit();
+        }
         
         if (parseResult.diags().hasError()) {
             String errorDetails = parseResult.diags().errors().stream()
@@ -161,23 +493,36 @@ public abstract class KafkaSqlEngine {
                 .orElse("Unknown parse error");
             throw new RuntimeException("Parse errors:\n" + errorDetails);
         }
+        return parseResult;
+    }
+    
+    private Plan bind(List<String> scripts, ParseResult parseResult) {
+        // Source map for statement text extraction
+        Map<String, String> sourceMap = new HashMap<>();
+        for (int i = 0; i < scripts.size(); i++) {
+            sourceMap.put("script" + i + ".kafka", scripts.get(i));
+        }
         
         // Determine symbol table mode
         boolean persistent = (symbolTable != null);
         SymbolTable symbols = persistent ? symbolTable : new SymbolTable();
-        Set<Name> beforeKeys = persistent ? new HashSet<>(symbols._decl.keySet()) : Set.of();
+        int mark = persistent ? symbols.mark() : 0;
+        long beforeVersion = symbols.version();
         
-        SemanticModel model = KafkaSqlParser.bind(parseResult, symbols);
-        lastModel = model; // Store for inspection
+        SemanticModel model;
+        try {
+            model = bindScripts(parseResult, symbols);
+        } catch (RuntimeException e) {
+            if (persistent) {
+                rollback(mark);
+            }
+            throw e;
+        }
         
         if (model.hasErrors()) {
-            // Rollback: remove any newly registered symbols in persistent mode
+            // Rollback: undo every registration, replacement and removal
             if (persistent) {
-                Set<Name> toRemove = new HashSet<>(symbols._decl.keySet());
-                toRemove.removeAll(beforeKeys);
-                for (Name key : toRemove) {
-                    symbols._decl.remove(key);
-                }
+                rollback(mark);
             }
             
             String errorDetails = model.diags().errors().stream()
@@ -187,44 +532,118 @@ public abstract class KafkaSqlEngine {
             throw new RuntimeException("Semantic errors:\n" + errorDetails);
         }
         
-        // Detect and notify new symbols in persistent mode
-        if (persistent && changeListener != null) {
-            Set<Name> newKeys = new HashSet<>(symbols._decl.keySet());
-            newKeys.removeAll(beforeKeys);
-            if (!newKeys.isEmpty()) {
-                notifyNewSymbols(newKeys, symbols, parseResult, sourceMap);
+        if (persistent) {
+            Set<Name> newKeys = symbols.registeredSince(mark);
+            Set<Name> droppedKeys = symbols.removedSince(mark);
+            
+            // All notifications of the script form one unit of work; the
+            // mark stays open until it is persisted
+            try {
+                beginBatch();
+                try {
+                    // Notify new and dropped symbols in persistent mode
+                    long listenerStart = startTimer();
+                    if (changeListener != null && !newKeys.isEmpty()) {
+                        notifyNewSymbols(newKeys, symbols, parseResult, sourceMap);
+                    }
+                    if (dropListener != null && !droppedKeys.isEmpty()) {
+                        notifyDroppedSymbols(droppedKeys, parseResult, sourceMap);
+                    }
+                    stopTimer(Phase.LISTENER, listenerStart);
+                    
+                    // Detect ALTER TYPE statements and write schema-change markers
+                    // to every stream that references the altered type.
+                    long markerStart = startTimer();
+                    notifyAlteredTypes(symbols, parseResult, sourceMap);
+                    stopTimer(Phase.MARKER, markerStart);
+                } catch (RuntimeException e) {
+                    if (batchListener != null) {
+                        batchListener.onBatchAbort();
+                    }
+                    throw e;
+                }
+                commitBatch();
+            } catch (RuntimeException e) {
+                rollback(mark);
+                throw e;
             }
+            symbols.commit(mark);
         }
         
-        // Detect and notify dropped symbols in persistent mode
-        if (persistent && dropListener != null) {
-            Set<Name> droppedKeys = new HashSet<>(beforeKeys);
-            droppedKeys.removeAll(symbols._decl.keySet());
-            if (!droppedKeys.isEmpty()) {
-                notifyDroppedSymbols(droppedKeys, parseResult, sourceMap);
-            }
+        Plan plan = new Plan(parseResult, model, symbols.version());
+        if (persistent && symbols.version() != beforeVersion) {
+            // DDL changed the model: every cached plan is stale
+            planCache.clear();
+            publish();
         }
-        
-        // Detect ALTER TYPE statements and write schema-change markers
-        // to every stream that references the altered type.
-        if (persistent) {
-            notifyAlteredTypes(symbols, parseResult, sourceMap);
+        return plan;
+    }
+    
+    /**
+     * Undo the script's changes to the persistent symbol table and
+     * publish the result. Must hold {@code ddlLock}.
+     */
+    private void rollback(int mark) {
+        symbolTable.rollback(mark);
+        planCache.clear();
+        publish();
+    }
+    
+    private void beginBatch() {
+        if (batchListener == null) {
+            return;
         }
-        
+        try {
+            batchListener.onBatchBegin();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to begin persisting model changes", e);
+        }
+    }
+    
+    private void commitBatch() {
+        if (batchListener == null) {
+            return;
+        }
+        long start = startTimer();
+        try {
+            batchListener.onBatchCommit();
+        } catch (Exception e) {
+            batchListener.onBatchAbort();
+            throw new RuntimeException("Failed to persist model changes", e);
+        }
+        stopTimer(Phase.LISTENER, start);
+    }
+    
+    private SemanticModel bindScripts(ParseResult parseResult, SymbolTable symbols) {
+        PipelinePhaseEvent event = new PipelinePhaseEvent();
+        event.begin();
+        long start = startTimer();
+        SemanticModel model = KafkaSqlParser.bind(parseResult, symbols);
+        stopTimer(Phase.BIND, start);
+        if (event.shouldCommit()) {
+            event.phase = "SEMANTIC";
+            event.inputs = parseResult.scripts().size();
+            event.errors = model.diags().errors().size();
+            event.commit();
+        }
+        return model;
+    }
+    
+    private void executePlan(Session session, Plan plan, ParameterValues params) {
         // Execute statements using bindings
-        BindingEnv bindings = model.bindings();
+        BindingEnv bindings = plan.model().bindings();
         
         // Count total statements to know which is the last one
-        int totalStatements = parseResult.scripts().stream()
+        int totalStatements = plan.scripts().stream()
             .mapToInt(script -> script.statements().size())
             .sum();
         int currentStatement = 0;
         
-        for (Script scriptNode : parseResult.scripts()) {
+        for (Script scriptNode : plan.scripts()) {
             for (Stmt stmt : scriptNode.statements()) {
                 currentStatement++;
                 boolean isLastStatement = (currentStatement == totalStatements);
-                executeStatement(stmt, bindings, isLastStatement);
+                executeStatement(session, stmt, bindings, params, isLastStatement);
             }
         }
     }
@@ -232,112 +651,283 @@ public abstract class KafkaSqlEngine {
     /**
      * Execute a statement using runtime values from bindings.
      */
-    private void executeStatement(Stmt stmt, BindingEnv bindings, boolean captureResults) {
+    private void executeStatement(
+        Session session,
+        Stmt stmt,
+        BindingEnv bindings,
+        ParameterValues params,
+        boolean captureResults
+    ) {
+        StatementEvent event = new StatementEvent();
+        event.begin();
+        long start = startTimer();
+        long records = 0;
         switch (stmt) {
-            case WriteStmt write -> executeWrite(write, bindings);
-            case ReadStmt read -> executeRead(read, bindings, captureResults);
-            case ShowStmt show -> executeShow(show, captureResults);
-            case ExplainStmt explain -> executeExplain(explain, captureResults);
+            case WriteStmt write -> records = executeWrite(write, bindings, params, null);
+            case ReadStmt read -> records = executeRead(session, read, bindings, params, captureResults);
+            case ShowStmt show -> executeShow(session, show, captureResults);
+            case ExplainStmt explain -> executeExplain(session, explain, captureResults);
+            case ExplainQueryStmt explain -> records = executeExplainQuery(session, explain, bindings, params, captureResults);
             default -> {
                 // CREATE and USE statements are handled during binding phase
+                return;
             }
         }
+        stopTimer(Phase.EXECUTE, start);
+        if (event.shouldCommit()) {
+            event.kind = stmt.getClass().getSimpleName();
+            event.stream = switch (stmt) {
+                case WriteStmt write -> write.stream().fullName();
+                case ReadStmt read -> read.stream().fullName();
+                default -> null;
+            };
+            event.records = records;
+            event.commit();
+        }
     }
     
     /**
      * Execute WRITE: Extract StructValues from bindings and store via backend.
+     * <p>
+     * All literals in {@code VALUES(...)} are resolved against the write schema
+     * up front and handed to the backend as a single batch, so the backend can
+     * pipeline the sends and acknowledge them together.
+     * <p>
+     * Under EXPLAIN, {@code plan} receives the Values, Resolve, Write and
+     * Publish operators; the write only runs, and the operators are only
+     * measured, for EXPLAIN ANALYZE.
+     *
+     * @param plan Operator sink for EXPLAIN, else null
      */
-    private void executeWrite(WriteStmt write, BindingEnv bindings) {
+    private int executeWrite(WriteStmt write, BindingEnv bindings, ParameterValues params, QueryPlan plan) {
         Name streamName = Name.of(write.stream().context(), write.stream().name());
         String typeName = write.alias().name();
+        int count = write.values().size();
+        
+        QueryPlan.Operator resolve = null, writeOp = null, publish = null;
+        if (plan != null) {
+            StructType schema = bindings.getOrNull(write, StructType.class);
+            QueryPlan.Operator values = plan.add(0, "Values", count + " row" + (count == 1 ? "" : "s"));
+            resolve = plan.add(1, "Resolve", typeName + " as "
+                + (schema != null ? schema.fqn().fullName() : "(unresolved)") + ", fill defaults");
+            writeOp = plan.add(2, "Write", streamName.fullName() + " (one backend batch)");
+            publish = plan.add(3, "Publish", "to followers of " + streamName.fullName());
+            if (!plan.analyze()) {
+                return 0;
+            }
+            values.rowsOut = count;
+        }
+        boolean profile = plan != null;
+        
+        long resolveStart = startTimer();
+        long start = profile ? System.nanoTime() : 0L;
+        long allocated = profile ? QueryPlan.allocatedBytes() : 0L;
+        List<StructValue> batch = resolveBatch(write, bindings, params);
+        stopTimer(Phase.RESOLVE, resolveStart);
+        if (profile) {
+            resolve.record(count, batch.size(), start, allocated);
+        }
         
+        if (!batch.isEmpty()) {
+            long backendStart = startTimer();
+            start = profile ? System.nanoTime() : 0L;
+            allocated = profile ? QueryPlan.allocatedBytes() : 0L;
+            writeRecords(streamName, typeName, batch);
+            stopTimer(Phase.BACKEND, backendStart);
+            if (profile) {
+                writeOp.record(batch.size(), batch.size(), start, allocated);
+            }
+            metrics.recordsWritten(streamName, batch.size());
+            
+            start = profile ? System.nanoTime() : 0L;
+            allocated = profile ? QueryPlan.allocatedBytes() : 0L;
+            publishRecords(streamName, typeName, batch);
+            if (profile) {
+                publish.record(batch.size(), batch.size(), start, allocated);
+            }
+        }
+        return batch.size();
+    }
+    
+    /**
+     * Resolve the literals of a WRITE against the write schema, with
+     * parameter placeholders filled in.
+     */
+    private List<StructValue> resolveBatch(WriteStmt write, BindingEnv bindings, ParameterValues params) {
         // Get the current schema for this type from the write binding
         StructType schema = bindings.getOrNull(write, StructType.class);
         
         // Each literal in VALUES(...) should be bound to a StructValue
+        List<StructValue> batch = new ArrayList<>(write.values().size());
+        SchemaResolver.WritePlan plan = schema != null ? SchemaResolver.writePlan(schema) : null;
         for (StructLiteralNode literal : write.values()) {
-            Object bound = bindings.get(literal);
+            // Fill in any parameter placeholders from the supplied values
+            Object bound = ParameterBinder.substitute(bindings.get(literal), params);
             if (bound instanceof StructValue structValue) {
                 // Resolve against current schema: fill defaults, strip dropped fields
-                if (schema != null) {
-                    var result = SchemaResolver.resolveWrite(structValue, schema);
+                if (plan != null) {
+                    var result = plan.apply(structValue);
                     if (result.hasError()) {
                         throw new RuntimeException("Write resolution failed: " + result.error());
                     }
                     structValue = result.resolved();
                 }
-                writeRecord(streamName, typeName, structValue);
+                batch.add(structValue);
             } else {
                 throw new RuntimeException("Expected StructValue but got: " + 
                     (bound == null ? "null" : bound.getClass().getName()));
             }
         }
+        return batch;
     }
     
     /**
      * Execute READ: Query stream via backend and apply filters.
      */
-    private void executeRead(ReadStmt read, BindingEnv bindings, boolean captureResults) {
-        Name streamName = Name.of(read.stream().context(), read.stream().name());
+    private long executeRead(
+        Session session,
+        ReadStmt read,
+        BindingEnv bindings,
+        ParameterValues params,
+        boolean captureResults
+    ) {
+        if (read.mode() == ReadMode.FOLLOW) {
+            throw new IllegalStateException(
+                "READ FOLLOW does not terminate; start it with subscribe()");
+        }
         
-        // Get all records from the stream
-        List<StreamRecord> allRecords = readRecords(streamName);
+        ReadPipeline pipeline = ReadPipeline.compile(read, bindings, params, readPlans);
+        List<StreamRecord> results = new ArrayList<>();
+        runRead(read, bindings, pipeline, results::add);
         
-        // Filter by type if specific types are requested
-        List<StreamRecord> filteredRecords;
-        if (read.blocks().isEmpty()) {
-            // No type blocks means read all
-            filteredRecords = allRecords;
-        } else {
-            // Build a map of type name → StructType from bindings for resolution
-            Map<String, StructType> typeSchemas = new HashMap<>();
+        if (captureResults) {
+            reportQueryResult(session, results);
+        }
+        return pipeline.scanned();
+    }
+    
+    /**
+     * Scan a snapshot READ's stream through its pipeline to the end.
+     */
+    private void runRead(ReadStmt read, BindingEnv bindings, ReadPipeline pipeline, Consumer<StreamRecord> results) {
+        Name streamName = pipeline.stream();
+        
+        // Resolve, filter and project record by record as the backend scans
+        Consumer<StreamRecord> emit = record -> pipeline.accept(record, results);
+        
+        if (read.mode() == ReadMode.LATEST) {
+            // Only the latest record per key; WHERE then applies to that value
+            Map<String, List<String>> keyFields = new HashMap<>();
             for (ReadTypeBlock block : read.blocks()) {
-                String typeName = block.alias().name();
-                StructType rowType = bindings.getOrNull(block, StructType.class);
-                if (rowType != null) {
-                    typeSchemas.put(typeName, rowType);
+                @SuppressWarnings("unchecked")
+                List<String> key = bindings.getOrNull(block.alias(), List.class);
+                if (key != null) {
+                    keyFields.put(block.alias().name(), key);
+                }
+            }
+            readLatestRecords(streamName, keyFields).forEach(emit);
+        } else {
+            scanRecords(streamName, emit);
+        }
+        pipeline.finish(results);
+        EngineMetrics m = metrics;
+        if (m.enabled()) {
+            m.recordsRead(streamName, pipeline.scanned());
+            m.rowsFiltered(streamName, pipeline.filtered());
+        }
+    }
+    
+    /**
+     * Execute EXPLAIN [ANALYZE] of a READ or WRITE: describe its physical
+     * operators and, for ANALYZE, run it and report what each one did.
+     * The rows an analyzed READ returns are discarded.
+     */
+    private long executeExplainQuery(
+        Session session,
+        ExplainQueryStmt explain,
+        BindingEnv bindings,
+        ParameterValues params,
+        boolean captureResults
+    ) {
+        QueryPlan plan = new QueryPlan(explain.analyze());
+        QueryPlan.ByteCounter counter = new QueryPlan.ByteCounter(metrics);
+        if (plan.analyze()) {
+            analyzing.set(counter);
+        }
+        long records;
+        try {
+            records = switch (explain.query()) {
+                case ReadStmt read -> explainRead(plan, read, bindings, params);
+                case WriteStmt write -> executeWrite(write, bindings, params, plan);
+                default -> throw new IllegalStateException(
+                    "EXPLAIN of " + explain.query().getClass().getSimpleName());
+            };
+        } finally {
+            analyzing.remove();
+        }
+        if (plan.analyze()) {
+            for (QueryPlan.Operator op : plan.operators()) {
+                if (op.name.equals("Scan")) {
+                    op.bytes = counter.bytesRead;
+                } else if (op.name.equals("Write")) {
+                    op.bytes = counter.bytesWritten;
                 }
             }
-            
-            // Collect requested type names from type blocks
-            java.util.Set<String> requestedTypes = typeSchemas.keySet();
-            
-            // Filter records to only include requested types, resolving schema
-            filteredRecords = allRecords.stream()
-                .filter(record -> requestedTypes.contains(record.typeName()))
-                .map(record -> {
-                    StructType schema = typeSchemas.get(record.typeName());
-                    if (schema != null) {
-                        StructValue resolved = SchemaResolver.resolveRead(
-                            record.value().fields(), schema);
-                        return new StreamRecord(record.typeName(), resolved);
-                    }
-                    return record;
-                })
-                .toList();
         }
-        
-        // TODO: Apply WHERE clauses and projections
         if (captureResults) {
-            handleQueryResult(filteredRecords);
+            reportExplainResult(session, plan.render());
         }
+        return records;
+    }
+    
+    private long explainRead(QueryPlan plan, ReadStmt read, BindingEnv bindings, ParameterValues params) {
+        ReadPipeline pipeline = ReadPipeline.compile(read, bindings, params, readPlans);
+        String pushdown = switch (read.mode()) {
+            case LATEST -> "latest per key, pushed to backend";
+            case FOLLOW -> "follow from end";
+            default -> "full scan";
+        };
+        QueryPlan.Operator scan = plan.add(0, "Scan", read.stream().fullName() + " (" + pushdown + ")");
+        pipeline.explain(plan, 1);
+        if (!plan.analyze()) {
+            return 0;
+        }
+        if (read.mode() == ReadMode.FOLLOW) {
+            throw new IllegalStateException("EXPLAIN ANALYZE cannot run READ FOLLOW, which does not terminate");
+        }
+        
+        long[] rows = { 0 };
+        long start = System.nanoTime();
+        long allocated = QueryPlan.allocatedBytes();
+        runRead(read, bindings, pipeline, record -> rows[0]++);
+        scan.record(0, pipeline.scanned(), start, allocated);
+        
+        // The scan's own share is what the pipeline operators did not spend
+        for (QueryPlan.Operator op : plan.operators()) {
+            if (op != scan) {
+                scan.nanos -= op.nanos;
+                scan.allocated -= op.allocated;
+            }
+        }
+        return pipeline.scanned();
     }
     
     /**
      * Execute SHOW: Display metadata about contexts, types, or streams.
      */
-    private void executeShow(ShowStmt show, boolean captureResults) {
+    private void executeShow(Session session, ShowStmt show, boolean captureResults) {
         if (!captureResults) {
             return; // Don't capture results for replayed statements
         }
         
-        if (lastModel == null) {
-            handleShowResult(List.of("No schema loaded"));
+        SymbolTable symbols = visibleSymbols(session);
+        if (symbols == null) {
+            reportShowResult(session, List.of("No schema loaded"));
             return;
         }
         
         List<String> results = new ArrayList<>();
-        var symbols = lastModel.symbols();
+        String currentContextName = session.getCurrentContext();
         
         switch (show) {
             case ShowCurrentStmt scs -> {
@@ -368,27 +958,28 @@ public abstract class KafkaSqlEngine {
             }
         }
         
-        handleShowResult(results);
+        reportShowResult(session, results);
+    }
+    
+    /**
+     * The symbols SHOW and EXPLAIN see: the published snapshot in
+     * persistent mode, else the table of the session's last script.
+     */
+    private SymbolTable visibleSymbols(Session session) {
+        if (symbolTable != null) {
+            return currentSnapshot();
+        }
+        SemanticModel model = session.getLastModel();
+        return model != null ? model.symbols() : null;
     }
     
     /**
      * Get all declarations of a specific type globally.
      */
     private List<String> getAllOfType(SymbolTable symbols, ShowTarget target) {
-        var predicate = switch (target) {
-            case CONTEXTS -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.ContextDecl);
-            case TYPES -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.TypeDecl);
-            case STREAMS -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.StreamDecl);
-        };
-        
-        var items = symbols._decl.entrySet().stream()
-            .filter(e -> predicate.test(e.getValue()))
-            .map(e -> e.getKey())
-            .sorted((a, b) -> a.fullName().compareTo(b.fullName()))
+        return symbols.namesOf(declKind(target)).stream()
             .map(Name::fullName)
             .toList();
-        
-        return items;
     }
     
     /**
@@ -396,63 +987,46 @@ public abstract class KafkaSqlEngine {
      * Shows only direct children of the context (not nested grandchildren).
      */
     private List<String> getFilteredByContext(SymbolTable symbols, ShowTarget target, Optional<Name> contextFilter) {
-        var predicate = switch (target) {
-            case CONTEXTS -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.ContextDecl);
-            case TYPES -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.TypeDecl);
-            case STREAMS -> (java.util.function.Predicate<Decl>) (d -> d instanceof kafkasql.lang.syntax.ast.decl.StreamDecl);
-        };
-        
-        var items = symbols._decl.entrySet().stream()
-            .filter(e -> predicate.test(e.getValue()))
-            .map(e -> e.getKey())
-            .filter(name -> {
-                String fullName = name.fullName();
-                if (contextFilter.isEmpty()) {
-                    // In global context: show only top-level items (no dots)
-                    return !fullName.contains(".");
-                } else {
-                    // In specific context: show only direct children
-                    String contextPrefix = contextFilter.get().fullName() + ".";
-                    if (!fullName.startsWith(contextPrefix)) {
-                        return false;
-                    }
-                    // Check if it's a direct child (no additional dots after the prefix)
-                    String afterPrefix = fullName.substring(contextPrefix.length());
-                    return !afterPrefix.contains(".");
-                }
-            })
-            .sorted((a, b) -> a.fullName().compareTo(b.fullName()))
+        Class<? extends Decl> kind = declKind(target);
+        return symbols.childrenOf(contextFilter.orElse(Name.ROOT)).stream()
+            .filter(name -> kind.isInstance(symbols._decl.get(name)))
             .map(Name::fullName)
             .toList();
-        
-        return items;
+    }
+    
+    private static Class<? extends Decl> declKind(ShowTarget target) {
+        return switch (target) {
+            case CONTEXTS -> kafkasql.lang.syntax.ast.decl.ContextDecl.class;
+            case TYPES -> kafkasql.lang.syntax.ast.decl.TypeDecl.class;
+            case STREAMS -> kafkasql.lang.syntax.ast.decl.StreamDecl.class;
+        };
     }
     
     /**
      * Execute EXPLAIN: Display the declaration for a symbol.
      */
-    private void executeExplain(ExplainStmt explain, boolean captureResults) {
+    private void executeExplain(Session session, ExplainStmt explain, boolean captureResults) {
         if (!captureResults) {
             return; // Don't capture results for replayed statements
         }
         
-        if (lastModel == null) {
-            handleExplainResult("No schema loaded");
+        SymbolTable symbols = visibleSymbols(session);
+        if (symbols == null) {
+            reportExplainResult(session, "No schema loaded");
             return;
         }
         
         Name name = Name.of(explain.target().context(), explain.target().name());
-        var symbols = lastModel.symbols();
         var decl = symbols._decl.get(name);
         
         if (decl == null) {
-            handleExplainResult("Object not found: " + name.fullName());
+            reportExplainResult(session, "Object not found: " + name.fullName());
             return;
         }
         
         // Format the declaration as a CREATE statement
         String explanation = formatDeclaration(name, decl);
-        handleExplainResult(explanation);
+        reportExplainResult(session, explanation);
     }
     
     /**
@@ -498,6 +1072,25 @@ public abstract class KafkaSqlEngine {
      */
     protected abstract void writeRecord(Name streamName, String typeName, StructValue value);
     
+    /**
+     * Write a batch of records of the same type to the stream backend.
+     * <p>
+     * Called once per WRITE statement with every value from {@code VALUES(...)},
+     * already resolved against the current write schema. The default
+     * implementation delegates to {@link #writeRecord} for each value;
+     * backends with a network round-trip should override this to send the
+     * whole batch asynchronously and wait for all acknowledgements at once.
+     * 
+     * @param streamName Fully qualified stream name
+     * @param typeName Type alias used in the WRITE statement
+     * @param values The runtime struct values to write, in statement order
+     */
+    protected void writeRecords(Name streamName, String typeName, List<StructValue> values) {
+        for (StructValue value : values) {
+            writeRecord(streamName, typeName, value);
+        }
+    }
+    
     /**
      * Read records from the stream backend.
      * 
@@ -506,6 +1099,109 @@ public abstract class KafkaSqlEngine {
      */
     protected abstract List<StreamRecord> readRecords(Name streamName);
     
+    /**
+     * Stream records from the backend to a sink, in stream order.
+     * <p>
+     * Used by scans that keep bounded state (e.g. READ LATEST) so the
+     * full history never has to be materialized. The default delegates
+     * to {@link #readRecords}; backends that can iterate lazily should
+     * override this.
+     * 
+     * @param streamName Fully qualified stream name
+     * @param sink Receives each record in order
+     */
+    protected void scanRecords(Name streamName, Consumer<StreamRecord> sink) {
+        readRecords(streamName).forEach(sink);
+    }
+    
+    /**
+     * Read the last record per distribution key (READ LATEST).
+     * <p>
+     * The default scans the stream once, keeping a hash state keyed by
+     * the encoded distribution key, so memory grows with the number of
+     * distinct keys rather than with history. Records of types without
+     * an entry in {@code keyFields} are skipped. Backends holding a
+     * compacted copy of the stream can override this to read it instead.
+     * 
+     * @param streamName Fully qualified stream name
+     * @param keyFields Type name → DISTRIBUTE BY field names
+     * @return The latest record per key, in order of first appearance
+     */
+    protected List<StreamRecord> readLatestRecords(
+        Name streamName,
+        Map<String, List<String>> keyFields
+    ) {
+        Map<List<Object>, StreamRecord> latest = new LinkedHashMap<>();
+        scanRecords(streamName, record -> {
+            List<String> key = keyFields.get(record.typeName());
+            if (key != null) {
+                latest.put(distributionKey(record, key), record);
+            }
+        });
+        return new ArrayList<>(latest.values());
+    }
+    
+    /**
+     * Encode a record's distribution key for hashing: the type name
+     * followed by each key field value. BYTES values are wrapped so
+     * they compare by content.
+     */
+    protected static List<Object> distributionKey(StreamRecord record, List<String> keyFields) {
+        List<Object> key = new ArrayList<>(keyFields.size() + 1);
+        key.add(record.typeName());
+        for (String field : keyFields) {
+            Object value = record.value().get(field);
+            key.add(value instanceof byte[] bytes ? ByteBuffer.wrap(bytes) : value);
+        }
+        return key;
+    }
+    
+    /**
+     * Deliver a stream's records to a listener until the returned handle
+     * is closed: first the existing history, then new records and schema
+     * markers as they arrive.
+     * <p>
+     * The default serves in-process backends: it scans the history, then
+     * delivers records and markers written through this engine
+     * synchronously on the writing thread. Backends that can be written
+     * to from elsewhere (e.g. Kafka) should override this with a
+     * long-lived consumer.
+     * 
+     * @param streamName Fully qualified stream name
+     * @param listener Receives records and schema markers in stream order
+     * @return A handle that stops delivery when closed
+     */
+    protected AutoCloseable followRecords(Name streamName, StreamListener listener) {
+        scanRecords(streamName, listener::onRecord);
+        List<StreamListener> listeners =
+            followers.computeIfAbsent(streamName, k -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+    
+    private void publishRecords(Name streamName, String typeName, List<StructValue> values) {
+        List<StreamListener> listeners = followers.get(streamName);
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        for (StructValue value : values) {
+            StreamRecord record = new StreamRecord(typeName, value);
+            for (StreamListener listener : listeners) {
+                listener.onRecord(record);
+            }
+        }
+    }
+    
+    private void publishSchemaMarker(Name streamName, String typeName) {
+        List<StreamListener> listeners = followers.get(streamName);
+        if (listeners == null) {
+            return;
+        }
+        for (StreamListener listener : listeners) {
+            listener.onSchemaMarker(typeName);
+        }
+    }
+    
     /**
      * Write a schema-change marker to a stream topic.
      * Called after an ALTER TYPE modifies a type referenced by this stream.
@@ -560,7 +1256,31 @@ public abstract class KafkaSqlEngine {
      * @return The semantic model from the last executeAll() call, or null if not yet executed
      */
     public SemanticModel getLastModel() {
-        return lastModel;
+        return session.getLastModel();
+    }
+    
+    // Results go to the session; the engine's own session also reports
+    // them through the overridable hooks.
+    
+    private void reportQueryResult(Session target, List<StreamRecord> records) {
+        target.setQueryResult(records);
+        if (target == session) {
+            handleQueryResult(records);
+        }
+    }
+    
+    private void reportShowResult(Session target, List<String> results) {
+        target.setShowResult(results);
+        if (target == session) {
+            handleShowResult(results);
+        }
+    }
+    
+    private void reportExplainResult(Session target, String explanation) {
+        target.setExplainResult(explanation);
+        if (target == session) {
+            handleExplainResult(explanation);
+        }
     }
     
     // ========================================================================
@@ -627,7 +1347,8 @@ public abstract class KafkaSqlEngine {
     
     /**
      * Walks the parsed scripts to find ALTER TYPE statements. For each
-     * altered type, locates every stream that references it and writes
+     * altered type, finds the streams that reference it through the
+     * symbol table's dependency graph and writes
      * a schema-change marker to the stream's topic. Collects the marker
      * offsets and persists the ALTER event with stream offset metadata.
      */
@@ -639,31 +1360,39 @@ public abstract class KafkaSqlEngine {
         for (Script script : parseResult.scripts()) {
             for (Stmt stmt : script.statements()) {
                 if (stmt instanceof AlterStmt.AlterType alter) {
-                    String typeName = alter.target().name();
+                    Name target = Name.of(alter.target().context(), alter.target().name());
                     Map<String, Map<Integer, Long>> streamOffsets = new HashMap<>();
-                    // Find all streams that reference this type and write markers
-                    for (var entry : symbols._decl.entrySet()) {
-                        if (entry.getValue() instanceof kafkasql.lang.syntax.ast.decl.StreamDecl sd) {
-                            for (var member : sd.streamTypes()) {
-                                if (member.name().name().equals(typeName)) {
-                                    Name streamName = entry.getKey();
-                                    try {
-                                        Map<Integer, Long> offsets = writeSchemaMarker(streamName, typeName);
-                                        if (!offsets.isEmpty()) {
-                                            streamOffsets.put(streamName.fullName(), offsets);
-                                        }
-                                    } catch (Exception e) {
-                                        throw new RuntimeException(
-                                            "Failed to write schema marker for: " + streamName, e
-                                        );
-                                    }
+                    // Every stream member that reaches the altered type, directly
+                    // or through other types, gets a marker under its alias
+                    DependencyGraph graph = symbols.dependencies();
+                    Set<Name> affected = graph.transitiveDependentsOf(target);
+                    Set<Name> reaching = new HashSet<>(affected);
+                    reaching.add(target);
+                    for (Name streamName : affected) {
+                        if (!(symbols._decl.get(streamName) instanceof kafkasql.lang.syntax.ast.decl.StreamDecl sd)) {
+                            continue;
+                        }
+                        for (var member : sd.streamTypes()) {
+                            if (Collections.disjoint(DependencyGraph.referencesOf(member), reaching)) {
+                                continue;
+                            }
+                            String typeName = member.name().name();
+                            try {
+                                Map<Integer, Long> offsets = writeSchemaMarker(streamName, typeName);
+                                publishSchemaMarker(streamName, typeName);
+                                if (!offsets.isEmpty()) {
+                                    streamOffsets.computeIfAbsent(streamName.fullName(), k -> new HashMap<>())
+                                        .putAll(offsets);
                                 }
+                            } catch (Exception e) {
+                                throw new RuntimeException(
+                                    "Failed to write schema marker for: " + streamName, e
+                                );
                             }
                         }
                     }
                     // Persist the ALTER to the event log with stream offsets
                     if (alterListener != null) {
-                        Name target = Name.of(alter.target().context(), alter.target().name());
                         var decl = symbols._decl.get(target);
                         if (decl != null) {
                             String text = extractStatementText(sourceMap, alter.range());
@@ -723,4 +1452,24 @@ public abstract class KafkaSqlEngine {
         String typeName,
         StructValue value
     ) {}
+    
+    /**
+     * StreamListener - receives a followed stream's records and schema
+     * markers, in stream order.
+     * 
+     * @see #followRecords(Name, StreamListener)
+     */
+    public interface StreamListener {
+        
+        /**
+         * Called for each data record.
+         */
+        void onRecord(StreamRecord record);
+        
+        /**
+         * Called when a schema-change marker for {@code typeName} is
+         * read; records after it may use the altered schema.
+         */
+        void onSchemaMarker(String typeName);
+    }
 }
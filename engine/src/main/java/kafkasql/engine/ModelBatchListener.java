@@ -0,0 +1,36 @@
+package kafkasql.engine;
+
+/**
+ * Listener bracketing the model mutations of one script execution.
+ * <p>
+ * The engine calls {@link #onBatchBegin()} before notifying the
+ * CREATE, DROP and ALTER listeners of a DDL script, and
+ * {@link #onBatchCommit()} once all of them have been notified, so an
+ * implementation can persist the script's changes as one unit. If a
+ * listener fails, {@link #onBatchAbort()} is called instead of commit.
+ *
+ * @see KafkaSqlEngine#setModelBatchListener(ModelBatchListener)
+ */
+public interface ModelBatchListener {
+
+    /**
+     * Called before the first mutation of a script is notified.
+     *
+     * @throws Exception if the unit of work cannot be started
+     */
+    void onBatchBegin() throws Exception;
+
+    /**
+     * Called after every mutation of the script has been notified.
+     *
+     * @throws Exception if persisting the changes fails
+     */
+    void onBatchCommit() throws Exception;
+
+    /**
+     * Called when notifying or persisting a mutation failed; discards the
+     * unit of work. The engine then rolls back the script's changes to
+     * the symbol table.
+     */
+    void onBatchAbort();
+}
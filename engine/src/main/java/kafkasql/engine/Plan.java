@@ -0,0 +1,53 @@
+package kafkasql.engine;
+
+import java.util.List;
+
+import kafkasql.lang.ParseResult;
+import kafkasql.lang.semantic.SemanticModel;
+import kafkasql.lang.syntax.ast.Script;
+import kafkasql.lang.syntax.ast.stmt.AlterStmt;
+import kafkasql.lang.syntax.ast.stmt.CreateStmt;
+import kafkasql.lang.syntax.ast.stmt.DropStmt;
+import kafkasql.lang.syntax.ast.stmt.Stmt;
+
+/**
+ * A parsed and bound script, ready for execution.
+ * <p>
+ * Plans are only valid against the symbol table version they were
+ * bound with; see {@link PlanCache}.
+ *
+ * @param parseResult   The parsed scripts
+ * @param model         The semantic model produced by binding
+ * @param symbolVersion The symbol table version at bind time
+ */
+record Plan(
+    ParseResult parseResult,
+    SemanticModel model,
+    long symbolVersion
+) {
+
+    /**
+     * Returns true if the plan contains no DDL and can be re-executed
+     * without repeating the front end.
+     */
+    boolean isDml() {
+        return isDml(parseResult);
+    }
+
+    static boolean isDml(ParseResult parseResult) {
+        for (Script script : parseResult.scripts()) {
+            for (Stmt stmt : script.statements()) {
+                if (stmt instanceof CreateStmt
+                        || stmt instanceof AlterStmt
+                        || stmt instanceof DropStmt) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    List<Script> scripts() {
+        return parseResult.scripts();
+    }
+}
@@ -0,0 +1,75 @@
+package kafkasql.engine;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of bound {@link Plan}s keyed by statement text.
+ * <p>
+ * Each entry remembers the symbol table version it was bound against;
+ * a lookup with a different version is treated as a miss and evicts the
+ * stale entry, so DDL never serves an outdated plan. Only DML plans are
+ * cached — DDL has side effects that must run on every execution.
+ */
+public final class PlanCache {
+
+    private final int capacity;
+    private final LinkedHashMap<List<String>, Plan> plans;
+    private long hits = 0;
+    private long misses = 0;
+
+    public PlanCache(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+        this.capacity = capacity;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, Plan> eldest) {
+                return size() > PlanCache.this.capacity;
+            }
+        };
+    }
+
+    synchronized Plan get(List<String> scripts, long symbolVersion) {
+        Plan plan = plans.get(scripts);
+        if (plan != null && plan.symbolVersion() == symbolVersion) {
+            hits++;
+            return plan;
+        }
+        if (plan != null) {
+            plans.remove(scripts);
+        }
+        misses++;
+        return null;
+    }
+
+    synchronized void put(List<String> scripts, Plan plan) {
+        if (capacity > 0) {
+            plans.put(List.copyOf(scripts), plan);
+        }
+    }
+
+    /**
+     * Drops every cached plan. Called when DDL changes the symbol table.
+     */
+    public synchronized void clear() {
+        plans.clear();
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+}
@@ -0,0 +1,61 @@
+package kafkasql.engine;
+
+import java.util.Map;
+
+import kafkasql.lang.semantic.bind.ParameterValues;
+
+/**
+ * A READ/WRITE script parsed and bound once, executable many times.
+ * <p>
+ * Parameters appear in literal positions as {@code ?} (positional, in
+ * order of appearance) or {@code :name} (named):
+ * <pre>{@code
+ * var insert = engine.prepare(
+ *     "WRITE TO com.Events TYPE Customer VALUES({Id: :id, Name: :name});");
+ * insert.execute(Map.of("id", 1, "name", "Alice"));
+ * insert.execute(Map.of("id", 2, "name", "Bob"));
+ * }</pre>
+ * Values are validated against the parameter's type exactly like an
+ * inline literal. If DDL changes the symbol table after preparation,
+ * the statement is transparently re-bound on its next execution.
+ *
+ * @see KafkaSqlEngine#prepare(String)
+ * @see Session#prepare(String)
+ */
+public final class PreparedStatement {
+
+    private final Session session;
+    private final String text;
+    private Plan plan;
+
+    PreparedStatement(Session session, String text, Plan plan) {
+        this.session = session;
+        this.text = text;
+        this.plan = plan;
+    }
+
+    /**
+     * The statement text this was prepared from.
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Execute with positional parameter values.
+     */
+    public void execute(Object... positional) {
+        execute(ParameterValues.positional(positional));
+    }
+
+    /**
+     * Execute with named parameter values.
+     */
+    public void execute(Map<String, ?> named) {
+        execute(ParameterValues.named(named));
+    }
+
+    private void execute(ParameterValues values) {
+        plan = session.engine().executePrepared(session, text, plan, values);
+    }
+}
@@ -0,0 +1,256 @@
+package kafkasql.engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import kafkasql.engine.metrics.EngineMetrics;
+import kafkasql.engine.metrics.Phase;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.expr.RuntimeExpr;
+
+/**
+ * Physical operators of a READ or WRITE, as shown by {@code EXPLAIN}.
+ * <p>
+ * Under {@code EXPLAIN ANALYZE} the statement runs and each operator
+ * accumulates the rows it consumed and produced, the time and heap
+ * allocation spent in it and, for backend operators, the bytes the
+ * backend reported. Allocation is measured per thread and reads 0 on
+ * JVMs that cannot measure it.
+ */
+final class QueryPlan {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final boolean analyze;
+    private final List<Operator> operators = new ArrayList<>();
+
+    QueryPlan(boolean analyze) {
+        this.analyze = analyze;
+    }
+
+    boolean analyze() {
+        return analyze;
+    }
+
+    /**
+     * Append an operator; {@code depth} nests it under the previous
+     * operator with a smaller depth.
+     */
+    Operator add(int depth, String name, String detail) {
+        Operator op = new Operator(depth, name, detail);
+        operators.add(op);
+        return op;
+    }
+
+    List<Operator> operators() {
+        return operators;
+    }
+
+    /**
+     * One line per operator, indented by depth, with statistics when
+     * analyzed.
+     */
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        for (Operator op : operators) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append("  ".repeat(op.depth)).append(op.name);
+            if (!op.detail.isEmpty()) {
+                sb.append(' ').append(op.detail);
+            }
+            if (analyze) {
+                sb.append("  (rows in=").append(op.rowsIn)
+                  .append(" out=").append(op.rowsOut)
+                  .append(", time=").append(String.format("%.3fms", op.nanos / 1_000_000.0))
+                  .append(", alloc=").append(op.allocated).append('B');
+                if (op.bytes >= 0) {
+                    sb.append(", bytes=").append(op.bytes);
+                }
+                sb.append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or 0 if unsupported.
+     */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported()
+                && t.isThreadAllocatedMemoryEnabled()) {
+            return t;
+        }
+        return null;
+    }
+
+    /**
+     * WHERE and projection expressions in source-like infix form.
+     */
+    static String format(RuntimeExpr expr) {
+        return switch (expr) {
+            case RuntimeExpr.Literal l -> l.value() instanceof String s ? "'" + s + "'" : String.valueOf(l.value());
+            case RuntimeExpr.Identifier i -> i.name();
+            case RuntimeExpr.Member m -> format(m.target()) + "." + m.name();
+            case RuntimeExpr.Index i -> format(i.target()) + "[" + format(i.index()) + "]";
+            case RuntimeExpr.Unary u -> switch (u.op()) {
+                case NOT -> "NOT " + format(u.expr());
+                case NEGATE -> "-" + format(u.expr());
+                case BIT_NOT -> "~" + format(u.expr());
+                case IS_NULL -> format(u.expr()) + " IS NULL";
+                case IS_NOT_NULL -> format(u.expr()) + " IS NOT NULL";
+            };
+            case RuntimeExpr.Ternary t -> format(t.first()) + " BETWEEN " + format(t.second())
+                + " AND " + format(t.third());
+            case RuntimeExpr.Binary b -> "(" + format(b.left()) + " " + symbol(b.op()) + " "
+                + format(b.right()) + ")";
+        };
+    }
+
+    private static String symbol(RuntimeExpr.BinaryOp op) {
+        return switch (op) {
+            case EQ -> "=";
+            case NEQ -> "<>";
+            case LT -> "<";
+            case LTE -> "<=";
+            case GT -> ">";
+            case GTE -> ">=";
+            case AND -> "AND";
+            case OR -> "OR";
+            case ADD -> "+";
+            case SUB -> "-";
+            case MUL -> "*";
+            case DIV -> "/";
+            case MOD -> "%";
+            case BIT_AND -> "&";
+            case BIT_OR -> "|";
+            case BIT_XOR -> "^";
+            case SHL -> "<<";
+            case SHR -> ">>";
+            case IN -> "IN";
+            case CONCAT -> "||";
+        };
+    }
+
+    /**
+     * Field names an expression reads from the record.
+     */
+    static void collectFields(RuntimeExpr expr, java.util.Set<String> fields) {
+        switch (expr) {
+            case RuntimeExpr.Identifier i -> fields.add(i.name());
+            case RuntimeExpr.Member m -> collectFields(m.target(), fields);
+            case RuntimeExpr.Index i -> {
+                collectFields(i.target(), fields);
+                collectFields(i.index(), fields);
+            }
+            case RuntimeExpr.Unary u -> collectFields(u.expr(), fields);
+            case RuntimeExpr.Binary b -> {
+                collectFields(b.left(), fields);
+                collectFields(b.right(), fields);
+            }
+            case RuntimeExpr.Ternary t -> {
+                collectFields(t.first(), fields);
+                collectFields(t.second(), fields);
+                collectFields(t.third(), fields);
+            }
+            case RuntimeExpr.Literal l -> { }
+        }
+    }
+
+    static String join(Iterable<String> names) {
+        List<String> list = new ArrayList<>();
+        names.forEach(list::add);
+        return list.stream().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * A physical operator and its ANALYZE statistics.
+     */
+    static final class Operator {
+        final int depth;
+        final String name;
+        final String detail;
+        long rowsIn;
+        long rowsOut;
+        long nanos;
+        long allocated;
+        long bytes = -1; // Reported by the backend; -1 if not a backend operator
+
+        private Operator(int depth, String name, String detail) {
+            this.depth = depth;
+            this.name = name;
+            this.detail = detail;
+        }
+
+        /**
+         * Account one invocation that started at the given clock and
+         * allocation readings.
+         */
+        void record(long in, long out, long startNanos, long startAllocated) {
+            rowsIn += in;
+            rowsOut += out;
+            nanos += System.nanoTime() - startNanos;
+            allocated += allocatedBytes() - startAllocated;
+        }
+    }
+
+    /**
+     * Forwards to the engine's metrics while counting the bytes the
+     * backend reports, so they can be attributed to scan and write
+     * operators.
+     */
+    static final class ByteCounter implements EngineMetrics {
+        private final EngineMetrics delegate;
+        long bytesRead;
+        long bytesWritten;
+
+        ByteCounter(EngineMetrics delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean enabled() {
+            return delegate.enabled();
+        }
+
+        @Override
+        public void time(Phase phase, long nanos) {
+            delegate.time(phase, nanos);
+        }
+
+        @Override
+        public void recordsRead(Name stream, long records) {
+            delegate.recordsRead(stream, records);
+        }
+
+        @Override
+        public void recordsWritten(Name stream, long records) {
+            delegate.recordsWritten(stream, records);
+        }
+
+        @Override
+        public void rowsFiltered(Name stream, long rows) {
+            delegate.rowsFiltered(stream, rows);
+        }
+
+        @Override
+        public void bytesRead(Name stream, long bytes) {
+            bytesRead += bytes;
+            delegate.bytesRead(stream, bytes);
+        }
+
+        @Override
+        public void bytesWritten(Name stream, long bytes) {
+            bytesWritten += bytes;
+            delegate.bytesWritten(stream, bytes);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package kafkasql.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import kafkasql.engine.KafkaSqlEngine.StreamRecord;
+import kafkasql.lang.semantic.BindingEnv;
+import kafkasql.lang.semantic.bind.ParameterValues;
+import kafkasql.lang.semantic.bind.StatementBinder;
+import kafkasql.lang.semantic.util.RuntimeExprTranslator;
+import kafkasql.lang.syntax.ast.expr.Expr;
+import kafkasql.lang.syntax.ast.expr.IdentifierExpr;
+import kafkasql.lang.syntax.ast.fragment.ProjectionExprNode;
+import kafkasql.lang.syntax.ast.stmt.ReadStmt;
+import kafkasql.lang.syntax.ast.stmt.ReadTypeBlock;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.expr.ExpressionEvaluator;
+import kafkasql.runtime.expr.RuntimeExpr;
+import kafkasql.runtime.type.AnyType;
+import kafkasql.runtime.type.PrimitiveType;
+import kafkasql.runtime.type.SchemaResolver;
+import kafkasql.runtime.type.StructLayout;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+import kafkasql.runtime.value.StructValue;
+
+/**
+ * Per-record evaluation of a bound READ statement.
+ * <p>
+ * Compiled once from the statement's bindings, then fed one record at a
+ * time: select by type alias, resolve against the reader schema, filter
+ * by WHERE and evaluate the projection. Aggregate blocks fold records
+ * into a {@link WindowedAggregator} instead and emit rows as windows
+ * close, so a pipeline holds state and serves a single read. Snapshot
+ * and continuous reads share it, so both see the same semantics.
+ */
+final class ReadPipeline {
+
+    private final Name stream;
+    private final Map<String, Block> blocks; // Type alias → compiled block
+    private final boolean selectAll;         // No TYPE blocks: pass every record through
+    private long scanned = 0;                // Records fed to accept()
+    private long filtered = 0;               // ... of which dropped by type selection or WHERE
+    private QueryPlan.Operator typeFilterOp;    // Set under EXPLAIN ANALYZE
+    private Map<String, BlockOperators> profiles; // Type alias → operators, under EXPLAIN ANALYZE
+
+    private ReadPipeline(Name stream, Map<String, Block> blocks, boolean selectAll) {
+        this.stream = stream;
+        this.blocks = blocks;
+        this.selectAll = selectAll;
+    }
+
+    /**
+     * Compile the READ statement's blocks from their bindings, with the
+     * values of a prepared statement's parameters in place of the
+     * parameters. Read resolution plans come from the engine's
+     * {@code cache}, so they outlive this pipeline.
+     *
+     * @throws RuntimeException if a WHERE or projection expression cannot
+     *         be evaluated at runtime
+     * @throws IllegalArgumentException if a parameter has no supplied value
+     */
+    static ReadPipeline compile(ReadStmt read, BindingEnv bindings, ParameterValues params, ReadPlanCache cache) {
+        Name stream = Name.of(read.stream().context(), read.stream().name());
+        Map<String, Block> blocks = new LinkedHashMap<>();
+        for (ReadTypeBlock block : read.blocks()) {
+            StructType rowType = bindings.getOrNull(block, StructType.class);
+            if (rowType == null) {
+                continue;
+            }
+            RuntimeExpr where = block.where().isPresent()
+                ? translate(block.where().get().expr(), params)
+                : null;
+            ReadPlans plans = new ReadPlans(stream, rowType, cache);
+            blocks.put(block.alias().name(), compileBlock(block, rowType, plans, where, bindings, params));
+        }
+        return new ReadPipeline(stream, blocks, read.blocks().isEmpty());
+    }
+
+    private static Block compileBlock(
+        ReadTypeBlock block,
+        StructType rowType,
+        ReadPlans plans,
+        RuntimeExpr where,
+        BindingEnv bindings,
+        ParameterValues params
+    ) {
+        if (StatementBinder.isAggregate(block)) {
+            return new Block(rowType, plans, where, null, null,
+                WindowedAggregator.compile(block, rowType, bindings, params));
+        }
+
+        var items = block.projection().items();
+        if (items.isEmpty()) {
+            return new Block(rowType, plans, where, null, null, null);
+        }
+
+        List<Column> columns = new ArrayList<>(items.size());
+        LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProjectionExprNode item = items.get(i);
+            String name = columnName(item, i);
+            AnyType type = bindings.getOrNull(item, AnyType.class);
+            columns.add(new Column(name, translate(item.expr(), params), type));
+
+            // Plain field references keep their declaration; computed
+            // columns take the bound expression type and may be null.
+            StructTypeField source = item.expr() instanceof IdentifierExpr id
+                ? rowType.fields().get(id.name().name())
+                : null;
+            if (source != null) {
+                fields.put(name, new StructTypeField(
+                    name, source.type(), source.nullable(), source.defaultValue(), source.doc()));
+            } else {
+                fields.put(name, new StructTypeField(
+                    name, type, true, Optional.empty(), Optional.empty()));
+            }
+        }
+        StructType outputType = new StructType(rowType.fqn(), fields, List.of(), rowType.doc());
+        return new Block(rowType, plans, where, columns, outputType, null);
+    }
+
+    /**
+     * Output name of a projection column: the {@code AS} alias, else the
+     * referenced field name, else {@code ExprN} by position.
+     */
+    static String columnName(ProjectionExprNode item, int index) {
+        if (item.alias().isPresent()) {
+            return item.alias().get().name();
+        }
+        if (item.expr() instanceof IdentifierExpr id) {
+            return id.name().name();
+        }
+        return "Expr" + (index + 1);
+    }
+
+    static RuntimeExpr translate(Expr expr, ParameterValues params) {
+        try {
+            return RuntimeExprTranslator.translate(expr, params);
+        } catch (UnsupportedOperationException e) {
+            throw new RuntimeException("Unsupported expression in READ: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The stream this READ scans.
+     */
+    Name stream() {
+        return stream;
+    }
+
+    /**
+     * Returns true if records of this type alias are read at all.
+     */
+    boolean selects(String typeName) {
+        return selectAll || blocks.containsKey(typeName);
+    }
+
+    /**
+     * Feed one record through the pipeline. Emits the resolved and
+     * projected record if its type is selected and it satisfies the WHERE
+     * clause; aggregate blocks emit the rows of any windows it closes.
+     */
+    void accept(StreamRecord record, Consumer<StreamRecord> out) {
+        scanned++;
+        if (profiles != null) {
+            acceptProfiled(record, out);
+            return;
+        }
+        if (selectAll) {
+            out.accept(record);
+            return;
+        }
+        Block block = blocks.get(record.typeName());
+        if (block == null) {
+            filtered++;
+            return;
+        }
+
+        StructValue resolved = block.plans().forWriter(record.value().type()).apply(record.value());
+        if (block.where() != null && !ExpressionEvaluator.test(block.where(), resolved)) {
+            filtered++;
+            return;
+        }
+        if (block.aggregator() != null) {
+            block.aggregator().accept(resolved, row -> out.accept(new StreamRecord(record.typeName(), row)));
+            return;
+        }
+        if (block.columns() == null) {
+            out.accept(new StreamRecord(record.typeName(), resolved));
+            return;
+        }
+
+        out.accept(new StreamRecord(record.typeName(), project(block, resolved)));
+    }
+
+    /**
+     * {@link #accept} under EXPLAIN ANALYZE: the same steps, each
+     * accounted to its operator.
+     */
+    private void acceptProfiled(StreamRecord record, Consumer<StreamRecord> out) {
+        long start = System.nanoTime();
+        long allocated = QueryPlan.allocatedBytes();
+        Block block = selectAll ? null : blocks.get(record.typeName());
+        typeFilterOp.record(1, selectAll || block != null ? 1 : 0, start, allocated);
+        if (selectAll) {
+            out.accept(record);
+            return;
+        }
+        if (block == null) {
+            filtered++;
+            return;
+        }
+        BlockOperators ops = profiles.get(record.typeName());
+
+        start = System.nanoTime();
+        allocated = QueryPlan.allocatedBytes();
+        StructValue resolved = block.plans().forWriter(record.value().type()).apply(record.value());
+        ops.resolve().record(1, 1, start, allocated);
+
+        if (block.where() != null) {
+            start = System.nanoTime();
+            allocated = QueryPlan.allocatedBytes();
+            boolean pass = ExpressionEvaluator.test(block.where(), resolved);
+            ops.filter().record(1, pass ? 1 : 0, start, allocated);
+            if (!pass) {
+                filtered++;
+                return;
+            }
+        }
+        if (block.aggregator() != null) {
+            long[] emitted = { 0 };
+            start = System.nanoTime();
+            allocated = QueryPlan.allocatedBytes();
+            block.aggregator().accept(resolved, row -> {
+                emitted[0]++;
+                out.accept(new StreamRecord(record.typeName(), row));
+            });
+            ops.output().record(1, emitted[0], start, allocated);
+            return;
+        }
+        if (block.columns() == null) {
+            out.accept(new StreamRecord(record.typeName(), resolved));
+            return;
+        }
+
+        start = System.nanoTime();
+        allocated = QueryPlan.allocatedBytes();
+        StructValue projected = project(block, resolved);
+        ops.output().record(1, 1, start, allocated);
+        out.accept(new StreamRecord(record.typeName(), projected));
+    }
+
+    private static StructValue project(Block block, StructValue resolved) {
+        StructLayout layout = block.outputType().layout();
+        StructLayout source = resolved.type().layout();
+        StructValue projected = new StructValue(block.outputType(), StructValue.absentSlots(block.outputType()));
+        for (Column column : block.columns()) {
+            int slot = layout.slotOf(column.name());
+            if (column.expr() instanceof RuntimeExpr.Identifier id) {
+                // A field of the same packed kind is copied without boxing
+                int from = source.slotOf(id.name());
+                if (from >= 0 && resolved.isPacked(from) && source.kind(from) == layout.kind(slot)) {
+                    resolved.copySlot(from, projected, slot);
+                    continue;
+                }
+            }
+            Object value = ExpressionEvaluator.evaluate(column.expr(), resolved.fields());
+            projected.set(slot, coerce(value, column.type()));
+        }
+        return projected;
+    }
+
+    /**
+     * Add this pipeline's operators to an EXPLAIN plan at {@code depth},
+     * below the scan. If the plan is analyzed, {@link #accept} accounts
+     * every record to them from then on.
+     */
+    void explain(QueryPlan plan, int depth) {
+        QueryPlan.Operator typeFilter = plan.add(depth, "TypeFilter",
+            selectAll ? "(all types)" : String.join(", ", blocks.keySet()));
+        Map<String, BlockOperators> ops = new LinkedHashMap<>();
+        for (var entry : blocks.entrySet()) {
+            Block block = entry.getValue();
+            String reads = "all fields";
+            if (block.columns() != null) {
+                Set<String> fields = new LinkedHashSet<>();
+                block.columns().forEach(column -> QueryPlan.collectFields(column.expr(), fields));
+                if (block.where() != null) {
+                    QueryPlan.collectFields(block.where(), fields);
+                }
+                reads = QueryPlan.join(fields);
+            }
+            QueryPlan.Operator resolve = plan.add(depth + 1, "Resolve",
+                entry.getKey() + " as " + block.rowType().fqn().fullName() + ", reads " + reads);
+            QueryPlan.Operator filter = block.where() != null
+                ? plan.add(depth + 2, "Filter", QueryPlan.format(block.where()))
+                : null;
+            int next = depth + (filter != null ? 3 : 2);
+            QueryPlan.Operator output = null;
+            if (block.aggregator() != null) {
+                output = plan.add(next, "Aggregate", block.aggregator().describe());
+            } else if (block.columns() != null) {
+                List<String> columns = new ArrayList<>();
+                for (Column column : block.columns()) {
+                    String expr = QueryPlan.format(column.expr());
+                    columns.add(expr.equals(column.name()) ? expr : expr + " AS " + column.name());
+                }
+                output = plan.add(next, "Project", String.join(", ", columns));
+            }
+            ops.put(entry.getKey(), new BlockOperators(resolve, filter, output));
+        }
+        if (plan.analyze()) {
+            typeFilterOp = typeFilter;
+            profiles = ops;
+        }
+    }
+
+    /**
+     * Records fed to {@link #accept} so far.
+     */
+    long scanned() {
+        return scanned;
+    }
+
+    /**
+     * Records {@link #accept} dropped because their type was not selected
+     * or they failed the WHERE clause.
+     */
+    long filtered() {
+        return filtered;
+    }
+
+    /**
+     * End of input: emit every still open aggregate window. Snapshot reads
+     * call this after the scan; continuous reads never do.
+     */
+    void finish(Consumer<StreamRecord> out) {
+        for (var entry : blocks.entrySet()) {
+            WindowedAggregator aggregator = entry.getValue().aggregator();
+            if (aggregator == null) {
+                continue;
+            }
+            if (profiles == null) {
+                aggregator.flush(row -> out.accept(new StreamRecord(entry.getKey(), row)));
+                continue;
+            }
+            long[] emitted = { 0 };
+            long start = System.nanoTime();
+            long allocated = QueryPlan.allocatedBytes();
+            aggregator.flush(row -> {
+                emitted[0]++;
+                out.accept(new StreamRecord(entry.getKey(), row));
+            });
+            profiles.get(entry.getKey()).output().record(0, emitted[0], start, allocated);
+        }
+    }
+
+    /**
+     * Carry open aggregate windows over from the pipeline this one
+     * replaces, for blocks that still compute the same aggregation.
+     */
+    void adoptState(ReadPipeline previous) {
+        for (var entry : blocks.entrySet()) {
+            Block old = previous.blocks.get(entry.getKey());
+            WindowedAggregator aggregator = entry.getValue().aggregator();
+            if (aggregator != null && old != null && old.aggregator() != null) {
+                aggregator.adopt(old.aggregator());
+            }
+        }
+    }
+
+    /**
+     * Narrow evaluator arithmetic (computed in long/BigDecimal) back to the
+     * column's bound numeric type, so projected values match the output type.
+     */
+    static Object coerce(Object value, AnyType type) {
+        if (!(value instanceof Number n) || !(type instanceof PrimitiveType pt)) {
+            return value;
+        }
+        return switch (pt.kind()) {
+            case INT8 -> n.byteValue();
+            case INT16 -> n.shortValue();
+            case INT32 -> n.intValue();
+            case INT64 -> n.longValue();
+            case FLOAT32 -> n.floatValue();
+            case FLOAT64 -> n.doubleValue();
+            default -> value;
+        };
+    }
+
+    /**
+     * @param rowType    Reader schema records are resolved against
+     * @param plans      Resolution plans against rowType, per writer schema
+     * @param where      WHERE predicate, or null
+     * @param columns    Projection columns, or null for {@code *} or aggregates
+     * @param outputType Type of projected values, or null for {@code *} or aggregates
+     * @param aggregator GROUP BY / WINDOW state, or null if not aggregating
+     */
+    private record Block(
+        StructType rowType,
+        ReadPlans plans,
+        RuntimeExpr where,
+        List<Column> columns,
+        StructType outputType,
+        WindowedAggregator aggregator
+    ) {}
+
+    private record Column(String name, RuntimeExpr expr, AnyType type) {}
+
+    /**
+     * Read resolution plans of one block, per writer schema. Records carry
+     * the struct type they were written with; when the backend does not
+     * know it (a type without fields), every field is looked up on the
+     * wire. Plans live in the engine's {@link ReadPlanCache}; this keeps
+     * the last one, as consecutive records mostly share a writer.
+     */
+    private static final class ReadPlans {
+        private final Name stream;
+        private final StructType rowType;
+        private final ReadPlanCache cache;
+        private final SchemaResolver.ReadPlan unknownWriter;
+        private StructType lastWriter;
+        private SchemaResolver.ReadPlan lastPlan;
+
+        ReadPlans(Name stream, StructType rowType, ReadPlanCache cache) {
+            this.stream = stream;
+            this.rowType = rowType;
+            this.cache = cache;
+            this.unknownWriter = SchemaResolver.readPlan(rowType, null);
+        }
+
+        SchemaResolver.ReadPlan forWriter(StructType writer) {
+            if (writer == lastWriter) {
+                return lastPlan;
+            }
+            if (writer.fields().isEmpty()) {
+                return unknownWriter;
+            }
+            SchemaResolver.ReadPlan plan = cache.get(stream, rowType, writer);
+            lastWriter = writer;
+            lastPlan = plan;
+            return plan;
+        }
+    }
+
+    /**
+     * EXPLAIN ANALYZE operators of one block; filter and output are null
+     * if the block has no WHERE or passes resolved records through.
+     */
+    private record BlockOperators(
+        QueryPlan.Operator resolve,
+        QueryPlan.Operator filter,
+        QueryPlan.Operator output
+    ) {}
+}
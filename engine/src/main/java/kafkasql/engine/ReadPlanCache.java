@@ -0,0 +1,72 @@
+package kafkasql.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.SchemaResolver;
+import kafkasql.runtime.type.StructType;
+
+/**
+ * LRU cache of read resolution plans, per stream and schema pair, shared
+ * by every READ the engine executes.
+ * <p>
+ * Statements bind fresh {@link StructType} instances on every execution
+ * and backends decode fresh writer types, so entries are keyed by the
+ * types' values rather than their identity: a repeated READ, or another
+ * session reading the same stream, reuses the plans compiled before. An
+ * ALTER changes the reader type's value, so it misses instead of serving
+ * a stale plan, and the old entries age out.
+ */
+final class ReadPlanCache {
+
+    private record Key(Name stream, StructType reader, StructType writer) {}
+
+    private final int capacity;
+    private final LinkedHashMap<Key, SchemaResolver.ReadPlan> plans;
+    private long hits = 0;
+    private long misses = 0;
+
+    ReadPlanCache(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+        this.capacity = capacity;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SchemaResolver.ReadPlan> eldest) {
+                return size() > ReadPlanCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * The plan resolving records of {@code stream} written under
+     * {@code writer} against {@code reader}, compiled on a miss.
+     */
+    synchronized SchemaResolver.ReadPlan get(Name stream, StructType reader, StructType writer) {
+        Key key = new Key(stream, reader, writer);
+        SchemaResolver.ReadPlan plan = plans.get(key);
+        if (plan != null) {
+            hits++;
+            return plan;
+        }
+        misses++;
+        plan = SchemaResolver.readPlan(reader, writer);
+        if (capacity > 0) {
+            plans.put(key, plan);
+        }
+        return plan;
+    }
+
+    synchronized int size() {
+        return plans.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+}
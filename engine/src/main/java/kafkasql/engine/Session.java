@@ -0,0 +1,123 @@
+package kafkasql.engine;
+
+import java.util.List;
+
+import kafkasql.engine.KafkaSqlEngine.StreamRecord;
+import kafkasql.lang.semantic.SemanticModel;
+import kafkasql.runtime.value.StructValue;
+
+/**
+ * One client's view of a shared {@link KafkaSqlEngine}: its current
+ * context and the results of its last statements.
+ * <p>
+ * Any number of sessions can execute concurrently against one engine.
+ * READ and WRITE scripts bind against the latest published snapshot of
+ * the symbol table without locking; DDL is serialized and publishes a
+ * new snapshot when it commits. A session itself is not thread-safe and
+ * should be used by one thread at a time.
+ * <pre>{@code
+ * Session session = engine.openSession();
+ * session.execute("READ FROM com.Events TYPE Customer *;");
+ * List<StructValue> rows = session.getLastQueryResult();
+ * }</pre>
+ *
+ * @see KafkaSqlEngine#openSession()
+ */
+public final class Session {
+
+    private final KafkaSqlEngine engine;
+    private String currentContext;        // For contextual SHOW commands
+    private SemanticModel lastModel;
+    private List<StructValue> lastQueryResult = List.of();
+    private List<String> lastShowResult = List.of();
+    private String lastExplainResult = "";
+
+    Session(KafkaSqlEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Execute a KafkaSQL script in this session.
+     *
+     * @throws RuntimeException if parsing/binding fails or execution error
+     */
+    public void execute(String script) {
+        executeAll(script);
+    }
+
+    /**
+     * Execute multiple KafkaSQL scripts together in one binding session.
+     *
+     * @throws RuntimeException if parsing/binding fails or execution error
+     */
+    public void executeAll(String... scripts) {
+        engine.executeAll(this, List.of(scripts));
+    }
+
+    /**
+     * Prepare a READ/WRITE script whose executions report to this session.
+     *
+     * @see KafkaSqlEngine#prepare(String)
+     */
+    public PreparedStatement prepare(String script) {
+        return engine.prepare(this, script);
+    }
+
+    public void setCurrentContext(String contextName) {
+        this.currentContext = contextName;
+    }
+
+    public String getCurrentContext() {
+        return currentContext;
+    }
+
+    /**
+     * The semantic model of the last executed script, or null.
+     */
+    public SemanticModel getLastModel() {
+        return lastModel;
+    }
+
+    /**
+     * Results of the last READ query.
+     */
+    public List<StructValue> getLastQueryResult() {
+        return lastQueryResult;
+    }
+
+    /**
+     * Lines of the last SHOW statement.
+     */
+    public List<String> getLastShowResult() {
+        return lastShowResult;
+    }
+
+    /**
+     * Output of the last EXPLAIN statement, or empty.
+     */
+    public String getLastExplainResult() {
+        return lastExplainResult;
+    }
+
+    KafkaSqlEngine engine() {
+        return engine;
+    }
+
+    void setLastModel(SemanticModel model) {
+        this.lastModel = model;
+    }
+
+    void setQueryResult(List<StreamRecord> records) {
+        this.lastQueryResult = records.stream()
+            .map(StreamRecord::value)
+            .toList();
+    }
+
+    void setShowResult(List<String> results) {
+        this.lastShowResult = List.copyOf(results);
+    }
+
+    void setExplainResult(String explanation) {
+        this.lastExplainResult = explanation;
+    }
+}
@@ -0,0 +1,342 @@
+package kafkasql.engine;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import kafkasql.lang.semantic.BindingEnv;
+import kafkasql.lang.semantic.bind.ParameterValues;
+import kafkasql.lang.syntax.ast.expr.AggregateExpr;
+import kafkasql.lang.syntax.ast.expr.AggregateFunction;
+import kafkasql.lang.syntax.ast.expr.Expr;
+import kafkasql.lang.syntax.ast.expr.IdentifierExpr;
+import kafkasql.lang.syntax.ast.fragment.ProjectionExprNode;
+import kafkasql.lang.syntax.ast.fragment.WindowNode;
+import kafkasql.lang.syntax.ast.misc.Identifier;
+import kafkasql.lang.syntax.ast.stmt.ReadTypeBlock;
+import kafkasql.runtime.aggregate.Accumulator;
+import kafkasql.runtime.aggregate.Accumulators;
+import kafkasql.runtime.expr.ExpressionEvaluator;
+import kafkasql.runtime.expr.RuntimeExpr;
+import kafkasql.runtime.type.AnyType;
+import kafkasql.runtime.type.PrimitiveKind;
+import kafkasql.runtime.type.PrimitiveType;
+import kafkasql.runtime.type.StructLayout;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+import kafkasql.runtime.value.StructValue;
+
+/**
+ * Incremental GROUP BY / WINDOW aggregation for one READ block.
+ * <p>
+ * Records are folded into fixed-size {@link Accumulator}s per window and
+ * group as they arrive; nothing is buffered. Windows are aligned to the
+ * epoch: a record with event time {@code ts} belongs to every window
+ * {@code [start, start + size)} with {@code start} a multiple of the
+ * advance (one window when tumbling).
+ * <p>
+ * The watermark is the highest event time seen. A window is emitted and
+ * evicted as soon as its end is at or below the watermark, so memory is
+ * bounded by the open windows times the distinct groups. Records whose
+ * windows have all closed are late and dropped. Without WINDOW, every
+ * record falls in a single unbounded window emitted by {@link #flush}.
+ */
+final class WindowedAggregator {
+
+    private static final long UNWINDOWED = 0L;
+
+    private final Spec spec;
+    private final StructType outputType;
+    private final List<AnyType> columnTypes;
+
+    // Window start → group key → one accumulator per aggregate column
+    private TreeMap<Long, Map<List<Object>, Accumulator[]>> windows = new TreeMap<>();
+    private long watermark = Long.MIN_VALUE;
+
+    private WindowedAggregator(Spec spec, StructType outputType, List<AnyType> columnTypes) {
+        this.spec = spec;
+        this.outputType = outputType;
+        this.columnTypes = columnTypes;
+    }
+
+    /**
+     * Compile the aggregation of a bound block.
+     */
+    static WindowedAggregator compile(
+        ReadTypeBlock block,
+        StructType rowType,
+        BindingEnv bindings,
+        ParameterValues params
+    ) {
+        List<String> keys = new ArrayList<>();
+        for (Identifier key : block.groupBy()) {
+            keys.add(key.name());
+        }
+
+        String timestampField = null;
+        PrimitiveKind timestampKind = null;
+        long size = 0;
+        long advance = 0;
+        LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+        if (block.window().isPresent()) {
+            WindowNode window = block.window().get();
+            timestampField = bindings.getOrNull(window, String.class);
+            if (timestampField == null) {
+                throw new RuntimeException("WINDOW on '" + block.alias().name() + "' has no bound TIMESTAMP BY field");
+            }
+            StructTypeField ts = rowType.fields().get(timestampField);
+            timestampKind = ((PrimitiveType) ts.type()).kind();
+            size = window.size().toMillis();
+            advance = window.advance().toMillis();
+            fields.put("WindowStart", new StructTypeField(
+                "WindowStart", ts.type(), false, Optional.empty(), Optional.empty()));
+            fields.put("WindowEnd", new StructTypeField(
+                "WindowEnd", ts.type(), false, Optional.empty(), Optional.empty()));
+        }
+
+        var items = block.projection().items();
+        List<Column> columns = new ArrayList<>(items.size());
+        List<AnyType> columnTypes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ProjectionExprNode item = items.get(i);
+            String name = ReadPipeline.columnName(item, i);
+            AnyType type = bindings.getOrNull(item, AnyType.class);
+            Expr expr = item.expr();
+
+            if (expr instanceof AggregateExpr agg) {
+                RuntimeExpr argument = null;
+                PrimitiveKind argumentKind = null;
+                if (agg.argument().isPresent()) {
+                    Expr arg = agg.argument().get();
+                    argument = ReadPipeline.translate(arg, params);
+                    if (bindings.getOrNull(arg, AnyType.class) instanceof PrimitiveType pt) {
+                        argumentKind = pt.kind();
+                    }
+                }
+                columns.add(new Column(name, agg.function(), argument, argumentKind, -1));
+                fields.put(name, new StructTypeField(
+                    name, type, agg.function() != AggregateFunction.COUNT, Optional.empty(), Optional.empty()));
+            } else {
+                String keyName = ((IdentifierExpr) expr).name().name();
+                StructTypeField source = rowType.fields().get(keyName);
+                columns.add(new Column(name, null, null, null, keys.indexOf(keyName)));
+                fields.put(name, new StructTypeField(
+                    name, source.type(), source.nullable(), source.defaultValue(), source.doc()));
+            }
+            columnTypes.add(type);
+        }
+
+        Spec spec = new Spec(keys, timestampField, timestampKind, size, advance, columns);
+        StructType outputType = new StructType(rowType.fqn(), fields, List.of(), rowType.doc());
+        return new WindowedAggregator(spec, outputType, columnTypes);
+    }
+
+    /**
+     * EXPLAIN summary: output columns, group keys and window.
+     */
+    String describe() {
+        StringBuilder sb = new StringBuilder(String.join(", ", outputType.fields().keySet()));
+        if (!spec.keys().isEmpty()) {
+            sb.append(" GROUP BY ").append(String.join(", ", spec.keys()));
+        }
+        if (spec.windowed()) {
+            sb.append(" WINDOW ").append(spec.size()).append("ms ADVANCE ").append(spec.advance())
+              .append("ms TIMESTAMP BY ").append(spec.timestampField());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Fold one resolved, filtered record; emits any windows it closes.
+     */
+    void accept(StructValue record, Consumer<StructValue> out) {
+        Map<String, Object> values = record.fields();
+        Object[] key = new Object[spec.keys().size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = keyOf(values.get(spec.keys().get(i)));
+        }
+        List<Object> groupKey = Arrays.asList(key);
+
+        if (!spec.windowed()) {
+            fold(UNWINDOWED, groupKey, values);
+            return;
+        }
+
+        Long ts = epochMillis(values.get(spec.timestampField()));
+        if (ts == null) {
+            return; // No event time, no window
+        }
+        long last = Math.floorDiv(ts, spec.advance()) * spec.advance();
+        for (long start = last; start > ts - spec.size(); start -= spec.advance()) {
+            if (start + spec.size() > watermark) {
+                fold(start, groupKey, values);
+            }
+        }
+
+        if (ts > watermark) {
+            watermark = ts;
+            while (!windows.isEmpty() && windows.firstKey() + spec.size() <= watermark) {
+                var closed = windows.pollFirstEntry();
+                emit(closed.getKey(), closed.getValue(), out);
+            }
+        }
+    }
+
+    /**
+     * Emit and evict every open window, oldest first.
+     */
+    void flush(Consumer<StructValue> out) {
+        while (!windows.isEmpty()) {
+            var open = windows.pollFirstEntry();
+            emit(open.getKey(), open.getValue(), out);
+        }
+    }
+
+    /**
+     * Take over the open windows of {@code previous} if it computes the
+     * same aggregation, e.g. after a continuous query is re-bound.
+     */
+    void adopt(WindowedAggregator previous) {
+        if (spec.equals(previous.spec)) {
+            windows = previous.windows;
+            watermark = previous.watermark;
+        }
+    }
+
+    private void fold(long windowStart, List<Object> groupKey, Map<String, Object> values) {
+        Accumulator[] accs = windows
+            .computeIfAbsent(windowStart, w -> new LinkedHashMap<>())
+            .computeIfAbsent(groupKey, k -> newAccumulators());
+        List<Column> columns = spec.columns();
+        for (int i = 0; i < accs.length; i++) {
+            Accumulator acc = accs[i];
+            if (acc == null) {
+                continue; // GROUP BY key column
+            }
+            RuntimeExpr argument = columns.get(i).argument();
+            acc.add(argument == null ? Boolean.TRUE : ExpressionEvaluator.evaluate(argument, values));
+        }
+    }
+
+    private Accumulator[] newAccumulators() {
+        List<Column> columns = spec.columns();
+        Accumulator[] accs = new Accumulator[columns.size()];
+        for (int i = 0; i < accs.length; i++) {
+            Column column = columns.get(i);
+            if (column.function() == null) {
+                continue;
+            }
+            PrimitiveKind kind = column.argumentKind();
+            accs[i] = switch (column.function()) {
+                case COUNT -> Accumulators.count();
+                case SUM -> Accumulators.sum(kind);
+                case MIN -> Accumulators.min(kind);
+                case MAX -> Accumulators.max(kind);
+                case AVG -> Accumulators.avg();
+            };
+        }
+        return accs;
+    }
+
+    private void emit(long windowStart, Map<List<Object>, Accumulator[]> groups, Consumer<StructValue> out) {
+        List<Column> columns = spec.columns();
+        for (var group : groups.entrySet()) {
+            StructLayout layout = outputType.layout();
+            Object[] row = StructValue.absentSlots(outputType);
+            if (spec.windowed()) {
+                row[layout.slotOf("WindowStart")] = boundary(windowStart);
+                row[layout.slotOf("WindowEnd")] = boundary(windowStart + spec.size());
+            }
+            Accumulator[] accs = group.getValue();
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                Object value = accs[i] != null
+                    ? ReadPipeline.coerce(accs[i].result(), columnTypes.get(i))
+                    : valueOf(group.getKey().get(column.keyIndex()));
+                row[layout.slotOf(column.name())] = value;
+            }
+            out.accept(new StructValue(outputType, row));
+        }
+    }
+
+    /**
+     * Group key component of a value: BYTES are wrapped so that equal
+     * contents make equal keys, which {@code byte[]} identity would not.
+     */
+    private static Object keyOf(Object value) {
+        return value instanceof byte[] bytes ? ByteBuffer.wrap(bytes) : value;
+    }
+
+    private static Object valueOf(Object key) {
+        return key instanceof ByteBuffer buffer ? buffer.array() : key;
+    }
+
+    /**
+     * Window boundary in the representation of the TIMESTAMP BY field.
+     */
+    private Object boundary(long millis) {
+        return switch (spec.timestampKind()) {
+            case TIMESTAMP -> LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+            case TIMESTAMP_TZ -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+            default -> millis;
+        };
+    }
+
+    /**
+     * Event time in epoch milliseconds; TIMESTAMP values are taken as UTC.
+     */
+    private static Long epochMillis(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Number n -> n.longValue();
+            case LocalDateTime t -> t.toInstant(ZoneOffset.UTC).toEpochMilli();
+            case OffsetDateTime t -> t.toInstant().toEpochMilli();
+            case ZonedDateTime t -> t.toInstant().toEpochMilli();
+            case Instant t -> t.toEpochMilli();
+            default -> throw new RuntimeException(
+                "Unsupported TIMESTAMP BY value: " + value.getClass().getSimpleName());
+        };
+    }
+
+    /**
+     * What is computed, independent of bound types; two aggregators with
+     * equal specs can share state.
+     *
+     * @param timestampField TIMESTAMP BY field, or null without WINDOW
+     */
+    private record Spec(
+        List<String> keys,
+        String timestampField,
+        PrimitiveKind timestampKind,
+        long size,
+        long advance,
+        List<Column> columns
+    ) {
+        boolean windowed() {
+            return timestampField != null;
+        }
+    }
+
+    /**
+     * An aggregate column ({@code function} set, argument null for
+     * {@code COUNT(*)}) or a GROUP BY key column ({@code keyIndex}).
+     */
+    private record Column(
+        String name,
+        AggregateFunction function,
+        RuntimeExpr argument,
+        PrimitiveKind argumentKind,
+        int keyIndex
+    ) {}
+}
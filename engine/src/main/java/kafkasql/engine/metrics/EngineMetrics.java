@@ -0,0 +1,56 @@
+package kafkasql.engine.metrics;
+
+import kafkasql.runtime.Name;
+
+/**
+ * Receives measurements from a {@link kafkasql.engine.KafkaSqlEngine}.
+ * <p>
+ * Every method defaults to a no-op and {@link #NONE} is the engine's
+ * default. While {@link #enabled()} returns false the engine does not
+ * read the clock, so disabled metrics cost one field read per call site.
+ * Implementations are called from every thread executing statements
+ * and must be thread-safe.
+ *
+ * @see MetricsRegistry
+ */
+public interface EngineMetrics {
+
+    EngineMetrics NONE = new EngineMetrics() { };
+
+    /**
+     * Returns true if the engine should take measurements at all.
+     */
+    default boolean enabled() {
+        return false;
+    }
+
+    /**
+     * Time spent in one occurrence of a phase.
+     */
+    default void time(Phase phase, long nanos) { }
+
+    /**
+     * Records scanned from a stream by a READ, before filtering.
+     */
+    default void recordsRead(Name stream, long records) { }
+
+    /**
+     * Records written to a stream.
+     */
+    default void recordsWritten(Name stream, long records) { }
+
+    /**
+     * Scanned records a READ dropped by type selection or WHERE.
+     */
+    default void rowsFiltered(Name stream, long rows) { }
+
+    /**
+     * Serialized bytes fetched from a stream; reported by backends.
+     */
+    default void bytesRead(Name stream, long bytes) { }
+
+    /**
+     * Serialized bytes sent to a stream; reported by backends.
+     */
+    default void bytesWritten(Name stream, long bytes) { }
+}
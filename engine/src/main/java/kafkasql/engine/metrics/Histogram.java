@@ -0,0 +1,71 @@
+package kafkasql.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free distribution of non-negative values, e.g. nanosecond
+ * durations.
+ * <p>
+ * Values are counted in power-of-two buckets, so memory is fixed and
+ * percentiles are accurate to within a factor of two. Count, sum and
+ * max are exact.
+ */
+public final class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS); // Bucket i holds values in [2^(i-1), 2^i)
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the given quantile, capped at
+     * {@link #max()}; 0 when empty.
+     *
+     * @param quantile Between 0 and 1, e.g. 0.99
+     */
+    public long percentile(double quantile) {
+        long total = count();
+        if (total == 0)
+            return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0)
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, max());
+        }
+        return max();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
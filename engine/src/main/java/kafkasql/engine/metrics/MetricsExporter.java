@@ -0,0 +1,11 @@
+package kafkasql.engine.metrics;
+
+/**
+ * Publishes a {@link MetricsSnapshot} to a monitoring system.
+ *
+ * @see MetricsRegistry#exportTo(MetricsExporter)
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+    void export(MetricsSnapshot snapshot);
+}
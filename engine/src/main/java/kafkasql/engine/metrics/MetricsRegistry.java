@@ -0,0 +1,119 @@
+package kafkasql.engine.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import kafkasql.runtime.Name;
+
+/**
+ * Default in-memory {@link EngineMetrics}: a {@link Histogram} per phase
+ * and counters per stream, all lock-free.
+ * <pre>{@code
+ * MetricsRegistry metrics = new MetricsRegistry();
+ * engine.setMetrics(metrics);
+ * engine.execute(script);
+ * metrics.snapshot().format().forEach(System.out::println);
+ * }</pre>
+ */
+public final class MetricsRegistry implements EngineMetrics {
+
+    private final Map<Phase, Histogram> phases = new EnumMap<>(Phase.class);
+    private final Map<Name, Traffic> streams = new ConcurrentHashMap<>();
+
+    public MetricsRegistry() {
+        for (Phase phase : Phase.values())
+            phases.put(phase, new Histogram());
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public void time(Phase phase, long nanos) {
+        phases.get(phase).record(nanos);
+    }
+
+    @Override
+    public void recordsRead(Name stream, long records) {
+        traffic(stream).recordsRead.add(records);
+    }
+
+    @Override
+    public void recordsWritten(Name stream, long records) {
+        traffic(stream).recordsWritten.add(records);
+    }
+
+    @Override
+    public void rowsFiltered(Name stream, long rows) {
+        traffic(stream).rowsFiltered.add(rows);
+    }
+
+    @Override
+    public void bytesRead(Name stream, long bytes) {
+        traffic(stream).bytesRead.add(bytes);
+    }
+
+    @Override
+    public void bytesWritten(Name stream, long bytes) {
+        traffic(stream).bytesWritten.add(bytes);
+    }
+
+    private Traffic traffic(Name stream) {
+        return streams.computeIfAbsent(stream, k -> new Traffic());
+    }
+
+    /**
+     * The distribution of one phase's timings.
+     */
+    public Histogram histogram(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Copy the current values. Concurrent updates may be partially
+     * included.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<Phase, MetricsSnapshot.Timing> timings = new EnumMap<>(Phase.class);
+        phases.forEach((phase, h) -> {
+            if (h.count() > 0) {
+                timings.put(phase, new MetricsSnapshot.Timing(
+                    h.count(), h.sum(), h.percentile(0.5), h.percentile(0.99), h.max()));
+            }
+        });
+        Map<Name, MetricsSnapshot.StreamTraffic> traffic = new TreeMap<>(
+            (a, b) -> a.fullName().compareTo(b.fullName()));
+        streams.forEach((stream, t) -> traffic.put(stream, new MetricsSnapshot.StreamTraffic(
+            t.recordsRead.sum(), t.recordsWritten.sum(), t.rowsFiltered.sum(),
+            t.bytesRead.sum(), t.bytesWritten.sum())));
+        return new MetricsSnapshot(timings, traffic);
+    }
+
+    /**
+     * Hand the current values to an exporter.
+     */
+    public void exportTo(MetricsExporter exporter) {
+        exporter.export(snapshot());
+    }
+
+    /**
+     * Zero every timer and counter, e.g. between profiled statements.
+     */
+    public void reset() {
+        phases.values().forEach(Histogram::reset);
+        streams.clear();
+    }
+
+    private static final class Traffic {
+        final LongAdder recordsRead = new LongAdder();
+        final LongAdder recordsWritten = new LongAdder();
+        final LongAdder rowsFiltered = new LongAdder();
+        final LongAdder bytesRead = new LongAdder();
+        final LongAdder bytesWritten = new LongAdder();
+    }
+}
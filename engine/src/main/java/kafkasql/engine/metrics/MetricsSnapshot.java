@@ -0,0 +1,57 @@
+package kafkasql.engine.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import kafkasql.runtime.Name;
+
+/**
+ * Point-in-time copy of a {@link MetricsRegistry}.
+ *
+ * @param phases  Timings of every phase that occurred, in phase order
+ * @param streams Traffic per stream that was read or written, by name
+ */
+public record MetricsSnapshot(
+    Map<Phase, Timing> phases,
+    Map<Name, StreamTraffic> streams
+) {
+
+    /**
+     * @param count Occurrences of the phase
+     * @param totalNanos Time spent in all of them
+     * @param p50Nanos Median, within a factor of two
+     * @param p99Nanos 99th percentile, within a factor of two
+     * @param maxNanos Longest occurrence
+     */
+    public record Timing(long count, long totalNanos, long p50Nanos, long p99Nanos, long maxNanos) { }
+
+    public record StreamTraffic(
+        long recordsRead,
+        long recordsWritten,
+        long rowsFiltered,
+        long bytesRead,
+        long bytesWritten
+    ) { }
+
+    /**
+     * Human-readable profile, one line per phase and stream, e.g. for a
+     * shell to print after each statement.
+     */
+    public List<String> format() {
+        List<String> lines = new ArrayList<>();
+        phases.forEach((phase, t) -> lines.add(String.format(
+            "%-9s %6d x  total %s  p50 %s  p99 %s  max %s",
+            phase, t.count(), millis(t.totalNanos()), millis(t.p50Nanos()),
+            millis(t.p99Nanos()), millis(t.maxNanos()))));
+        streams.forEach((stream, s) -> lines.add(String.format(
+            "%s: read %d, written %d, filtered %d, bytes in %d, bytes out %d",
+            stream.fullName(), s.recordsRead(), s.recordsWritten(), s.rowsFiltered(),
+            s.bytesRead(), s.bytesWritten())));
+        return lines;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,21 @@
+package kafkasql.engine.metrics;
+
+/**
+ * Timed stages of script processing.
+ */
+public enum Phase {
+    /** Lexing and parsing scripts. */
+    PARSE,
+    /** Semantic binding against the symbol table. */
+    BIND,
+    /** Running one READ, WRITE, SHOW or EXPLAIN statement. */
+    EXECUTE,
+    /** Resolving WRITE values against the current schema. */
+    RESOLVE,
+    /** Writing and publishing schema markers after ALTER TYPE. */
+    MARKER,
+    /** Calling model change, drop and alter listeners. */
+    LISTENER,
+    /** Waiting on the backend to store a batch of records. */
+    BACKEND
+}
@@ -0,0 +1,165 @@
+package kafkasql.persistence;
+
+import sys.schema.SymbolEventLog;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * What has been applied from the event log: the last ObjectVersion of
+ * every object and the EventIds of the most recent events.
+ * <p>
+ * An {@link EventLogReader} checks each event here before parsing it, so
+ * events delivered twice — by a producer retry, or by resuming from an
+ * offset or snapshot that overlaps what was already applied — are
+ * skipped instead of applied again:
+ * <ul>
+ *   <li>an EventId among the recent ones is a duplicate;</li>
+ *   <li>a CREATE of an object that exists is stale;</li>
+ *   <li>an ALTER or DROP of a dropped object, or at a version no newer
+ *       than the object's last, is stale.</li>
+ * </ul>
+ * Versions restart at 1 when an object is created again, so only the
+ * recent EventIds tell a replayed event of an earlier incarnation apart.
+ * Objects never seen here are not judged; their events are applied.
+ */
+public class AppliedEvents {
+
+    /** Recent EventIds kept by default */
+    public static final int DEFAULT_RECENT_IDS = 10_000;
+
+    /** object → last version, negated once dropped */
+    private final Map<String, Integer> versions = new HashMap<>();
+    private final Set<UUID> recent;
+
+    public AppliedEvents() {
+        this(DEFAULT_RECENT_IDS);
+    }
+
+    /**
+     * @param recentIds Number of most recent EventIds kept
+     */
+    public AppliedEvents(int recentIds) {
+        if (recentIds <= 0) {
+            throw new IllegalArgumentException("Recent EventIds must be > 0, got: " + recentIds);
+        }
+        this.recent = Collections.newSetFromMap(new LinkedHashMap<>(Math.min(recentIds, 1024) * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > recentIds;
+            }
+        });
+    }
+
+    /**
+     * Returns true if the event is neither a duplicate nor stale.
+     */
+    public synchronized boolean isNew(SymbolEventLog.SymbolEvent event) {
+        return !recent.contains(event.EventId()) && isNew(event, versions.get(event.ObjectName()));
+    }
+
+    /**
+     * Records an applied event.
+     */
+    public synchronized void record(SymbolEventLog.SymbolEvent event) {
+        recent.add(event.EventId());
+        record(event, versions);
+    }
+
+    /**
+     * Records the event if it is new.
+     *
+     * @return true if the event is new and should be applied
+     */
+    public synchronized boolean admit(SymbolEventLog.SymbolEvent event) {
+        if (!isNew(event)) {
+            return false;
+        }
+        record(event);
+        return true;
+    }
+
+    /**
+     * Starts judging a batch of events before any of them is applied.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Judges each event of a batch against the applied events and the
+     * events of the batch admitted before it, but records nothing here:
+     * each event is {@link #record recorded} once it has been applied, so
+     * a batch that fails part way leaves the rest to be applied again.
+     * Not thread-safe.
+     */
+    public final class Batch {
+        private final Map<String, Integer> versions = new HashMap<>();
+        private final Set<UUID> ids = new HashSet<>();
+
+        private Batch() {}
+
+        /**
+         * Returns true if the event is neither a duplicate nor stale.
+         */
+        public boolean admit(SymbolEventLog.SymbolEvent event) {
+            if (ids.contains(event.EventId()) || contains(event.EventId())) {
+                return false;
+            }
+            String name = event.ObjectName();
+            Integer last = versions.containsKey(name) ? versions.get(name) : appliedVersion(name);
+            if (!isNew(event, last)) {
+                return false;
+            }
+            ids.add(event.EventId());
+            record(event, versions);
+            return true;
+        }
+    }
+
+    private synchronized Integer appliedVersion(String objectName) {
+        return versions.get(objectName);
+    }
+
+    /**
+     * @param last The object's last version, negated once dropped, or
+     *             null if never seen
+     */
+    private static boolean isNew(SymbolEventLog.SymbolEvent event, Integer last) {
+        if (last == null) {
+            return true;
+        }
+        return switch (event.EventType()) {
+            case CREATE_STMT -> last < 0;
+            case ALTER_STMT, DROP_STMT -> last > 0 && event.ObjectVersion() > last;
+            case NOOP -> true;
+        };
+    }
+
+    private static void record(SymbolEventLog.SymbolEvent event, Map<String, Integer> versions) {
+        switch (event.EventType()) {
+            case CREATE_STMT, ALTER_STMT -> versions.put(event.ObjectName(), event.ObjectVersion());
+            case DROP_STMT -> versions.put(event.ObjectName(), -event.ObjectVersion());
+            case NOOP -> { }
+        }
+    }
+
+    /**
+     * Returns the last applied version of an object, 0 if unknown or dropped.
+     */
+    public synchronized int version(String objectName) {
+        return Math.max(versions.getOrDefault(objectName, 0), 0);
+    }
+
+    /**
+     * Returns true if an event with this id is among the recent ones.
+     */
+    public synchronized boolean contains(UUID eventId) {
+        return recent.contains(eventId);
+    }
+}
@@ -0,0 +1,459 @@
+package kafkasql.persistence;
+
+import kafkasql.io.codec.Decoder;
+import kafkasql.io.codec.Encoder;
+import kafkasql.lang.GrammarVersion;
+import kafkasql.lang.syntax.ast.AstListNode;
+import kafkasql.lang.syntax.ast.AstNode;
+import kafkasql.lang.syntax.ast.AstOptionalNode;
+import kafkasql.lang.syntax.ast.decl.Decl;
+import kafkasql.lang.syntax.ast.type.PrimitiveTypeNode;
+import kafkasql.runtime.diagnostics.Pos;
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.runtime.type.PrimitiveKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Compact binary form of a declaration, stored in the Payload of CREATE
+ * and ALTER events so replay rebuilds decls without parsing their DDL.
+ * <p>
+ * AST nodes are records, so a node is written as its class followed by
+ * its components in declaration order, each in the form its declared
+ * type calls for. Class names and strings are written once per payload
+ * and referenced by index after that, which keeps repeated identifiers
+ * and node classes to a byte or two.
+ * <p>
+ * The AST follows the grammar, so a payload is only read by the grammar
+ * version that wrote it. Payloads also name node classes and rely on
+ * component order and enum ordinals, which can change while the grammar
+ * version does not, so the header carries a hash of that shape too.
+ * {@link #isReadable} is false for a payload with another grammar
+ * version or shape, and replay falls back to the DDL text kept next to
+ * the payload.
+ *
+ * <h3>Format</h3>
+ * <pre>
+ * grammar  varint  GrammarVersion that wrote the payload
+ * shape    int32   {@link #AST_SHAPE} of the release that wrote it
+ * decl     node
+ *
+ * node     ref     class name, 0 for null; then its components
+ * ref      varint  0 for null, index + 1 of an earlier entry, or
+ *                  the next index + 1 followed by the string
+ * range    ref source, then (line + 1, column + 1) of from and to as varints
+ * </pre>
+ */
+final class DeclCodec {
+
+    private static final String AST_PACKAGE = "kafkasql.lang.syntax.ast.";
+
+    /**
+     * Hash of the node classes reachable from {@link Decl}, their
+     * components in order and the constants of every enum they use.
+     */
+    static final int AST_SHAPE = astShape();
+
+    private static final ClassValue<Shape> SHAPES = new ClassValue<>() {
+        @Override
+        protected Shape computeValue(Class<?> type) {
+            return Shape.of(type);
+        }
+    };
+
+    private DeclCodec() {}
+
+    /**
+     * Encodes a declaration with the current grammar version.
+     *
+     * @return The payload, or null for a null decl
+     */
+    static byte[] encode(Decl decl) {
+        if (decl == null) {
+            return null;
+        }
+        try {
+            var out = new ByteArrayOutputStream(256);
+            Encoder.writeVarInt32(out, GrammarVersion.CURRENT);
+            Encoder.writeInt32(out, AST_SHAPE);
+            new Writer(out).node(decl);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns true if this grammar version and AST shape wrote the payload.
+     */
+    static boolean isReadable(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return false;
+        }
+        try {
+            var in = new ByteArrayInputStream(payload);
+            return Decoder.decodeVarInt32(in) == GrammarVersion.CURRENT
+                && Decoder.decodeInt32(in) == AST_SHAPE;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decodes a payload {@link #isReadable readable} by this version.
+     */
+    static Decl decode(byte[] payload) {
+        try {
+            var in = new ByteArrayInputStream(payload);
+            int grammarVersion = Decoder.decodeVarInt32(in);
+            if (grammarVersion != GrammarVersion.CURRENT) {
+                throw new IllegalStateException("Decl payload has grammar version " + grammarVersion);
+            }
+            if (Decoder.decodeInt32(in) != AST_SHAPE) {
+                throw new IllegalStateException("Decl payload was written for another AST shape");
+            }
+            if (new Reader(in).node() instanceof Decl decl) {
+                return decl;
+            }
+            throw new IllegalStateException("Decl payload does not hold a declaration");
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Malformed decl payload", e);
+        }
+    }
+
+    private static final class Writer {
+        private final OutputStream out;
+        private final Map<String, Integer> refs = new HashMap<>();
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void value(Type type, Object value) throws IOException {
+            Class<?> raw = raw(type);
+            if (raw == Range.class) {
+                range((Range) value);
+            } else if (raw == String.class) {
+                ref((String) value);
+            } else if (raw == int.class) {
+                Encoder.writeVarInt32(out, (Integer) value);
+            } else if (raw == long.class) {
+                Encoder.writeVarInt64(out, (Long) value);
+            } else if (raw == boolean.class) {
+                Encoder.writeBool(out, (Boolean) value);
+            } else if (raw == Integer.class || raw == Long.class || raw == Boolean.class
+                    || raw == Duration.class || raw.isEnum()) {
+                Encoder.writeBool(out, value != null);
+                if (value != null) {
+                    scalar(value);
+                }
+            } else if (raw == AstListNode.class || raw == List.class) {
+                List<?> list = (List<?>) value;
+                Encoder.writeVarInt32(out, list.size());
+                for (Object item : list) {
+                    value(argument(type), item);
+                }
+            } else if (raw == AstOptionalNode.class) {
+                AstOptionalNode<?> optional = (AstOptionalNode<?>) value;
+                Encoder.writeBool(out, optional.isPresent());
+                if (optional.isPresent()) {
+                    value(argument(type), optional.get());
+                }
+            } else if (raw == Optional.class) {
+                Optional<?> optional = (Optional<?>) value;
+                Encoder.writeBool(out, optional.isPresent());
+                if (optional.isPresent()) {
+                    value(argument(type), optional.get());
+                }
+            } else {
+                node(value);
+            }
+        }
+
+        private void scalar(Object value) throws IOException {
+            switch (value) {
+                case Integer i -> Encoder.writeVarInt32(out, i);
+                case Long l -> Encoder.writeVarInt64(out, l);
+                case Boolean b -> Encoder.writeBool(out, b);
+                case Duration d -> {
+                    Encoder.writeVarInt64(out, d.getSeconds());
+                    Encoder.writeVarInt32(out, d.getNano());
+                }
+                case Enum<?> e -> Encoder.writeVarInt32(out, e.ordinal());
+                default -> throw new IllegalArgumentException("Cannot encode " + value.getClass());
+            }
+        }
+
+        void node(Object node) throws IOException {
+            if (node == null) {
+                ref(null);
+                return;
+            }
+            Class<?> type = node.getClass();
+            ref(type.getName());
+            if (node instanceof PrimitiveTypeNode primitive) {
+                range(primitive.range());
+                Encoder.writeVarInt32(out, primitive.kind().ordinal());
+                value(Long.class, primitive.length());
+                value(Long.class, primitive.precision());
+                value(Long.class, primitive.scale());
+                return;
+            }
+            Shape shape = SHAPES.get(type);
+            for (int i = 0; i < shape.components.length; i++) {
+                try {
+                    value(shape.types[i], shape.components[i].getAccessor().invoke(node));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot read " + shape.components[i], e);
+                }
+            }
+        }
+
+        private void range(Range range) throws IOException {
+            ref(range.source());
+            Encoder.writeVarInt32(out, range.from().ln() + 1);
+            Encoder.writeVarInt32(out, range.from().ch() + 1);
+            Encoder.writeVarInt32(out, range.to().ln() + 1);
+            Encoder.writeVarInt32(out, range.to().ch() + 1);
+        }
+
+        private void ref(String value) throws IOException {
+            if (value == null) {
+                Encoder.writeVarInt32(out, 0);
+                return;
+            }
+            Integer index = refs.get(value);
+            if (index != null) {
+                Encoder.writeVarInt32(out, index + 1);
+            } else {
+                refs.put(value, refs.size());
+                Encoder.writeVarInt32(out, refs.size());
+                Encoder.writeString(out, value);
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final InputStream in;
+        private final List<String> refs = new ArrayList<>();
+
+        Reader(InputStream in) {
+            this.in = in;
+        }
+
+        Object value(Type type) throws Exception {
+            Class<?> raw = raw(type);
+            if (raw == Range.class) {
+                return range();
+            } else if (raw == String.class) {
+                return ref();
+            } else if (raw == int.class) {
+                return Decoder.decodeVarInt32(in);
+            } else if (raw == long.class) {
+                return Decoder.decodeVarInt64(in);
+            } else if (raw == boolean.class) {
+                return Decoder.decodeBoolean(in);
+            } else if (raw == Integer.class || raw == Long.class || raw == Boolean.class
+                    || raw == Duration.class || raw.isEnum()) {
+                return Decoder.decodeBoolean(in) ? scalar(raw) : null;
+            } else if (raw == AstListNode.class || raw == List.class) {
+                int size = Decoder.decodeVarInt32(in);
+                List<Object> list = raw == List.class ? new ArrayList<>(size) : astList(argument(type));
+                for (int i = 0; i < size; i++) {
+                    list.add(value(argument(type)));
+                }
+                return raw == List.class ? List.copyOf(list) : list;
+            } else if (raw == AstOptionalNode.class) {
+                return astOptional(argument(type), Decoder.decodeBoolean(in) ? value(argument(type)) : null);
+            } else if (raw == Optional.class) {
+                return Decoder.decodeBoolean(in) ? Optional.of(value(argument(type))) : Optional.empty();
+            } else {
+                return node();
+            }
+        }
+
+        private Object scalar(Class<?> type) throws Exception {
+            if (type == Integer.class) return Decoder.decodeVarInt32(in);
+            if (type == Long.class) return Decoder.decodeVarInt64(in);
+            if (type == Boolean.class) return Decoder.decodeBoolean(in);
+            if (type == Duration.class) {
+                long seconds = Decoder.decodeVarInt64(in);
+                return Duration.ofSeconds(seconds, Decoder.decodeVarInt32(in));
+            }
+            Object[] constants = type.getEnumConstants();
+            int ordinal = Decoder.decodeVarInt32(in);
+            if (ordinal < 0 || ordinal >= constants.length) {
+                throw new IllegalStateException("No " + type.getSimpleName() + " with ordinal " + ordinal);
+            }
+            return constants[ordinal];
+        }
+
+        Object node() throws Exception {
+            String name = ref();
+            if (name == null) {
+                return null;
+            }
+            if (!name.startsWith(AST_PACKAGE)) {
+                throw new IllegalStateException("Not an AST node: " + name);
+            }
+            Class<?> type = Class.forName(name, false, DeclCodec.class.getClassLoader());
+            if (type == PrimitiveTypeNode.class) {
+                Range range = range();
+                PrimitiveKind kind = (PrimitiveKind) scalar(PrimitiveKind.class);
+                return PrimitiveTypeNode.of(range, kind,
+                    (Long) value(Long.class), (Long) value(Long.class), (Long) value(Long.class));
+            }
+            if (!type.isRecord() || !AstNode.class.isAssignableFrom(type)) {
+                throw new IllegalStateException("Not an AST node: " + name);
+            }
+            Shape shape = SHAPES.get(type);
+            Object[] args = new Object[shape.components.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = value(shape.types[i]);
+            }
+            return shape.constructor.newInstance(args);
+        }
+
+        private Range range() throws Exception {
+            String source = ref();
+            Pos from = new Pos(Decoder.decodeVarInt32(in) - 1, Decoder.decodeVarInt32(in) - 1);
+            Pos to = new Pos(Decoder.decodeVarInt32(in) - 1, Decoder.decodeVarInt32(in) - 1);
+            Range range = new Range(source, from, to);
+            return range.equals(Range.NONE) ? Range.NONE : range;
+        }
+
+        private String ref() throws Exception {
+            int index = Decoder.decodeVarInt32(in);
+            if (index == 0) {
+                return null;
+            }
+            if (index <= refs.size()) {
+                return refs.get(index - 1);
+            }
+            if (index != refs.size() + 1) {
+                throw new IllegalStateException("Reference " + index + " out of order");
+            }
+            String value = Decoder.decodeString(in);
+            refs.add(value);
+            return value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static List<Object> astList(Type element) {
+            return (List<Object>) (List) new AstListNode(raw(element));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object astOptional(Type element, Object value) {
+            Class clazz = raw(element);
+            return value == null ? AstOptionalNode.empty(clazz) : AstOptionalNode.of((AstNode) value, clazz);
+        }
+    }
+
+    private static int astShape() {
+        Map<String, String> shapes = new TreeMap<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(List.of(Decl.class, PrimitiveKind.class));
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.pop();
+            if (shapes.containsKey(type.getName())) {
+                continue;
+            }
+            StringBuilder shape = new StringBuilder();
+            if (type.isEnum()) {
+                for (Object constant : type.getEnumConstants()) {
+                    shape.append(((Enum<?>) constant).name()).append(',');
+                }
+            } else if (type.isSealed()) {
+                for (Class<?> permitted : type.getPermittedSubclasses()) {
+                    shape.append(permitted.getName()).append(',');
+                    pending.push(permitted);
+                }
+            } else if (type.isRecord() && type != PrimitiveTypeNode.class) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    shape.append(component.getName()).append(':')
+                        .append(component.getGenericType().getTypeName()).append(',');
+                    reach(component.getGenericType(), pending);
+                }
+            }
+            shapes.put(type.getName(), shape.toString());
+        }
+        return shapes.toString().hashCode();
+    }
+
+    /** Queues the AST classes and enums a component type refers to. */
+    private static void reach(Type type, Deque<Class<?>> pending) {
+        switch (type) {
+            case Class<?> c -> {
+                if (c.isEnum() || c.getName().startsWith(AST_PACKAGE)) {
+                    pending.push(c);
+                }
+            }
+            case ParameterizedType p -> {
+                reach(p.getRawType(), pending);
+                for (Type argument : p.getActualTypeArguments()) {
+                    reach(argument, pending);
+                }
+            }
+            case WildcardType w -> reach(w.getUpperBounds()[0], pending);
+            default -> {}
+        }
+    }
+
+    private static Class<?> raw(Type type) {
+        return switch (type) {
+            case Class<?> c -> c;
+            case ParameterizedType p -> (Class<?>) p.getRawType();
+            case WildcardType w -> raw(w.getUpperBounds()[0]);
+            default -> throw new IllegalArgumentException("Cannot encode components of type " + type);
+        };
+    }
+
+    private static Type argument(Type type) {
+        if (type instanceof ParameterizedType p) {
+            return p.getActualTypeArguments()[0];
+        }
+        throw new IllegalArgumentException("Missing element type: " + type);
+    }
+
+    /** Components and canonical constructor of an AST record. */
+    private record Shape(RecordComponent[] components, Type[] types, Constructor<?> constructor) {
+        static Shape of(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            if (components == null) {
+                throw new IllegalArgumentException("Cannot encode " + type.getName() + ": not a record");
+            }
+            Type[] types = new Type[components.length];
+            Class<?>[] parameters = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getGenericType();
+                parameters[i] = components[i].getType();
+            }
+            try {
+                return new Shape(components, types, type.getDeclaredConstructor(parameters));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("No canonical constructor for " + type.getName(), e);
+            }
+        }
+    }
+}
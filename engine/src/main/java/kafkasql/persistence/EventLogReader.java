@@ -6,18 +6,31 @@ import kafkasql.lang.KafkaSqlParser;
 import kafkasql.lang.ParseResult;
 import kafkasql.lang.input.Input;
 import kafkasql.lang.input.StringInput;
+import kafkasql.lang.semantic.bind.StatementBinder;
+import kafkasql.lang.semantic.symbol.DependencyGraph;
 import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.lang.syntax.ast.Script;
 import kafkasql.lang.syntax.ast.decl.Decl;
+import kafkasql.lang.syntax.ast.decl.StreamDecl;
 import kafkasql.lang.syntax.ast.stmt.CreateStmt;
 import kafkasql.lang.syntax.ast.stmt.Stmt;
 import kafkasql.runtime.Name;
+import kafkasql.runtime.jfr.EventLogReplayEvent;
 import kafkasql.runtime.stream.StreamReader;
+import sys.schema.EventType;
 import sys.schema.SymbolEventLog;
 
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Reads events from SymbolEventLog stream and applies them to a SymbolTable.
@@ -27,34 +40,88 @@ import java.util.Map;
  * 
  * Usage:
  * <pre>
- * var reader = SymbolEventLog.reader(consumer);
+ * var reader = SymbolEventCodec.reader(consumer);
  * var symbolTable = new SymbolTable();
  * var logReader = new EventLogReader(reader, symbolTable);
  * 
  * logReader.replayAll();  // Rebuild from all events
  * // or
  * logReader.readNext();   // Process one event at a time
+ * // or, with large logs
+ * try (var pool = Executors.newVirtualThreadPerTaskExecutor()) {
+ *     logReader.replayAll(1024, pool);  // Parse each batch in parallel
+ * }
  * </pre>
+ * 
+ * Each event is first checked against the {@link AppliedEvents} of the
+ * reader, so duplicated or stale events are skipped without parsing.
+ * Readers that continue each other, e.g. a snapshot replay and the log
+ * tail after it, should share one via {@link #setAppliedEvents}.
+ * 
+ * Events whose Payload this grammar version can read are applied from
+ * the decoded declaration; only older events, or ones written by another
+ * grammar version, parse their DDL text.
  */
 public class EventLogReader {
     
     private final StreamReader<SymbolEventLog> reader;
     private final SymbolTable symbolTable;
     private final StreamOffsetIndex offsetIndex;
+    private final StreamSchemaHistory schemaHistory;
+    private Consumer<SymbolEventLog.SymbolEvent> appliedListener = event -> { };
+    private Consumer<SymbolEventLog.SymbolEvent> skippedListener = event -> { };
+    private AppliedEvents applied = new AppliedEvents();
+    private long skipped;
     
     public EventLogReader(StreamReader<SymbolEventLog> reader, SymbolTable symbolTable) {
-        this(reader, symbolTable, null);
+        this(reader, symbolTable, null, null);
     }
     
     public EventLogReader(StreamReader<SymbolEventLog> reader, SymbolTable symbolTable,
                           StreamOffsetIndex offsetIndex) {
+        this(reader, symbolTable, offsetIndex, null);
+    }
+    
+    /**
+     * @param offsetIndex   Receives the marker offsets of ALTER events, or null
+     * @param schemaHistory Receives the stream schemas at each CREATE and
+     *                      marker-writing ALTER, or null
+     */
+    public EventLogReader(StreamReader<SymbolEventLog> reader, SymbolTable symbolTable,
+                          StreamOffsetIndex offsetIndex, StreamSchemaHistory schemaHistory) {
         this.reader = reader;
         this.symbolTable = symbolTable;
         this.offsetIndex = offsetIndex;
+        this.schemaHistory = schemaHistory;
+    }
+    
+    /**
+     * Sets a callback that receives each event after it has been applied,
+     * including events a batched replay elided.
+     */
+    public void onApplied(Consumer<SymbolEventLog.SymbolEvent> listener) {
+        this.appliedListener = listener;
+    }
+    
+    /**
+     * Sets a callback that receives each event skipped as a duplicate or
+     * stale.
+     */
+    public void onSkipped(Consumer<SymbolEventLog.SymbolEvent> listener) {
+        this.skippedListener = listener;
+    }
+    
+    /**
+     * Replaces the record of applied events this reader checks and
+     * updates, e.g. with one shared with an earlier reader.
+     */
+    public void setAppliedEvents(AppliedEvents applied) {
+        this.applied = applied;
     }
     
     /**
      * Reads and applies the next event from the stream.
+     * Duplicated or stale events count as processed but are skipped.
      * 
      * @return true if an event was processed, false if no events available
      * @throws Exception if reading or applying the event fails
@@ -66,13 +133,37 @@ public class EventLogReader {
         }
         
         if (event instanceof SymbolEventLog.SymbolEvent symbolEvent) {
-            applyEvent(symbolEvent);
+            apply(symbolEvent);
             return true;
         }
         
         return false;
     }
     
+    /**
+     * Applies an event obtained elsewhere, e.g. by a follower of the log
+     * tail, as if it had been read from the stream.
+     * 
+     * @return true if applied, false if skipped as a duplicate or stale
+     * @throws Exception if applying the event fails
+     */
+    public boolean apply(SymbolEventLog.SymbolEvent event) throws Exception {
+        if (!applied.isNew(event)) {
+            skip(event);
+            return false;
+        }
+        checkGrammarVersion(event);
+        applyEvent(event, payloadDecl(event), null);
+        applied.record(event);
+        appliedListener.accept(event);
+        return true;
+    }
+    
+    private void skip(SymbolEventLog.SymbolEvent event) {
+        skipped++;
+        skippedListener.accept(event);
+    }
+    
     /**
      * Replays all available events from the stream to rebuild symbol table state.
      * Blocks until no more events are available.
@@ -81,17 +172,242 @@ public class EventLogReader {
      * @throws Exception if reading or applying events fails
      */
     public int replayAll() throws Exception {
+        EventLogReplayEvent event = new EventLogReplayEvent();
+        event.begin();
+        long skippedBefore = skipped;
         int count = 0;
         while (readNext()) {
             count++;
         }
+        commit(event, count, skipped - skippedBefore);
         return count;
     }
     
     /**
-     * Applies a single event to the symbol table.
+     * Replays all available events in batches, parsing the DDL of each
+     * batch in parallel on the given executor.
+     * <p>
+     * Parsing does not depend on order, so only applying to the symbol
+     * table runs in log order on the calling thread. Objects created and
+     * dropped within the same batch are neither parsed nor applied, unless
+     * one of their ALTERs recorded schema-change markers, since those
+     * feed the offset index.
+     * 
+     * @param batchSize Number of events read ahead and parsed together
+     * @param executor  Runs the parse tasks
+     * @return Number of events processed
+     * @throws Exception if reading or applying events fails
+     */
+    public int replayAll(int batchSize, ExecutorService executor) throws Exception {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be > 0, got: " + batchSize);
+        }
+        EventLogReplayEvent event = new EventLogReplayEvent();
+        event.begin();
+        long skippedBefore = skipped;
+        int count = 0;
+        List<SymbolEventLog.SymbolEvent> batch = new ArrayList<>(batchSize);
+        boolean more = true;
+        while (more) {
+            batch.clear();
+            while (batch.size() < batchSize) {
+                SymbolEventLog next = reader.read();
+                if (next == null) {
+                    more = false;
+                    break;
+                }
+                if (next instanceof SymbolEventLog.SymbolEvent symbolEvent) {
+                    batch.add(symbolEvent);
+                }
+            }
+            applyBatch(batch, executor);
+            count += batch.size();
+        }
+        commit(event, count, skipped - skippedBefore);
+        return count;
+    }
+    
+    private void commit(EventLogReplayEvent event, int count, long skippedEvents) {
+        if (event.shouldCommit()) {
+            event.stream = reader.streamName();
+            event.events = count - skippedEvents;
+            event.skipped = skippedEvents;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Parses a batch in parallel, then applies it in log order. Duplicated
+     * and stale events are sorted out first, in log order, and neither
+     * parsed nor applied. Payloads are decoded once, for elision and
+     * apply. Each event is recorded as applied only once it is.
+     */
+    private void applyBatch(List<SymbolEventLog.SymbolEvent> batch, ExecutorService executor) throws Exception {
+        AppliedEvents.Batch admitted = applied.batch();
+        boolean[] stale = new boolean[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            stale[i] = !admitted.admit(batch.get(i));
+        }
+        Decl[] decoded = new Decl[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            decoded[i] = stale[i] ? null : payloadDecl(batch.get(i));
+        }
+        boolean[] elided = elide(batch, stale, decoded);
+        List<Future<ParseResult>> parsed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SymbolEventLog.SymbolEvent event = batch.get(i);
+            if (stale[i]) {
+                parsed.add(null);
+                continue;
+            }
+            checkGrammarVersion(event);
+            String text = elided[i] || decoded[i] != null ? null : replayText(event);
+            parsed.add(text == null ? null : executor.submit(() -> parse(text)));
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            SymbolEventLog.SymbolEvent event = batch.get(i);
+            if (stale[i]) {
+                skip(event);
+                continue;
+            }
+            if (!elided[i]) {
+                Future<ParseResult> result = parsed.get(i);
+                applyEvent(event, decoded[i], result == null ? null : await(result));
+            }
+            applied.record(event);
+            appliedListener.accept(event);
+        }
+    }
+    
+    /**
+     * Marks the events of objects a later DROP in the batch removes again:
+     * from their CREATE up to, not including, the DROP. An ALTER with
+     * marker offsets keeps the object, and so does any event left in the
+     * batch that refers to it, e.g. an ALTER of another type that adds a
+     * field of the object's type. Stale events are ignored.
      */
-    private void applyEvent(SymbolEventLog.SymbolEvent event) throws Exception {
+    private static boolean[] elide(List<SymbolEventLog.SymbolEvent> batch, boolean[] stale, Decl[] decoded) {
+        List<int[]> spans = new ArrayList<>(); // {CREATE, DROP} of each object the batch drops again
+        Map<String, Integer> created = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (stale[i]) {
+                continue;
+            }
+            SymbolEventLog.SymbolEvent event = batch.get(i);
+            String name = event.ObjectName();
+            switch (event.EventType()) {
+                case CREATE_STMT -> created.put(name, i);
+                case ALTER_STMT -> {
+                    if (event.MarkerOffsets() != null) {
+                        created.remove(name);
+                    }
+                }
+                case DROP_STMT -> {
+                    Integer from = created.remove(name);
+                    if (from != null) {
+                        spans.add(new int[] { from, i });
+                    }
+                }
+                case NOOP -> {}
+            }
+        }
+        if (spans.isEmpty()) {
+            return new boolean[batch.size()];
+        }
+
+        // Candidates by the full name payloads refer to them by, and by
+        // the simple name DDL text without a payload may use
+        Map<Name, List<Integer>> byName = new HashMap<>();
+        Map<String, List<Integer>> bySimpleName = new HashMap<>();
+        boolean[] elided = new boolean[batch.size()];
+        for (int s = 0; s < spans.size(); s++) {
+            int[] span = spans.get(s);
+            Name name = Name.of(batch.get(span[0]).ObjectName());
+            byName.computeIfAbsent(name, k -> new ArrayList<>()).add(s);
+            bySimpleName.computeIfAbsent(name.name().toLowerCase(), k -> new ArrayList<>()).add(s);
+            for (int k = span[0]; k < span[1]; k++) {
+                if (!stale[k] && batch.get(k).ObjectName().equals(name.fullName())) {
+                    elided[k] = true;
+                }
+            }
+        }
+
+        // Keeping an object applies its events, which may in turn refer to
+        // another candidate: each kept span adds its events' references
+        Deque<Integer> keep = new ArrayDeque<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!stale[i] && !elided[i]) {
+                referencedSpans(batch.get(i), decoded[i], byName, bySimpleName, keep);
+            }
+        }
+        boolean[] kept = new boolean[spans.size()];
+        while (!keep.isEmpty()) {
+            int s = keep.pop();
+            if (kept[s]) {
+                continue;
+            }
+            kept[s] = true;
+            int[] span = spans.get(s);
+            String name = batch.get(span[0]).ObjectName();
+            for (int k = span[0]; k < span[1]; k++) {
+                if (elided[k] && batch.get(k).ObjectName().equals(name)) {
+                    elided[k] = false;
+                    referencedSpans(batch.get(k), decoded[k], byName, bySimpleName, keep);
+                }
+            }
+        }
+        return elided;
+    }
+
+    /**
+     * Adds the candidate spans an event refers to. With a payload these
+     * are the named types its declaration resolves to; without one, any
+     * word of its DDL matching a candidate's simple name, which errs
+     * towards keeping: a needless parse is cheap, a missing type fails
+     * the replay.
+     */
+    private static void referencedSpans(
+        SymbolEventLog.SymbolEvent event,
+        Decl decoded,
+        Map<Name, List<Integer>> byName,
+        Map<String, List<Integer>> bySimpleName,
+        Deque<Integer> out
+    ) {
+        if (event.EventType() == EventType.DROP_STMT) {
+            return;
+        }
+        if (decoded != null) {
+            for (Name ref : DependencyGraph.referencesOf(decoded)) {
+                out.addAll(byName.getOrDefault(ref, List.of()));
+            }
+            return;
+        }
+        String text = event.State();
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length()
+                && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_');
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.addAll(bySimpleName.getOrDefault(text.substring(start, i).toLowerCase(), List.of()));
+                start = -1;
+            }
+        }
+    }
+    
+    private static ParseResult await(Future<ParseResult> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+    
+    private static void checkGrammarVersion(SymbolEventLog.SymbolEvent event) {
         int grammarVersion = event.GrammarVersion();
         if (grammarVersion > GrammarVersion.CURRENT) {
             throw new UnsupportedOperationException(
@@ -100,34 +416,151 @@ public class EventLogReader {
                 ". Upgrade kafkasql to process this event."
             );
         }
-        
+    }
+    
+    /**
+     * Applies a single event to the symbol table.
+     * 
+     * @param decoded The declaration in the event's Payload, or null to
+     *                apply its DDL text
+     * @param parsed The event's {@link #replayText} already parsed, or null
+     *               to parse it here
+     */
+    private void applyEvent(SymbolEventLog.SymbolEvent event, Decl decoded, ParseResult parsed) throws Exception {
+        int grammarVersion = event.GrammarVersion();
         Name objectName = Name.of(event.ObjectName());
         
         switch (event.EventType()) {
-            case CREATE_STMT, ALTER_STMT -> {
-                if (event.State() != null) {
-                    Decl decl = parseState(grammarVersion, event.State());
-                    symbolTable.register(objectName, decl);
+            case CREATE_STMT -> {
+                if (decoded != null) {
+                    register(objectName, decoded);
+                } else if (event.State() != null) {
+                    if (parsed == null) {
+                        parsed = parse(event.State());
+                    }
+                    register(objectName, createDecl(grammarVersion, event.State(), parsed));
+                }
+            }
+            case ALTER_STMT -> {
+                if (decoded != null) {
+                    if (!symbolTable.replace(objectName, decoded)) {
+                        throw new IllegalStateException("Cannot apply ALTER of unknown object: " + objectName);
+                    }
+                } else if (event.State() != null && !event.State().isEmpty()) {
+                    if (parsed == null) {
+                        parsed = parse(alterText(objectName, event.State()));
+                    }
+                    applyAlter(grammarVersion, event.State(), parsed);
                 }
-                // Extract stream offsets from ALTER Delta field
-                if (event.EventType() == sys.schema.EventType.ALTER_STMT
-                        && offsetIndex != null && event.Delta() != null) {
+                // Record the schema-change markers the ALTER wrote
+                if (offsetIndex != null && event.MarkerOffsets() != null) {
                     Map<String, Map<Integer, Long>> offsets =
-                        EventLogWriter.extractOffsets(event.Delta());
+                        EventLogWriter.markerOffsets(event);
                     if (!offsets.isEmpty()) {
                         offsetIndex.record(offsets, event.ObjectVersion());
+                        recordEpochs(offsets.keySet());
                     }
                 }
             }
             case DROP_STMT -> {
-                symbolTable._decl.remove(objectName);
+                symbolTable.remove(objectName);
+                if (schemaHistory != null) {
+                    schemaHistory.dropped(objectName.fullName());
+                }
             }
         }
     }
     
     /**
-     * Parses a State string back into a Decl using the grammar version
-     * that produced it.
+     * The declaration in an event's Payload, or null if this version
+     * cannot read it; the event's DDL text is then parsed instead.
+     */
+    private static Decl payloadDecl(SymbolEventLog.SymbolEvent event) {
+        if (!DeclCodec.isReadable(event.Payload())) {
+            return null;
+        }
+        try {
+            return DeclCodec.decode(event.Payload());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private void register(Name objectName, Decl decl) {
+        symbolTable.register(objectName, decl);
+        if (schemaHistory != null && decl instanceof StreamDecl stream) {
+            schemaHistory.created(objectName.fullName(),
+                StatementBinder.memberRowTypes(stream, symbolTable));
+        }
+    }
+    
+    /**
+     * Appends the streams' current member types as the epoch that starts
+     * at the markers just recorded.
+     */
+    private void recordEpochs(Iterable<String> streams) {
+        if (schemaHistory == null) {
+            return;
+        }
+        for (String stream : streams) {
+            symbolTable.lookupStream(Name.of(stream)).ifPresent(decl ->
+                schemaHistory.altered(stream, StatementBinder.memberRowTypes(decl, symbolTable)));
+        }
+    }
+    
+    /**
+     * Returns the DDL text replaying an event without a readable payload
+     * parses, or null if it parses nothing.
+     */
+    private static String replayText(SymbolEventLog.SymbolEvent event) {
+        return switch (event.EventType()) {
+            case CREATE_STMT -> event.State();
+            case ALTER_STMT -> event.State() == null || event.State().isEmpty()
+                ? null
+                : alterText(Name.of(event.ObjectName()), event.State());
+            case DROP_STMT, NOOP -> null;
+        };
+    }
+    
+    /**
+     * The State of an ALTER event is the ALTER statement, which is bound
+     * in the context of the altered object, as the engine did when it ran.
+     */
+    private static String alterText(Name objectName, String state) {
+        String text = state.strip();
+        if (!text.endsWith(";")) {
+            text += ";";
+        }
+        if (!objectName.context().isEmpty()) {
+            text = "USE CONTEXT " + objectName.context() + ";\n" + text;
+        }
+        return text;
+    }
+    
+    private static ParseResult parse(String text) {
+        Input input = new StringInput("event-replay", text);
+        KafkaSqlArgs args = new KafkaSqlArgs(Path.of(""), false, false);
+        return KafkaSqlParser.parse(List.of(input), args);
+    }
+    
+    /**
+     * Re-applies a parsed ALTER to the symbol table.
+     */
+    private void applyAlter(int grammarVersion, String state, ParseResult result) {
+        if (!result.diags().hasError()) {
+            var model = KafkaSqlParser.bind(result, symbolTable);
+            if (!model.diags().hasError()) {
+                return;
+            }
+        }
+        throw new IllegalStateException(
+            "Could not apply ALTER for grammar version " + grammarVersion + ": " + state
+        );
+    }
+    
+    /**
+     * Extracts the Decl from a parsed State string, which the grammar
+     * version that produced it describes.
      * 
      * Since State stores the full DDL statement text, we can re-parse it
      * to reconstruct the AST. The grammar version tells us which parser
@@ -135,17 +568,13 @@ public class EventLogReader {
      * 
      * @param grammarVersion The grammar version used when the event was written
      * @param state The DDL statement text
+     * @param result The parsed State
      * @return The parsed declaration
      */
-    private Decl parseState(int grammarVersion, String state) {
-        // Parse the DDL statement text back into an AST
+    private static Decl createDecl(int grammarVersion, String state, ParseResult result) {
         // When grammar evolves, add version-specific handling here:
         //   case 2 -> parseV2(state)
         //   case 3 -> parseV3(state)
-        Input input = new StringInput("event-replay", state);
-        KafkaSqlArgs args = new KafkaSqlArgs(Path.of(""), false, false);
-        ParseResult result = KafkaSqlParser.parse(List.of(input), args);
-
         for (Script script : result.scripts()) {
             for (Stmt stmt : script.statements()) {
                 if (stmt instanceof CreateStmt create) {
@@ -1,14 +1,24 @@
 package kafkasql.persistence;
 
+import kafkasql.io.codec.Decoder;
+import kafkasql.io.codec.Encoder;
 import kafkasql.lang.GrammarVersion;
 import kafkasql.lang.syntax.ast.decl.Decl;
 import kafkasql.runtime.Name;
 import kafkasql.runtime.stream.StreamWriter;
+import kafkasql.runtime.stream.TransactionalStreamWriter;
 import sys.schema.EventType;
 import sys.schema.SymbolEventLog;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -31,12 +41,20 @@ import java.util.UUID;
  * 
  * // When dropping
  * logWriter.writeDrop(name, "DROP TYPE Foo", 3);
+ * 
+ * // Several changes as one unit: sent together, flushed once
+ * logWriter.begin();
+ * logWriter.writeCreate(...);
+ * logWriter.writeCreate(...);
+ * logWriter.commit();
  * </pre>
  */
 public class EventLogWriter {
     
     private final StreamWriter<SymbolEventLog> writer;
     private final String source;
+    private List<SymbolEventLog.SymbolEvent> buffer; // Non-null between begin() and commit()/abort()
+    private boolean transactional;
     
     /**
      * Creates an event log writer.
@@ -49,15 +67,97 @@ public class EventLogWriter {
         this.source = source;
     }
     
+    /**
+     * Commits each unit of work in one transaction of the underlying
+     * writer, so readers see all of its events or none.
+     * 
+     * @throws IllegalArgumentException if the writer is not transactional
+     */
+    public void setTransactional(boolean transactional) {
+        if (transactional && !(writer instanceof TransactionalStreamWriter)) {
+            throw new IllegalArgumentException(
+                "Stream writer for " + writer.streamName() + " does not support transactions");
+        }
+        this.transactional = transactional;
+    }
+    
+    /**
+     * Starts a unit of work: events are buffered until {@link #commit()}.
+     * 
+     * @throws IllegalStateException if a unit of work is already open
+     */
+    public void begin() {
+        if (buffer != null) {
+            throw new IllegalStateException("Unit of work already open");
+        }
+        buffer = new ArrayList<>();
+    }
+    
+    /**
+     * Returns true between {@link #begin()} and {@link #commit()} or {@link #abort()}.
+     */
+    public boolean inUnitOfWork() {
+        return buffer != null;
+    }
+    
+    /**
+     * Sends the buffered events pipelined, in one transaction if
+     * {@linkplain #setTransactional transactional}, and flushes once.
+     * 
+     * @return The events written
+     * @throws Exception if writing fails; the events are then discarded
+     */
+    public List<SymbolEventLog.SymbolEvent> commit() throws Exception {
+        if (buffer == null) {
+            throw new IllegalStateException("No unit of work open");
+        }
+        List<SymbolEventLog.SymbolEvent> events = buffer;
+        buffer = null;
+        if (events.isEmpty()) {
+            return events;
+        }
+        if (transactional) {
+            TransactionalStreamWriter<SymbolEventLog> tx = (TransactionalStreamWriter<SymbolEventLog>) writer;
+            tx.beginTransaction();
+            try {
+                tx.writeAll(events);
+                tx.commitTransaction();
+            } catch (Exception e) {
+                tx.abortTransaction();
+                throw e;
+            }
+        } else {
+            writer.writeAll(events);
+            writer.flush();
+        }
+        return events;
+    }
+    
+    /**
+     * Discards the buffered events of the open unit of work, if any.
+     */
+    public void abort() {
+        buffer = null;
+    }
+    
+    private void append(SymbolEventLog.SymbolEvent event) throws Exception {
+        if (buffer != null) {
+            buffer.add(event);
+        } else {
+            writer.write(event);
+        }
+    }
+    
     /**
      * Writes a CREATE event to the log.
      * 
      * @param objectName Fully qualified name of the created object
      * @param decl The declaration of the created object
      * @param statementText Original DDL statement text
+     * @return The event written
      * @throws Exception if writing fails
      */
-    public void writeCreate(Name objectName, Decl decl, String statementText) throws Exception {
+    public SymbolEventLog.SymbolEvent writeCreate(Name objectName, Decl decl, String statementText) throws Exception {
         SymbolEventLog.SymbolEvent event = new SymbolEventLog.SymbolEvent(
             UUID.randomUUID(),
             LocalDateTime.now(ZoneOffset.UTC),
@@ -67,10 +167,13 @@ public class EventLogWriter {
             objectName.fullName(),
             1,  // CREATE is always version 1
             statementText,
-            statementText  // State = full DDL for replay (same as Delta for CREATE)
+            statementText,  // State = full DDL for replay (same as Delta for CREATE)
+            null,
+            DeclCodec.encode(decl)
         );
         
-        writer.write(event);
+        append(event);
+        return event;
     }
     
     /**
@@ -80,10 +183,11 @@ public class EventLogWriter {
      * @param decl The updated declaration
      * @param statementText Original DDL statement text
      * @param version New version number (must be > previous version)
+     * @return The event written
      * @throws Exception if writing fails
      */
-    public void writeAlter(Name objectName, Decl decl, String statementText, int version) throws Exception {
-        writeAlter(objectName, decl, statementText, version, Map.of());
+    public SymbolEventLog.SymbolEvent writeAlter(Name objectName, Decl decl, String statementText, int version) throws Exception {
+        return writeAlter(objectName, decl, statementText, version, Map.of());
     }
     
     /**
@@ -94,19 +198,15 @@ public class EventLogWriter {
      * @param statementText Original DDL statement text
      * @param version New version number (must be > previous version)
      * @param streamOffsets Map of stream name → (partition → offset) for schema markers
+     * @return The event written
      * @throws Exception if writing fails
      */
-    public void writeAlter(Name objectName, Decl decl, String statementText, int version,
+    public SymbolEventLog.SymbolEvent writeAlter(Name objectName, Decl decl, String statementText, int version,
                            Map<String, Map<Integer, Long>> streamOffsets) throws Exception {
         if (version <= 1) {
             throw new IllegalArgumentException("ALTER version must be > 1, got: " + version);
         }
         
-        String delta = statementText;
-        if (streamOffsets != null && !streamOffsets.isEmpty()) {
-            delta = statementText + OFFSET_SEPARATOR + encodeOffsets(streamOffsets);
-        }
-        
         SymbolEventLog.SymbolEvent event = new SymbolEventLog.SymbolEvent(
             UUID.randomUUID(),
             LocalDateTime.now(ZoneOffset.UTC),
@@ -115,11 +215,14 @@ public class EventLogWriter {
             EventType.ALTER_STMT,
             objectName.fullName(),
             version,
-            delta,
-            statementText  // State = full DDL for replay (TODO: DDL printer for ALTER)
+            statementText,
+            statementText,  // State = full DDL for replay (TODO: DDL printer for ALTER)
+            encodeOffsets(streamOffsets),
+            DeclCodec.encode(decl)
         );
         
-        writer.write(event);
+        append(event);
+        return event;
     }
     
     /**
@@ -128,9 +231,10 @@ public class EventLogWriter {
      * @param objectName Fully qualified name of the dropped object
      * @param statementText Original DDL statement text
      * @param version New version number (must be > previous version)
+     * @return The event written
      * @throws Exception if writing fails
      */
-    public void writeDrop(Name objectName, String statementText, int version) throws Exception {
+    public SymbolEventLog.SymbolEvent writeDrop(Name objectName, String statementText, int version) throws Exception {
         if (version <= 1) {
             throw new IllegalArgumentException("DROP version must be > 1, got: " + version);
         }
@@ -144,84 +248,88 @@ public class EventLogWriter {
             objectName.fullName(),
             version,
             statementText,
-            ""  // No state after DROP
+            "",  // No state after DROP
+            null,
+            null
         );
         
-        writer.write(event);
+        append(event);
+        return event;
     }
     
     /**
-     * Flushes any pending writes to ensure durability.
+     * Flushes any pending writes to ensure durability. Within a unit of
+     * work this is left to {@link #commit()}.
      * 
      * @throws Exception if flushing fails
      */
     public void flush() throws Exception {
-        writer.flush();
+        if (buffer == null) {
+            writer.flush();
+        }
     }
     
     // ========================================================================
-    // Stream offset encoding (stored in Delta field for ALTER events)
+    // Marker offset encoding (MarkerOffsets field of ALTER events)
     // ========================================================================
     
-    /** Separator between DDL text and encoded offsets in the Delta field. */
-    static final String OFFSET_SEPARATOR = "\0";
-    
     /**
-     * Encodes stream offsets as a compact string.
-     * Format: {@code stream:partition:offset[,stream:partition:offset]*}
+     * Encodes stream offsets for the MarkerOffsets field, or null if there
+     * are none.
+     * Format: {@code varint streams, (string stream, varint partitions,
+     * (varint partition, varint offset)*)*}
      */
-    static String encodeOffsets(Map<String, Map<Integer, Long>> streamOffsets) {
-        var sb = new StringBuilder();
-        boolean first = true;
-        for (var streamEntry : streamOffsets.entrySet()) {
-            for (var partEntry : streamEntry.getValue().entrySet()) {
-                if (!first) sb.append(',');
-                sb.append(streamEntry.getKey())
-                  .append(':')
-                  .append(partEntry.getKey())
-                  .append(':')
-                  .append(partEntry.getValue());
-                first = false;
+    static byte[] encodeOffsets(Map<String, Map<Integer, Long>> streamOffsets) {
+        if (streamOffsets == null || streamOffsets.isEmpty()) {
+            return null;
+        }
+        try {
+            var out = new ByteArrayOutputStream();
+            Encoder.writeVarInt32(out, streamOffsets.size());
+            for (var streamEntry : streamOffsets.entrySet()) {
+                Encoder.writeString(out, streamEntry.getKey());
+                Encoder.writeVarInt32(out, streamEntry.getValue().size());
+                for (var partEntry : streamEntry.getValue().entrySet()) {
+                    Encoder.writeVarInt32(out, partEntry.getKey());
+                    Encoder.writeVarInt64(out, partEntry.getValue());
+                }
             }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return sb.toString();
     }
     
     /**
-     * Decodes stream offsets from the compact string format.
+     * Decodes the MarkerOffsets field.
      * Returns an empty map if the input is null or empty.
      */
-    static Map<String, Map<Integer, Long>> decodeOffsets(String encoded) {
-        if (encoded == null || encoded.isEmpty()) return Map.of();
-        var result = new java.util.HashMap<String, Map<Integer, Long>>();
-        for (String entry : encoded.split(",")) {
-            // Format: stream:partition:offset — split from the right
-            int lastColon = entry.lastIndexOf(':');
-            int secondColon = entry.lastIndexOf(':', lastColon - 1);
-            String stream = entry.substring(0, secondColon);
-            int partition = Integer.parseInt(entry.substring(secondColon + 1, lastColon));
-            long offset = Long.parseLong(entry.substring(lastColon + 1));
-            result.computeIfAbsent(stream, k -> new java.util.HashMap<>())
-                  .put(partition, offset);
+    static Map<String, Map<Integer, Long>> decodeOffsets(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) return Map.of();
+        try {
+            var in = new ByteArrayInputStream(encoded);
+            int streams = Decoder.decodeVarInt32(in);
+            var result = new LinkedHashMap<String, Map<Integer, Long>>(streams * 2);
+            for (int s = 0; s < streams; s++) {
+                String stream = Decoder.decodeString(in);
+                int partitions = Decoder.decodeVarInt32(in);
+                var offsets = new LinkedHashMap<Integer, Long>(partitions * 2);
+                for (int p = 0; p < partitions; p++) {
+                    offsets.put(Decoder.decodeVarInt32(in), Decoder.decodeVarInt64(in));
+                }
+                result.put(stream, offsets);
+            }
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Malformed marker offsets", e);
         }
-        return result;
     }
     
     /**
-     * Extracts the DDL text from a Delta field that may contain encoded offsets.
+     * Returns the schema-change marker offsets an event carries, or an
+     * empty map if none.
      */
-    static String extractDdl(String delta) {
-        int sep = delta.indexOf(OFFSET_SEPARATOR);
-        return sep < 0 ? delta : delta.substring(0, sep);
+    static Map<String, Map<Integer, Long>> markerOffsets(SymbolEventLog.SymbolEvent event) {
+        return decodeOffsets(event.MarkerOffsets());
     }
-    
-    /**
-     * Extracts stream offsets from a Delta field, or empty map if none present.
-     */
-    static Map<String, Map<Integer, Long>> extractOffsets(String delta) {
-        int sep = delta.indexOf(OFFSET_SEPARATOR);
-        if (sep < 0) return Map.of();
-        return decodeOffsets(delta.substring(sep + OFFSET_SEPARATOR.length()));
-    }
-
 }
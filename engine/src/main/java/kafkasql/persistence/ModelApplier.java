@@ -0,0 +1,25 @@
+package kafkasql.persistence;
+
+/**
+ * Runs a {@link ModelFollower}'s changes to the model, serialized with
+ * the DDL that writes through the same {@link ModelStore}.
+ * <p>
+ * Unlike an {@link java.util.concurrent.Executor}, an applier must run
+ * the change on the calling thread and return only once it completed:
+ * the follower reads its outcome right after, to stop on a failure and
+ * to notify {@link ModelUpdateListener}s. The engine's
+ * {@code applyModelChange} is one.
+ *
+ * @see ModelStore#follow
+ */
+@FunctionalInterface
+public interface ModelApplier {
+
+    /**
+     * Runs the change on this thread, e.g. under a lock, and returns when
+     * it is done. Exceptions the change throws propagate.
+     *
+     * @param change Mutates the model
+     */
+    void apply(Runnable change);
+}
@@ -0,0 +1,93 @@
+package kafkasql.persistence;
+
+import kafkasql.runtime.stream.StreamReader;
+import sys.schema.SymbolEventLog;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps a {@link ModelStore} in sync with DDL other instances write to
+ * the model event log.
+ * <p>
+ * A daemon thread keeps reading the log where {@link ModelStore#load}
+ * stopped and applies each event as it arrives; events this store wrote
+ * itself are only counted. When the log has nothing new the thread
+ * backs off for a millisecond before reading again.
+ * <pre>
+ * var reader = SymbolEventCodec.reader(consumer);
+ * store.load(reader);
+ * try (var follower = store.follow(reader, engine::applyModelChange)) {
+ *     ...
+ * }
+ * </pre>
+ * A failure to read or apply an event stops the follower; see
+ * {@link #failure()}.
+ *
+ * @see ModelStore#follow
+ */
+public final class ModelFollower implements AutoCloseable {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ModelStore store;
+    private final StreamReader<SymbolEventLog> tail;
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile Exception failure;
+
+    ModelFollower(ModelStore store, StreamReader<SymbolEventLog> tail) {
+        this.store = store;
+        this.tail = tail;
+        this.thread = Thread.ofPlatform()
+            .daemon()
+            .name("model-follower-" + tail.streamName())
+            .unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                SymbolEventLog next = tail.read();
+                if (next instanceof SymbolEventLog.SymbolEvent event) {
+                    store.onTail(event);
+                } else if (next == null) {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+        } catch (Exception e) {
+            failure = e;
+            closed = true;
+        }
+    }
+
+    /**
+     * Returns true once the follower has been closed or has failed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the exception that stopped the follower, or null.
+     */
+    public Exception failure() {
+        return failure;
+    }
+
+    /**
+     * Stops following and waits for the thread to finish the event it is
+     * applying.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        if (Thread.currentThread() != thread) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package kafkasql.persistence;
+
+import kafkasql.io.codec.Decoder;
+import kafkasql.io.codec.Encoder;
+import kafkasql.runtime.Name;
+import sys.schema.EventType;
+import sys.schema.SymbolEventLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Checkpoint of a {@link ModelStore}: the events needed to rebuild its
+ * state and the position in the event log they cover.
+ * <p>
+ * Restoring replays the snapshot's events and then only the log events
+ * after {@link #position()}, instead of the whole log. The events are
+ * compacted to the incarnation of each live object since its last
+ * CREATE: one event per version, which is what the store's type history
+ * and stream schema history hold. Earlier incarnations and dropped
+ * objects are left out, unless an ALTER of theirs recorded
+ * schema-change markers on the live incarnation of a stream, since the
+ * stream's offset index and schema history are rebuilt from those.
+ * <p>
+ * A snapshot thus grows with the live model and its versions, not with
+ * the objects created and dropped over time. Events carrying a Payload,
+ * as this release writes them, are decoded on load rather than parsed.
+ *
+ * <h3>Format</h3>
+ * <pre>
+ * magic    int32   "KSMS"
+ * format   int32   3
+ * position int64   Number of log events covered
+ * versions varint  count, then (name string, version int32)*
+ * events   varint  count, then SymbolEventLog records
+ * </pre>
+ *
+ * @param position Number of event log events the snapshot covers
+ * @param versions Version of every object at the snapshot
+ * @param events   Compacted events, in log order
+ */
+public record ModelSnapshot(
+    long position,
+    Map<Name, Integer> versions,
+    List<SymbolEventLog.SymbolEvent> events
+) {
+
+    private static final int MAGIC = 0x4B534D53; // "KSMS"
+    private static final int FORMAT = 3; // 2: events carry MarkerOffsets, 3: Payload
+
+    public ModelSnapshot {
+        versions = Map.copyOf(versions);
+        events = List.copyOf(events);
+    }
+
+    /**
+     * Keeps the events of each live object since its last CREATE, and of
+     * earlier or dropped incarnations whose ALTERs carry markers for the
+     * live incarnation of a stream.
+     *
+     * @param events Applied events, in log order
+     * @return The events a replay needs to reach the same state
+     */
+    public static List<SymbolEventLog.SymbolEvent> compact(List<SymbolEventLog.SymbolEvent> events) {
+        // Incarnation of each event: the index of the CREATE that began it, or -1
+        int[] incarnation = new int[events.size()];
+        Map<String, Integer> live = new HashMap<>(); // Name → CREATE of its live incarnation
+        for (int i = 0; i < events.size(); i++) {
+            SymbolEventLog.SymbolEvent event = events.get(i);
+            String name = event.ObjectName();
+            incarnation[i] = switch (event.EventType()) {
+                case CREATE_STMT -> {
+                    live.put(name, i);
+                    yield i;
+                }
+                case ALTER_STMT -> live.getOrDefault(name, -1);
+                case DROP_STMT -> {
+                    Integer from = live.remove(name);
+                    yield from == null ? -1 : from;
+                }
+                case NOOP -> -1;
+            };
+        }
+
+        Set<Integer> keep = new HashSet<>(live.values());
+        for (int i = 0; i < events.size(); i++) {
+            SymbolEventLog.SymbolEvent event = events.get(i);
+            if (event.EventType() != EventType.ALTER_STMT || incarnation[i] < 0 || keep.contains(incarnation[i])) {
+                continue;
+            }
+            for (String stream : EventLogWriter.markerOffsets(event).keySet()) {
+                Integer created = live.get(stream);
+                if (created != null && created < i) {
+                    keep.add(incarnation[i]);
+                    break;
+                }
+            }
+        }
+
+        List<SymbolEventLog.SymbolEvent> compacted = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            if (incarnation[i] >= 0 && keep.contains(incarnation[i])) {
+                compacted.add(events.get(i));
+            }
+        }
+        return compacted;
+    }
+
+    public void writeTo(OutputStream out) throws Exception {
+        Encoder.writeInt32(out, MAGIC);
+        Encoder.writeInt32(out, FORMAT);
+        Encoder.writeInt64(out, position);
+        Encoder.writeVarInt32(out, versions.size());
+        for (var entry : versions.entrySet()) {
+            Encoder.writeString(out, entry.getKey().fullName());
+            Encoder.writeInt32(out, entry.getValue());
+        }
+        Encoder.writeVarInt32(out, events.size());
+        for (SymbolEventLog.SymbolEvent event : events) {
+            event.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a snapshot of this or an older readable format.
+     *
+     * @throws IllegalStateException if the input is not a snapshot or is
+     *         in a format this release cannot read
+     */
+    public static ModelSnapshot readFrom(InputStream in) throws Exception {
+        int format = readFormat(in);
+        int layout = eventLayout(format);
+        if (layout == 0) {
+            throw new IllegalStateException("Unsupported model snapshot format: " + format);
+        }
+        return readBody(in, layout);
+    }
+
+    /**
+     * The {@link SymbolEventCodec} layout of a format's events, 0 if the
+     * format cannot be read.
+     */
+    private static int eventLayout(int format) {
+        return switch (format) {
+            case 1 -> SymbolEventCodec.LAYOUT_DELTA_OFFSETS;
+            case 2 -> SymbolEventCodec.LAYOUT_MARKER_OFFSETS;
+            case FORMAT -> SymbolEventCodec.LAYOUT_CURRENT;
+            default -> 0;
+        };
+    }
+
+    private static int readFormat(InputStream in) throws Exception {
+        int magic = Decoder.decodeInt32(in);
+        if (magic != MAGIC) {
+            throw new IllegalStateException("Not a model snapshot");
+        }
+        return Decoder.decodeInt32(in);
+    }
+
+    private static ModelSnapshot readBody(InputStream in, int layout) throws Exception {
+        long position = Decoder.decodeInt64(in);
+        int versionCount = Decoder.decodeVarInt32(in);
+        Map<Name, Integer> versions = new LinkedHashMap<>();
+        for (int i = 0; i < versionCount; i++) {
+            versions.put(Name.of(Decoder.decodeString(in)), Decoder.decodeInt32(in));
+        }
+        int eventCount = Decoder.decodeVarInt32(in);
+        List<SymbolEventLog.SymbolEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(SymbolEventCodec.read(in, layout));
+        }
+        return new ModelSnapshot(position, versions, events);
+    }
+
+    /**
+     * Writes the snapshot to a file, replacing it atomically so a crash
+     * never leaves a partial snapshot behind.
+     */
+    public void save(Path file) throws Exception {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+            writeTo(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #save}.
+     *
+     * @return The snapshot, or empty if the file does not exist or is in
+     *         a format this release cannot read; either way the caller
+     *         replays the full log
+     * @throws IllegalStateException if the file is not a snapshot
+     */
+    public static Optional<ModelSnapshot> load(Path file) throws Exception {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            int layout = eventLayout(readFormat(in));
+            if (layout == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(readBody(in, layout));
+        }
+    }
+}
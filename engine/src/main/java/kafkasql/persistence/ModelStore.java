@@ -1,15 +1,32 @@
 package kafkasql.persistence;
 
+import kafkasql.engine.ModelBatchListener;
+import kafkasql.lang.semantic.BindingEnv;
+import kafkasql.lang.semantic.bind.StatementBinder;
+import kafkasql.lang.semantic.bind.TypeBuilder;
 import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.lang.syntax.ast.decl.Decl;
+import kafkasql.lang.syntax.ast.decl.StreamDecl;
+import kafkasql.lang.syntax.ast.decl.TypeDecl;
 import kafkasql.runtime.Name;
+import kafkasql.runtime.diagnostics.Diagnostics;
 import kafkasql.runtime.stream.StreamReader;
+import kafkasql.runtime.type.AnyType;
+import kafkasql.runtime.type.StructType;
+import sys.schema.EventType;
 import sys.schema.SymbolEventLog;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * ModelStore — persistent symbol table backed by a Kafka topic.
@@ -41,21 +58,65 @@ import java.util.Map;
  * // Execute DDL — engine detects new symbols and calls onCreated
  * engine.execute("CREATE CONTEXT com;");
  * </pre>
+ *
+ * <h3>Units of work</h3>
+ * <p>With {@code engine.setModelBatchListener(store.batchListener())} the
+ * events of one script are buffered and sent together with one flush, or
+ * in one transaction if the {@link EventLogWriter} is transactional,
+ * instead of a round-trip and flush per statement.
+ *
+ * <h3>Snapshots</h3>
+ * <p>A {@link ModelSnapshot} checkpoints the store so a restart replays
+ * only the events written after it:
+ * <pre>
+ * // On startup, before loading: snapshot plus log tail, or the full
+ * // log if there is no snapshot in this release's format
+ * store.enableSnapshots(Path.of("model.snapshot"), 1000);
+ * store.load(Path.of("model.snapshot"), streamReader);
+ * </pre>
+ *
+ * <h3>Following</h3>
+ * <p>After loading, {@link #follow} keeps applying the DDL other
+ * instances write to the log, so every instance sees schema changes
+ * without restarting. {@link ModelUpdateListener}s hear about each one.
+ *
+ * <h3>History</h3>
+ * <p>Every version of every type stays available through
+ * {@link #typeAt(Name, int)}, and the row types a stream record was
+ * written with through {@link #typeAt(Name, int, long, String)}.
  */
 public class ModelStore {
 
     private final SymbolTable symbols;
     private final Map<Name, Integer> versions;
     private final StreamOffsetIndex offsetIndex;
+    private final StreamSchemaHistory schemaHistory;
+    private final TypeHistory typeHistory;
+    private final List<SymbolEventLog.SymbolEvent> retained;
+    private final AppliedEvents applied = new AppliedEvents();
+    private long position;
     private EventLogWriter writer;
+    private Path snapshotFile;
+    private int snapshotEvery;
+    private long snapshotPosition;
+    private int replayBatchSize;
+    private List<Runnable> undo; // Reverts the open unit of work's changes, null outside one
+    private final Set<UUID> own = ConcurrentHashMap.newKeySet(); // Written here, not yet seen on the tail
+    private final List<ModelUpdateListener> updateListeners = new CopyOnWriteArrayList<>();
+    private volatile ModelFollower follower;
+    private EventLogReader tailReader;
+    private ModelApplier applier;
 
     /**
      * Creates an in-memory model store (no Kafka persistence).
      */
     public ModelStore() {
         this.symbols = new SymbolTable();
-        this.versions = new HashMap<>();
+        this.versions = new ConcurrentHashMap<>();
         this.offsetIndex = new StreamOffsetIndex();
+        this.schemaHistory = new StreamSchemaHistory();
+        this.typeHistory = new TypeHistory();
+        this.retained = new ArrayList<>();
     }
 
     /**
@@ -83,6 +144,19 @@ public class ModelStore {
         this.writer = writer;
     }
 
+    /**
+     * Replays the log in batches of this many events whose DDL is parsed
+     * in parallel; 0, the default, replays one event at a time.
+     *
+     * @see EventLogReader#replayAll(int, ExecutorService)
+     */
+    public void setReplayBatchSize(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Replay batch size must be >= 0, got: " + batchSize);
+        }
+        this.replayBatchSize = batchSize;
+    }
+
     /**
      * Loads state by replaying all events from a stream reader.
      * <p>
@@ -95,13 +169,348 @@ public class ModelStore {
      * @throws Exception if reading or applying events fails
      */
     public int load(StreamReader<SymbolEventLog> streamReader) throws Exception {
-        EventLogReader reader = new EventLogReader(streamReader, this.symbols, this.offsetIndex);
-        int count = reader.replayAll();
-        // Sync version tracking for all loaded symbols
-        for (Name name : symbols._decl.keySet()) {
-            versions.putIfAbsent(name, 1);
+        return replay(streamReader);
+    }
+
+    /**
+     * Restores state from a snapshot and replays only the events the log
+     * holds beyond it.
+     * <p>
+     * Like {@link #load(StreamReader)}, call once on an empty store.
+     *
+     * @param snapshot     Snapshot taken by {@link #snapshot()}
+     * @param streamReader Reader positioned at the start of the SymbolEventLog topic
+     * @return Number of events replayed from the log
+     * @throws Exception if reading or applying events fails, or if the log
+     *                   is shorter than the snapshot
+     */
+    public int load(ModelSnapshot snapshot, StreamReader<SymbolEventLog> streamReader) throws Exception {
+        replay(new SnapshotReader(snapshot.events()));
+        versions.clear();
+        versions.putAll(snapshot.versions());
+        position = snapshot.position();
+        snapshotPosition = position;
+
+        long skipped = streamReader.skip(snapshot.position());
+        if (skipped < snapshot.position()) {
+            throw new IllegalStateException(
+                "Event log " + streamReader.streamName() + " has " + skipped +
+                " events but the snapshot covers " + snapshot.position());
+        }
+        return replay(streamReader);
+    }
+
+    /**
+     * Restores state from a snapshot file if one exists in the current
+     * format, otherwise from the full log.
+     *
+     * @param snapshotFile File written by {@link ModelSnapshot#save}
+     * @param streamReader Reader positioned at the start of the SymbolEventLog topic
+     * @return Number of events replayed from the log
+     * @throws Exception if reading or applying events fails
+     */
+    public int load(Path snapshotFile, StreamReader<SymbolEventLog> streamReader) throws Exception {
+        Optional<ModelSnapshot> snapshot = ModelSnapshot.load(snapshotFile);
+        if (snapshot.isPresent()) {
+            return load(snapshot.get(), streamReader);
+        }
+        return load(streamReader);
+    }
+
+    private int replay(StreamReader<SymbolEventLog> streamReader) throws Exception {
+        EventLogReader reader = newReader(streamReader);
+        if (replayBatchSize == 0) {
+            return reader.replayAll();
+        }
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            return reader.replayAll(replayBatchSize, pool);
+        }
+    }
+
+    private EventLogReader newReader(StreamReader<SymbolEventLog> streamReader) {
+        EventLogReader reader = new EventLogReader(streamReader, this.symbols, this.offsetIndex, this.schemaHistory);
+        reader.setAppliedEvents(applied);
+        reader.onSkipped(event -> skipped());
+        reader.onApplied(event -> {
+            Name name = Name.of(event.ObjectName());
+            versions.put(name, event.ObjectVersion());
+            if (event.EventType() == EventType.DROP_STMT) {
+                typeHistory.dropped(name);
+            } else {
+                symbols.lookupType(name).ifPresent(decl -> recordType(name, decl, event.ObjectVersion()));
+            }
+            retain(event);
+        });
+        return reader;
+    }
+
+    /**
+     * Keeps applying events from the log after {@link #load} on a
+     * background thread, until the returned follower is closed.
+     * <p>
+     * Events this store writes while following are recognized on the
+     * tail and only counted. The applier runs each change to the symbol
+     * table on the follower thread and must serialize it with the DDL
+     * that writes through this store; pass the engine's
+     * {@code applyModelChange}.
+     *
+     * @param tail    The reader {@link #load} consumed, positioned at the end of the log
+     * @param applier Runs each change to the model before returning
+     * @return The running follower
+     * @throws IllegalStateException if the store is already following
+     */
+    public synchronized ModelFollower follow(StreamReader<SymbolEventLog> tail, ModelApplier applier) {
+        if (follower != null && !follower.isClosed()) {
+            throw new IllegalStateException("Already following " + tail.streamName());
+        }
+        this.tailReader = newReader(tail);
+        this.applier = applier;
+        this.follower = new ModelFollower(this, tail);
+        follower.start();
+        return follower;
+    }
+
+    /**
+     * Registers a listener for events the follower applies.
+     */
+    public void addUpdateListener(ModelUpdateListener listener) {
+        updateListeners.add(listener);
+    }
+
+    public void removeUpdateListener(ModelUpdateListener listener) {
+        updateListeners.remove(listener);
+    }
+
+    /**
+     * Applies an event read from the tail of the log, unless this store
+     * wrote it or it was applied already. Called on the follower thread.
+     */
+    void onTail(SymbolEventLog.SymbolEvent event) throws Exception {
+        Exception[] failure = new Exception[1];
+        boolean[] updated = new boolean[1];
+        boolean[] ran = new boolean[1];
+        // The applier runs the change before returning, so its outcome is set below
+        applier.apply(() -> {
+            ran[0] = true;
+            if (own.remove(event.EventId())) {
+                retain(event);
+                return;
+            }
+            try {
+                updated[0] = tailReader.apply(event);
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        });
+        if (!ran[0]) {
+            throw new IllegalStateException("Model applier returned before running the change");
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (updated[0]) {
+            for (ModelUpdateListener listener : updateListeners) {
+                listener.onModelUpdated(event);
+            }
+        }
+        saveSnapshotIfDue();
+    }
+
+    /**
+     * Captures the current state as a snapshot.
+     * <p>
+     * The events kept for the next snapshot are compacted at the same
+     * time, so memory stays proportional to the live model.
+     *
+     * @throws IllegalStateException if snapshots are not enabled
+     */
+    public synchronized ModelSnapshot snapshot() {
+        if (snapshotFile == null) {
+            throw new IllegalStateException("Snapshots are not enabled");
+        }
+        List<SymbolEventLog.SymbolEvent> compacted = ModelSnapshot.compact(retained);
+        retained.clear();
+        retained.addAll(compacted);
+        snapshotPosition = position;
+        return new ModelSnapshot(position, versions, compacted);
+    }
+
+    /**
+     * Saves a snapshot to a file every {@code everyEvents} events this
+     * store writes, counted from now.
+     * <p>
+     * Only then does the store keep the applied events a snapshot is
+     * built from, so enable snapshots before loading or writing any.
+     *
+     * @param file        Snapshot file, replaced on each save
+     * @param everyEvents Number of events between snapshots
+     * @throws IllegalStateException if events were applied while
+     *         snapshots were disabled
+     */
+    public synchronized void enableSnapshots(Path file, int everyEvents) {
+        if (everyEvents <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be > 0, got: " + everyEvents);
+        }
+        if (snapshotFile == null && position > 0) {
+            throw new IllegalStateException(
+                "Enable snapshots before loading or writing events; " + position + " were not kept");
+        }
+        this.snapshotFile = file;
+        this.snapshotEvery = everyEvents;
+        this.snapshotPosition = position;
+    }
+
+    /**
+     * Returns the number of event log events this store has applied.
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Counts an applied log event, keeping it for the next snapshot if
+     * snapshots are enabled.
+     */
+    private synchronized void retain(SymbolEventLog.SymbolEvent event) {
+        if (snapshotFile != null) {
+            retained.add(event);
+        }
+        position++;
+    }
+
+    /**
+     * Counts a log event that was already applied, without retaining it
+     * for the next snapshot.
+     */
+    private synchronized void skipped() {
+        position++;
+    }
+
+    /**
+     * Records an event this store wrote and saves a snapshot when due.
+     * While following, the event is counted when it comes back on the
+     * tail, so the position stays a prefix of the log.
+     */
+    private void written(SymbolEventLog.SymbolEvent event) throws Exception {
+        if (writer != null && writer.inUnitOfWork()) {
+            return; // Counted by commitUnitOfWork
+        }
+        applied.record(event);
+        ModelFollower current = follower;
+        if (current != null && !current.isClosed()) {
+            own.add(event.EventId());
+            return;
+        }
+        retain(event);
+        saveSnapshotIfDue();
+    }
+
+    private void saveSnapshotIfDue() throws Exception {
+        ModelSnapshot due = null;
+        synchronized (this) {
+            if (snapshotFile != null && position - snapshotPosition >= snapshotEvery) {
+                due = snapshot();
+            }
+        }
+        if (due != null) {
+            due.save(snapshotFile);
+        }
+    }
+
+    /**
+     * Starts buffering the events of subsequent changes until
+     * {@link #commitUnitOfWork()}.
+     */
+    public void beginUnitOfWork() {
+        if (writer != null) {
+            writer.begin();
+        }
+        undo = new ArrayList<>();
+    }
+
+    /**
+     * Writes the events buffered since {@link #beginUnitOfWork()}.
+     *
+     * @throws Exception if writing fails; nothing of the unit is counted
+     */
+    public void commitUnitOfWork() throws Exception {
+        List<SymbolEventLog.SymbolEvent> events = writer != null && writer.inUnitOfWork()
+            ? writer.commit()
+            : List.of();
+        undo = null;
+        for (SymbolEventLog.SymbolEvent event : events) {
+            written(event);
+        }
+    }
+
+    /**
+     * Discards the events buffered since {@link #beginUnitOfWork()} and
+     * reverts the versions and histories the unit's changes recorded.
+     */
+    public void abortUnitOfWork() {
+        if (writer != null) {
+            writer.abort();
+        }
+        if (undo != null) {
+            for (int i = undo.size() - 1; i >= 0; i--) {
+                undo.get(i).run();
+            }
+            undo = null;
+        }
+    }
+
+    /**
+     * Within a unit of work, remembers the state a change to an object
+     * and to the streams it writes markers to replaces, so
+     * {@link #abortUnitOfWork()} can put it back.
+     */
+    private void saveForUndo(Name name, Map<String, Map<Integer, Long>> streamOffsets) {
+        if (undo == null) {
+            return;
+        }
+        Integer version = versions.get(name);
+        var epochs = schemaHistory.saved(name.fullName());
+        var types = typeHistory.saved(name);
+        undo.add(() -> {
+            if (version == null) {
+                versions.remove(name);
+            } else {
+                versions.put(name, version);
+            }
+            schemaHistory.restore(name.fullName(), epochs);
+            typeHistory.restore(name, types);
+        });
+        for (var stream : streamOffsets.entrySet()) {
+            var streamEpochs = schemaHistory.saved(stream.getKey());
+            undo.add(() -> schemaHistory.restore(stream.getKey(), streamEpochs));
+            for (int partition : stream.getValue().keySet()) {
+                var boundaries = offsetIndex.partition(stream.getKey(), partition);
+                undo.add(() -> offsetIndex.restore(stream.getKey(), partition, boundaries));
+            }
         }
-        return count;
+    }
+
+    /**
+     * Returns a listener that makes each script the engine executes one
+     * unit of work of this store.
+     */
+    public ModelBatchListener batchListener() {
+        return new ModelBatchListener() {
+            @Override
+            public void onBatchBegin() {
+                beginUnitOfWork();
+            }
+
+            @Override
+            public void onBatchCommit() throws Exception {
+                commitUnitOfWork();
+            }
+
+            @Override
+            public void onBatchAbort() {
+                abortUnitOfWork();
+            }
+        };
     }
 
     /**
@@ -116,10 +525,17 @@ public class ModelStore {
      * @throws Exception if writing the event fails
      */
     public void onCreated(Name name, Decl decl, String statementText) throws Exception {
+        saveForUndo(name, Map.of());
         versions.put(name, 1);
+        if (decl instanceof StreamDecl stream) {
+            schemaHistory.created(name.fullName(), StatementBinder.memberRowTypes(stream, symbols));
+        } else if (decl instanceof TypeDecl type) {
+            recordType(name, type, 1);
+        }
         if (writer != null) {
-            writer.writeCreate(name, decl, statementText);
+            var event = writer.writeCreate(name, decl, statementText);
             writer.flush();
+            written(event);
         }
     }
 
@@ -131,12 +547,16 @@ public class ModelStore {
      * @throws Exception if writing the event fails
      */
     public void onDropped(Name name, String statementText) throws Exception {
+        saveForUndo(name, Map.of());
         int version = versions.getOrDefault(name, 0) + 1;
         versions.put(name, version);
-        symbols._decl.remove(name);
+        symbols.remove(name);
+        schemaHistory.dropped(name.fullName());
+        typeHistory.dropped(name);
         if (writer != null) {
-            writer.writeDrop(name, statementText, version);
+            var event = writer.writeDrop(name, statementText, version);
             writer.flush();
+            written(event);
         }
     }
 
@@ -151,12 +571,22 @@ public class ModelStore {
      */
     public void onAltered(Name name, Decl decl, String statementText,
                           Map<String, Map<Integer, Long>> streamOffsets) throws Exception {
+        saveForUndo(name, streamOffsets);
         int version = versions.getOrDefault(name, 0) + 1;
         versions.put(name, version);
         offsetIndex.record(streamOffsets, version);
+        if (decl instanceof TypeDecl type) {
+            recordType(name, type, version);
+        }
+        for (var stream : streamOffsets.entrySet()) {
+            if (stream.getValue().isEmpty()) continue;
+            symbols.lookupStream(Name.of(stream.getKey())).ifPresent(streamDecl ->
+                schemaHistory.altered(stream.getKey(), StatementBinder.memberRowTypes(streamDecl, symbols)));
+        }
         if (writer != null) {
-            writer.writeAlter(name, decl, statementText, version, streamOffsets);
+            var event = writer.writeAlter(name, decl, statementText, version, streamOffsets);
             writer.flush();
+            written(event);
         }
     }
 
@@ -168,6 +598,63 @@ public class ModelStore {
         return offsetIndex;
     }
 
+    /**
+     * Returns the member row types of every stream at each schema epoch.
+     */
+    public StreamSchemaHistory getSchemaHistory() {
+        return schemaHistory;
+    }
+
+    /**
+     * Returns a cursor that tells a reader of the stream which row types
+     * apply at each partition offset.
+     *
+     * @param stream Fully qualified stream name
+     */
+    public StreamSchemaCursor schemaCursor(Name stream) {
+        return new StreamSchemaCursor(stream.fullName(), schemaHistory, offsetIndex);
+    }
+
+    /**
+     * Returns the version of every type since it was created.
+     */
+    public TypeHistory getTypeHistory() {
+        return typeHistory;
+    }
+
+    /**
+     * Returns the runtime type a type had at a version.
+     *
+     * @param name    Fully qualified type name
+     * @param version Version the data was written with
+     * @return The type, or null if unknown at that version
+     */
+    public AnyType typeAt(Name name, int version) {
+        return typeHistory.typeAt(name, version);
+    }
+
+    /**
+     * Returns the row type a stream member had when the record at an
+     * offset was written.
+     *
+     * @param stream    Fully qualified stream name
+     * @param partition Partition of the record
+     * @param offset    Offset of the record
+     * @param member    Member alias, e.g. the record's type name
+     * @return The row type, or null if the stream or member is unknown
+     */
+    public StructType typeAt(Name stream, int partition, long offset, String member) {
+        int epoch = offsetIndex.partition(stream.fullName(), partition).countAtOrBefore(offset);
+        return schemaHistory.membersAt(stream.fullName(), epoch).get(member);
+    }
+
+    private void recordType(Name name, TypeDecl decl, int version) {
+        AnyType type = TypeBuilder.buildType(decl, symbols, new BindingEnv(), new Diagnostics());
+        if (type != null) {
+            typeHistory.record(name, version, type);
+        }
+    }
+
     /**
      * Returns the current version of an object.
      * CREATE sets version to 1; each subsequent ALTER/DROP increments it.
@@ -178,4 +665,26 @@ public class ModelStore {
     public int getVersion(Name name) {
         return versions.getOrDefault(name, 0);
     }
+
+    /**
+     * Serves a snapshot's events to an {@link EventLogReader}.
+     */
+    private static final class SnapshotReader implements StreamReader<SymbolEventLog> {
+        private final List<SymbolEventLog.SymbolEvent> events;
+        private int next;
+
+        SnapshotReader(List<SymbolEventLog.SymbolEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public String streamName() {
+            return "snapshot";
+        }
+
+        @Override
+        public SymbolEventLog read() {
+            return next < events.size() ? events.get(next++) : null;
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package kafkasql.persistence;
+
+import sys.schema.SymbolEventLog;
+
+/**
+ * Notified when a {@link ModelFollower} has applied an event another
+ * instance wrote to the model event log.
+ *
+ * @see ModelStore#addUpdateListener(ModelUpdateListener)
+ */
+@FunctionalInterface
+public interface ModelUpdateListener {
+
+    /**
+     * Called on the follower thread after the event has been applied to
+     * the symbol table, offset index and schema history.
+     *
+     * @param event The applied event
+     */
+    void onModelUpdated(SymbolEventLog.SymbolEvent event);
+}
@@ -1,17 +1,24 @@
 package kafkasql.persistence;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Index mapping data-topic partition offsets to schema version boundaries.
  * <p>
  * Built during event log replay (cold start) and updated live during ALTER
- * events. For each stream partition, stores an ordered list of
- * (offset, version) pairs. Given any record offset, the schema version
- * is determined by the highest boundary offset &le; the record offset.
+ * events. For each stream partition, stores the boundary offsets and the
+ * versions that begin at them in sorted primitive arrays. Given any record
+ * offset, the schema version is determined by the highest boundary
+ * offset &le; the record offset, found by binary search.
+ * <p>
+ * Each partition's arrays are replaced, never modified, when an ALTER adds
+ * a boundary, so lookups do not lock. Readers on a hot path should keep a
+ * {@link StreamSchemaCursor}, which answers from its last hit until the
+ * offset leaves that boundary range.
  *
  * <h3>Example</h3>
  * <pre>
@@ -26,8 +33,8 @@ import java.util.Map;
  */
 public class StreamOffsetIndex {
 
-    /** stream → partition → sorted list of (offset, version) boundaries */
-    private final Map<String, Map<Integer, List<OffsetVersion>>> index = new HashMap<>();
+    /** stream → partition → boundaries */
+    private final Map<String, Map<Integer, Boundaries>> index = new ConcurrentHashMap<>();
 
     public record OffsetVersion(long offset, int version) {}
 
@@ -37,12 +44,12 @@ public class StreamOffsetIndex {
      * @param streamOffsets Map of stream name → (partition → offset)
      * @param version       The schema version that begins after these offsets
      */
-    public void record(Map<String, Map<Integer, Long>> streamOffsets, int version) {
+    public synchronized void record(Map<String, Map<Integer, Long>> streamOffsets, int version) {
         for (var streamEntry : streamOffsets.entrySet()) {
-            var partMap = index.computeIfAbsent(streamEntry.getKey(), k -> new HashMap<>());
+            var partMap = index.computeIfAbsent(streamEntry.getKey(), k -> new ConcurrentHashMap<>());
             for (var partEntry : streamEntry.getValue().entrySet()) {
-                var list = partMap.computeIfAbsent(partEntry.getKey(), k -> new ArrayList<>());
-                list.add(new OffsetVersion(partEntry.getValue(), version));
+                Boundaries current = partMap.getOrDefault(partEntry.getKey(), Boundaries.EMPTY);
+                partMap.put(partEntry.getKey(), current.with(partEntry.getValue(), version));
             }
         }
     }
@@ -56,28 +63,47 @@ public class StreamOffsetIndex {
      * @return Schema version (1 if before any marker)
      */
     public int versionAt(String stream, int partition, long offset) {
+        Boundaries boundaries = partition(stream, partition);
+        int count = boundaries.countAtOrBefore(offset);
+        return count == 0 ? 1 : boundaries.version(count - 1);
+    }
+
+    /**
+     * Returns the boundaries of a stream partition as of now; later ALTERs
+     * do not change the returned value.
+     */
+    public Boundaries partition(String stream, int partition) {
         var partMap = index.get(stream);
-        if (partMap == null) return 1;
-        var list = partMap.get(partition);
-        if (list == null || list.isEmpty()) return 1;
-        int version = 1;
-        for (var entry : list) {
-            if (entry.offset() <= offset) {
-                version = entry.version();
-            } else {
-                break;
+        if (partMap == null) return Boundaries.EMPTY;
+        return partMap.getOrDefault(partition, Boundaries.EMPTY);
+    }
+
+    /**
+     * Puts back the boundaries {@link #partition} returned for a stream
+     * partition.
+     */
+    synchronized void restore(String stream, int partition, Boundaries saved) {
+        var partMap = index.computeIfAbsent(stream, k -> new ConcurrentHashMap<>());
+        if (saved.size() == 0) {
+            partMap.remove(partition);
+            if (partMap.isEmpty()) {
+                index.remove(stream);
             }
+        } else {
+            partMap.put(partition, saved);
         }
-        return version;
     }
 
     /**
      * Returns all boundaries for a given stream partition, for inspection.
      */
     public List<OffsetVersion> boundaries(String stream, int partition) {
-        var partMap = index.get(stream);
-        if (partMap == null) return List.of();
-        return List.copyOf(partMap.getOrDefault(partition, List.of()));
+        Boundaries boundaries = partition(stream, partition);
+        List<OffsetVersion> list = new ArrayList<>(boundaries.size());
+        for (int i = 0; i < boundaries.size(); i++) {
+            list.add(new OffsetVersion(boundaries.offset(i), boundaries.version(i)));
+        }
+        return list;
     }
 
     /**
@@ -86,4 +112,65 @@ public class StreamOffsetIndex {
     public boolean isEmpty() {
         return index.isEmpty();
     }
+
+    /**
+     * Sorted boundary offsets of one partition and the version beginning
+     * at each.
+     */
+    public static final class Boundaries {
+        static final Boundaries EMPTY = new Boundaries(new long[0], new int[0]);
+
+        private final long[] offsets;
+        private final int[] versions;
+
+        private Boundaries(long[] offsets, int[] versions) {
+            this.offsets = offsets;
+            this.versions = versions;
+        }
+
+        public int size() {
+            return offsets.length;
+        }
+
+        public long offset(int i) {
+            return offsets[i];
+        }
+
+        public int version(int i) {
+            return versions[i];
+        }
+
+        /**
+         * Number of boundaries at or before an offset, i.e. the index of
+         * the first boundary after it.
+         */
+        public int countAtOrBefore(long offset) {
+            int lo = 0;
+            int hi = offsets.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (offsets[mid] <= offset) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * A copy with one more boundary, kept in offset order. Markers
+         * arrive in offset order, so this is normally an append.
+         */
+        Boundaries with(long offset, int version) {
+            int at = countAtOrBefore(offset);
+            long[] newOffsets = Arrays.copyOf(offsets, offsets.length + 1);
+            int[] newVersions = Arrays.copyOf(versions, versions.length + 1);
+            System.arraycopy(offsets, at, newOffsets, at + 1, offsets.length - at);
+            System.arraycopy(versions, at, newVersions, at + 1, versions.length - at);
+            newOffsets[at] = offset;
+            newVersions[at] = version;
+            return new Boundaries(newOffsets, newVersions);
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package kafkasql.persistence;
+
+import kafkasql.runtime.type.StructType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks, per partition of one stream, which schema epoch a reader is in
+ * and the row types that apply there.
+ * <p>
+ * A reader asks {@link #typeAt} for every record and reports every
+ * schema-change marker via {@link #onMarker}. Between two boundaries the
+ * answer comes from a cached range check; only crossing a boundary looks
+ * at the {@link StreamOffsetIndex} again. Markers the index does not know
+ * yet (an ALTER this instance has not seen) switch to the latest known
+ * types. Not thread-safe: one cursor per reading thread.
+ *
+ * <pre>
+ * StreamSchemaCursor cursor = store.schemaCursor(streamName);
+ * for (record : poll()) {
+ *     if (isMarker(record)) cursor.onMarker(record.partition(), record.offset());
+ *     else decode(record, cursor.typeAt(record.partition(), record.offset(), record.key()));
+ * }
+ * </pre>
+ */
+public final class StreamSchemaCursor {
+
+    private final String stream;
+    private final StreamSchemaHistory history;
+    private final StreamOffsetIndex index;
+    private final Map<Integer, Position> partitions = new HashMap<>();
+
+    public StreamSchemaCursor(String stream, StreamSchemaHistory history, StreamOffsetIndex index) {
+        this.stream = stream;
+        this.history = history;
+        this.index = index;
+    }
+
+    /**
+     * Returns the row type a member's record at this offset was written
+     * with, or null if the history does not know the member.
+     *
+     * @param partition Partition of the record
+     * @param offset    Offset of the record
+     * @param typeName  Member alias (the record key)
+     */
+    public StructType typeAt(int partition, long offset, String typeName) {
+        Position position = partitions.get(partition);
+        if (position == null || offset < position.from || offset >= position.until) {
+            position = locate(partition, offset);
+        }
+        return position.members.get(typeName);
+    }
+
+    /**
+     * A schema-change marker was read: records after it use the next
+     * epoch's types.
+     *
+     * @param partition Partition of the marker
+     * @param offset    Offset of the marker
+     */
+    public void onMarker(int partition, long offset) {
+        Position position = locate(partition, offset);
+        if (position.from != offset) {
+            // Marker of an ALTER the index has not recorded: current types
+            partitions.put(partition, new Position(
+                offset, Long.MAX_VALUE, history.membersAt(stream, Integer.MAX_VALUE)));
+        }
+    }
+
+    /**
+     * Position at an offset: the epoch is the number of boundaries at or
+     * before it, valid until the next boundary.
+     */
+    private Position locate(int partition, long offset) {
+        StreamOffsetIndex.Boundaries boundaries = index.partition(stream, partition);
+        int lo = boundaries.countAtOrBefore(offset);
+        long from = lo == 0 ? Long.MIN_VALUE : boundaries.offset(lo - 1);
+        long until = lo == boundaries.size() ? Long.MAX_VALUE : boundaries.offset(lo);
+        Position position = new Position(from, until, history.membersAt(stream, lo));
+        partitions.put(partition, position);
+        return position;
+    }
+
+    /** Offsets [from, until) share one epoch's row types. */
+    private record Position(long from, long until, Map<String, StructType> members) {}
+}
@@ -0,0 +1,109 @@
+package kafkasql.persistence;
+
+import kafkasql.runtime.type.StructType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Every schema a stream's members have had, in the order of the ALTERs
+ * that changed them.
+ * <p>
+ * Epoch 0 holds the member row types at CREATE; each ALTER that wrote
+ * schema-change markers to the stream appends the next epoch. Because
+ * every such ALTER also records one boundary per partition in the
+ * {@link StreamOffsetIndex}, the epoch of a record is the number of
+ * boundaries at or before its offset — see {@link StreamSchemaCursor}.
+ * <p>
+ * Built from the event log on replay and kept current by
+ * {@link ModelStore}, so readers decode old records with the types they
+ * were written with and never re-sync the log.
+ */
+public class StreamSchemaHistory {
+
+    /** stream → epoch → member alias → row type */
+    private final Map<String, List<Map<String, StructType>>> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the history of a newly created stream.
+     *
+     * @param stream  Stream name
+     * @param members Row type of each member, by alias
+     */
+    public void created(String stream, Map<String, StructType> members) {
+        List<Map<String, StructType>> list = new CopyOnWriteArrayList<>();
+        list.add(Map.copyOf(members));
+        epochs.put(stream, list);
+    }
+
+    /**
+     * Appends the epoch that begins at the stream's latest markers. Row
+     * types and fields the ALTER left unchanged are shared with the
+     * previous epoch.
+     *
+     * @param stream  Stream name
+     * @param members Row type of each member after the ALTER, by alias
+     */
+    public void altered(String stream, Map<String, StructType> members) {
+        List<Map<String, StructType>> list = epochs.computeIfAbsent(stream, k -> new CopyOnWriteArrayList<>());
+        Map<String, StructType> previous = list.isEmpty() ? Map.of() : list.get(list.size() - 1);
+        Map<String, StructType> shared = new LinkedHashMap<>();
+        for (var member : members.entrySet()) {
+            shared.put(member.getKey(),
+                (StructType) TypeHistory.share(previous.get(member.getKey()), member.getValue()));
+        }
+        list.add(Map.copyOf(shared));
+    }
+
+    /**
+     * Forgets a dropped stream.
+     */
+    public void dropped(String stream) {
+        epochs.remove(stream);
+    }
+
+    /**
+     * The epochs of a stream as of now, to {@link #restore} later; null if
+     * the stream is unknown.
+     */
+    List<Map<String, StructType>> saved(String stream) {
+        List<Map<String, StructType>> list = epochs.get(stream);
+        return list == null ? null : List.copyOf(list);
+    }
+
+    /**
+     * Puts back the epochs {@link #saved} returned.
+     */
+    void restore(String stream, List<Map<String, StructType>> saved) {
+        if (saved == null) {
+            epochs.remove(stream);
+        } else {
+            epochs.put(stream, new CopyOnWriteArrayList<>(saved));
+        }
+    }
+
+    /**
+     * Returns the member row types of an epoch; epochs past the last known
+     * one get the latest types.
+     *
+     * @param stream Stream name
+     * @param epoch  Number of schema changes before the record
+     * @return Row types by alias, or an empty map if the stream is unknown
+     */
+    public Map<String, StructType> membersAt(String stream, int epoch) {
+        List<Map<String, StructType>> list = epochs.get(stream);
+        if (list == null || list.isEmpty()) return Map.of();
+        return list.get(Math.min(epoch, list.size() - 1));
+    }
+
+    /**
+     * Returns the number of epochs known for a stream, 0 if unknown.
+     */
+    public int epochs(String stream) {
+        List<Map<String, StructType>> list = epochs.get(stream);
+        return list == null ? 0 : list.size();
+    }
+}
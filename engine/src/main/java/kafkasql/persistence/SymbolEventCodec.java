@@ -0,0 +1,127 @@
+package kafkasql.persistence;
+
+import kafkasql.io.ReadStream;
+import kafkasql.io.codec.Decoder;
+import kafkasql.runtime.stream.StreamReader;
+import sys.schema.EventType;
+import sys.schema.SymbolEventLog;
+
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads SymbolEventLog records in every layout this engine has written,
+ * so event logs and snapshots of older releases still replay.
+ * <p>
+ * The generated {@link SymbolEventLog#readFrom} reads only the current
+ * layout. Each layout appends fields to the one before:
+ * <pre>
+ * 1  EventId .. State; an ALTER's marker offsets follow its statement
+ *    in Delta after a NUL, as {@code stream:partition:offset[,...]}
+ * 2  then MarkerOffsets
+ * 3  then Payload
+ * </pre>
+ * A log record is one Kafka value, so its layout shows in where it
+ * ends. Snapshots concatenate records and name the layout by their
+ * format. Older layouts are read into the current record, with marker
+ * offsets moved out of Delta.
+ */
+public final class SymbolEventCodec {
+
+    /** Marker offsets appended to an ALTER's Delta */
+    static final int LAYOUT_DELTA_OFFSETS = 1;
+    /** MarkerOffsets field */
+    static final int LAYOUT_MARKER_OFFSETS = 2;
+    /** MarkerOffsets and Payload fields */
+    static final int LAYOUT_CURRENT = 3;
+
+    private static final int UNKNOWN = 0; // Told by where the record ends
+    private static final char OFFSET_SEPARATOR = '\0';
+
+    private SymbolEventCodec() {}
+
+    /**
+     * Creates a Kafka-backed reader of the model event log that decodes
+     * records of every layout; use it in place of
+     * {@link SymbolEventLog#reader}.
+     *
+     * @param consumer Pre-configured Kafka consumer with byte[] key/value deserializers
+     */
+    public static StreamReader<SymbolEventLog> reader(KafkaConsumer<byte[], byte[]> consumer) {
+        return new ReadStream<>("SymbolEventLog", consumer, SymbolEventCodec::readFrom);
+    }
+
+    /**
+     * Decodes one log record of any layout.
+     */
+    public static SymbolEventLog readFrom(byte[] bytes) throws Exception {
+        return read(new ByteArrayInputStream(bytes), UNKNOWN);
+    }
+
+    /**
+     * Decodes one record of a known layout from a stream of records.
+     */
+    static SymbolEventLog.SymbolEvent read(InputStream in, int layout) throws Exception {
+        int memberIndex = Decoder.decodeVarInt32(in);
+        if (memberIndex != 0) {
+            throw new IllegalArgumentException("Unknown member index: " + memberIndex);
+        }
+        UUID eventId = Decoder.decodeUUID(in);
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(
+            Decoder.decodeInt64(in), Decoder.decodeInt32(in), ZoneOffset.UTC);
+        String source = Decoder.decodeString(in);
+        int grammarVersion = Decoder.decodeInt32(in);
+        EventType eventType = EventType.readFrom(in);
+        String objectName = Decoder.decodeString(in);
+        int objectVersion = Decoder.decodeInt32(in);
+        String delta = Decoder.decodeString(in);
+        String state = Decoder.decodeString(in);
+
+        byte[] markerOffsets = null;
+        byte[] payload = null;
+        if (layout == UNKNOWN ? in.available() == 0 : layout == LAYOUT_DELTA_OFFSETS) {
+            int sep = delta.indexOf(OFFSET_SEPARATOR);
+            if (sep >= 0) {
+                markerOffsets = EventLogWriter.encodeOffsets(decodeDeltaOffsets(delta.substring(sep + 1)));
+                delta = delta.substring(0, sep);
+            }
+        } else {
+            markerOffsets = Decoder.decodeBoolean(in) ? Decoder.decodeBytes(in) : null;
+            if (layout == UNKNOWN ? in.available() > 0 : layout == LAYOUT_CURRENT) {
+                payload = Decoder.decodeBoolean(in) ? Decoder.decodeBytes(in) : null;
+            }
+        }
+        return new SymbolEventLog.SymbolEvent(
+            eventId, timestamp, source, grammarVersion, eventType,
+            objectName, objectVersion, delta, state, markerOffsets, payload);
+    }
+
+    /**
+     * Decodes {@code stream:partition:offset[,...]}; stream names may
+     * contain colons, so each entry is split from the right.
+     */
+    private static Map<String, Map<Integer, Long>> decodeDeltaOffsets(String encoded) {
+        Map<String, Map<Integer, Long>> result = new LinkedHashMap<>();
+        if (encoded.isEmpty()) {
+            return result;
+        }
+        for (String entry : encoded.split(",")) {
+            int lastColon = entry.lastIndexOf(':');
+            int secondColon = entry.lastIndexOf(':', lastColon - 1);
+            if (secondColon < 0) {
+                throw new IllegalStateException("Malformed marker offset: " + entry);
+            }
+            result.computeIfAbsent(entry.substring(0, secondColon), k -> new LinkedHashMap<>())
+                .put(Integer.parseInt(entry.substring(secondColon + 1, lastColon)),
+                     Long.parseLong(entry.substring(lastColon + 1)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,162 @@
+package kafkasql.persistence;
+
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.AnyType;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The bound runtime type of every named type at each of its versions.
+ * <p>
+ * CREATE records version 1 and each ALTER the next version, so a reader
+ * of data written at an older version gets that version's type without
+ * replaying or re-parsing the log. Consecutive versions share structure:
+ * a version's type reuses every field of the previous version that the
+ * ALTER did not change, so a long history costs little more than the
+ * fields that actually changed.
+ * <p>
+ * Each name's versions are replaced, never modified, when one is added,
+ * so lookups do not lock.
+ */
+public class TypeHistory {
+
+    private final Map<Name, Versions> types = new ConcurrentHashMap<>();
+
+    /**
+     * Records the type of a name at a version.
+     *
+     * @param name    Fully qualified type name
+     * @param version Version the type has from now on
+     * @param type    Bound runtime type
+     */
+    public synchronized void record(Name name, int version, AnyType type) {
+        Versions current = types.getOrDefault(name, Versions.EMPTY);
+        AnyType previous = current.size() == 0 ? null : current.types[current.size() - 1];
+        types.put(name, current.with(version, share(previous, type)));
+    }
+
+    /**
+     * Forgets a dropped type; a later CREATE starts again at version 1.
+     */
+    public void dropped(Name name) {
+        types.remove(name);
+    }
+
+    /**
+     * The versions of a name as of now, to {@link #restore} later; null if
+     * the name is unknown.
+     */
+    Versions saved(Name name) {
+        return types.get(name);
+    }
+
+    /**
+     * Puts back the versions {@link #saved} returned.
+     */
+    void restore(Name name, Versions saved) {
+        if (saved == null) {
+            types.remove(name);
+        } else {
+            types.put(name, saved);
+        }
+    }
+
+    /**
+     * Returns the type a name had at a version: the latest recorded
+     * version at or before it.
+     *
+     * @param name    Fully qualified type name
+     * @param version Version the data was written with
+     * @return The type, or null if the name is unknown or the version
+     *         precedes its first recorded version
+     */
+    public AnyType typeAt(Name name, int version) {
+        Versions versions = types.getOrDefault(name, Versions.EMPTY);
+        int lo = 0;
+        int hi = versions.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (versions.versions[mid] <= version) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo == 0 ? null : versions.types[lo - 1];
+    }
+
+    /**
+     * Returns the number of versions recorded for a name, 0 if unknown.
+     */
+    public int versions(Name name) {
+        return types.getOrDefault(name, Versions.EMPTY).size();
+    }
+
+    /**
+     * Returns {@code next}, or {@code previous} if they are equal, or for
+     * structs a copy of {@code next} whose unchanged fields are the
+     * instances of {@code previous}.
+     */
+    static AnyType share(AnyType previous, AnyType next) {
+        if (previous == null || next == null) {
+            return next;
+        }
+        if (previous.equals(next)) {
+            return previous;
+        }
+        if (previous instanceof StructType before && next instanceof StructType after) {
+            LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+            for (StructTypeField field : after.fields().values()) {
+                StructTypeField old = before.fields().get(field.name());
+                if (old == null) {
+                    fields.put(field.name(), field);
+                } else if (old.equals(field)) {
+                    fields.put(field.name(), old);
+                } else {
+                    fields.put(field.name(), new StructTypeField(
+                        field.name(), share(old.type(), field.type()), field.nullable(),
+                        field.dropped(), field.defaultValue(), field.doc()));
+                }
+            }
+            return new StructType(after.fqn(), fields,
+                after.constraints().equals(before.constraints()) ? before.constraints() : after.constraints(),
+                after.doc());
+        }
+        return next;
+    }
+
+    /** Recorded versions of one name, ascending, and the type of each. */
+    static final class Versions {
+        static final Versions EMPTY = new Versions(new int[0], new AnyType[0]);
+
+        final int[] versions;
+        final AnyType[] types;
+
+        Versions(int[] versions, AnyType[] types) {
+            this.versions = versions;
+            this.types = types;
+        }
+
+        int size() {
+            return versions.length;
+        }
+
+        Versions with(int version, AnyType type) {
+            int n = versions.length;
+            if (n > 0 && versions[n - 1] >= version) {
+                // Replayed again, e.g. by a snapshot load: keep the newer list
+                return this;
+            }
+            int[] newVersions = Arrays.copyOf(versions, n + 1);
+            AnyType[] newTypes = Arrays.copyOf(types, n + 1);
+            newVersions[n] = version;
+            newTypes[n] = type;
+            return new Versions(newVersions, newTypes);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.KafkaSqlEngine.StreamRecord;
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+
+/**
+ * Tests for aggregate READs: GROUP BY and tumbling/hopping windows over
+ * the TIMESTAMP BY field.
+ */
+class AggregateReadTest {
+
+    private TestEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE STREAM Trades (
+                TYPE Trade AS STRUCT (
+                    Symbol STRING,
+                    Qty INT32,
+                    Price FLOAT64,
+                    Ts TIMESTAMP(3)
+                )
+                DISTRIBUTE BY (Symbol)
+                TIMESTAMP BY (Ts)
+            );
+            WRITE TO test.Trades TYPE Trade VALUES(
+                {Symbol: 'A', Qty: 10, Price: 1.0, Ts: '2024-01-01T10:00:10.000'},
+                {Symbol: 'B', Qty: 5,  Price: 4.0, Ts: '2024-01-01T10:00:20.000'},
+                {Symbol: 'A', Qty: 30, Price: 3.0, Ts: '2024-01-01T10:00:50.000'},
+                {Symbol: 'A', Qty: 7,  Price: 2.0, Ts: '2024-01-01T10:01:05.000'}
+            );
+            """);
+    }
+
+    private static LocalDateTime at(String time) {
+        return LocalDateTime.parse("2024-01-01T" + time);
+    }
+
+    @Test
+    void testGroupByWithoutWindow() {
+        engine.execute("""
+            READ FROM test.Trades
+            TYPE Trade Symbol, COUNT(*) AS Trades, SUM(Qty) AS Volume,
+                       MIN(Qty) AS Smallest, MAX(Price) AS Top, AVG(Price) AS AvgPrice
+            GROUP BY Symbol;
+            """);
+        var results = engine.getLastQueryResult();
+
+        assertEquals(2, results.size());
+        var a = results.get(0);
+        assertEquals(List.of("Symbol", "Trades", "Volume", "Smallest", "Top", "AvgPrice"),
+            List.copyOf(a.fields().keySet()));
+        assertEquals("A", a.get("Symbol"));
+        assertEquals(3L, a.get("Trades"));
+        assertEquals(47L, a.get("Volume"));
+        assertEquals(7, a.get("Smallest"));
+        assertEquals(3.0, a.get("Top"));
+        assertEquals(2.0, a.get("AvgPrice"));
+        assertEquals("B", results.get(1).get("Symbol"));
+        assertEquals(1L, results.get(1).get("Trades"));
+    }
+
+    @Test
+    void testGroupByBytesComparesContents() {
+        engine.execute("""
+            USE CONTEXT test;
+            CREATE STREAM Blobs (
+                TYPE Blob AS STRUCT (
+                    Tag BYTES,
+                    Size INT32
+                )
+            );
+            WRITE TO test.Blobs TYPE Blob VALUES(
+                {Tag: 0x0a0b, Size: 1},
+                {Tag: 0x0c, Size: 2},
+                {Tag: 0x0a0b, Size: 3}
+            );
+            """);
+        engine.execute("READ FROM test.Blobs TYPE Blob Tag, SUM(Size) AS Total GROUP BY Tag;");
+        var results = engine.getLastQueryResult();
+
+        assertEquals(2, results.size());
+        assertArrayEquals(new byte[] { 0x0a, 0x0b }, (byte[]) results.get(0).get("Tag"));
+        assertEquals(4L, ((Number) results.get(0).get("Total")).longValue());
+        assertArrayEquals(new byte[] { 0x0c }, (byte[]) results.get(1).get("Tag"));
+    }
+
+    @Test
+    void testSoftKeywordsAsFieldNames() {
+        engine.execute("""
+            USE CONTEXT test;
+            CREATE STREAM Sessions (
+                TYPE Session AS STRUCT (
+                    Group STRING,
+                    Window INT32
+                )
+            );
+            WRITE TO test.Sessions TYPE Session VALUES(
+                {Group: 'a', Window: 1},
+                {Group: 'b', Window: 2},
+                {Group: 'a', Window: 3}
+            );
+            """);
+        engine.execute(
+            "READ FROM test.Sessions TYPE Session Group, SUM(Window) AS Total WHERE Window > 0 GROUP BY Group;");
+        var results = engine.getLastQueryResult();
+
+        assertEquals(2, results.size());
+        assertEquals("a", results.get(0).get("Group"));
+        assertEquals(4L, ((Number) results.get(0).get("Total")).longValue());
+    }
+
+    @Test
+    void testAggregateWithoutGroupByFoldsEverything() {
+        engine.execute("READ FROM test.Trades TYPE Trade COUNT(*) AS N WHERE Qty > 6;");
+        var results = engine.getLastQueryResult();
+
+        assertEquals(1, results.size());
+        assertEquals(3L, results.get(0).get("N"));
+    }
+
+    @Test
+    void testTumblingWindow() {
+        engine.execute("""
+            READ FROM test.Trades
+            TYPE Trade Symbol, SUM(Qty) AS Volume
+            GROUP BY Symbol
+            WINDOW TUMBLING(1 MINUTE);
+            """);
+        var results = engine.getLastQueryResult();
+
+        assertEquals(3, results.size());
+        assertEquals(at("10:00:00"), results.get(0).get("WindowStart"));
+        assertEquals(at("10:01:00"), results.get(0).get("WindowEnd"));
+        assertEquals("A", results.get(0).get("Symbol"));
+        assertEquals(40L, results.get(0).get("Volume"));
+        assertEquals("B", results.get(1).get("Symbol"));
+        assertEquals(5L, results.get(1).get("Volume"));
+        assertEquals(at("10:01:00"), results.get(2).get("WindowStart"));
+        assertEquals(7L, results.get(2).get("Volume"));
+    }
+
+    @Test
+    void testHoppingWindowCountsRecordInEveryOverlappingWindow() {
+        engine.execute("""
+            READ FROM test.Trades
+            TYPE Trade COUNT(*) AS N
+            WINDOW HOPPING(1 MINUTE, 30 SECONDS);
+            """);
+        var results = engine.getLastQueryResult();
+
+        // Windows starting 09:59:30, 10:00:00, 10:00:30, 10:01:00
+        assertEquals(4, results.size());
+        assertEquals(at("09:59:30"), results.get(0).get("WindowStart"));
+        assertEquals(2L, results.get(0).get("N"));
+        assertEquals(3L, results.get(1).get("N"));
+        assertEquals(2L, results.get(2).get("N"));
+        assertEquals(1L, results.get(3).get("N"));
+    }
+
+    @Test
+    void testFollowEmitsWindowsAsWatermarkPassesAndDropsLateRecords() {
+        List<StreamRecord> received = new ArrayList<>();
+        try (var query = engine.subscribe("""
+                READ FOLLOW FROM test.Trades
+                TYPE Trade Symbol, SUM(Qty) AS Volume
+                GROUP BY Symbol
+                WINDOW TUMBLING(1 MINUTE);
+                """, received::add)) {
+            // History closes the 10:00 window; 10:01 stays open
+            assertEquals(2, received.size());
+
+            engine.execute("""
+                WRITE TO test.Trades TYPE Trade VALUES(
+                    {Symbol: 'A', Qty: 1, Price: 1.0, Ts: '2024-01-01T10:00:59.000'},
+                    {Symbol: 'A', Qty: 3, Price: 1.0, Ts: '2024-01-01T10:01:30.000'},
+                    {Symbol: 'A', Qty: 1, Price: 1.0, Ts: '2024-01-01T10:02:00.000'}
+                );
+                """);
+
+            assertEquals(3, received.size(), "Late record is dropped, 10:01 window closes");
+            var closed = received.get(2).value();
+            assertEquals(at("10:01:00"), closed.get("WindowStart"));
+            assertEquals(10L, closed.get("Volume"));
+            assertTrue(query.failure().isEmpty());
+        }
+    }
+
+    @Test
+    void testFollowAggregateRequiresWindow() {
+        assertThrows(RuntimeException.class, () -> engine.subscribe(
+            "READ FOLLOW FROM test.Trades TYPE Trade COUNT(*) AS N;", r -> {}));
+    }
+
+    @Test
+    void testProjectionMustBeAggregateOrGroupKey() {
+        assertThrows(RuntimeException.class, () -> engine.execute(
+            "READ FROM test.Trades TYPE Trade Symbol, Qty, COUNT(*) AS N GROUP BY Symbol;"));
+    }
+
+    @Test
+    void testAggregateOutsideProjectionIsRejected() {
+        assertThrows(RuntimeException.class, () -> engine.execute(
+            "READ FROM test.Trades TYPE Trade Symbol WHERE COUNT(*) > 1 GROUP BY Symbol;"));
+    }
+
+    @Test
+    void testWindowRequiresTimestampBy() {
+        engine.execute("""
+            USE CONTEXT test;
+            CREATE STREAM Untimed (
+                TYPE Tick AS STRUCT (Qty INT32)
+            );
+            """);
+        assertThrows(RuntimeException.class, () -> engine.execute(
+            "READ FROM test.Untimed TYPE Tick COUNT(*) AS N WINDOW TUMBLING(1 MINUTE);"));
+    }
+}
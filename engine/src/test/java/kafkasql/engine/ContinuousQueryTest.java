@@ -0,0 +1,140 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.KafkaSqlEngine.StreamRecord;
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+import kafkasql.runtime.Name;
+
+/**
+ * Tests for continuous READ FOLLOW queries.
+ */
+class ContinuousQueryTest {
+
+    private TestEngine engine;
+    private List<StreamRecord> received;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        received = new ArrayList<>();
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE TYPE Customer AS STRUCT (
+                Id INT32,
+                Name STRING
+            );
+            CREATE STREAM CustomerEvents (
+                TYPE Customer AS test.Customer
+            );
+            WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 1, Name: 'Alice'});
+            """);
+    }
+
+    private void write(int id, String name) {
+        engine.execute("WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: "
+            + id + ", Name: '" + name + "'});");
+    }
+
+    @Test
+    void testFollowDeliversHistoryThenNewRecords() {
+        try (var query = engine.subscribe(
+                "READ FOLLOW FROM test.CustomerEvents TYPE Customer *;", received::add)) {
+            assertEquals(1, received.size(), "History is delivered on subscribe");
+
+            write(2, "Bob");
+            write(3, "Carol");
+
+            assertEquals(3, received.size());
+            assertEquals("Carol", received.get(2).value().get("Name"));
+            assertFalse(query.isClosed());
+        }
+    }
+
+    @Test
+    void testFollowAppliesWhereAndProjection() {
+        try (var query = engine.subscribe("""
+                READ FOLLOW FROM test.CustomerEvents
+                TYPE Customer Name, Id * 10 AS Score
+                WHERE Id > 1;
+                """, received::add)) {
+            write(2, "Bob");
+            write(1, "Alice again");
+
+            assertEquals(1, received.size());
+            var value = received.get(0).value();
+            assertEquals(List.of("Name", "Score"), List.copyOf(value.fields().keySet()));
+            assertEquals("Bob", value.get("Name"));
+            assertEquals(20, value.get("Score"));
+        }
+    }
+
+    @Test
+    void testCloseStopsDelivery() {
+        var query = engine.subscribe(
+            "READ FOLLOW FROM test.CustomerEvents TYPE Customer *;", received::add);
+        query.close();
+        write(2, "Bob");
+
+        assertTrue(query.isClosed());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testSchemaMarkerSwitchesToAlteredSchema() {
+        try (var query = engine.subscribe(
+                "READ FOLLOW FROM test.CustomerEvents TYPE Customer *;", received::add)) {
+            engine.execute("ALTER TYPE test.Customer ADD Email STRING NULL;");
+            engine.execute("""
+                WRITE TO test.CustomerEvents TYPE Customer
+                VALUES({Id: 2, Name: 'Bob', Email: 'bob@example.com'});
+                """);
+
+            assertEquals(2, received.size());
+            assertFalse(received.get(0).value().fields().containsKey("Email"));
+            assertEquals("bob@example.com", received.get(1).value().get("Email"));
+            assertTrue(query.failure().isEmpty());
+        }
+    }
+
+    @Test
+    void testSinkFailureClosesQueryWithoutFailingWrites() {
+        var query = engine.subscribe(
+            "READ FOLLOW FROM test.CustomerEvents TYPE Customer * WHERE Id > 1;",
+            record -> { throw new IllegalStateException("sink down"); });
+
+        write(2, "Bob");
+
+        assertTrue(query.isClosed());
+        assertEquals("sink down", query.failure().orElseThrow().getMessage());
+        assertEquals(2, engine.getStream(Name.of("test", "CustomerEvents")).size());
+    }
+
+    @Test
+    void testFollowIsRejectedByExecute() {
+        assertThrows(IllegalStateException.class, () -> engine.execute(
+            "READ FOLLOW FROM test.CustomerEvents TYPE Customer *;"));
+    }
+
+    @Test
+    void testSubscribeRequiresFollowStatement() {
+        assertThrows(IllegalArgumentException.class, () -> engine.subscribe(
+            "READ FROM test.CustomerEvents TYPE Customer *;", received::add));
+    }
+
+    @Test
+    void testEphemeralModeCannotSubscribe() {
+        TestEngine ephemeral = new TestEngine();
+        assertThrows(IllegalStateException.class, () -> ephemeral.subscribe(
+            "READ FOLLOW FROM test.CustomerEvents TYPE Customer *;", received::add));
+    }
+}
@@ -0,0 +1,92 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.engine.metrics.Histogram;
+import kafkasql.engine.metrics.MetricsRegistry;
+import kafkasql.engine.metrics.MetricsSnapshot;
+import kafkasql.engine.metrics.Phase;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+import kafkasql.runtime.Name;
+
+/**
+ * Tests for engine metrics: phase timings and per-stream traffic.
+ */
+class EngineMetricsTest {
+
+    private TestEngine engine;
+    private MetricsRegistry metrics;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        metrics = new MetricsRegistry();
+        engine.setMetrics(metrics);
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE STREAM Events (
+                TYPE Click AS STRUCT (Id INT32, Page STRING),
+                TYPE View AS STRUCT (Id INT32)
+            );
+            """);
+    }
+
+    @Test
+    void testPhasesAreTimed() {
+        engine.execute("WRITE TO test.Events TYPE Click VALUES({Id: 1, Page: 'home'});");
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.phases().get(Phase.PARSE).count());
+        assertEquals(2, snapshot.phases().get(Phase.BIND).count());
+        assertEquals(1, snapshot.phases().get(Phase.EXECUTE).count());
+        assertEquals(1, snapshot.phases().get(Phase.BACKEND).count());
+        assertTrue(snapshot.phases().get(Phase.PARSE).totalNanos() > 0);
+    }
+
+    @Test
+    void testStreamTrafficCountsReadWrittenAndFiltered() {
+        engine.execute("""
+            WRITE TO test.Events TYPE Click VALUES({Id: 1, Page: 'home'}, {Id: 2, Page: 'cart'});
+            WRITE TO test.Events TYPE View VALUES({Id: 3});
+            """);
+        engine.execute("READ FROM test.Events TYPE Click * WHERE Id = 2;");
+
+        var traffic = metrics.snapshot().streams().get(Name.of("test", "Events"));
+        assertEquals(3, traffic.recordsWritten());
+        assertEquals(3, traffic.recordsRead());
+        assertEquals(2, traffic.rowsFiltered(), "One View by type, one Click by WHERE");
+        assertFalse(metrics.snapshot().format().isEmpty());
+    }
+
+    @Test
+    void testDisablingStopsRecording() {
+        engine.setMetrics(null);
+        metrics.reset();
+
+        engine.execute("READ FROM test.Events TYPE Click *;");
+
+        assertTrue(metrics.snapshot().phases().isEmpty());
+        assertTrue(metrics.snapshot().streams().isEmpty());
+    }
+
+    @Test
+    void testHistogramPercentilesWithinFactorOfTwo() {
+        Histogram histogram = new Histogram();
+        for (long v = 1; v <= 1000; v++) {
+            histogram.record(v);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500500, histogram.sum());
+        assertEquals(1000, histogram.max());
+        long p50 = histogram.percentile(0.5);
+        assertTrue(p50 >= 500 && p50 < 1000, "p50 was " + p50);
+        assertEquals(1000, histogram.percentile(0.99));
+    }
+}
@@ -0,0 +1,82 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+
+/**
+ * Tests for EXPLAIN and EXPLAIN ANALYZE of READ and WRITE.
+ */
+class ExplainQueryTest {
+
+    private TestEngine engine;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE STREAM Events (
+                TYPE Click AS STRUCT (Id INT32, Page STRING),
+                TYPE View AS STRUCT (Id INT32)
+            );
+            WRITE TO test.Events TYPE Click VALUES({Id: 1, Page: 'home'}, {Id: 2, Page: 'cart'});
+            WRITE TO test.Events TYPE View VALUES({Id: 3});
+            """);
+        session = engine.openSession();
+    }
+
+    @Test
+    void testExplainReadListsOperatorsWithoutRunning() {
+        session.execute("EXPLAIN READ FROM test.Events TYPE Click Page WHERE Id = 2;");
+
+        String plan = session.getLastExplainResult();
+        String[] lines = plan.split("\n");
+        assertEquals(5, lines.length, plan);
+        assertTrue(lines[0].startsWith("Scan test.Events (full scan)"), plan);
+        assertTrue(lines[1].startsWith("  TypeFilter Click"), plan);
+        assertTrue(lines[2].contains("Resolve Click as Events.Click, reads Page, Id"), plan);
+        assertTrue(lines[3].contains("Filter (Id = 2)"), plan);
+        assertTrue(lines[4].contains("Project Page"), plan);
+        assertFalse(plan.contains("rows in="), plan);
+        assertTrue(session.getLastQueryResult().isEmpty(), "EXPLAIN does not run the READ");
+    }
+
+    @Test
+    void testExplainAnalyzeReadCountsRowsPerOperator() {
+        session.execute("EXPLAIN ANALYZE READ FROM test.Events TYPE Click * WHERE Id = 2;");
+
+        String plan = session.getLastExplainResult();
+        String[] lines = plan.split("\n");
+        assertTrue(lines[0].contains("rows in=0 out=3"), plan);
+        assertTrue(lines[0].contains("bytes="), plan);
+        assertTrue(lines[1].contains("rows in=3 out=2"), plan);
+        assertTrue(lines[2].contains("rows in=2 out=2"), plan);
+        assertTrue(lines[3].contains("rows in=2 out=1"), plan);
+    }
+
+    @Test
+    void testExplainAnalyzeWriteRunsTheWrite() {
+        session.execute("EXPLAIN ANALYZE WRITE TO test.Events TYPE View VALUES({Id: 4}, {Id: 5});");
+
+        String plan = session.getLastExplainResult();
+        assertTrue(plan.startsWith("Values 2 rows"), plan);
+        assertTrue(plan.contains("Write test.Events (one backend batch)  (rows in=2 out=2"), plan);
+
+        session.execute("READ FROM test.Events TYPE View *;");
+        assertEquals(3, session.getLastQueryResult().size());
+    }
+
+    @Test
+    void testExplainAnalyzeFollowIsRejected() {
+        assertThrows(RuntimeException.class,
+            () -> session.execute("EXPLAIN ANALYZE READ FOLLOW FROM test.Events TYPE Click *;"));
+    }
+}
@@ -0,0 +1,62 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+
+/**
+ * Tests that the engine emits its JDK Flight Recorder events.
+ */
+class JfrEventsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStatementAndPhaseEventsAreRecorded() throws Exception {
+        TestEngine engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+
+        Path file = dir.resolve("kafkasql.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("kafkasql.Statement");
+            recording.enable("kafkasql.PipelinePhase");
+            recording.start();
+            engine.execute("""
+                CREATE CONTEXT test;
+                USE CONTEXT test;
+                CREATE STREAM Events (TYPE Click AS STRUCT (Id INT32));
+                WRITE TO test.Events TYPE Click VALUES({Id: 1}, {Id: 2});
+                """);
+            recording.stop();
+            recording.dump(file);
+        }
+        assertTrue(Files.size(file) > 0);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent write = events.stream()
+            .filter(e -> e.getEventType().getName().equals("kafkasql.Statement"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("WriteStmt", write.getString("kind"));
+        assertEquals("test.Events", write.getString("stream"));
+        assertEquals(2L, write.getLong("records"));
+
+        List<String> phases = events.stream()
+            .filter(e -> e.getEventType().getName().equals("kafkasql.PipelinePhase"))
+            .map(e -> e.getString("phase"))
+            .toList();
+        assertEquals(List.of("PARSE", "SEMANTIC"), phases);
+    }
+}
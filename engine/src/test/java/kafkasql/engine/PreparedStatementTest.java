@@ -0,0 +1,168 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+import kafkasql.runtime.Name;
+
+/**
+ * Tests for prepared statements and the DML plan cache.
+ */
+class PreparedStatementTest {
+
+    private static final Name STREAM = Name.of("test", "CustomerEvents");
+
+    private TestEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE TYPE Customer AS STRUCT (
+                Id INT32,
+                Name STRING NULL
+            );
+            CREATE STREAM CustomerEvents (
+                TYPE Customer AS test.Customer
+            );
+            """);
+    }
+
+    @Test
+    void testPositionalParameters() {
+        PreparedStatement insert = engine.prepare(
+            "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: ?, Name: ?});");
+
+        insert.execute(1, "Alice");
+        insert.execute(2, "Bob");
+
+        var records = engine.getStream(STREAM);
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).value().get("Id"));
+        assertEquals("Alice", records.get(0).value().get("Name"));
+        assertEquals(2, records.get(1).value().get("Id"));
+        assertEquals("Bob", records.get(1).value().get("Name"));
+    }
+
+    @Test
+    void testNamedParameters() {
+        PreparedStatement insert = engine.prepare(
+            "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: :id, Name: :name});");
+
+        insert.execute(Map.of("ID", 7, "name", "Carol"));
+
+        var value = engine.getStream(STREAM).get(0).value();
+        assertEquals(7, value.get("Id"));
+        assertEquals("Carol", value.get("Name"));
+    }
+
+    @Test
+    void testParameterValueIsTypeChecked() {
+        PreparedStatement insert = engine.prepare(
+            "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: ?});");
+
+        assertThrows(IllegalArgumentException.class, () -> insert.execute(5_000_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> insert.execute("not a number"));
+        assertThrows(IllegalArgumentException.class, () -> insert.execute());
+        assertTrue(engine.getStream(STREAM).isEmpty());
+    }
+
+    @Test
+    void testPreparedReadBindsParametersIntoWhere() {
+        engine.execute("""
+            WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 1, Name: 'Alice'});
+            WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 2, Name: 'Bob'});
+            WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 3, Name: 'Carol'});
+            """);
+        PreparedStatement read = engine.prepare(
+            "READ FROM test.CustomerEvents TYPE Customer Name WHERE Id = ?;");
+
+        read.execute(2);
+        var results = engine.getLastQueryResult();
+        assertEquals(1, results.size());
+        assertEquals("Bob", results.get(0).get("Name"));
+
+        read.execute(3);
+        results = engine.getLastQueryResult();
+        assertEquals(1, results.size());
+        assertEquals("Carol", results.get(0).get("Name"));
+
+        PreparedStatement named = engine.prepare(
+            "READ FROM test.CustomerEvents TYPE Customer * WHERE Id > :min AND Name <> :skip;");
+        named.execute(Map.of("min", 1, "skip", "Carol"));
+        results = engine.getLastQueryResult();
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).get("Id"));
+
+        assertThrows(IllegalArgumentException.class, () -> read.execute());
+    }
+
+    @Test
+    void testDdlCannotBePrepared() {
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.prepare("USE CONTEXT test; CREATE TYPE Other AS STRUCT (Id INT32);"));
+        assertFalse(engine.getSymbolTable().hasKey(Name.of("test", "Other")),
+            "Preparing DDL must not mutate the model");
+    }
+
+    @Test
+    void testRepeatedDmlHitsPlanCache() {
+        String write = "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 1});";
+        PlanCache cache = engine.getPlanCache();
+        long misses = cache.misses();
+
+        engine.execute(write);
+        engine.execute(write);
+        engine.execute(write);
+
+        assertEquals(misses + 1, cache.misses());
+        assertEquals(2, cache.hits());
+        assertEquals(3, engine.getStream(STREAM).size());
+    }
+
+    @Test
+    void testDdlInvalidatesPlanCache() {
+        String write = "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: 1});";
+        engine.execute(write);
+        assertEquals(1, engine.getPlanCache().size());
+
+        engine.execute("""
+            ALTER TYPE test.Customer ADD Email STRING NULL;
+            """);
+        assertEquals(0, engine.getPlanCache().size());
+
+        long hits = engine.getPlanCache().hits();
+        engine.execute(write);
+        assertEquals(hits, engine.getPlanCache().hits(), "Stale plan must not be served");
+    }
+
+    @Test
+    void testPreparedStatementRebindsAfterDdl() {
+        PreparedStatement insert = engine.prepare(
+            "WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: ?});");
+        insert.execute(1);
+
+        engine.execute("ALTER TYPE test.Customer ADD Email STRING NULL;");
+        insert.execute(2);
+
+        var records = engine.getStream(STREAM);
+        assertEquals(2, records.size());
+        assertEquals(2, records.get(1).value().get("Id"));
+    }
+
+    @Test
+    void testEphemeralModeCannotPrepare() {
+        TestEngine ephemeral = new TestEngine();
+        assertThrows(IllegalStateException.class,
+            () -> ephemeral.prepare("WRITE TO test.CustomerEvents TYPE Customer VALUES({Id: ?});"));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.runtime.Name;
 
 /**
@@ -271,9 +272,8 @@ class ReadQueryTest {
         System.out.println("Active customers (WHERE Status = 'ACTIVE'):");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(4, results.size(), "Should have 4 active customers");
-        // assertTrue(results.stream().allMatch(r -> "ACTIVE".equals(r.get("Status"))));
+        assertEquals(4, results.size(), "Should have 4 active customers");
+        assertTrue(results.stream().allMatch(r -> "ACTIVE".equals(r.get("Status"))));
     }
     
     @Test
@@ -293,8 +293,7 @@ class ReadQueryTest {
         System.out.println("Customers age >= 30:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(3, results.size(), "Should have 3 customers age >= 30");
+        assertEquals(3, results.size(), "Should have 3 customers age >= 30");
     }
     
     @Test
@@ -314,8 +313,7 @@ class ReadQueryTest {
         System.out.println("Products with Price > 200:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(2, results.size(), "Should have 2 products over $200");
+        assertEquals(2, results.size(), "Should have 2 products over $200");
     }
     
     @Test
@@ -335,8 +333,7 @@ class ReadQueryTest {
         System.out.println("Electronics products:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(2, results.size(), "Should have 2 electronics products");
+        assertEquals(2, results.size(), "Should have 2 electronics products");
     }
     
     @Test
@@ -356,8 +353,7 @@ class ReadQueryTest {
         System.out.println("In-stock products:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(4, results.size(), "Should have 4 in-stock products");
+        assertEquals(4, results.size(), "Should have 4 in-stock products");
     }
     
     @Test
@@ -377,8 +373,7 @@ class ReadQueryTest {
         System.out.println("Orders with Total >= 200:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(4, results.size(), "Should have 4 orders >= $200");
+        assertEquals(4, results.size(), "Should have 4 orders >= $200");
     }
     
     // ========================================================================
@@ -467,6 +462,29 @@ class ReadQueryTest {
             "Last result should be Order records");
     }
     
+    @Test
+    void testRepeatedReadReusesResolutionPlans() {
+        engine.setSymbolTable(new SymbolTable());
+        engine.execute(setupScript);
+        ReadPlanCache plans = ((KafkaSqlEngine) engine).readPlanCache();
+        String query = """
+            READ FROM test.Customers
+            TYPE Customer *;
+            """;
+
+        engine.execute(query);
+        long misses = plans.misses();
+        assertTrue(misses > 0, "First READ compiles its plans");
+
+        for (int i = 0; i < 20; i++) {
+            engine.execute(query);
+        }
+        assertEquals(5, engine.getLastQueryResult().size());
+        assertEquals(misses, plans.misses(),
+            "Later READs bind new types of the same schema and reuse the plans");
+        assertTrue(plans.hits() >= 20);
+    }
+    
     // ========================================================================
     // Multi-type stream tests
     // ========================================================================
@@ -572,8 +590,7 @@ class ReadQueryTest {
         System.out.println("Multi-type with different filters:");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(2, results.size(), "Should return 2 filtered events");
+        assertEquals(2, results.size(), "Should return 2 filtered events");
     }
     
     @Test
@@ -694,9 +711,8 @@ class ReadQueryTest {
         System.out.println("UserUpdated events where Field = 'Email':");
         results.forEach(r -> System.out.println("  " + r));
         
-        // When filtering works:
-        // assertEquals(1, results.size(), "Should have 1 email update event");
-        // assertEquals("Email", results.get(0).get("Field"));
+        assertEquals(1, results.size(), "Should have 1 email update event");
+        assertEquals("Email", results.get(0).get("Field"));
     }
     
     @Test
@@ -753,4 +769,59 @@ class ReadQueryTest {
         assertTrue(results.get(0).fields().containsKey("Reason"), 
             "Last result should have Reason field (UserDeleted)");
     }
-}
\ No newline at end of file
+    
+    // ========================================================================
+    // READ LATEST tests
+    // ========================================================================
+    
+    @Test
+    void testReadLatestReturnsLastValuePerKey() {
+        String script = """
+            USE CONTEXT test;
+            
+            CREATE STREAM Balances (
+                TYPE Balance AS STRUCT (
+                    AccountId INT32,
+                    Amount INT32
+                )
+                DISTRIBUTE BY (AccountId)
+            );
+            
+            WRITE TO test.Balances
+            TYPE Balance
+            VALUES(
+                {AccountId: 1, Amount: 100},
+                {AccountId: 2, Amount: 200},
+                {AccountId: 1, Amount: 150},
+                {AccountId: 3, Amount: 300},
+                {AccountId: 2, Amount: 250}
+            );
+            
+            READ LATEST FROM test.Balances
+            TYPE Balance *;
+            """;
+        
+        engine.executeAll(setupScript, script);
+        var results = engine.getLastQueryResult();
+        
+        assertEquals(3, results.size(), "Should return one record per AccountId");
+        assertEquals(1, results.get(0).get("AccountId"));
+        assertEquals(150, results.get(0).get("Amount"));
+        assertEquals(2, results.get(1).get("AccountId"));
+        assertEquals(250, results.get(1).get("Amount"));
+        assertEquals(3, results.get(2).get("AccountId"));
+        assertEquals(300, results.get(2).get("Amount"));
+    }
+    
+    @Test
+    void testReadLatestRequiresDistributeBy() {
+        String query = """
+            USE CONTEXT test;
+            
+            READ LATEST FROM test.Customers
+            TYPE Customer *;
+            """;
+        
+        assertThrows(RuntimeException.class, () -> engine.executeAll(setupScript, query));
+    }
+}
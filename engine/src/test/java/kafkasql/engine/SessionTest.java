@@ -0,0 +1,114 @@
+package kafkasql.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import kafkasql.engine.impl.TestEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+
+/**
+ * Tests for sessions sharing one engine: per-session state and DML
+ * binding against published symbol table snapshots.
+ */
+class SessionTest {
+
+    private TestEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TestEngine();
+        engine.setSymbolTable(new SymbolTable());
+        engine.execute("""
+            CREATE CONTEXT test;
+            USE CONTEXT test;
+            CREATE STREAM Events (
+                TYPE Click AS STRUCT (Id INT32, Page STRING)
+            );
+            WRITE TO test.Events TYPE Click VALUES(
+                {Id: 1, Page: 'home'},
+                {Id: 2, Page: 'cart'}
+            );
+            """);
+    }
+
+    @Test
+    void testSessionsKeepTheirOwnResultsAndContext() {
+        Session a = engine.openSession();
+        Session b = engine.openSession();
+        a.setCurrentContext("test");
+
+        a.execute("READ FROM test.Events TYPE Click * WHERE Id = 1;");
+        b.execute("READ FROM test.Events TYPE Click *;");
+        a.execute("SHOW CURRENT CONTEXT;");
+
+        assertEquals(1, a.getLastQueryResult().size());
+        assertEquals(2, b.getLastQueryResult().size());
+        assertEquals(List.of("Current context: test"), a.getLastShowResult());
+        assertNull(b.getCurrentContext());
+        assertTrue(engine.getLastQueryResult().isEmpty(), "Session results bypass the engine hooks");
+    }
+
+    @Test
+    void testSessionSeesDdlCommittedByAnother() {
+        Session writer = engine.openSession();
+        Session reader = engine.openSession();
+
+        writer.execute("""
+            USE CONTEXT test;
+            CREATE STREAM Orders (TYPE Placed AS STRUCT (Id INT32));
+            """);
+        reader.execute("WRITE TO test.Orders TYPE Placed VALUES({Id: 7});");
+        reader.execute("READ FROM test.Orders TYPE Placed *;");
+
+        assertEquals(7, reader.getLastQueryResult().get(0).get("Id"));
+    }
+
+    @Test
+    void testPreparedStatementReportsToItsSession() {
+        Session session = engine.openSession();
+        PreparedStatement insert = session.prepare("WRITE TO test.Events TYPE Click VALUES({Id: ?, Page: ?});");
+        PreparedStatement read = session.prepare("READ FROM test.Events TYPE Click * WHERE Id = 3;");
+
+        insert.execute(3, "checkout");
+        read.execute();
+
+        assertEquals("checkout", session.getLastQueryResult().get(0).get("Page"));
+        assertTrue(engine.getLastQueryResult().isEmpty());
+    }
+
+    @Test
+    void testConcurrentSessionsReadWhileDdlCommits() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                readers.add(pool.submit(() -> {
+                    Session session = engine.openSession();
+                    for (int i = 0; i < 200; i++) {
+                        session.execute("READ FROM test.Events TYPE Click *;");
+                        assertEquals(2, session.getLastQueryResult().size());
+                    }
+                }));
+            }
+            for (int i = 0; i < 50; i++) {
+                engine.execute("USE CONTEXT test; CREATE TYPE T" + i + " AS STRUCT (Id INT32);");
+            }
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(engine.getSymbolTable().hasKey(kafkasql.runtime.Name.of("test", "T49")));
+    }
+}
@@ -115,6 +115,7 @@ class TestEngineTest {
         var records = engine.getStream(streamName);
         
         assertEquals(3, records.size(), "Should have 3 records total");
+        assertEquals(2, engine.getWriteBatchCount(), "Should receive one batch per WRITE statement");
         
         // Verify each record's data
         var record0 = records.get(0);
@@ -1,5 +1,7 @@
 package kafkasql.engine;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -169,8 +171,6 @@ class TheBigOneTest {
         
         System.out.println("\n" + "=".repeat(80));
         
-        // When all features are implemented, uncomment these assertions:
-        /*
         assertEquals(6, results.size(), "Should return 6 filtered records total");
         
         // Verify UserCreated records (bob and charlie with UserId > 1)
@@ -219,7 +219,6 @@ class TheBigOneTest {
         assertEquals(4, deletedRecords.get(0).get("UserId"));
         assertTrue(deletedRecords.get(0).get("DeleteReason").toString().startsWith("DELETED: "));
         assertEquals(9004, deletedRecords.get(0).get("ArchiveId"), "Should compute UserId + 9000");
-        */
     }
     
     @Test
@@ -14,6 +14,7 @@ import kafkasql.runtime.value.StructValue;
  * 
  * Key design: The engine's internal operations work ONLY with runtime types
  * (StructValue, StructType, etc.) - no AST or semantic dependencies.
+ * Storage is synchronized so sessions can share one engine across threads.
  */
 public final class TestEngine extends KafkaSqlEngine {
     
@@ -23,6 +24,9 @@ public final class TestEngine extends KafkaSqlEngine {
     // Last execution result for inspection
     private List<StructValue> lastQueryResult;
     
+    // Number of batched writes received from the engine
+    private int writeBatches;
+    
     public TestEngine() {
         this.streams = new HashMap<>();
         this.lastQueryResult = Collections.emptyList();
@@ -33,13 +37,22 @@ public final class TestEngine extends KafkaSqlEngine {
     // ========================================================================
     
     @Override
-    protected void writeRecord(Name streamName, String typeName, StructValue value) {
+    protected synchronized void writeRecord(Name streamName, String typeName, StructValue value) {
         List<StreamRecord> records = streams.computeIfAbsent(streamName, k -> new ArrayList<>());
         records.add(new StreamRecord(typeName, value));
     }
     
     @Override
-    protected List<StreamRecord> readRecords(Name streamName) {
+    protected synchronized void writeRecords(Name streamName, String typeName, List<StructValue> values) {
+        writeBatches++;
+        List<StreamRecord> records = streams.computeIfAbsent(streamName, k -> new ArrayList<>());
+        for (StructValue value : values) {
+            records.add(new StreamRecord(typeName, value));
+        }
+    }
+    
+    @Override
+    protected synchronized List<StreamRecord> readRecords(Name streamName) {
         return new ArrayList<>(streams.getOrDefault(streamName, Collections.emptyList()));
     }
 
@@ -71,7 +84,7 @@ public final class TestEngine extends KafkaSqlEngine {
     /**
      * Get all records in a stream (for testing/debugging).
      */
-    public List<StreamRecord> getStream(Name streamName) {
+    public synchronized List<StreamRecord> getStream(Name streamName) {
         return Collections.unmodifiableList(
             streams.getOrDefault(streamName, Collections.emptyList())
         );
@@ -80,15 +93,23 @@ public final class TestEngine extends KafkaSqlEngine {
     /**
      * Get all stream names.
      */
-    public Set<Name> getStreamNames() {
+    public synchronized Set<Name> getStreamNames() {
         return Collections.unmodifiableSet(streams.keySet());
     }
     
+    /**
+     * Get the number of write batches received (one per WRITE statement).
+     */
+    public int getWriteBatchCount() {
+        return writeBatches;
+    }
+    
     /**
      * Clear all data.
      */
-    public void reset() {
+    public synchronized void reset() {
         streams.clear();
         lastQueryResult = Collections.emptyList();
+        writeBatches = 0;
     }
 }
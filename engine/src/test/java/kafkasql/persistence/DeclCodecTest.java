@@ -0,0 +1,151 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.stream.StreamWriter;
+import sys.schema.EventType;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that event payloads round-trip every kind of declaration and that
+ * replay applies them without parsing the DDL text.
+ */
+class DeclCodecTest {
+
+    private InMemoryStream<SymbolEventLog> eventLog;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new InMemoryStream<>("SymbolEventLog");
+        ModelStore store = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+        KafkaSqlEngine engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE PosInt AS SCALAR INT32
+                DEFAULT 1
+                CHECK ( value > 0 );
+            CREATE TYPE Status AS ENUM (
+                Pending = 1,
+                Active = 2
+            )
+            DEFAULT Status::Active;
+            CREATE TYPE Value AS UNION (
+                I INT32,
+                S STRING
+            );
+            CREATE TYPE Person AS STRUCT (
+                Id INT64,
+                Nick STRING(16) NULL,
+                Score DECIMAL(10,2),
+                Tags LIST<STRING>,
+                Attrs MAP<STRING, INT32>,
+                State com.Status,
+                Age com.PosInt
+            )
+            COMMENT 'A person';
+            CREATE STREAM People (
+                TYPE Person AS com.Person,
+                TYPE Note AS STRUCT ( Id INT64, Text STRING )
+            );
+            """);
+        engine.execute("ALTER TYPE com.Person ADD Email STRING NULL;");
+    }
+
+    @Test
+    void payloadRoundTrips() {
+        List<SymbolEventLog.SymbolEvent> events = events();
+        assertEquals(7, events.size());
+        for (SymbolEventLog.SymbolEvent event : events) {
+            if (event.EventType() == EventType.CREATE_STMT && event.ObjectName().equals("com")) {
+                continue;
+            }
+            assertTrue(DeclCodec.isReadable(event.Payload()), event.ObjectName());
+            byte[] again = DeclCodec.encode(DeclCodec.decode(event.Payload()));
+            assertArrayEquals(event.Payload(), again, event.ObjectName());
+        }
+    }
+
+    @Test
+    void replayAppliesPayloadWithoutParsing() throws Exception {
+        InMemoryStream<SymbolEventLog> garbled = new InMemoryStream<>("Garbled");
+        StreamWriter<SymbolEventLog> writer = garbled.writer();
+        for (SymbolEventLog.SymbolEvent event : events()) {
+            writer.write(withText(event, "not ddl", event.Payload()));
+        }
+
+        ModelStore restored = new ModelStore();
+        assertEquals(7, restored.load(garbled.reader()));
+
+        assertTrue(restored.symbols().lookupStream(Name.of("com", "People")).isPresent());
+        assertEquals(2, restored.getVersion(Name.of("com", "Person")));
+        assertFalse(restored.getSchemaHistory().membersAt("com.People", 0).get("Person")
+            .fields().containsKey("Email"));
+        assertTrue(restored.getSchemaHistory().membersAt("com.People", 1).get("Person")
+            .fields().containsKey("Email"));
+    }
+
+    @Test
+    void payloadOfOtherGrammarVersionFallsBackToText() throws Exception {
+        byte[] payload = events().get(1).Payload().clone();
+        payload[0]++;
+        assertFalse(DeclCodec.isReadable(payload));
+        assertFalse(DeclCodec.isReadable(null));
+
+        InMemoryStream<SymbolEventLog> log = new InMemoryStream<>("Text");
+        StreamWriter<SymbolEventLog> writer = log.writer();
+        for (SymbolEventLog.SymbolEvent event : events()) {
+            writer.write(withText(event, event.State(), payload));
+        }
+        ModelStore restored = new ModelStore();
+        restored.load(log.reader());
+        assertTrue(restored.symbols().lookupType(Name.of("com", "Person")).isPresent());
+    }
+
+    @Test
+    void payloadOfOtherAstShapeOrMalformedFallsBackToText() throws Exception {
+        byte[] original = events().get(1).Payload();
+        byte[] otherShape = original.clone();
+        otherShape[1]++; // First byte of the shape hash
+        byte[] truncated = Arrays.copyOf(original, 8);
+        assertFalse(DeclCodec.isReadable(otherShape));
+        assertTrue(DeclCodec.isReadable(truncated));
+
+        for (byte[] payload : List.of(otherShape, truncated)) {
+            InMemoryStream<SymbolEventLog> log = new InMemoryStream<>("Text");
+            StreamWriter<SymbolEventLog> writer = log.writer();
+            for (SymbolEventLog.SymbolEvent event : events()) {
+                writer.write(withText(event, event.State(), payload));
+            }
+            ModelStore restored = new ModelStore();
+            restored.load(log.reader());
+            assertTrue(restored.symbols().lookupType(Name.of("com", "Person")).isPresent());
+        }
+    }
+
+    private List<SymbolEventLog.SymbolEvent> events() {
+        List<SymbolEventLog.SymbolEvent> events = new ArrayList<>();
+        for (SymbolEventLog message : eventLog.messages()) {
+            events.add((SymbolEventLog.SymbolEvent) message);
+        }
+        return events;
+    }
+
+    private static SymbolEventLog.SymbolEvent withText(SymbolEventLog.SymbolEvent event, String state, byte[] payload) {
+        return new SymbolEventLog.SymbolEvent(
+            event.EventId(), event.EventTimestamp(), event.Source(), event.GrammarVersion(),
+            event.EventType(), event.ObjectName(), event.ObjectVersion(), event.Delta(),
+            state, event.MarkerOffsets(), event.Payload() == null ? null : payload);
+    }
+}
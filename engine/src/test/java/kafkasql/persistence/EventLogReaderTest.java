@@ -0,0 +1,237 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a batched, parallel replay rebuilds the same model as the
+ * sequential one and skips objects dropped within a batch unless other
+ * events refer to them, and that duplicated or stale events are skipped
+ * without being parsed.
+ */
+class EventLogReaderTest {
+
+    private static final Name CUSTOMER = Name.of("com", "Customer");
+    private static final Name STREAM = Name.of("com", "CustomerEvents");
+
+    @Test
+    void batchedReplayMatchesSequentialReplay() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        ModelStore store = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+        KafkaSqlEngine engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.setModelDropListener(store::onDropped);
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE TYPE Scratch AS STRUCT (Id INT32);
+            CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer);
+            """);
+        engine.execute("DROP TYPE com.Scratch;");
+        engine.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+        engine.execute("USE CONTEXT com; CREATE TYPE Order AS STRUCT (Id INT32);");
+
+        ModelStore sequential = new ModelStore();
+        sequential.load(eventLog.reader());
+
+        for (int batchSize : new int[] { 1, 3, 100 }) {
+            ModelStore batched = new ModelStore();
+            batched.setReplayBatchSize(batchSize);
+            assertEquals(eventLog.size(), batched.load(eventLog.reader()));
+
+            assertTrue(batched.symbols().lookupType(Name.of("com", "Order")).isPresent());
+            assertFalse(batched.symbols().lookupType(Name.of("com", "Scratch")).isPresent());
+            assertEquals(sequential.getVersion(CUSTOMER), batched.getVersion(CUSTOMER));
+            assertEquals(2, batched.getSchemaHistory().epochs(STREAM.fullName()));
+            assertTrue(batched.getSchemaHistory().membersAt(STREAM.fullName(), 1)
+                .get("Customer").fields().containsKey("Email"));
+        }
+    }
+
+    @Test
+    void objectDroppedInBatchIsNotParsed() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        EventLogWriter writer = new EventLogWriter(eventLog.writer(), "test");
+        Name broken = Name.of("Broken");
+        writer.writeCreate(broken, null, "CREATE TYPE Broken AS (((");
+        writer.writeDrop(broken, "DROP TYPE Broken", 2);
+        writer.writeCreate(Name.of("com"), null, "CREATE CONTEXT com");
+
+        assertThrows(IllegalStateException.class,
+            () -> new EventLogReader(eventLog.reader(), new SymbolTable()).replayAll());
+
+        SymbolTable symbols = new SymbolTable();
+        List<String> applied = new ArrayList<>();
+        EventLogReader reader = new EventLogReader(eventLog.reader(), symbols);
+        reader.onApplied(event -> applied.add(event.ObjectName()));
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals(3, reader.replayAll(2, pool));
+        }
+        assertEquals(List.of("Broken", "Broken", "com"), applied);
+        assertTrue(symbols.lookupContext(Name.of("com")).isPresent());
+    }
+
+    @Test
+    void objectDroppedInBatchIsKeptWhileReferenced() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        EventLogWriter writer = new EventLogWriter(eventLog.writer(), "test");
+        Name money = Name.of("com", "Money");
+        writer.writeCreate(Name.of("com"), null, "CREATE CONTEXT com");
+        writer.writeCreate(money, null, "CREATE TYPE Money AS STRUCT (Amount INT64)");
+        writer.writeCreate(CUSTOMER, null, "CREATE TYPE Customer AS STRUCT (Id INT32)");
+        writer.writeCreate(STREAM, null, "CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer)");
+        writer.writeAlter(CUSTOMER, null, "ALTER TYPE com.Customer ADD Balance com.Money NULL", 2,
+            Map.of(STREAM.fullName(), Map.of(0, 5L)));
+        writer.writeAlter(CUSTOMER, null, "ALTER TYPE com.Customer DROP Balance", 3,
+            Map.of(STREAM.fullName(), Map.of(0, 9L)));
+        writer.writeDrop(money, "DROP TYPE com.Money", 2);
+
+        for (int batchSize : new int[] { 0, 100 }) {
+            ModelStore store = new ModelStore();
+            store.setReplayBatchSize(batchSize);
+            store.load(eventLog.reader());
+
+            assertFalse(store.symbols().lookupType(money).isPresent());
+            assertEquals(3, store.getSchemaHistory().epochs(STREAM.fullName()));
+            StructTypeField balance = store.getSchemaHistory().membersAt(STREAM.fullName(), 1)
+                .get("Customer").fields().get("Balance");
+            assertInstanceOf(StructType.class, balance.type());
+        }
+    }
+
+    @Test
+    void droppedObjectIsElidedDespiteSameSimpleNameElsewhere() throws Exception {
+        InMemoryStream<SymbolEventLog> written = new InMemoryStream<>("SymbolEventLog");
+        ModelStore store = new ModelStore(new EventLogWriter(written.writer(), "test"));
+        KafkaSqlEngine engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelDropListener(store::onDropped);
+        engine.execute("""
+            CREATE CONTEXT com;
+            CREATE CONTEXT org;
+            USE CONTEXT org;
+            CREATE TYPE Temp AS STRUCT (Id INT32);
+            USE CONTEXT com;
+            CREATE TYPE Temp AS STRUCT (Id INT32);
+            CREATE STREAM Events (TYPE Temp AS org.Temp);
+            """);
+        engine.execute("DROP TYPE com.Temp;");
+
+        // com.Temp's CREATE would fail to apply, so replay passes only if
+        // the stream's reference to org.Temp does not keep it
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        var reader = written.reader();
+        for (SymbolEventLog next; (next = reader.read()) != null; ) {
+            var event = (SymbolEventLog.SymbolEvent) next;
+            boolean comTemp = event.ObjectName().equals("com.Temp")
+                && event.EventType() == sys.schema.EventType.CREATE_STMT;
+            eventLog.writer().write(comTemp ? garbled(event, event.EventId()) : event);
+        }
+
+        SymbolTable symbols = new SymbolTable();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals(6, new EventLogReader(eventLog.reader(), symbols).replayAll(100, pool));
+        }
+        assertTrue(symbols.lookupStream(Name.of("com", "Events")).isPresent());
+        assertFalse(symbols.lookupType(Name.of("com", "Temp")).isPresent());
+    }
+
+    @Test
+    void duplicatedAndStaleEventsAreSkippedBeforeParsing() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        EventLogWriter writer = new EventLogWriter(eventLog.writer(), "test");
+        Name customer = Name.of("Customer");
+        var create = writer.writeCreate(customer, null, "CREATE TYPE Customer AS STRUCT (Id INT32)");
+        var alter = writer.writeAlter(customer, null, "ALTER TYPE Customer ADD Email STRING NULL", 2);
+        // A producer retry, a replay of an older ALTER and a CREATE of a live object
+        eventLog.writer().write(create);
+        eventLog.writer().write(garbled(alter, alter.EventId()));
+        eventLog.writer().write(garbled(alter, UUID.randomUUID()));
+        eventLog.writer().write(garbled(create, UUID.randomUUID()));
+
+        for (int batchSize : new int[] { 0, 2, 100 }) {
+            SymbolTable symbols = new SymbolTable();
+            List<String> skipped = new ArrayList<>();
+            EventLogReader reader = new EventLogReader(eventLog.reader(), symbols);
+            reader.onSkipped(event -> skipped.add(event.EventType().name()));
+            if (batchSize == 0) {
+                assertEquals(6, reader.replayAll());
+            } else {
+                try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                    assertEquals(6, reader.replayAll(batchSize, pool));
+                }
+            }
+            assertEquals(List.of("CREATE_STMT", "ALTER_STMT", "ALTER_STMT", "CREATE_STMT"), skipped);
+            assertTrue(symbols.lookupStruct(customer).orElseThrow().fields().stream()
+                .anyMatch(field -> field.name().name().equals("Email")));
+        }
+    }
+
+    @Test
+    void failedBatchRecordsOnlyAppliedEvents() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        EventLogWriter writer = new EventLogWriter(eventLog.writer(), "test");
+        writer.writeCreate(Name.of("com"), null, "CREATE CONTEXT com");
+        writer.writeCreate(CUSTOMER, null, "CREATE TYPE Customer AS STRUCT (Id INT32)");
+        var broken = writer.writeAlter(CUSTOMER, null, "ALTER TYPE com.Customer ADD (((", 2);
+        var order = writer.writeCreate(Name.of("com", "Order"), null, "CREATE TYPE Order AS STRUCT (Id INT32)");
+
+        AppliedEvents applied = new AppliedEvents();
+        EventLogReader reader = new EventLogReader(eventLog.reader(), new SymbolTable());
+        reader.setAppliedEvents(applied);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertThrows(IllegalStateException.class, () -> reader.replayAll(100, pool));
+        }
+
+        assertEquals(1, applied.version(CUSTOMER.fullName()));
+        assertFalse(applied.contains(broken.EventId()));
+        assertFalse(applied.contains(order.EventId()));
+        assertTrue(applied.isNew(order));
+    }
+
+    @Test
+    void recreatedObjectIsApplied() {
+        AppliedEvents applied = new AppliedEvents(2);
+        var create = event(sys.schema.EventType.CREATE_STMT, 1);
+        assertTrue(applied.admit(create));
+        assertFalse(applied.admit(create));
+        assertTrue(applied.admit(event(sys.schema.EventType.ALTER_STMT, 2)));
+        assertFalse(applied.admit(event(sys.schema.EventType.ALTER_STMT, 2)));
+        assertTrue(applied.admit(event(sys.schema.EventType.DROP_STMT, 3)));
+        assertFalse(applied.admit(event(sys.schema.EventType.DROP_STMT, 4)));
+        assertTrue(applied.admit(event(sys.schema.EventType.CREATE_STMT, 1)));
+        assertEquals(1, applied.version("Customer"));
+        assertFalse(applied.contains(create.EventId()), "Only the 2 most recent ids are kept");
+    }
+
+    private static SymbolEventLog.SymbolEvent event(sys.schema.EventType type, int version) {
+        return new SymbolEventLog.SymbolEvent(
+            UUID.randomUUID(), java.time.LocalDateTime.now(), "test", 1,
+            type, "Customer", version, "", "", null, null);
+    }
+
+    /** A copy whose DDL would fail to parse. */
+    private static SymbolEventLog.SymbolEvent garbled(SymbolEventLog.SymbolEvent event, UUID eventId) {
+        return new SymbolEventLog.SymbolEvent(
+            eventId, event.EventTimestamp(), event.Source(), event.GrammarVersion(),
+            event.EventType(), event.ObjectName(), event.ObjectVersion(), event.Delta(),
+            "(((", event.MarkerOffsets(), null);
+    }
+}
@@ -0,0 +1,41 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.value.StructValue;
+
+import java.util.*;
+
+/**
+ * Engine over in-memory streams for the persistence tests.
+ * <p>
+ * Schema markers land on partition 0 at {@link #markerOffset}, which a
+ * test can move to place schema epochs.
+ */
+final class InMemoryEngine extends KafkaSqlEngine {
+
+    private final Map<Name, List<StreamRecord>> streams = new HashMap<>();
+    long markerOffset = 0;
+
+    @Override
+    protected void writeRecord(Name streamName, String typeName, StructValue value) {
+        streams.computeIfAbsent(streamName, k -> new ArrayList<>())
+            .add(new StreamRecord(typeName, value));
+    }
+
+    @Override
+    protected List<StreamRecord> readRecords(Name streamName) {
+        return streams.getOrDefault(streamName, List.of());
+    }
+
+    @Override
+    protected Map<Integer, Long> writeSchemaMarker(Name streamName, String typeName) {
+        return Map.of(0, markerOffset);
+    }
+
+    List<StreamRecord> getStream(Name streamName) {
+        return Collections.unmodifiableList(
+            streams.getOrDefault(streamName, List.of())
+        );
+    }
+}
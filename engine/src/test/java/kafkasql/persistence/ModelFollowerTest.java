@@ -0,0 +1,114 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.stream.StreamReader;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that two instances sharing one event log see each other's DDL
+ * through a follower, without reloading.
+ */
+class ModelFollowerTest {
+
+    private InMemoryStream<SymbolEventLog> eventLog;
+    private ModelStore storeA;
+    private KafkaSqlEngine engineA;
+    private ModelStore storeB;
+    private KafkaSqlEngine engineB;
+    private ModelFollower followerB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        eventLog = new InMemoryStream<>("SymbolEventLog");
+        storeA = new ModelStore(new EventLogWriter(eventLog.writer(), "a"));
+        engineA = wire(storeA);
+        engineA.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            """);
+
+        storeB = new ModelStore(new EventLogWriter(eventLog.writer(), "b"));
+        StreamReader<SymbolEventLog> reader = eventLog.reader();
+        storeB.load(reader);
+        engineB = wire(storeB);
+        followerB = storeB.follow(reader, engineB::applyModelChange);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        followerB.close();
+        assertNull(followerB.failure());
+    }
+
+    @Test
+    void remoteDdlIsAppliedAndUsable() throws Exception {
+        List<String> updates = new CopyOnWriteArrayList<>();
+        storeB.addUpdateListener(event -> updates.add(event.ObjectName()));
+
+        engineA.execute("USE CONTEXT com; CREATE TYPE Order AS STRUCT (Id INT32);");
+        await(() -> storeB.position() == eventLog.size());
+
+        assertTrue(storeB.symbols().lookupType(Name.of("com", "Order")).isPresent());
+        assertEquals(List.of("com.Order"), updates);
+        engineB.execute("USE CONTEXT com; CREATE STREAM Orders (TYPE Order AS com.Order);");
+        assertTrue(storeB.symbols().lookupStream(Name.of("com", "Orders")).isPresent());
+    }
+
+    @Test
+    void ownDdlIsCountedNotReapplied() throws Exception {
+        List<String> updates = new CopyOnWriteArrayList<>();
+        storeB.addUpdateListener(event -> updates.add(event.ObjectName()));
+
+        engineB.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+        await(() -> storeB.position() == eventLog.size());
+
+        assertEquals(2, storeB.getVersion(Name.of("com", "Customer")));
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    void applierThatDefersTheChangeStopsTheFollower() throws Exception {
+        ModelStore storeC = new ModelStore(new EventLogWriter(eventLog.writer(), "c"));
+        StreamReader<SymbolEventLog> reader = eventLog.reader();
+        storeC.load(reader);
+        List<Runnable> deferred = new CopyOnWriteArrayList<>();
+        ModelFollower followerC = storeC.follow(reader, deferred::add);
+
+        engineA.execute("USE CONTEXT com; CREATE TYPE Order AS STRUCT (Id INT32);");
+        await(followerC::isClosed);
+
+        assertInstanceOf(IllegalStateException.class, followerC.failure());
+        assertEquals(1, deferred.size());
+        followerC.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the follower");
+            Thread.sleep(1);
+        }
+    }
+
+    private static KafkaSqlEngine wire(ModelStore store) {
+        KafkaSqlEngine engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.setModelDropListener(store::onDropped);
+        return engine;
+    }
+}
@@ -0,0 +1,176 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.io.codec.Encoder;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a snapshot plus the log tail restores the same model as a
+ * full replay, and that dropped objects are compacted away.
+ */
+class ModelSnapshotTest {
+
+    private static final Name CUSTOMER = Name.of("com", "Customer");
+    private static final Name STREAM = Name.of("com", "CustomerEvents");
+
+    private InMemoryStream<SymbolEventLog> eventLog;
+    private ModelStore store;
+    private KafkaSqlEngine engine;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new InMemoryStream<>("SymbolEventLog");
+        store = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+        store.enableSnapshots(dir.resolve("model.snapshot"), Integer.MAX_VALUE);
+
+        engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.setModelDropListener(store::onDropped);
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE TYPE Scratch AS STRUCT (Id INT32);
+            CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer);
+            """);
+        engine.execute("DROP TYPE com.Scratch;");
+        engine.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+    }
+
+    @Test
+    void snapshotCompactsDroppedObjects() {
+        ModelSnapshot snapshot = store.snapshot();
+
+        assertEquals(eventLog.size(), snapshot.position());
+        assertEquals(eventLog.size() - 2, snapshot.events().size());
+        assertTrue(snapshot.events().stream().noneMatch(e -> e.ObjectName().equals("com.Scratch")));
+        assertEquals(2, snapshot.versions().get(CUSTOMER));
+    }
+
+    @Test
+    void snapshotHoldsOneEventPerVersionOfTheLiveModel() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            engine.execute("USE CONTEXT com; CREATE TYPE Temp AS STRUCT (Id INT32);");
+            engine.execute("DROP TYPE com.Temp;");
+            engine.execute("ALTER TYPE com.Customer ADD F" + i + " STRING NULL;");
+        }
+        engine.execute("USE CONTEXT com; CREATE TYPE Temp AS STRUCT (Id INT32);");
+
+        // com, Customer at versions 1..22, the stream and the live Temp
+        ModelSnapshot snapshot = roundTrip(store.snapshot());
+        assertEquals(1 + 22 + 1 + 1, snapshot.events().size());
+        assertEquals(1, snapshot.events().stream().filter(e -> e.ObjectName().equals("com.Temp")).count());
+        assertTrue(snapshot.events().stream().allMatch(e -> DeclCodec.isReadable(e.Payload())));
+
+        ModelStore restored = new ModelStore();
+        assertEquals(0, restored.load(snapshot, eventLog.reader()));
+        assertEquals(22, restored.getVersion(CUSTOMER));
+        assertTrue(restored.symbols().lookupType(Name.of("com", "Temp")).isPresent());
+        assertEquals(22, restored.getSchemaHistory().epochs(STREAM.fullName()));
+    }
+
+    @Test
+    void markersOfADroppedIncarnationOfAStreamAreLeftOut() {
+        engine.execute("USE CONTEXT com; CREATE TYPE Old AS STRUCT (Id INT32);");
+        engine.execute("USE CONTEXT com; CREATE STREAM OldEvents (TYPE Old AS com.Old);");
+        engine.execute("ALTER TYPE com.Old ADD Note STRING NULL;");
+        engine.execute("DROP STREAM com.OldEvents;");
+        engine.execute("DROP TYPE com.Old;");
+        engine.execute("USE CONTEXT com; CREATE STREAM OldEvents (TYPE Customer AS com.Customer);");
+
+        ModelSnapshot snapshot = store.snapshot();
+        assertTrue(snapshot.events().stream().noneMatch(e -> e.ObjectName().equals("com.Old")));
+        assertEquals(1, snapshot.events().stream().filter(e -> e.ObjectName().equals("com.OldEvents")).count());
+    }
+
+    @Test
+    void snapshotPlusTailMatchesFullReplay() throws Exception {
+        ModelSnapshot snapshot = roundTrip(store.snapshot());
+        engine.execute("USE CONTEXT com; CREATE TYPE Order AS STRUCT (Id INT32);");
+
+        ModelStore restored = new ModelStore();
+        assertEquals(1, restored.load(snapshot, eventLog.reader()));
+
+        ModelStore full = new ModelStore();
+        full.load(eventLog.reader());
+
+        assertEquals(eventLog.size(), restored.position());
+        assertTrue(restored.symbols().lookupType(Name.of("com", "Order")).isPresent());
+        assertFalse(restored.symbols().lookupType(Name.of("com", "Scratch")).isPresent());
+        assertEquals(full.getVersion(CUSTOMER), restored.getVersion(CUSTOMER));
+        assertTrue(restored.getSchemaHistory().membersAt(STREAM.fullName(), 1)
+            .get("Customer").fields().containsKey("Email"));
+    }
+
+    @Test
+    void snapshotLongerThanLogIsRejected() {
+        ModelSnapshot snapshot = new ModelSnapshot(eventLog.size() + 1, Map.of(), List.of());
+        assertThrows(IllegalStateException.class,
+            () -> new ModelStore().load(snapshot, eventLog.reader()));
+    }
+
+    @Test
+    void periodicSnapshotsAreSavedAndLoaded() throws Exception {
+        Path file = dir.resolve("model.snapshot");
+        store.enableSnapshots(file, 2);
+        engine.execute("USE CONTEXT com; CREATE TYPE Order AS STRUCT (Id INT32);");
+        assertFalse(Files.exists(file));
+        engine.execute("USE CONTEXT com; CREATE TYPE Invoice AS STRUCT (Id INT32);");
+        assertTrue(Files.exists(file));
+        engine.execute("USE CONTEXT com; CREATE TYPE Refund AS STRUCT (Id INT32);");
+
+        ModelStore restored = new ModelStore();
+        assertEquals(1, restored.load(file, eventLog.reader()));
+        assertTrue(restored.symbols().lookupType(Name.of("com", "Refund")).isPresent());
+        assertTrue(restored.symbols().lookupType(Name.of("com", "Invoice")).isPresent());
+    }
+
+    @Test
+    void eventsAreOnlyKeptWhenSnapshotsAreEnabled() throws Exception {
+        ModelStore plain = new ModelStore();
+        plain.load(eventLog.reader());
+
+        assertEquals(eventLog.size(), plain.position());
+        assertThrows(IllegalStateException.class, plain::snapshot);
+        assertThrows(IllegalStateException.class,
+            () -> plain.enableSnapshots(dir.resolve("late.snapshot"), 10));
+    }
+
+    @Test
+    void snapshotInAnotherFormatFallsBackToFullReplay() throws Exception {
+        Path file = dir.resolve("old.snapshot");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Encoder.writeInt32(out, 0x4B534D53); // "KSMS"
+        Encoder.writeInt32(out, 99); // E.g. written by a later release
+        Files.write(file, out.toByteArray());
+
+        ModelStore restored = new ModelStore();
+        assertEquals(eventLog.size(), restored.load(file, eventLog.reader()));
+        assertTrue(restored.symbols().lookupType(CUSTOMER).isPresent());
+    }
+
+    private static ModelSnapshot roundTrip(ModelSnapshot snapshot) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.writeTo(out);
+        return ModelSnapshot.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -1,10 +1,11 @@
 package kafkasql.persistence;
 
 import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.engine.ModelBatchListener;
 import kafkasql.persistence.stream.InMemoryStream;
 import kafkasql.runtime.Name;
 import kafkasql.runtime.stream.StreamWriter;
-import kafkasql.runtime.value.StructValue;
+import kafkasql.runtime.stream.TransactionalStreamWriter;
 import sys.schema.EventType;
 import sys.schema.SymbolEventLog;
 
@@ -269,6 +270,134 @@ class ModelStoreTest {
         assertEquals(1, store.getVersion(Name.of("com")));
     }
 
+    // ====================================================================
+    // Phase 6: Units of work
+    // ====================================================================
+
+    @Test
+    void batchedScript_writesAllEventsWithOneFlush() {
+        RecordingWriter recording = new RecordingWriter(eventLog.writer());
+        ModelStore batched = new ModelStore(new EventLogWriter(recording, "test"));
+        engine.setSymbolTable(batched.symbols());
+        engine.setModelChangeListener(batched::onCreated);
+        engine.setModelBatchListener(batched.batchListener());
+
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE TYPE Order AS STRUCT (Id INT32);
+            """);
+
+        assertEquals(List.of("writeAll:3", "flush"), recording.calls);
+        assertEquals(3, eventLog.size());
+        assertEquals(3, batched.position());
+    }
+
+    @Test
+    void transactionalBatch_commitsOneTransaction() throws Exception {
+        RecordingWriter recording = new RecordingWriter(eventLog.writer());
+        EventLogWriter logWriter = new EventLogWriter(recording, "test");
+        logWriter.setTransactional(true);
+
+        logWriter.begin();
+        logWriter.writeCreate(Name.of("com"), null, "CREATE CONTEXT com");
+        logWriter.writeCreate(Name.of("org"), null, "CREATE CONTEXT org");
+        assertEquals(0, eventLog.size(), "Nothing written before commit");
+        assertEquals(2, logWriter.commit().size());
+
+        assertEquals(List.of("begin", "writeAll:2", "commit"), recording.calls);
+        assertEquals(2, eventLog.size());
+    }
+
+    @Test
+    void failedListener_abortsUnitOfWork() {
+        ModelStore batched = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+        engine.setSymbolTable(batched.symbols());
+        engine.setModelChangeListener((name, decl, text) -> {
+            batched.onCreated(name, decl, text);
+            if (name.fullName().equals("com.Order")) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        engine.setModelBatchListener(batched.batchListener());
+
+        assertThrows(RuntimeException.class, () -> engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Order AS STRUCT (Id INT32);
+            """));
+
+        assertEquals(0, eventLog.size());
+        assertEquals(0, batched.position());
+    }
+
+    @Test
+    void failedBatchCommit_revertsModel() {
+        Name customer = Name.of("com", "Customer");
+        Name order = Name.of("com", "Order");
+        String stream = "com.CustomerEvents";
+        ModelStore batched = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+        ModelBatchListener units = batched.batchListener();
+        boolean[] failCommit = { false };
+        engine.setSymbolTable(batched.symbols());
+        engine.setModelChangeListener(batched::onCreated);
+        engine.setModelAlterListener(batched::onAltered);
+        engine.setModelBatchListener(new ModelBatchListener() {
+            @Override
+            public void onBatchBegin() throws Exception {
+                units.onBatchBegin();
+            }
+
+            @Override
+            public void onBatchCommit() throws Exception {
+                if (failCommit[0]) {
+                    throw new IllegalStateException("boom");
+                }
+                units.onBatchCommit();
+            }
+
+            @Override
+            public void onBatchAbort() {
+                units.onBatchAbort();
+            }
+        });
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer);
+            """);
+
+        failCommit[0] = true;
+        assertThrows(RuntimeException.class, () -> engine.execute("""
+            USE CONTEXT com;
+            ALTER TYPE com.Customer ADD Email STRING NULL;
+            CREATE TYPE Order AS STRUCT (Id INT32);
+            """));
+
+        assertEquals(3, eventLog.size());
+        assertFalse(batched.symbols().lookupType(order).isPresent());
+        assertEquals(0, batched.getVersion(order));
+        assertEquals(1, batched.getVersion(customer));
+        assertEquals(1, batched.getTypeHistory().versions(customer));
+        assertEquals(1, batched.getSchemaHistory().epochs(stream));
+        assertTrue(batched.getOffsetIndex().isEmpty());
+        assertFalse(batched.getSchemaHistory().membersAt(stream, 0)
+            .get("Customer").fields().containsKey("Email"));
+
+        // Nothing of the failed script is left to conflict with a retry
+        failCommit[0] = false;
+        engine.execute("""
+            USE CONTEXT com;
+            ALTER TYPE com.Customer ADD Email STRING NULL;
+            CREATE TYPE Order AS STRUCT (Id INT32);
+            """);
+        assertEquals(5, eventLog.size());
+        assertEquals(2, batched.getVersion(customer));
+        assertEquals(2, batched.getSchemaHistory().epochs(stream));
+    }
+
     // ====================================================================
     // Helpers
     // ====================================================================
@@ -284,38 +413,54 @@ class ModelStoreTest {
         return (SymbolEventLog.SymbolEvent) event;
     }
 
-    // ====================================================================
-    // Minimal in-memory engine for testing
-    // ====================================================================
-
     /**
-     * Lightweight KafkaSqlEngine that stores records in memory.
-     * Only implements what's needed for persistence lifecycle tests.
+     * Transactional writer that records how it was driven.
      */
-    private static final class InMemoryEngine extends KafkaSqlEngine {
-        private final Map<Name, List<StreamRecord>> streams = new HashMap<>();
+    private static final class RecordingWriter implements TransactionalStreamWriter<SymbolEventLog> {
+        private final StreamWriter<SymbolEventLog> delegate;
+        final List<String> calls = new ArrayList<>();
+
+        RecordingWriter(StreamWriter<SymbolEventLog> delegate) {
+            this.delegate = delegate;
+        }
 
         @Override
-        protected void writeRecord(Name streamName, String typeName, StructValue value) {
-            streams.computeIfAbsent(streamName, k -> new ArrayList<>())
-                .add(new StreamRecord(typeName, value));
+        public String streamName() {
+            return delegate.streamName();
         }
 
         @Override
-        protected List<StreamRecord> readRecords(Name streamName) {
-            return streams.getOrDefault(streamName, List.of());
+        public void write(SymbolEventLog message) throws Exception {
+            calls.add("write");
+            delegate.write(message);
         }
 
         @Override
-        protected Map<Integer, Long> writeSchemaMarker(Name streamName, String typeName) {
-            // No-op for in-memory test engine
-            return Map.of();
+        public void writeAll(List<? extends SymbolEventLog> messages) throws Exception {
+            calls.add("writeAll:" + messages.size());
+            for (SymbolEventLog message : messages) {
+                delegate.write(message);
+            }
         }
 
-        List<StreamRecord> getStream(Name streamName) {
-            return Collections.unmodifiableList(
-                streams.getOrDefault(streamName, List.of())
-            );
+        @Override
+        public void flush() {
+            calls.add("flush");
+        }
+
+        @Override
+        public void beginTransaction() {
+            calls.add("begin");
+        }
+
+        @Override
+        public void commitTransaction() {
+            calls.add("commit");
+        }
+
+        @Override
+        public void abortTransaction() {
+            calls.add("abort");
         }
     }
 }
@@ -0,0 +1,66 @@
+package kafkasql.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests boundary lookups and the binary marker-offset encoding.
+ */
+class StreamOffsetIndexTest {
+
+    private static final String STREAM = "com.Orders";
+
+    @Test
+    void versionAtFindsHighestBoundaryAtOrBefore() {
+        StreamOffsetIndex index = new StreamOffsetIndex();
+        index.record(Map.of(STREAM, Map.of(0, 42L)), 2);
+        index.record(Map.of(STREAM, Map.of(0, 98L)), 3);
+
+        assertEquals(1, index.versionAt(STREAM, 0, 10));
+        assertEquals(2, index.versionAt(STREAM, 0, 42));
+        assertEquals(2, index.versionAt(STREAM, 0, 97));
+        assertEquals(3, index.versionAt(STREAM, 0, 100));
+        assertEquals(1, index.versionAt(STREAM, 1, 100));
+        assertEquals(1, index.versionAt("com.Unknown", 0, 100));
+    }
+
+    @Test
+    void outOfOrderBoundaryIsInsertedSorted() {
+        StreamOffsetIndex index = new StreamOffsetIndex();
+        index.record(Map.of(STREAM, Map.of(0, 98L)), 3);
+        index.record(Map.of(STREAM, Map.of(0, 42L)), 2);
+
+        assertEquals(List.of(
+            new StreamOffsetIndex.OffsetVersion(42, 2),
+            new StreamOffsetIndex.OffsetVersion(98, 3)), index.boundaries(STREAM, 0));
+    }
+
+    @Test
+    void partitionIsUnchangedByLaterBoundaries() {
+        StreamOffsetIndex index = new StreamOffsetIndex();
+        index.record(Map.of(STREAM, Map.of(0, 42L)), 2);
+        StreamOffsetIndex.Boundaries before = index.partition(STREAM, 0);
+
+        index.record(Map.of(STREAM, Map.of(0, 150L)), 3);
+        assertEquals(1, before.size());
+        assertEquals(1, before.countAtOrBefore(200));
+        assertEquals(2, index.partition(STREAM, 0).countAtOrBefore(200));
+    }
+
+    @Test
+    void markerOffsetsRoundTrip() {
+        Map<String, Map<Integer, Long>> offsets = new LinkedHashMap<>();
+        offsets.put(STREAM, Map.of(0, 42L, 3, 1L << 40));
+        offsets.put("com.Events", Map.of(1, 0L));
+
+        byte[] encoded = EventLogWriter.encodeOffsets(offsets);
+        assertEquals(offsets, EventLogWriter.decodeOffsets(encoded));
+        assertNull(EventLogWriter.encodeOffsets(Map.of()));
+        assertEquals(Map.of(), EventLogWriter.decodeOffsets(null));
+    }
+}
@@ -0,0 +1,86 @@
+package kafkasql.persistence;
+
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that stream schemas are kept per epoch and that a cursor picks the
+ * row type a record was written with from its partition offset.
+ */
+class StreamSchemaHistoryTest {
+
+    private static final Name STREAM = Name.of("com", "CustomerEvents");
+
+    private InMemoryStream<SymbolEventLog> eventLog;
+    private InMemoryEngine engine;
+    private ModelStore store;
+
+    @BeforeEach
+    void setUp() {
+        eventLog = new InMemoryStream<>("SymbolEventLog");
+        store = new ModelStore(new EventLogWriter(eventLog.writer(), "test"));
+
+        engine = new InMemoryEngine();
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer);
+            """);
+        engine.markerOffset = 10;
+        engine.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+    }
+
+    @Test
+    void alterAppendsEpochAtMarker() {
+        StreamSchemaHistory history = store.getSchemaHistory();
+        assertEquals(2, history.epochs(STREAM.fullName()));
+        assertFalse(history.membersAt(STREAM.fullName(), 0).get("Customer").fields().containsKey("Email"));
+        assertTrue(history.membersAt(STREAM.fullName(), 1).get("Customer").fields().containsKey("Email"));
+    }
+
+    @Test
+    void cursorSwitchesTypesAtMarkerBoundary() {
+        StreamSchemaCursor cursor = store.schemaCursor(STREAM);
+
+        var before = cursor.typeAt(0, 9, "Customer");
+        assertSame(before, cursor.typeAt(0, 3, "Customer"));
+        assertFalse(before.fields().containsKey("Email"));
+
+        cursor.onMarker(0, 10);
+        assertTrue(cursor.typeAt(0, 11, "Customer").fields().containsKey("Email"));
+        assertNull(cursor.typeAt(0, 11, "Unknown"));
+    }
+
+    @Test
+    void unknownMarkerSwitchesToLatestTypes() {
+        StreamSchemaCursor cursor = store.schemaCursor(STREAM);
+
+        // Partition 1 never saw a recorded marker: epoch 0 until one arrives
+        assertFalse(cursor.typeAt(1, 5, "Customer").fields().containsKey("Email"));
+        cursor.onMarker(1, 7);
+        assertTrue(cursor.typeAt(1, 8, "Customer").fields().containsKey("Email"));
+    }
+
+    @Test
+    void replayRebuildsHistory() throws Exception {
+        ModelStore restored = new ModelStore();
+        restored.load(eventLog.reader());
+
+        StreamSchemaCursor cursor = restored.schemaCursor(STREAM);
+        assertEquals(2, restored.getSchemaHistory().epochs(STREAM.fullName()));
+        assertFalse(cursor.typeAt(0, 9, "Customer").fields().containsKey("Email"));
+        assertTrue(cursor.typeAt(0, 10, "Customer").fields().containsKey("Email"));
+    }
+}
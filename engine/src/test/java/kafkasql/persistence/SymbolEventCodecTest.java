@@ -0,0 +1,127 @@
+package kafkasql.persistence;
+
+import kafkasql.io.codec.Encoder;
+import kafkasql.lang.GrammarVersion;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import sys.schema.EventType;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that event log records of older layouts decode into the current
+ * record and replay.
+ */
+class SymbolEventCodecTest {
+
+    private static final Name CUSTOMER = Name.of("com", "Customer");
+    private static final String STREAM = "com.CustomerEvents";
+
+    @Test
+    void currentLayoutRoundTrips() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        var written = new EventLogWriter(eventLog.writer(), "test").writeAlter(
+            CUSTOMER, null, "ALTER TYPE com.Customer ADD Email STRING NULL", 2, Map.of(STREAM, Map.of(0, 42L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        written.writeTo(out);
+        var read = (SymbolEventLog.SymbolEvent) SymbolEventCodec.readFrom(out.toByteArray());
+
+        assertEquals(written.EventId(), read.EventId());
+        assertEquals(written.Delta(), read.Delta());
+        assertEquals(Map.of(STREAM, Map.of(0, 42L)), EventLogWriter.markerOffsets(read));
+    }
+
+    @Test
+    void deltaOffsetsMoveToMarkerOffsets() throws Exception {
+        var read = (SymbolEventLog.SymbolEvent) SymbolEventCodec.readFrom(legacy(
+            EventType.ALTER_STMT, CUSTOMER.fullName(), 2,
+            "ALTER TYPE com.Customer ADD Email STRING NULL\0" + STREAM + ":0:42," + STREAM + ":1:7",
+            "ALTER TYPE com.Customer ADD Email STRING NULL"));
+
+        assertEquals("ALTER TYPE com.Customer ADD Email STRING NULL", read.Delta());
+        assertEquals(Map.of(STREAM, Map.of(0, 42L, 1, 7L)), EventLogWriter.markerOffsets(read));
+        assertNull(read.Payload());
+    }
+
+    @Test
+    void recordWithoutPayloadIsRead() throws Exception {
+        String alter = "ALTER TYPE com.Customer ADD Email STRING NULL";
+        byte[] offsets = EventLogWriter.encodeOffsets(Map.of(STREAM, Map.of(0, 42L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(legacy(EventType.ALTER_STMT, CUSTOMER.fullName(), 2, alter, alter));
+        Encoder.writeBool(out, true);
+        Encoder.writeBytes(out, offsets);
+        byte[] record = out.toByteArray();
+
+        var read = (SymbolEventLog.SymbolEvent) SymbolEventCodec.readFrom(record);
+        assertEquals(alter, read.Delta());
+        assertArrayEquals(offsets, read.MarkerOffsets());
+        assertNull(read.Payload());
+
+        // A format 2 snapshot holds records of this layout
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        Encoder.writeInt32(snapshot, 0x4B534D53); // "KSMS"
+        Encoder.writeInt32(snapshot, 2);
+        Encoder.writeInt64(snapshot, 1);
+        Encoder.writeVarInt32(snapshot, 0);
+        Encoder.writeVarInt32(snapshot, 2);
+        snapshot.write(record);
+        snapshot.write(record);
+        var events = ModelSnapshot.readFrom(new ByteArrayInputStream(snapshot.toByteArray())).events();
+        assertEquals(2, events.size());
+        assertArrayEquals(offsets, events.get(1).MarkerOffsets());
+    }
+
+    @Test
+    void oldFormatLogReplays() throws Exception {
+        String alter = "ALTER TYPE com.Customer ADD Email STRING NULL";
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        for (byte[] record : List.of(
+                legacy(EventType.CREATE_STMT, "com", 1, "CREATE CONTEXT com", "CREATE CONTEXT com"),
+                legacy(EventType.CREATE_STMT, CUSTOMER.fullName(), 1,
+                    "CREATE TYPE Customer AS STRUCT (Id INT32)", "CREATE TYPE Customer AS STRUCT (Id INT32)"),
+                legacy(EventType.CREATE_STMT, STREAM, 1,
+                    "CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer)",
+                    "CREATE STREAM CustomerEvents (TYPE Customer AS com.Customer)"),
+                legacy(EventType.ALTER_STMT, CUSTOMER.fullName(), 2, alter + "\0" + STREAM + ":0:42", alter))) {
+            eventLog.writer().write(SymbolEventCodec.readFrom(record));
+        }
+
+        ModelStore store = new ModelStore();
+        assertEquals(4, store.load(eventLog.reader()));
+
+        assertEquals(2, store.getVersion(CUSTOMER));
+        assertEquals(2, store.getOffsetIndex().versionAt(STREAM, 0, 42));
+        assertEquals(1, store.getOffsetIndex().versionAt(STREAM, 0, 41));
+        assertTrue(store.getSchemaHistory().membersAt(STREAM, 1)
+            .get("Customer").fields().containsKey("Email"));
+    }
+
+    /**
+     * A record as releases before MarkerOffsets wrote it.
+     */
+    private static byte[] legacy(EventType type, String name, int version, String delta, String state)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Encoder.writeVarInt32(out, 0);
+        Encoder.writeUUID(out, UUID.randomUUID());
+        Encoder.writeInt64(out, 0);
+        Encoder.writeInt32(out, 0);
+        Encoder.writeString(out, "old");
+        Encoder.writeInt32(out, GrammarVersion.CURRENT);
+        type.writeTo(out);
+        Encoder.writeString(out, name);
+        Encoder.writeInt32(out, version);
+        Encoder.writeString(out, delta);
+        Encoder.writeString(out, state);
+        return out.toByteArray();
+    }
+}
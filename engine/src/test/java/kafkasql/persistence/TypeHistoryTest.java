@@ -0,0 +1,97 @@
+package kafkasql.persistence;
+
+import kafkasql.engine.KafkaSqlEngine;
+import kafkasql.persistence.stream.InMemoryStream;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.StructType;
+import sys.schema.SymbolEventLog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that every version of a type stays resolvable, shares unchanged
+ * fields with its predecessor and survives a reload from the log.
+ */
+class TypeHistoryTest {
+
+    private static final Name CUSTOMER = Name.of("com", "Customer");
+
+    @Test
+    void typeAtResolvesEachVersion() throws Exception {
+        ModelStore store = new ModelStore();
+        alterCustomer(wire(store));
+
+        StructType v1 = (StructType) store.typeAt(CUSTOMER, 1);
+        StructType v2 = (StructType) store.typeAt(CUSTOMER, 2);
+        assertEquals(List.of("Id", "Name"), List.copyOf(v1.fields().keySet()));
+        assertEquals(List.of("Id", "Name", "Email"), List.copyOf(v2.fields().keySet()));
+        assertSame(v2, store.typeAt(CUSTOMER, 7));
+        assertNull(store.typeAt(CUSTOMER, 0));
+        assertNull(store.typeAt(Name.of("com", "Unknown"), 1));
+    }
+
+    @Test
+    void unchangedFieldsAreShared() throws Exception {
+        ModelStore store = new ModelStore();
+        alterCustomer(wire(store));
+
+        StructType v1 = (StructType) store.typeAt(CUSTOMER, 1);
+        StructType v2 = (StructType) store.typeAt(CUSTOMER, 2);
+        assertSame(v1.fields().get("Id"), v2.fields().get("Id"));
+        assertSame(v1.fields().get("Name"), v2.fields().get("Name"));
+    }
+
+    @Test
+    void historyIsRebuiltOnLoad() throws Exception {
+        InMemoryStream<SymbolEventLog> eventLog = new InMemoryStream<>("SymbolEventLog");
+        alterCustomer(wire(new ModelStore(new EventLogWriter(eventLog.writer(), "test"))));
+
+        ModelStore restored = new ModelStore();
+        restored.load(eventLog.reader());
+
+        assertEquals(2, restored.getTypeHistory().versions(CUSTOMER));
+        assertEquals(2, ((StructType) restored.typeAt(CUSTOMER, 1)).fields().size());
+        assertEquals(3, ((StructType) restored.typeAt(CUSTOMER, 2)).fields().size());
+    }
+
+    @Test
+    void streamRecordResolvesRowTypeAtItsOffset() throws Exception {
+        ModelStore store = new ModelStore();
+        KafkaSqlEngine engine = wire(store);
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32);
+            CREATE STREAM Customers (TYPE Customer AS com.Customer);
+            """);
+        engine.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+
+        Name stream = Name.of("com", "Customers");
+        assertEquals(1, store.typeAt(stream, 0, 9, "Customer").fields().size());
+        assertEquals(2, store.typeAt(stream, 0, 10, "Customer").fields().size());
+        assertNull(store.typeAt(stream, 0, 10, "Unknown"));
+    }
+
+    private static void alterCustomer(KafkaSqlEngine engine) {
+        engine.execute("""
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Customer AS STRUCT (Id INT32, Name STRING);
+            """);
+        engine.execute("ALTER TYPE com.Customer ADD Email STRING NULL;");
+    }
+
+    private static KafkaSqlEngine wire(ModelStore store) {
+        InMemoryEngine engine = new InMemoryEngine();
+        engine.markerOffset = 10;
+        engine.setSymbolTable(store.symbols());
+        engine.setModelChangeListener(store::onCreated);
+        engine.setModelAlterListener(store::onAltered);
+        engine.setModelDropListener(store::onDropped);
+        return engine;
+    }
+}
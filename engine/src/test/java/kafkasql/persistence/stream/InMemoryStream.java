@@ -3,16 +3,17 @@ package kafkasql.persistence.stream;
 import kafkasql.runtime.stream.StreamReader;
 import kafkasql.runtime.stream.StreamWriter;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * In-memory stream backed by a list.
  * <p>
  * Provides both {@link StreamWriter} and {@link StreamReader} views
  * over the same underlying message buffer. Useful for testing the
- * persistence layer without Kafka infrastructure.
+ * persistence layer without Kafka infrastructure. Readers on other
+ * threads see appended messages, as a tailing consumer would.
  *
  * <h3>Usage</h3>
  * <pre>
@@ -32,7 +33,7 @@ import java.util.List;
 public class InMemoryStream<T> {
 
     private final String name;
-    private final List<T> messages = new ArrayList<>();
+    private final List<T> messages = new CopyOnWriteArrayList<>();
 
     public InMemoryStream(String name) {
         this.name = name;
@@ -89,6 +90,13 @@ public class InMemoryStream<T> {
                 }
                 return null;
             }
+
+            @Override
+            public long skip(long count) {
+                int skipped = (int) Math.min(count, messages.size() - cursor);
+                cursor += skipped;
+                return skipped;
+            }
         };
     }
 }
@@ -2,6 +2,8 @@ package kafkasql.integration;
 
 import kafkasql.engine.KafkaSqlEngine;
 import kafkasql.io.SchemaMarker;
+import kafkasql.persistence.ModelStore;
+import kafkasql.persistence.StreamSchemaCursor;
 import kafkasql.runtime.Name;
 import kafkasql.runtime.value.StructValue;
 import org.apache.kafka.clients.admin.AdminClient;
@@ -14,6 +16,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
@@ -32,12 +35,16 @@ import java.io.DataOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * A KafkaSqlEngine backed by real Kafka topics.
  * <p>
  * WRITE statements produce records to Kafka topics.
  * READ statements consume records from Kafka topics.
+ * READ FOLLOW queries keep a dedicated consumer polling until closed.
  * Topics are auto-created when first referenced.
  * <p>
  * Topic naming: the fully qualified stream name is used directly
@@ -48,7 +55,9 @@ public class KafkaEngine extends KafkaSqlEngine {
     private final String bootstrapServers;
     private final AdminClient adminClient;
     private final KafkaProducer<String, byte[]> producer;
+    private final boolean transactional;
     private final Set<String> createdTopics = new HashSet<>();
+    private ModelStore modelStore; // Schema history for decoding old records, or null
 
     // Last results for test inspection
     private List<StreamRecord> lastQueryResult = new ArrayList<>();
@@ -56,7 +65,17 @@ public class KafkaEngine extends KafkaSqlEngine {
     private String lastExplainResult = "";
 
     public KafkaEngine(String bootstrapServers) {
+        this(bootstrapServers, null);
+    }
+
+    /**
+     * Creates an engine whose producer is transactional when
+     * {@code transactionalId} is non-null: each WRITE statement's batch
+     * (and each schema marker) is then committed atomically.
+     */
+    public KafkaEngine(String bootstrapServers, String transactionalId) {
         this.bootstrapServers = bootstrapServers;
+        this.transactional = transactionalId != null;
 
         // Admin client for topic management
         var adminProps = new Properties();
@@ -69,53 +88,104 @@ public class KafkaEngine extends KafkaSqlEngine {
         producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
         producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
         producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        if (transactional) {
+            producerProps.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
+        }
         this.producer = new KafkaProducer<>(producerProps);
+        if (transactional) {
+            producer.initTransactions();
+        }
     }
 
     @Override
     protected void writeRecord(Name streamName, String typeName, StructValue value) {
+        writeRecords(streamName, typeName, List.of(value));
+    }
+
+    @Override
+    protected void writeRecords(Name streamName, String typeName, List<StructValue> values) {
         String topic = streamName.fullName();
         ensureTopic(topic);
 
+        if (transactional) {
+            producer.beginTransaction();
+        }
         try {
-            // Serialize fields as a simple length-prefixed binary format
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            DataOutputStream dos = new DataOutputStream(baos);
-
-            var fields = value.fields();
-            dos.writeInt(fields.size());
-            for (var entry : fields.entrySet()) {
-                dos.writeUTF(entry.getKey());
-                writeFieldValue(dos, entry.getValue());
+            // Pipeline all sends, then wait for the acknowledgements together
+            List<Future<RecordMetadata>> pending = new ArrayList<>(values.size());
+            long bytes = 0;
+            for (StructValue value : values) {
+                ProducerRecord<String, byte[]> record = toProducerRecord(topic, typeName, value);
+                bytes += record.value().length;
+                pending.add(producer.send(record));
             }
-            dos.flush();
-
-            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, typeName, baos.toByteArray());
-            // Store the type name in a header so we can reconstruct on read
-            record.headers().add(new RecordHeader("typeName", typeName.getBytes(StandardCharsets.UTF_8)));
-            producer.send(record).get();
+            if (transactional) {
+                producer.commitTransaction();
+            } else {
+                producer.flush();
+            }
+            for (Future<RecordMetadata> ack : pending) {
+                ack.get();
+            }
+            metrics().bytesWritten(streamName, bytes);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to write record to topic: " + topic, e);
+            if (transactional) {
+                producer.abortTransaction();
+            }
+            throw new RuntimeException("Failed to write records to topic: " + topic, e);
         }
     }
 
+    private static ProducerRecord<String, byte[]> toProducerRecord(
+        String topic,
+        String typeName,
+        StructValue value
+    ) throws Exception {
+        // Serialize fields as a simple length-prefixed binary format
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+
+        var fields = value.fields();
+        dos.writeInt(fields.size());
+        for (var entry : fields.entrySet()) {
+            dos.writeUTF(entry.getKey());
+            writeFieldValue(dos, entry.getValue());
+        }
+        dos.flush();
+
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, typeName, baos.toByteArray());
+        // Store the type name in a header so we can reconstruct on read
+        record.headers().add(new RecordHeader("typeName", typeName.getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+
+    /**
+     * Decode records with the row type they were written with, looked up
+     * in the store's schema history by partition offset. Without a store
+     * records carry an empty type and are resolved field by field.
+     */
+    public void setModelStore(ModelStore modelStore) {
+        this.modelStore = modelStore;
+    }
+
+    private StreamSchemaCursor schemaCursor(Name streamName) {
+        return modelStore != null ? modelStore.schemaCursor(streamName) : null;
+    }
+
     @Override
     protected List<StreamRecord> readRecords(Name streamName) {
+        List<StreamRecord> records = new ArrayList<>();
+        scanRecords(streamName, records::add);
+        return records;
+    }
+
+    @Override
+    protected void scanRecords(Name streamName, Consumer<StreamRecord> sink) {
         String topic = streamName.fullName();
         ensureTopic(topic);
 
-        // Create a dedicated consumer that reads from the beginning
-        var props = new Properties();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, "kafkasql-read-" + UUID.randomUUID());
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
-
-        List<StreamRecord> records = new ArrayList<>();
-
-        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(props)) {
+        StreamSchemaCursor cursor = schemaCursor(streamName);
+        try (KafkaConsumer<String, byte[]> consumer = newConsumer("kafkasql-read-")) {
             consumer.subscribe(List.of(topic));
 
             // Poll with a timeout to allow partition assignment + fetch
@@ -126,23 +196,86 @@ public class KafkaEngine extends KafkaSqlEngine {
                     emptyPolls++;
                 } else {
                     emptyPolls = 0;
+                    long bytes = 0;
                     for (ConsumerRecord<String, byte[]> rec : batch) {
-                        // Check for schema-change markers — skip them
+                        bytes += Math.max(0, rec.serializedValueSize());
+                        // Records after a marker were written with the next schema
                         if (SchemaMarker.isMarker(rec)) {
-                            // In a streaming reader this is where we would
-                            // sync the event log and re-resolve the schema.
+                            if (cursor != null) {
+                                cursor.onMarker(rec.partition(), rec.offset());
+                            }
                             continue;
                         }
-                        StreamRecord sr = deserializeRecord(rec);
+                        StreamRecord sr = deserializeRecord(rec, cursor);
                         if (sr != null) {
-                            records.add(sr);
+                            sink.accept(sr);
                         }
                     }
+                    metrics().bytesRead(streamName, bytes);
                 }
             }
         }
+    }
 
-        return records;
+    @Override
+    protected AutoCloseable followRecords(Name streamName, StreamListener listener) {
+        String topic = streamName.fullName();
+        ensureTopic(topic);
+
+        // A long-lived consumer polled on its own thread until closed
+        KafkaConsumer<String, byte[]> consumer = newConsumer("kafkasql-follow-");
+        consumer.subscribe(List.of(topic));
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        StreamSchemaCursor cursor = schemaCursor(streamName);
+        Thread poller = new Thread(() -> {
+            try (consumer) {
+                while (running.get()) {
+                    for (ConsumerRecord<String, byte[]> rec : consumer.poll(Duration.ofMillis(500))) {
+                        if (SchemaMarker.isMarker(rec)) {
+                            if (cursor != null) {
+                                cursor.onMarker(rec.partition(), rec.offset());
+                            }
+                            listener.onSchemaMarker(rec.key());
+                            continue;
+                        }
+                        StreamRecord sr = deserializeRecord(rec, cursor);
+                        if (sr != null) {
+                            listener.onRecord(sr);
+                        }
+                    }
+                }
+            } catch (WakeupException e) {
+                // close() interrupted the poll
+            }
+        }, "kafkasql-follow-" + topic);
+        poller.setDaemon(true);
+        poller.start();
+
+        return () -> {
+            running.set(false);
+            consumer.wakeup();
+            // The query may be closed from the poller itself (sink failure)
+            if (Thread.currentThread() != poller) {
+                poller.join();
+            }
+        };
+    }
+
+    /**
+     * Creates a consumer in a fresh group that reads from the beginning.
+     */
+    private KafkaConsumer<String, byte[]> newConsumer(String groupPrefix) {
+        var props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupPrefix + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        // Transactional WRITEs: skip records of aborted batches
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        return new KafkaConsumer<>(props);
     }
 
     @Override
@@ -150,10 +283,19 @@ public class KafkaEngine extends KafkaSqlEngine {
         String topic = streamName.fullName();
         ensureTopic(topic);
 
+        if (transactional) {
+            producer.beginTransaction();
+        }
         try {
             RecordMetadata metadata = SchemaMarker.write(producer, topic, typeName);
+            if (transactional) {
+                producer.commitTransaction();
+            }
             return Map.of(metadata.partition(), metadata.offset());
         } catch (Exception e) {
+            if (transactional) {
+                producer.abortTransaction();
+            }
             throw new RuntimeException(
                 "Failed to write schema marker to topic: " + topic, e);
         }
@@ -246,7 +388,7 @@ public class KafkaEngine extends KafkaSqlEngine {
         };
     }
 
-    private StreamRecord deserializeRecord(ConsumerRecord<String, byte[]> rec) {
+    private StreamRecord deserializeRecord(ConsumerRecord<String, byte[]> rec, StreamSchemaCursor cursor) {
         try {
             String typeName = rec.key();
 
@@ -259,13 +401,17 @@ public class KafkaEngine extends KafkaSqlEngine {
                 fields.put(fieldName, fieldValue);
             }
 
-            // Reconstruct a StructValue using a minimal StructType
-            StructType type = new StructType(
-                Name.of(typeName),
-                new LinkedHashMap<>(), // fields schema not needed for read-back
-                List.of(),
-                Optional.empty()
-            );
+            // The writer's row type if the schema history knows it, else a
+            // minimal StructType (fields schema not needed for read-back)
+            StructType type = cursor != null ? cursor.typeAt(rec.partition(), rec.offset(), typeName) : null;
+            if (type == null) {
+                type = new StructType(
+                    Name.of(typeName),
+                    new LinkedHashMap<>(),
+                    List.of(),
+                    Optional.empty()
+                );
+            }
             return new StreamRecord(typeName, new StructValue(type, fields));
         } catch (Exception e) {
             return null;
@@ -2,6 +2,7 @@ package kafkasql.integration;
 
 import kafkasql.persistence.EventLogWriter;
 import kafkasql.persistence.ModelStore;
+import kafkasql.persistence.SymbolEventCodec;
 import kafkasql.runtime.Name;
 import kafkasql.runtime.stream.StreamReader;
 import kafkasql.runtime.stream.StreamWriter;
@@ -68,6 +69,8 @@ class KafkaEngineIT {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        // Transactional event-log commits: skip events of aborted units of work
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
         return new KafkaConsumer<>(props);
     }
 
@@ -87,6 +90,9 @@ class KafkaEngineIT {
         engine.setSymbolTable(store.symbols());
         engine.setModelChangeListener(store::onCreated);
         engine.setModelDropListener(store::onDropped);
+        engine.setModelAlterListener(store::onAltered);
+        engine.setModelBatchListener(store.batchListener());
+        engine.setModelStore(store);
 
         return new Harness(engine, store, logProducer);
     }
@@ -134,7 +140,7 @@ class KafkaEngineIT {
 
             // Verify events actually landed in Kafka by reading the topic
             try (KafkaConsumer<byte[], byte[]> consumer = newConsumer("verify-events")) {
-                StreamReader<SymbolEventLog> reader = SymbolEventLog.reader(consumer);
+                StreamReader<SymbolEventLog> reader = SymbolEventCodec.reader(consumer);
 
                 int count = 0;
                 int emptyReads = 0;
@@ -183,7 +189,7 @@ class KafkaEngineIT {
 
         // Load state from SymbolEventLog topic
         try (KafkaConsumer<byte[], byte[]> consumer = newConsumer("restore-schema")) {
-            StreamReader<SymbolEventLog> reader = SymbolEventLog.reader(consumer);
+            StreamReader<SymbolEventLog> reader = SymbolEventCodec.reader(consumer);
             int replayed = restoredStore.load(reader);
             assertTrue(replayed > 0, "Should replay at least some events");
         }
@@ -297,7 +303,7 @@ class KafkaEngineIT {
         ModelStore restoredStore = new ModelStore(eventLogWriter);
 
         try (KafkaConsumer<byte[], byte[]> consumer = newConsumer("restore-incr")) {
-            StreamReader<SymbolEventLog> reader = SymbolEventLog.reader(consumer);
+            StreamReader<SymbolEventLog> reader = SymbolEventCodec.reader(consumer);
             restoredStore.load(reader);
         }
 
@@ -67,6 +67,8 @@ class StreamReadWriteIT {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        // Transactional event-log commits: skip events of aborted units of work
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
         return new KafkaConsumer<>(props);
     }
 
@@ -384,7 +386,9 @@ class StreamReadWriteIT {
                 "test.MyType",
                 1,
                 "CREATE TYPE MyType AS SCALAR STRING;",
-                "CREATE TYPE MyType AS SCALAR STRING;"
+                "CREATE TYPE MyType AS SCALAR STRING;",
+                null,
+                null
             );
             writer.write(event);
             writer.flush();
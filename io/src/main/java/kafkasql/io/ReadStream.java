@@ -1,5 +1,7 @@
 package kafkasql.io;
 
+import kafkasql.runtime.jfr.StreamDecodeEvent;
+import kafkasql.runtime.jfr.StreamPollEvent;
 import kafkasql.runtime.stream.StreamReader;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -15,6 +17,11 @@ import java.util.Iterator;
  * Polls a Kafka topic for {@code byte[]} values and deserializes them via
  * a caller-supplied {@link Deserializer}. Does not own the consumer — the
  * caller manages its lifecycle.
+ * <p>
+ * If the topic is written transactionally, e.g. by a transactional
+ * {@code EventLogWriter}, configure the consumer with
+ * {@code isolation.level=read_committed}; otherwise records of aborted
+ * transactions are read too.
  *
  * @param <T> The type of messages read from the stream
  */
@@ -60,18 +67,42 @@ public final class ReadStream<T> implements StreamReader<T> {
     @Override
     public T read() throws Exception {
         if (currentBatch != null && currentBatch.hasNext()) {
-            return deserializer.deserialize(currentBatch.next().value());
+            return decode(currentBatch.next().value());
         }
 
+        StreamPollEvent event = new StreamPollEvent();
+        event.begin();
         ConsumerRecords<byte[], byte[]> records = consumer.poll(pollTimeout);
+        if (event.shouldCommit()) {
+            long bytes = 0;
+            for (ConsumerRecord<byte[], byte[]> record : records) {
+                bytes += Math.max(0, record.serializedValueSize());
+            }
+            event.stream = streamName;
+            event.records = records.count();
+            event.bytes = bytes;
+            event.commit();
+        }
         if (records.isEmpty()) {
             return null;
         }
 
         currentBatch = records.iterator();
         if (currentBatch.hasNext()) {
-            return deserializer.deserialize(currentBatch.next().value());
+            return decode(currentBatch.next().value());
         }
         return null;
     }
+
+    private T decode(byte[] data) throws Exception {
+        StreamDecodeEvent event = new StreamDecodeEvent();
+        event.begin();
+        T value = deserializer.deserialize(data);
+        if (event.shouldCommit()) {
+            event.stream = streamName;
+            event.bytes = data != null ? data.length : 0;
+            event.commit();
+        }
+        return value;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package kafkasql.io;
 
+import kafkasql.runtime.jfr.SchemaMarkerEvent;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -43,11 +44,21 @@ public final class SchemaMarker {
         String topic,
         String typeName
     ) throws Exception {
+        SchemaMarkerEvent event = new SchemaMarkerEvent();
+        event.begin();
         ProducerRecord<String, byte[]> record =
             new ProducerRecord<>(topic, typeName, new byte[0]);
         record.headers().add(
             new RecordHeader(HEADER, typeName.getBytes(StandardCharsets.UTF_8)));
-        return producer.send(record).get();
+        RecordMetadata metadata = producer.send(record).get();
+        if (event.shouldCommit()) {
+            event.stream = topic;
+            event.typeName = typeName;
+            event.partition = metadata.partition();
+            event.offset = metadata.offset();
+            event.commit();
+        }
+        return metadata;
     }
 
     /**
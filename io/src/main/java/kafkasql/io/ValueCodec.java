@@ -29,6 +29,11 @@ import java.util.*;
  *   <li>Unions: varint member index + member value</li>
  *   <li>Structs: fields serialized in declaration order</li>
  * </ul>
+ * <p>
+ * BOOLEAN, integer and floating-point values are decoded without boxing
+ * where the value model can hold them unboxed: struct fields with a lane
+ * in the struct's layout, {@link ScalarValue}s, and lists of such items
+ * as {@link PrimitiveList}s.
  */
 public class ValueCodec {
 
@@ -37,7 +42,7 @@ public class ValueCodec {
      */
     public static void encode(Value value, OutputStream out) throws Exception {
         switch (value) {
-            case ScalarValue sv -> encodePrimitive(sv.value(), sv.type().primitive(), out);
+            case ScalarValue sv -> encodeScalar(sv, out);
             case EnumValue ev -> Encoder.writeInt32(out, (int) ev.numericValue());
             case StructValue sv -> encodeStruct(sv, out);
             case UnionValue uv -> encodeUnion(uv, out);
@@ -65,7 +70,7 @@ public class ValueCodec {
             case EnumType et -> decodeEnum(et, in);
             case StructType st -> decodeStruct(st, in);
             case UnionType ut -> decodeUnion(ut, in);
-            case ScalarType sc -> new ScalarValue(sc, decodePrimitive(sc.primitive(), in));
+            case ScalarType sc -> decodeScalar(sc, in);
             default -> throw new IllegalArgumentException("Cannot decode Value for type: " + type);
         };
     }
@@ -82,21 +87,101 @@ public class ValueCodec {
     // ========================================================================
 
     private static void encodeStruct(StructValue sv, OutputStream out) throws Exception {
-        for (var entry : sv.type().fields().entrySet()) {
-            StructTypeField field = entry.getValue();
-            Object fieldValue = sv.get(entry.getKey());
-            encodeField(fieldValue, field.type(), field.nullable(), out);
+        StructLayout layout = sv.type().layout();
+        int slot = 0;
+        for (StructTypeField field : sv.type().fields().values()) {
+            PrimitiveKind kind = layout.kind(slot);
+            if (kind == null) {
+                encodeField(sv.get(slot), field.type(), field.nullable(), out);
+            } else if (!sv.has(slot) || sv.isNull(slot)) {
+                // Presence marker if nullable, else NPE as for a boxed field
+                encodeField(null, field.type(), field.nullable(), out);
+            } else {
+                if (field.nullable()) {
+                    Encoder.writeBool(out, true);
+                }
+                encodeSlot(sv, slot, kind, out);
+            }
+            slot++;
         }
     }
 
     private static StructValue decodeStruct(StructType type, InputStream in) throws Exception {
-        LinkedHashMap<String, Object> fields = new LinkedHashMap<>();
-        for (var entry : type.fields().entrySet()) {
-            StructTypeField field = entry.getValue();
-            Object value = decodeField(field.type(), field.nullable(), in);
-            fields.put(entry.getKey(), value);
+        StructLayout layout = type.layout();
+        StructValue value = new StructValue(type, new Object[layout.size()]);
+        int slot = 0;
+        for (StructTypeField field : type.fields().values()) {
+            PrimitiveKind kind = layout.kind(slot);
+            if (kind == null) {
+                value.set(slot, decodeField(field.type(), field.nullable(), in));
+            } else if (!field.nullable() || Decoder.decodeBoolean(in)) {
+                decodeSlot(value, slot, kind, in);
+            }
+            slot++;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a present field of a packed kind without boxing it.
+     */
+    private static void encodeSlot(StructValue sv, int slot, PrimitiveKind kind, OutputStream out) throws Exception {
+        switch (kind) {
+            case BOOLEAN -> Encoder.writeBool(out, sv.getBoolean(slot));
+            case INT8 -> Encoder.writeInt8(out, (byte) sv.getLong(slot));
+            case INT16 -> Encoder.writeInt16(out, (short) sv.getLong(slot));
+            case INT32 -> Encoder.writeInt32(out, (int) sv.getLong(slot));
+            case INT64 -> Encoder.writeInt64(out, sv.getLong(slot));
+            case FLOAT32 -> Encoder.writeFloat32(out, (float) sv.getDouble(slot));
+            case FLOAT64 -> Encoder.writeFloat64(out, sv.getDouble(slot));
+            default -> throw new IllegalArgumentException("Not a packed kind: " + kind);
+        }
+    }
+
+    /**
+     * Reads a field of a packed kind into its lane.
+     */
+    private static void decodeSlot(StructValue value, int slot, PrimitiveKind kind, InputStream in) throws Exception {
+        switch (kind) {
+            case BOOLEAN -> value.setBoolean(slot, Decoder.decodeBoolean(in));
+            case INT8 -> value.setLong(slot, Decoder.decodeInt8(in));
+            case INT16 -> value.setLong(slot, Decoder.decodeInt16(in));
+            case INT32 -> value.setLong(slot, Decoder.decodeInt32(in));
+            case INT64 -> value.setLong(slot, Decoder.decodeInt64(in));
+            case FLOAT32 -> value.setDouble(slot, Decoder.decodeFloat32(in));
+            case FLOAT64 -> value.setDouble(slot, Decoder.decodeFloat64(in));
+            default -> throw new IllegalArgumentException("Not a packed kind: " + kind);
+        }
+    }
+
+    // ========================================================================
+    // Scalar
+    // ========================================================================
+
+    private static void encodeScalar(ScalarValue sv, OutputStream out) throws Exception {
+        switch (sv.type().primitive().kind()) {
+            case BOOLEAN -> Encoder.writeBool(out, sv.booleanValue());
+            case INT8 -> Encoder.writeInt8(out, sv.int8Value());
+            case INT16 -> Encoder.writeInt16(out, sv.int16Value());
+            case INT32 -> Encoder.writeInt32(out, sv.int32Value());
+            case INT64 -> Encoder.writeInt64(out, sv.int64Value());
+            case FLOAT32 -> Encoder.writeFloat32(out, sv.float32Value());
+            case FLOAT64 -> Encoder.writeFloat64(out, sv.float64Value());
+            default -> encodePrimitive(sv.value(), sv.type().primitive(), out);
         }
-        return new StructValue(type, fields);
+    }
+
+    private static ScalarValue decodeScalar(ScalarType type, InputStream in) throws Exception {
+        return switch (type.primitive().kind()) {
+            case BOOLEAN -> ScalarValue.ofBoolean(type, Decoder.decodeBoolean(in));
+            case INT8 -> ScalarValue.ofLong(type, Decoder.decodeInt8(in));
+            case INT16 -> ScalarValue.ofLong(type, Decoder.decodeInt16(in));
+            case INT32 -> ScalarValue.ofLong(type, Decoder.decodeInt32(in));
+            case INT64 -> ScalarValue.ofLong(type, Decoder.decodeInt64(in));
+            case FLOAT32 -> ScalarValue.ofDouble(type, Decoder.decodeFloat32(in));
+            case FLOAT64 -> ScalarValue.ofDouble(type, Decoder.decodeFloat64(in));
+            default -> new ScalarValue(type, decodePrimitive(type.primitive(), in));
+        };
     }
 
     // ========================================================================
@@ -181,7 +266,7 @@ public class ValueCodec {
     private static void encodeFieldValue(Object value, AnyType type, OutputStream out) throws Exception {
         switch (type) {
             case PrimitiveType pt -> encodePrimitive(value, pt, out);
-            case ScalarType st -> encodePrimitive(((ScalarValue) value).value(), st.primitive(), out);
+            case ScalarType ignored -> encodeScalar((ScalarValue) value, out);
             case EnumType ignored -> {
                 EnumValue ev = (EnumValue) value;
                 Encoder.writeInt32(out, (int) ev.numericValue());
@@ -189,6 +274,10 @@ public class ValueCodec {
             case StructType ignored -> encodeStruct((StructValue) value, out);
             case UnionType ignored -> encodeUnion((UnionValue) value, out);
             case ListType lt -> {
+                if (value instanceof PrimitiveList list) {
+                    encodeList(list, out);
+                    return;
+                }
                 @SuppressWarnings("unchecked")
                 List<Object> list = (List<Object>) value;
                 Encoder.writeVarInt32(out, list.size());
@@ -212,12 +301,15 @@ public class ValueCodec {
     private static Object decodeFieldValue(AnyType type, InputStream in) throws Exception {
         return switch (type) {
             case PrimitiveType pt -> decodePrimitive(pt, in);
-            case ScalarType st -> new ScalarValue(st, decodePrimitive(st.primitive(), in));
+            case ScalarType st -> decodeScalar(st, in);
             case EnumType et -> decodeEnum(et, in);
             case StructType st -> decodeStruct(st, in);
             case UnionType ut -> decodeUnion(ut, in);
             case ListType lt -> {
                 int size = Decoder.decodeVarInt32(in);
+                if (lt.item() instanceof PrimitiveType pt && StructLayout.isPacked(pt.kind())) {
+                    yield decodeList(pt.kind(), size, in);
+                }
                 List<Object> list = new ArrayList<>(size);
                 for (int i = 0; i < size; i++) {
                     list.add(decodeFieldValue(lt.item(), in));
@@ -238,6 +330,44 @@ public class ValueCodec {
         };
     }
 
+    // ========================================================================
+    // Lists of packed items
+    // ========================================================================
+
+    private static void encodeList(PrimitiveList list, OutputStream out) throws Exception {
+        int size = list.size();
+        Encoder.writeVarInt32(out, size);
+        for (int i = 0; i < size; i++) {
+            switch (list.kind()) {
+                case BOOLEAN -> Encoder.writeBool(out, list.getBoolean(i));
+                case INT8 -> Encoder.writeInt8(out, (byte) list.getLong(i));
+                case INT16 -> Encoder.writeInt16(out, (short) list.getLong(i));
+                case INT32 -> Encoder.writeInt32(out, (int) list.getLong(i));
+                case INT64 -> Encoder.writeInt64(out, list.getLong(i));
+                case FLOAT32 -> Encoder.writeFloat32(out, (float) list.getDouble(i));
+                case FLOAT64 -> Encoder.writeFloat64(out, list.getDouble(i));
+                default -> throw new IllegalArgumentException("Not a packed kind: " + list.kind());
+            }
+        }
+    }
+
+    private static PrimitiveList decodeList(PrimitiveKind kind, int size, InputStream in) throws Exception {
+        PrimitiveList list = PrimitiveList.of(kind, size);
+        for (int i = 0; i < size; i++) {
+            switch (kind) {
+                case BOOLEAN -> list.setBoolean(i, Decoder.decodeBoolean(in));
+                case INT8 -> list.setLong(i, Decoder.decodeInt8(in));
+                case INT16 -> list.setLong(i, Decoder.decodeInt16(in));
+                case INT32 -> list.setLong(i, Decoder.decodeInt32(in));
+                case INT64 -> list.setLong(i, Decoder.decodeInt64(in));
+                case FLOAT32 -> list.setDouble(i, Decoder.decodeFloat32(in));
+                case FLOAT64 -> list.setDouble(i, Decoder.decodeFloat64(in));
+                default -> throw new IllegalArgumentException("Not a packed kind: " + kind);
+            }
+        }
+        return list;
+    }
+
     // ========================================================================
     // Primitive encoding
     // ========================================================================
@@ -1,8 +1,13 @@
 package kafkasql.io;
 
-import kafkasql.runtime.stream.StreamWriter;
+import kafkasql.runtime.stream.TransactionalStreamWriter;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Kafka-backed {@link StreamWriter} with pluggable serialization.
@@ -10,10 +15,14 @@ import org.apache.kafka.clients.producer.ProducerRecord;
  * Serializes messages via a caller-supplied {@link Serializer} and produces
  * them to a Kafka topic as {@code byte[]} key/value. Does not own the
  * producer — the caller manages its lifecycle.
+ * <p>
+ * The transaction methods delegate to the producer's, which requires it
+ * to be configured with a {@code transactional.id} and to have called
+ * {@code initTransactions()}.
  *
  * @param <T> The type of messages written to the stream
  */
-public final class WriteStream<T> implements StreamWriter<T> {
+public final class WriteStream<T> implements TransactionalStreamWriter<T> {
 
     @FunctionalInterface
     public interface Serializer<T> {
@@ -41,14 +50,47 @@ public final class WriteStream<T> implements StreamWriter<T> {
 
     @Override
     public void write(T message) throws Exception {
+        producer.send(record(message)).get();
+    }
+
+    /**
+     * Sends every message before waiting for any acknowledgement, so the
+     * batch costs about one round-trip instead of one per message.
+     */
+    @Override
+    public void writeAll(List<? extends T> messages) throws Exception {
+        List<Future<RecordMetadata>> sent = new ArrayList<>(messages.size());
+        for (T message : messages) {
+            sent.add(producer.send(record(message)));
+        }
+        for (Future<RecordMetadata> ack : sent) {
+            ack.get();
+        }
+    }
+
+    private ProducerRecord<byte[], byte[]> record(T message) throws Exception {
         byte[] valueBytes = serializer.serialize(message);
         byte[] keyBytes = message.getClass().getSimpleName().getBytes();
-        ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(streamName, keyBytes, valueBytes);
-        producer.send(record).get();
+        return new ProducerRecord<>(streamName, keyBytes, valueBytes);
     }
 
     @Override
     public void flush() throws Exception {
         producer.flush();
     }
+
+    @Override
+    public void beginTransaction() {
+        producer.beginTransaction();
+    }
+
+    @Override
+    public void commitTransaction() {
+        producer.commitTransaction();
+    }
+
+    @Override
+    public void abortTransaction() {
+        producer.abortTransaction();
+    }
 }
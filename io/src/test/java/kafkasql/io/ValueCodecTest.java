@@ -177,6 +177,52 @@ class ValueCodecTest {
         assertEquals(5000L, ((ScalarValue) sv.get("Amount")).value());
     }
 
+    @Test
+    void structPackedFields_roundTrip() throws Exception {
+        var structFields = new LinkedHashMap<String, StructTypeField>();
+        structFields.put("Id", new StructTypeField("Id", PrimitiveType.int64(), false, Optional.empty(), Optional.empty()));
+        structFields.put("Qty", new StructTypeField("Qty", PrimitiveType.int32(), true, Optional.empty(), Optional.empty()));
+        structFields.put("Price", new StructTypeField("Price", PrimitiveType.float64(), true, Optional.empty(), Optional.empty()));
+        structFields.put("Open", new StructTypeField("Open", PrimitiveType.bool(), false, Optional.empty(), Optional.empty()));
+        structFields.put("Prices", new StructTypeField("Prices", new ListType(PrimitiveType.int64()), false, Optional.empty(), Optional.empty()));
+        var type = new StructType(Name.of("test", "Order"), structFields, List.of(), Optional.empty());
+
+        var fields = new LinkedHashMap<String, Object>();
+        fields.put("Id", 7L);
+        fields.put("Qty", null);
+        fields.put("Price", 9.5);
+        fields.put("Open", true);
+        fields.put("Prices", List.of(1L, -2L, Long.MAX_VALUE));
+        var value = new StructValue(type, fields);
+
+        var sv = (StructValue) roundTrip(value, type);
+
+        assertTrue(sv.isPacked(0));
+        assertEquals(7L, sv.getLong(0));
+        assertEquals(7L, sv.get("Id"));
+        assertTrue(sv.isNull(1));
+        assertEquals(9.5, sv.getDouble(2));
+        assertTrue(sv.getBoolean(3));
+        assertEquals(fields, sv.fields());
+
+        var prices = assertInstanceOf(PrimitiveList.class, sv.get("Prices"));
+        assertEquals(Long.MAX_VALUE, prices.getLong(2));
+
+        // Re-encoding the unboxed form gives the same bytes
+        assertArrayEquals(ValueCodec.toByteArray(value), ValueCodec.toByteArray(sv));
+    }
+
+    @Test
+    void scalarDecodesUnboxed() throws Exception {
+        var type = new ScalarType(Name.of("test", "Ratio"), PrimitiveType.float32(),
+                Optional.empty(), Optional.empty(), Optional.empty());
+        var decoded = (ScalarValue) roundTrip(new ScalarValue(type, 0.25f), type);
+
+        assertEquals(0.25f, decoded.float32Value());
+        assertEquals(0.25f, decoded.value());
+        assertEquals(ScalarValue.ofDouble(type, 0.25), decoded);
+    }
+
     // ========================================================================
     // Union round-trips
     // ========================================================================
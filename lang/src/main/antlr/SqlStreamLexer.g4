@@ -14,6 +14,7 @@ CONTEXT       : [Cc][Oo][Nn][Tt][Ee][Xx][Tt] ;
 USE           : [Uu][Ss][Ee] ;
 SHOW          : [Ss][Hh][Oo][Ww] ;
 EXPLAIN       : [Ee][Xx][Pp][Ll][Aa][Ii][Nn] ;
+ANALYZE       : [Aa][Nn][Aa][Ll][Yy][Zz][Ee] ;
 CURRENT       : [Cc][Uu][Rr][Rr][Ee][Nn][Tt] ;
 GLOBAL        : [Gg][Ll][Oo][Bb][Aa][Ll] ;
 ALL           : [Aa][Ll][Ll] ;
@@ -47,8 +48,8 @@ INT8          : [Ii][Nn][Tt] '8' ;
 INT16         : [Ii][Nn][Tt] '16' ;
 INT32         : [Ii][Nn][Tt] '32' ;
 INT64         : [Ii][Nn][Tt] '64' ;
-FLOAT32       : [Ff][Ll][Oo][Tt] '32' ;
-FLOAT64       : [Ff][Ll][Oo][Tt] '64' ;
+FLOAT32       : [Ff][Ll][Oo][Aa][Tt] '32' ;
+FLOAT64       : [Ff][Ll][Oo][Aa][Tt] '64' ;
 DECIMAL       : [Dd][Ee][Cc][Ii][Mm][Aa][Ll] ;
 STRING        : [Ss][Tt][Rr][Ii][Nn][Gg] ;
 CHAR          : [Cc][Hh][Aa][Rr] ;
@@ -78,6 +79,9 @@ SYNONYM       : [Ss][Yy][Nn][Oo][Nn][Yy][Mm] ;
 SET           : [Ss][Ee][Tt] ;
 VERSION       : [Vv][Ee][Rr][Ss][Ii][Oo][Nn] ;
 LATEST        : [Ll][Aa][Tt][Ee][Ss][Tt] ;
+FOLLOW        : [Ff][Oo][Ll][Ll][Oo][Ww] ;
+GROUP         : [Gg][Rr][Oo][Uu][Pp] ;
+WINDOW        : [Ww][Ii][Nn][Dd][Oo][Ww] ;
 
 // Punctuation / operators
 COMMA         : ',' ;
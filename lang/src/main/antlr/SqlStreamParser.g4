@@ -72,12 +72,13 @@ showTarget
 
 /* ─────────────────────── Explain Statement ─────────────────── */
 explainStmt
-  : EXPLAIN qname
+  : EXPLAIN ANALYZE? (readStmt | writeStmt)
+  | EXPLAIN qname
   ;
 
 /* ─────────────────────── Read Statements ─────────────────── */
 readStmt
-  : READ FROM qname readBlockList
+  : READ (LATEST | FOLLOW)? FROM qname readBlockList
   ;
 
 readBlockList
@@ -85,7 +86,7 @@ readBlockList
   ;
 
 readBlock
-  : TYPE typeName readProjection whereClause?
+  : TYPE typeName readProjection whereClause? groupByClause? windowClause?
   ;
 
 readProjection
@@ -105,6 +106,19 @@ whereClause
   : WHERE expr
   ;
 
+groupByClause
+  : GROUP BY identifier (COMMA identifier)*
+  ;
+
+// TUMBLING(size) or HOPPING(size, advance), e.g. TUMBLING(5 MINUTES)
+windowClause
+  : WINDOW identifier LPAREN duration (COMMA duration)? RPAREN
+  ;
+
+duration
+  : NUMBER_LIT identifier
+  ;
+
 fieldAlias
   : identifier
   ;
@@ -434,19 +448,32 @@ indexAccess  : LBRACK expr RBRACK ;
 primary
   : LPAREN expr RPAREN
   | literal
+  | aggregateCall
   | identifier
   ;
 
+// COUNT(*), SUM(x), MIN(x), MAX(x), AVG(x)
+aggregateCall
+  : identifier LPAREN (STAR | expr) RPAREN
+  ;
+
 /* ──────────────── Literals ──────────────── */
 literal
   : NULL
   | literalValue
+  | parameterLiteral
   | braceLiteral
   | enumLiteral
   | unionLiteral
   | listLiteral
   ;
 
+/* Statement parameters, bound at execution time (READ/WRITE only) */
+parameterLiteral
+  : QUESTION
+  | COLON identifier
+  ;
+
 literalValue
   : TRUE
   | FALSE
@@ -503,4 +530,14 @@ dotPrefix
 
 identifier
   : ID
+  | softKeyword
+  ;
+
+// Keywords only reserved where their clause starts, so existing
+// names such as a Window or Group field stay valid
+softKeyword
+  : ANALYZE
+  | FOLLOW
+  | GROUP
+  | WINDOW
   ;
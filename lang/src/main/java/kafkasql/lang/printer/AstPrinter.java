@@ -18,6 +18,7 @@ import kafkasql.lang.syntax.ast.fragment.ProjectionExprNode;
 import kafkasql.lang.syntax.ast.fragment.ProjectionNode;
 import kafkasql.lang.syntax.ast.fragment.TimestampDecl;
 import kafkasql.lang.syntax.ast.fragment.WhereNode;
+import kafkasql.lang.syntax.ast.fragment.WindowNode;
 import kafkasql.lang.syntax.ast.literal.*;
 import kafkasql.lang.syntax.ast.misc.*;
 import kafkasql.lang.syntax.ast.stmt.*;
@@ -87,6 +88,7 @@ public final class AstPrinter extends Printer {
             case UseStmt u      -> writeUseStmt(u, indent);
             case ShowStmt s     -> writeShowStmt(s, indent);
             case ExplainStmt e  -> writeExplainStmt(e, indent);
+            case ExplainQueryStmt e -> writeExplainQueryStmt(e, indent);
             case CreateStmt c   -> writeCreateStmt(c, indent);
             case AlterStmt a    -> writeAlterStmt(a, indent);
             case DropStmt d     -> writeDropStmt(d, indent);
@@ -142,6 +144,14 @@ public final class AstPrinter extends Printer {
         writeQName(e.target(), indent + 1);
     }
 
+    private void writeExplainQueryStmt(ExplainQueryStmt e, int indent) throws IOException {
+        writeClass(e.getClass());
+        branch("analyze", indent, false);
+        write(Boolean.toString(e.analyze()));
+        branch("query", indent, true);
+        writeStmt(e.query(), indent + 1);
+    }
+
     private void writeCreateStmt(CreateStmt c, int indent) throws IOException {
         writeClass(c.getClass());
         branch("decl", indent, true);
@@ -493,6 +503,8 @@ public final class AstPrinter extends Printer {
     //============================================================
     private void writeRead(ReadStmt r, int indent) throws IOException {
         writeClass(r.getClass());
+        branch("mode", indent, false);
+        write(r.mode().name());
         branch("fqn", indent, false);
         writeQName(r.stream(), indent + 1);
         branch("blocks", indent, true);
@@ -503,8 +515,22 @@ public final class AstPrinter extends Printer {
         writeClass(b.getClass());
         branch("projection", indent, false);
         writeProjection(b.projection(), indent);
-        branch("filter", indent, true);
+        branch("filter", indent, false);
         writeOptional(b.where(), this::writeWhere, indent);
+        branch("groupBy", indent, false);
+        forEach(b.groupBy(), "key", this::writeIdentifier, indent + 1, Identifier.class);
+        branch("window", indent, true);
+        writeOptional(b.window(), this::writeWindow, indent);
+    }
+
+    private void writeWindow(WindowNode w, int indent) throws IOException {
+        writeClass(w.getClass());
+        branch("kind", indent, false);
+        write(w.kind().name());
+        branch("size", indent, false);
+        write(w.size().toString());
+        branch("advance", indent, true);
+        write(w.advance().toString());
     }
 
     private void writeProjection(ProjectionNode p, int indent) throws IOException {
@@ -542,6 +568,7 @@ public final class AstPrinter extends Printer {
             case IndexExpr idx        -> writeIndexExpr(idx, indent);
             case TrifixExpr t         -> writeTrifixExpr(t, indent);
             case ParenExpr p          -> writeParenExpr(p, indent);
+            case AggregateExpr agg    -> writeAggregateExpr(agg, indent);
         }
     }
 
@@ -606,6 +633,17 @@ public final class AstPrinter extends Printer {
         writeExpr(i.index(), indent + 1);
     }
 
+    private void writeAggregateExpr(AggregateExpr a, int indent) throws IOException {
+        writeClass(a.getClass());
+        branch("function", indent, false);
+        write(a.function().name());
+        branch("argument", indent, true);
+        if (a.argument().isPresent())
+            writeExpr(a.argument().get(), indent + 1);
+        else
+            write("*");
+    }
+
     private void writeTrifixExpr(TrifixExpr t, int indent) throws IOException {
         writeClass(t.getClass());
         branch("op", indent, false);
@@ -624,6 +662,8 @@ public final class AstPrinter extends Printer {
     private void writeLiteral(LiteralNode lit, int indent) throws IOException {
         switch (lit) {
             case NullLiteralNode __ -> write("NULL");
+            case ParameterLiteralNode p -> write(
+                p.name().isPresent() ? ":" + p.name().get().name() : "?");
 
             case BoolLiteralNode b -> writeBoolLiteral(b, indent);
             case NumberLiteralNode n -> writeNumberLiteral(n, indent);
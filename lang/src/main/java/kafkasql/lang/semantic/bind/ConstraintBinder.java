@@ -180,6 +180,10 @@ public final class ConstraintBinder {
                 visitExpr(idx.target(), identifiers);
                 visitExpr(idx.index(), identifiers);
             }
+            case kafkasql.lang.syntax.ast.expr.AggregateExpr agg -> {
+                if (agg.argument().isPresent())
+                    visitExpr(agg.argument().get(), identifiers);
+            }
             case kafkasql.lang.syntax.ast.expr.LiteralExpr lit -> {} // No identifiers
         }
     }
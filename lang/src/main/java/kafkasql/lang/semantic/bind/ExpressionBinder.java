@@ -43,6 +43,7 @@ public final class ExpressionBinder {
             case InfixExpr inf     -> bindInfixExpr(inf);
             case TrifixExpr tri    -> bindTrifixExpr(tri);
             case ParenExpr paren   -> bindParenExpr(paren);
+            case AggregateExpr agg -> bindNestedAggregate(agg);
         };
     }
 
@@ -58,6 +59,8 @@ public final class ExpressionBinder {
             case StringLiteralNode __ -> PrimitiveType.string();
             case BytesLiteralNode __  -> PrimitiveType.bytes();
             case NullLiteralNode __   -> VoidType.get();
+            // Typed by the operand it meets (see bindInfixExpr), valued at execution time
+            case ParameterLiteralNode __ -> VoidType.get();
             case NumberLiteralNode __ -> PrimitiveType.float64();
 
             case EnumLiteralNode enumLit -> bindEnumLiteral(enumLit);
@@ -368,6 +371,73 @@ public final class ExpressionBinder {
         return t;
     }
 
+    // ---------------------------------------------------------------------
+    // Aggregates: COUNT / SUM / MIN / MAX / AVG
+    // ---------------------------------------------------------------------
+
+    /**
+     * Bind an aggregate call that forms a whole READ projection item.
+     * Aggregates anywhere else are rejected by {@link #bind(Expr)}.
+     */
+    public AnyType bindAggregate(AggregateExpr agg) {
+        AnyType argType = null;
+        if (agg.argument().isPresent()) {
+            Expr arg = agg.argument().get();
+            if (arg instanceof AggregateExpr nested) {
+                bindNestedAggregate(nested);
+            } else {
+                argType = bind(arg);
+            }
+        }
+
+        AnyType result = switch (agg.function()) {
+            case COUNT -> PrimitiveType.int64();
+            case SUM -> {
+                if (!isNumeric(argType)) {
+                    yield aggregateArgError(agg, "numeric", argType);
+                }
+                PrimitiveType pt = (PrimitiveType) argType;
+                if (pt.isIntegerKind()) yield PrimitiveType.int64();
+                if (pt.kind() == PrimitiveKind.DECIMAL) yield pt;
+                yield PrimitiveType.float64();
+            }
+            case AVG -> isNumeric(argType)
+                ? PrimitiveType.float64()
+                : aggregateArgError(agg, "numeric", argType);
+            case MIN, MAX -> {
+                if (!(argType instanceof PrimitiveType pt) || pt.isBooleanKind()
+                        || pt.kind() == PrimitiveKind.BYTES) {
+                    yield aggregateArgError(agg, "orderable", argType);
+                }
+                yield argType;
+            }
+        };
+
+        bindings.put(agg, result);
+        return result;
+    }
+
+    private AnyType aggregateArgError(AggregateExpr agg, String expected, AnyType actual) {
+        diags.error(
+            agg.range(),
+            DiagnosticKind.SEMANTIC,
+            DiagnosticCode.TYPE_MISMATCH,
+            agg.function() + " requires a " + expected + " argument, got: " + debugType(actual)
+        );
+        return VoidType.get();
+    }
+
+    private AnyType bindNestedAggregate(AggregateExpr agg) {
+        diags.error(
+            agg.range(),
+            DiagnosticKind.SEMANTIC,
+            DiagnosticCode.INVALID_AGGREGATE,
+            agg.function() + " is only allowed as a whole READ projection item"
+        );
+        bindings.put(agg, VoidType.get());
+        return VoidType.get();
+    }
+
     // ---------------------------------------------------------------------
     // Infix binary ops
     // ---------------------------------------------------------------------
@@ -376,6 +446,10 @@ public final class ExpressionBinder {
         AnyType left  = bindExpr(inf.left());
         AnyType right = bindExpr(inf.right());
 
+        // A parameter takes the type of the operand it is compared with
+        if (isParameter(inf.left()))  left  = inferParameter(inf.left(), right);
+        if (isParameter(inf.right())) right = inferParameter(inf.right(), left);
+
         return switch (inf.op()) {
 
             // Boolean logic
@@ -473,6 +547,9 @@ public final class ExpressionBinder {
         AnyType b = bindExpr(tri.middle());
         AnyType c = bindExpr(tri.right());
 
+        if (isParameter(tri.middle())) b = inferParameter(tri.middle(), a);
+        if (isParameter(tri.right()))  c = inferParameter(tri.right(), a);
+
         return switch (tri.op()) {
 
             case BETWEEN -> {
@@ -502,6 +579,18 @@ public final class ExpressionBinder {
             (pt.isIntegerKind() || pt.isNumericKind());
     }
 
+    private static boolean isParameter(Expr expr) {
+        while (expr instanceof ParenExpr paren) {
+            expr = paren.inner();
+        }
+        return expr instanceof LiteralExpr lit && lit.literal() instanceof ParameterLiteralNode;
+    }
+
+    private AnyType inferParameter(Expr param, AnyType type) {
+        bindings.put(param, type);
+        return type;
+    }
+
     private boolean areComparable(AnyType a, AnyType b) {
         if (a == b) return true;
         if (a == null || b == null) return false;
@@ -17,6 +17,7 @@ import kafkasql.lang.syntax.ast.literal.MapEntryLiteralNode;
 import kafkasql.lang.syntax.ast.literal.MapLiteralNode;
 import kafkasql.lang.syntax.ast.literal.NullLiteralNode;
 import kafkasql.lang.syntax.ast.literal.NumberLiteralNode;
+import kafkasql.lang.syntax.ast.literal.ParameterLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StringLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StructFieldLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StructLiteralNode;
@@ -63,6 +64,9 @@ public final class LiteralBinder {
         Diagnostics diags,
         BindingEnv bindings
     ) {
+        if (node instanceof ParameterLiteralNode param)
+            return bindParameter(param, expectedType, bindings);
+
         return switch (expectedType) {
 
             case PrimitiveType p ->
@@ -153,6 +157,9 @@ public final class LiteralBinder {
         Diagnostics diags,
         BindingEnv bindings
     ) {
+        if (node instanceof ParameterLiteralNode param)
+            return bindParameter(param, expectedType, bindings);
+
         return switch (expectedType) {
 
             case PrimitiveType p      -> bindPrimitiveLiteral(node, p, diags);
@@ -216,6 +223,30 @@ public final class LiteralBinder {
         };
     }
 
+    // ========================================================================
+    // Parameter binding
+    // ========================================================================
+
+    /**
+     * Parameters are typed here but valued at execution time:
+     * see {@link ParameterBinder#substitute}.
+     */
+    private static ParameterRef bindParameter(
+        ParameterLiteralNode node,
+        AnyType expectedType,
+        BindingEnv bindings
+    ) {
+        ParameterRef ref = new ParameterRef(
+            node.position(),
+            node.name().isPresent()
+                ? Optional.of(node.name().get().name())
+                : Optional.empty(),
+            expectedType
+        );
+        bindings.put(node, ref);
+        return ref;
+    }
+
     // ========================================================================
     // Primitive binding
     // ========================================================================
@@ -490,6 +521,7 @@ public final class LiteralBinder {
                     " exceeds defined length " + l
                 );
             }
+            return bytes;
         }
         fail(node, diags, "BYTES");
         return null;
@@ -685,7 +717,7 @@ public final class LiteralBinder {
     ) {
         // Accept empty MapLiteralNode as empty struct (type-based interpretation)
         if (node instanceof MapLiteralNode ml && ml.entries().isEmpty()) {
-            return new StructValue(type, new LinkedHashMap<>());
+            return new StructValue(type, StructValue.absentSlots(type));
         }
         
         if (!(node instanceof StructLiteralNode st)) {
@@ -693,7 +725,7 @@ public final class LiteralBinder {
             return null;
         }
 
-        LinkedHashMap<String,Object> values = new LinkedHashMap<>();
+        Object[] values = StructValue.absentSlots(type);
 
         for (StructFieldLiteralNode f : st.fields()) {
             String fieldName = f.name().name();
@@ -721,7 +753,7 @@ public final class LiteralBinder {
                 bindings
             );
 
-            values.put(fieldName, v);
+            values[type.layout().slotOf(field.name())] = v;
         }
 
         // NOTE: We do NOT validate missing fields here because:
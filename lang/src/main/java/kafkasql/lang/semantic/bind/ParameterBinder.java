@@ -0,0 +1,134 @@
+package kafkasql.lang.semantic.bind;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import kafkasql.runtime.diagnostics.Diagnostics;
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.runtime.value.StructValue;
+import kafkasql.runtime.value.UnionValue;
+import kafkasql.lang.syntax.ast.literal.BoolLiteralNode;
+import kafkasql.lang.syntax.ast.literal.BytesLiteralNode;
+import kafkasql.lang.syntax.ast.literal.LiteralNode;
+import kafkasql.lang.syntax.ast.literal.NullLiteralNode;
+import kafkasql.lang.syntax.ast.literal.NumberLiteralNode;
+import kafkasql.lang.syntax.ast.literal.StringLiteralNode;
+
+/**
+ * ParameterBinder
+ *
+ * Replaces {@link ParameterRef} placeholders in bound values with the
+ * values supplied at execution time.
+ * <p>
+ * Supplied JVM values are turned back into literal nodes and run through
+ * {@link LiteralBinder}, so a parameter is validated exactly like the
+ * inline literal it stands in for (range checks, lengths, CHECK
+ * constraints, temporal parsing).
+ */
+public final class ParameterBinder {
+
+    private ParameterBinder() {}
+
+    /**
+     * Returns {@code bound} with every parameter placeholder replaced.
+     * Values without placeholders are returned as-is.
+     *
+     * @throws IllegalArgumentException if a parameter has no supplied value
+     *         or the value does not fit the parameter's type
+     */
+    public static Object substitute(Object bound, ParameterValues values) {
+        return switch (bound) {
+            case ParameterRef ref -> bindValue(ref, values);
+            case StructValue sv -> {
+                LinkedHashMap<String, Object> fields = null;
+                for (var e : sv.fields().entrySet()) {
+                    Object v = substitute(e.getValue(), values);
+                    if (v != e.getValue() && fields == null)
+                        fields = new LinkedHashMap<>(sv.fields());
+                    if (fields != null)
+                        fields.put(e.getKey(), v);
+                }
+                yield fields == null ? sv : new StructValue(sv.type(), fields);
+            }
+            case UnionValue uv -> {
+                Object v = substitute(uv.value(), values);
+                yield v == uv.value() ? uv : new UnionValue(uv.type(), uv.memberName(), v);
+            }
+            case List<?> list -> {
+                List<Object> result = null;
+                for (int i = 0; i < list.size(); i++) {
+                    Object v = substitute(list.get(i), values);
+                    if (v != list.get(i) && result == null)
+                        result = new ArrayList<>(list);
+                    if (result != null)
+                        result.set(i, v);
+                }
+                yield result == null ? list : result;
+            }
+            case Map<?, ?> map -> {
+                Map<Object, Object> result = null;
+                for (var e : map.entrySet()) {
+                    Object v = substitute(e.getValue(), values);
+                    if (v != e.getValue() && result == null)
+                        result = new LinkedHashMap<>(map);
+                    if (result != null)
+                        result.put(e.getKey(), v);
+                }
+                yield result == null ? map : result;
+            }
+            case null, default -> bound;
+        };
+    }
+
+    /**
+     * Returns the inline literal the parameter's supplied value stands
+     * for, for expressions that are translated rather than bound to a type.
+     *
+     * @throws IllegalArgumentException if the parameter has no supplied value
+     *         or the value is of an unsupported class
+     */
+    public static LiteralNode toLiteral(ParameterRef ref, ParameterValues values) {
+        if (!values.has(ref))
+            throw new IllegalArgumentException("No value supplied for parameter " + ref);
+        return toLiteral(ref, values.get(ref));
+    }
+
+    private static Object bindValue(ParameterRef ref, ParameterValues values) {
+        Diagnostics diags = new Diagnostics();
+        Object bound = LiteralBinder.bindLiteralTyped(toLiteral(ref, values), ref.type(), diags);
+        if (diags.hasError()) {
+            throw new IllegalArgumentException(
+                "Invalid value for parameter " + ref + ": " + diags.errors().get(0).message());
+        }
+        return bound;
+    }
+
+    private static LiteralNode toLiteral(ParameterRef ref, Object value) {
+        Range r = Range.NONE;
+        return switch (value) {
+            case null -> new NullLiteralNode(r);
+            case Boolean b -> new BoolLiteralNode(r, b);
+            case BigDecimal d -> new NumberLiteralNode(r, d.toPlainString());
+            case Byte n -> new NumberLiteralNode(r, n.toString());
+            case Short n -> new NumberLiteralNode(r, n.toString());
+            case Integer n -> new NumberLiteralNode(r, n.toString());
+            case Long n -> new NumberLiteralNode(r, n.toString());
+            case BigInteger n -> new NumberLiteralNode(r, n.toString());
+            case Float n -> new NumberLiteralNode(r, new BigDecimal(n.toString()).toPlainString());
+            case Double n -> new NumberLiteralNode(r, BigDecimal.valueOf(n).toPlainString());
+            case String s -> new StringLiteralNode(r, s);
+            case byte[] bytes -> new BytesLiteralNode(r, "0x" + HexFormat.of().formatHex(bytes));
+            case UUID u -> new StringLiteralNode(r, u.toString());
+            case Temporal t -> new StringLiteralNode(r, t.toString());
+            default -> throw new IllegalArgumentException(
+                "Unsupported value type for parameter " + ref + ": " + value.getClass().getName());
+        };
+    }
+}
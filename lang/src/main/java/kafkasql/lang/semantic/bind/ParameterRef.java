@@ -0,0 +1,27 @@
+package kafkasql.lang.semantic.bind;
+
+import java.util.Optional;
+
+import kafkasql.runtime.type.AnyType;
+
+/**
+ * Placeholder bound in place of a parameter literal.
+ * <p>
+ * Carries the type expected at the parameter's position so the
+ * value supplied at execution time can be validated with the same
+ * rules as an inline literal.
+ *
+ * @param position Zero-based positional ordinal, or -1 when named
+ * @param name     Parameter name for {@code :name} parameters
+ * @param type     Expected type at the parameter's position
+ */
+public record ParameterRef(
+    int position,
+    Optional<String> name,
+    AnyType type
+) {
+    @Override
+    public String toString() {
+        return name.map(n -> ":" + n).orElse("?" + (position + 1));
+    }
+}
@@ -0,0 +1,58 @@
+package kafkasql.lang.semantic.bind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Values supplied for statement parameters at execution time.
+ * <p>
+ * Positional values are matched to {@code ?} parameters in order of
+ * appearance; named values are matched to {@code :name} parameters
+ * case-insensitively. Values may be null.
+ */
+public final class ParameterValues {
+
+    public static final ParameterValues NONE = new ParameterValues(List.of(), Map.of());
+
+    private final List<Object> positional;
+    private final Map<String, Object> named;
+
+    private ParameterValues(List<Object> positional, Map<String, ?> named) {
+        this.positional = new ArrayList<>(positional);
+        this.named = new HashMap<>();
+        for (var e : named.entrySet()) {
+            this.named.put(e.getKey().toLowerCase(Locale.ROOT), e.getValue());
+        }
+    }
+
+    public static ParameterValues positional(Object... values) {
+        return new ParameterValues(Arrays.asList(values), Map.of());
+    }
+
+    public static ParameterValues named(Map<String, ?> values) {
+        return new ParameterValues(List.of(), values);
+    }
+
+    public boolean isEmpty() {
+        return positional.isEmpty() && named.isEmpty();
+    }
+
+    /**
+     * Returns true if a value (possibly null) was supplied for the parameter.
+     */
+    public boolean has(ParameterRef ref) {
+        if (ref.name().isPresent())
+            return named.containsKey(ref.name().get().toLowerCase(Locale.ROOT));
+        return ref.position() >= 0 && ref.position() < positional.size();
+    }
+
+    public Object get(ParameterRef ref) {
+        if (ref.name().isPresent())
+            return named.get(ref.name().get().toLowerCase(Locale.ROOT));
+        return positional.get(ref.position());
+    }
+}
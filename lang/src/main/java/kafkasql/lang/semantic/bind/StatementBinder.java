@@ -15,7 +15,9 @@ import kafkasql.lang.syntax.ast.decl.DerivedTypeDecl;
 import kafkasql.lang.syntax.ast.decl.StructDecl;
 import kafkasql.lang.syntax.ast.decl.StructFieldDecl;
 import kafkasql.lang.syntax.ast.decl.TypeDecl;
+import kafkasql.lang.syntax.ast.expr.AggregateExpr;
 import kafkasql.lang.syntax.ast.expr.Expr;
+import kafkasql.lang.syntax.ast.expr.IdentifierExpr;
 import kafkasql.lang.syntax.ast.fragment.*;
 import kafkasql.lang.syntax.ast.literal.StructFieldLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StructLiteralNode;
@@ -40,12 +42,22 @@ public final class StatementBinder {
         Diagnostics diags
     ) {
         for (Stmt stmt : script.statements()) {
-            switch (stmt) {
+            bindStmt(stmt, symbols, bindings, diags);
+        }
+    }
 
-                case ReadStmt r  -> bindRead(r, symbols, diags, bindings);
-                case WriteStmt w -> bindWrite(w, symbols, diags, bindings);
-                default -> {}
-            }
+    private static void bindStmt(
+        Stmt stmt,
+        SymbolTable symbols,
+        BindingEnv bindings,
+        Diagnostics diags
+    ) {
+        switch (stmt) {
+
+            case ReadStmt r  -> bindRead(r, symbols, diags, bindings);
+            case WriteStmt w -> bindWrite(w, symbols, diags, bindings);
+            case ExplainQueryStmt e -> bindStmt(e.query(), symbols, bindings, diags);
+            default -> {}
         }
     }
 
@@ -75,12 +87,13 @@ public final class StatementBinder {
         StreamDecl streamDecl = opt.get();
 
         for (ReadTypeBlock block : stmt.blocks()) {
-            bindReadBlock(block, streamDecl, symbols, diags, bindings);
+            bindReadBlock(block, stmt.mode(), streamDecl, symbols, diags, bindings);
         }
     }
 
     private static void bindReadBlock(
         ReadTypeBlock block,
+        ReadMode mode,
         StreamDecl streamDecl,
         SymbolTable symbols,
         Diagnostics diags,
@@ -107,6 +120,14 @@ public final class StatementBinder {
         
         bindings.put(block, rowType);
 
+        // READ LATEST: alias → DISTRIBUTE BY key field names
+        if (mode == ReadMode.LATEST) {
+            List<String> keyFields = bindDistributionKey(alias, member, rowType, diags);
+            if (keyFields != null) {
+                bindings.put(alias, keyFields);
+            }
+        }
+
         ExpressionBinder exprBinder =
             new ExpressionBinder(env, symbols, diags, bindings);
 
@@ -121,7 +142,9 @@ public final class StatementBinder {
         } else {
             for (ProjectionExprNode pe : projection.items()) {
                 Expr expr = pe.expr();
-                AnyType result = exprBinder.bind(expr);
+                AnyType result = expr instanceof AggregateExpr agg
+                    ? exprBinder.bindAggregate(agg)
+                    : exprBinder.bind(expr);
 
                 if (result == null) {
                     diags.error(
@@ -137,6 +160,10 @@ public final class StatementBinder {
             }
         }
 
+        if (isAggregate(block)) {
+            bindAggregation(block, mode, member, rowType, diags, bindings);
+        }
+
         // -----------------------------
         // WHERE clause
         // -----------------------------
@@ -156,6 +183,228 @@ public final class StatementBinder {
         }
     }
 
+    /**
+     * The row type of every member of a stream as the symbol table
+     * currently defines it, by member alias. Members whose type cannot be
+     * built are left out.
+     */
+    public static Map<String, StructType> memberRowTypes(StreamDecl streamDecl, SymbolTable symbols) {
+        Map<String, StructType> types = new LinkedHashMap<>();
+        BindingEnv bindings = new BindingEnv();
+        for (StreamMemberDecl member : streamDecl.streamTypes()) {
+            StructType rowType = buildRowStructType(streamDecl, member, symbols, new Diagnostics(), bindings);
+            if (rowType != null) {
+                types.put(member.name().name(), rowType);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Returns true if the block aggregates: it has GROUP BY, WINDOW or an
+     * aggregate projection item. Aggregates without GROUP BY fold all
+     * matching records into a single group.
+     */
+    public static boolean isAggregate(ReadTypeBlock block) {
+        if (!block.groupBy().isEmpty() || block.window().isPresent()) {
+            return true;
+        }
+        for (ProjectionExprNode pe : block.projection().items()) {
+            if (pe.expr() instanceof AggregateExpr) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Validates an aggregate block: GROUP BY keys are row fields, every
+     * projection item is an aggregate or a GROUP BY key, and WINDOW uses
+     * the member's TIMESTAMP BY field. Binds the window to that field name.
+     */
+    private static void bindAggregation(
+        ReadTypeBlock block,
+        ReadMode mode,
+        StreamMemberDecl member,
+        StructType rowType,
+        Diagnostics diags,
+        BindingEnv bindings
+    ) {
+        Identifier alias = block.alias();
+
+        if (mode == ReadMode.LATEST) {
+            diags.error(
+                alias.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.INVALID_AGGREGATE,
+                "READ LATEST cannot aggregate"
+            );
+        }
+        if (mode == ReadMode.FOLLOW && block.window().isEmpty()) {
+            diags.error(
+                alias.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.INVALID_AGGREGATE,
+                "READ FOLLOW aggregates never complete without a WINDOW clause"
+            );
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (Identifier key : block.groupBy()) {
+            StructTypeField field = rowType.fields().get(key.name());
+            if (field == null) {
+                diags.error(
+                    key.range(),
+                    DiagnosticKind.SEMANTIC,
+                    DiagnosticCode.UNKNOWN_FIELD,
+                    "GROUP BY field '" + key.name() + "' not found on '" + alias.name() + "'"
+                );
+            } else if (!(field.type() instanceof PrimitiveType || field.type() instanceof EnumType)) {
+                diags.error(
+                    key.range(),
+                    DiagnosticKind.SEMANTIC,
+                    DiagnosticCode.TYPE_MISMATCH,
+                    "GROUP BY field '" + key.name() + "' must be a primitive or enum, got: " + debugType(field.type())
+                );
+            }
+            keys.add(key.name());
+        }
+
+        ProjectionNode projection = block.projection();
+        if (projection.items().isEmpty()) {
+            diags.error(
+                projection.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.INVALID_PROJECTION,
+                "Aggregate READ cannot project *"
+            );
+        }
+        for (ProjectionExprNode pe : projection.items()) {
+            Expr expr = pe.expr();
+            if (expr instanceof AggregateExpr) continue;
+            if (expr instanceof IdentifierExpr id && keys.contains(id.name().name())) continue;
+            diags.error(
+                expr.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.INVALID_PROJECTION,
+                "Projection in an aggregate READ must be an aggregate or a GROUP BY field"
+            );
+        }
+
+        if (block.window().isPresent()) {
+            WindowNode window = block.window().get();
+            String timestampField = bindTimestampField(alias, member, rowType, diags);
+            if (timestampField != null) {
+                bindings.put(window, timestampField);
+            }
+        }
+    }
+
+    /**
+     * Resolves the TIMESTAMP BY field of a stream member to the row
+     * type's field name. The field must be a TIMESTAMP, TIMESTAMP_TZ or
+     * INT64 (epoch milliseconds).
+     */
+    private static String bindTimestampField(
+        Identifier alias,
+        StreamMemberDecl member,
+        StructType rowType,
+        Diagnostics diags
+    ) {
+        TimestampDecl timestamp = null;
+        for (var frag : member.memberDecl().fragments()) {
+            if (frag instanceof TimestampDecl t) timestamp = t;
+        }
+        for (var frag : member.fragments()) {
+            if (frag instanceof TimestampDecl t) timestamp = t;
+        }
+
+        if (timestamp == null) {
+            diags.error(
+                alias.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.MISSING_FIELD,
+                "WINDOW requires TIMESTAMP BY on stream member '" + alias.name() + "'"
+            );
+            return null;
+        }
+
+        String name = timestamp.field().name();
+        StructTypeField field = rowType.fields().values().stream()
+            .filter(f -> f.name().equalsIgnoreCase(name))
+            .findFirst()
+            .orElse(null);
+        if (field == null) {
+            diags.error(
+                timestamp.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.UNKNOWN_FIELD,
+                "TIMESTAMP BY field '" + name + "' not found on '" + alias.name() + "'"
+            );
+            return null;
+        }
+        if (!(field.type() instanceof PrimitiveType pt)
+                || !(pt.kind() == PrimitiveKind.TIMESTAMP
+                    || pt.kind() == PrimitiveKind.TIMESTAMP_TZ
+                    || pt.kind() == PrimitiveKind.INT64)) {
+            diags.error(
+                timestamp.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.TYPE_MISMATCH,
+                "TIMESTAMP BY field '" + name + "' must be TIMESTAMP, TIMESTAMP_TZ or INT64, got: "
+                    + debugType(field.type())
+            );
+            return null;
+        }
+        return field.name();
+    }
+
+    /**
+     * Resolves the DISTRIBUTE BY fields of a stream member to the
+     * row type's field names, in key order.
+     */
+    private static List<String> bindDistributionKey(
+        Identifier alias,
+        StreamMemberDecl member,
+        StructType rowType,
+        Diagnostics diags
+    ) {
+        DistributeDecl distribute = null;
+        for (var frag : member.memberDecl().fragments()) {
+            if (frag instanceof DistributeDecl d) distribute = d;
+        }
+        for (var frag : member.fragments()) {
+            if (frag instanceof DistributeDecl d) distribute = d;
+        }
+
+        if (distribute == null) {
+            diags.error(
+                alias.range(),
+                DiagnosticKind.SEMANTIC,
+                DiagnosticCode.MISSING_FIELD,
+                "READ LATEST requires DISTRIBUTE BY on stream member '" + alias.name() + "'"
+            );
+            return null;
+        }
+
+        List<String> keyFields = new ArrayList<>();
+        for (Identifier key : distribute.keys()) {
+            String fieldName = rowType.fields().keySet().stream()
+                .filter(f -> f.equalsIgnoreCase(key.name()))
+                .findFirst()
+                .orElse(null);
+            if (fieldName == null) {
+                diags.error(
+                    key.range(),
+                    DiagnosticKind.SEMANTIC,
+                    DiagnosticCode.UNKNOWN_FIELD,
+                    "DISTRIBUTE BY field '" + key.name() + "' not found on '" + alias.name() + "'"
+                );
+                return null;
+            }
+            keyFields.add(fieldName);
+        }
+        return keyFields;
+    }
+
     private static StreamMemberDecl findStreamMember(
         StreamDecl decl,
         Identifier alias,
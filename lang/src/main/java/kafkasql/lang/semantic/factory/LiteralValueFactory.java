@@ -13,6 +13,7 @@ import kafkasql.lang.syntax.ast.literal.LiteralNode;
 import kafkasql.lang.syntax.ast.literal.MapLiteralNode;
 import kafkasql.lang.syntax.ast.literal.NullLiteralNode;
 import kafkasql.lang.syntax.ast.literal.NumberLiteralNode;
+import kafkasql.lang.syntax.ast.literal.ParameterLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StringLiteralNode;
 import kafkasql.lang.syntax.ast.literal.StructLiteralNode;
 import kafkasql.lang.syntax.ast.literal.UnionLiteralNode;
@@ -29,6 +30,8 @@ public final class LiteralValueFactory {
             case StringLiteralNode s     -> s.value();
             case BytesLiteralNode b      -> decodeBytes(b.text());
             case NullLiteralNode n       -> null;
+            case ParameterLiteralNode p  -> throw new IllegalArgumentException(
+                "Parameter literal has no value outside READ/WRITE statements");
 
             // All type-dependent literals must return a placeholder:
             case EnumLiteralNode e       -> new UnresolvedComplexLiteral<>(e);
@@ -9,9 +9,7 @@ import kafkasql.lang.semantic.symbol.SymbolTable;
 import kafkasql.lang.syntax.ast.Script;
 import kafkasql.lang.syntax.ast.decl.ContextDecl;
 import kafkasql.lang.syntax.ast.decl.Decl;
-import kafkasql.lang.syntax.ast.decl.DerivedTypeDecl;
 import kafkasql.lang.syntax.ast.decl.StreamDecl;
-import kafkasql.lang.syntax.ast.decl.StreamMemberDecl;
 import kafkasql.lang.syntax.ast.decl.StructDecl;
 import kafkasql.lang.syntax.ast.decl.StructFieldDecl;
 import kafkasql.lang.syntax.ast.decl.TypeDecl;
@@ -27,7 +25,6 @@ import kafkasql.lang.syntax.ast.stmt.UseStmt;
 import kafkasql.lang.syntax.ast.use.ContextUse;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public final class DeclResolver {
@@ -283,7 +280,7 @@ public final class DeclResolver {
         }
 
         if (!hasError) {
-            symbols._decl.remove(target);
+            symbols.remove(target);
         }
     }
 
@@ -295,34 +292,14 @@ public final class DeclResolver {
      * Find all symbols that are children of the given context.
      */
     private static List<Name> findChildren(SymbolTable symbols, Name context) {
-        String prefix = context.fullName() + ".";
-        return symbols._decl.keySet().stream()
-            .filter(n -> n.fullName().toLowerCase().startsWith(prefix.toLowerCase()))
-            .toList();
+        return symbols.descendantsOf(context);
     }
 
     /**
-     * Find all symbols that reference the given type.
-     * Checks stream member derived types and struct field type references.
+     * Find all types and streams that reference the given type directly.
      */
     private static List<Name> findTypeDependents(SymbolTable symbols, Name typeName) {
-        return symbols._decl.entrySet().stream()
-            .filter(e -> referencesType(e.getValue(), typeName))
-            .map(Map.Entry::getKey)
-            .toList();
-    }
-
-    private static boolean referencesType(Decl decl, Name typeName) {
-        if (decl instanceof StreamDecl sd) {
-            for (StreamMemberDecl member : sd.streamTypes()) {
-                if (member.memberDecl().kind() instanceof DerivedTypeDecl dt) {
-                    if (toName(dt.target().name()).equals(typeName)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return List.copyOf(symbols.dependencies().dependentsOf(typeName));
     }
 
     // =======================================================================
@@ -0,0 +1,136 @@
+package kafkasql.lang.semantic.symbol;
+
+import java.util.*;
+
+import kafkasql.runtime.Name;
+import kafkasql.lang.syntax.ast.decl.ContextDecl;
+import kafkasql.lang.syntax.ast.decl.Decl;
+import kafkasql.lang.syntax.ast.decl.DerivedTypeDecl;
+import kafkasql.lang.syntax.ast.decl.EnumDecl;
+import kafkasql.lang.syntax.ast.decl.ScalarDecl;
+import kafkasql.lang.syntax.ast.decl.StreamDecl;
+import kafkasql.lang.syntax.ast.decl.StreamMemberDecl;
+import kafkasql.lang.syntax.ast.decl.StructDecl;
+import kafkasql.lang.syntax.ast.decl.StructFieldDecl;
+import kafkasql.lang.syntax.ast.decl.TypeDecl;
+import kafkasql.lang.syntax.ast.decl.TypeKindDecl;
+import kafkasql.lang.syntax.ast.decl.UnionDecl;
+import kafkasql.lang.syntax.ast.decl.UnionMemberDecl;
+import kafkasql.lang.syntax.ast.type.ComplexTypeNode;
+import kafkasql.lang.syntax.ast.type.ListTypeNode;
+import kafkasql.lang.syntax.ast.type.MapTypeNode;
+import kafkasql.lang.syntax.ast.type.PrimitiveTypeNode;
+import kafkasql.lang.syntax.ast.type.TypeNode;
+
+/**
+ * Reverse type references of a {@link SymbolTable}: for every named type,
+ * the types and streams whose declarations refer to it through derived
+ * types, struct fields, union members, scalars, lists and maps.
+ * <p>
+ * Kept in step with the table on register, replace, remove and rollback,
+ * so impact queries cost O(dependents) instead of a scan of every
+ * declaration. Immutable: the table swaps in the graph returned by
+ * {@link #with} and {@link #without}, so its snapshots share the graph.
+ */
+public final class DependencyGraph {
+
+    private final PersistentMap<Name, NameSet> _dependents; // Referenced type → direct referrers
+
+    DependencyGraph() {
+        this(PersistentMap.empty());
+    }
+
+    private DependencyGraph(PersistentMap<Name, NameSet> dependents) {
+        _dependents = dependents;
+    }
+
+    DependencyGraph with(Name name, Decl decl) {
+        var dependents = _dependents;
+        for (Name ref : referencesOf(decl)) {
+            dependents = SymbolTable.addTo(dependents, ref, name);
+        }
+        return new DependencyGraph(dependents);
+    }
+
+    DependencyGraph without(Name name, Decl decl) {
+        var dependents = _dependents;
+        for (Name ref : referencesOf(decl)) {
+            dependents = SymbolTable.removeFrom(dependents, ref, name);
+        }
+        return new DependencyGraph(dependents);
+    }
+
+    /**
+     * Types and streams that refer to {@code type} directly, sorted by
+     * full name.
+     */
+    public Set<Name> dependentsOf(Name type) {
+        return SymbolTable.sorted(_dependents.get(type));
+    }
+
+    /**
+     * Types and streams that refer to {@code type} directly or through
+     * other types, nearest first.
+     */
+    public Set<Name> transitiveDependentsOf(Name type) {
+        Set<Name> result = new LinkedHashSet<>();
+        Deque<Name> pending = new ArrayDeque<>(dependentsOf(type));
+        while (!pending.isEmpty()) {
+            Name name = pending.removeFirst();
+            if (result.add(name))
+                pending.addAll(dependentsOf(name));
+        }
+        return result;
+    }
+
+    /**
+     * Named types a declaration refers to directly. Inline stream member
+     * types contribute their own references to the stream.
+     */
+    public static Set<Name> referencesOf(Decl decl) {
+        Set<Name> refs = new LinkedHashSet<>();
+        switch (decl) {
+            case TypeDecl t -> collect(t.kind(), refs);
+            case StreamDecl s -> {
+                for (StreamMemberDecl member : s.streamTypes())
+                    collect(member.memberDecl().kind(), refs);
+            }
+            case ContextDecl c -> {}
+        }
+        return refs;
+    }
+
+    /**
+     * Named types a single stream member refers to directly.
+     */
+    public static Set<Name> referencesOf(StreamMemberDecl member) {
+        Set<Name> refs = new LinkedHashSet<>();
+        collect(member.memberDecl().kind(), refs);
+        return refs;
+    }
+
+    private static void collect(TypeKindDecl kind, Set<Name> refs) {
+        switch (kind) {
+            case DerivedTypeDecl d -> collect(d.target(), refs);
+            case StructDecl s -> {
+                for (StructFieldDecl f : s.fields())
+                    collect(f.type(), refs);
+            }
+            case UnionDecl u -> {
+                for (UnionMemberDecl m : u.members())
+                    collect(m.type(), refs);
+            }
+            case ScalarDecl s -> collect(s.type(), refs);
+            case EnumDecl e -> {}
+        }
+    }
+
+    private static void collect(TypeNode type, Set<Name> refs) {
+        switch (type) {
+            case ComplexTypeNode c -> refs.add(Name.of(c.name().context(), c.name().name()));
+            case ListTypeNode l -> collect(l.elementType(), refs);
+            case MapTypeNode m -> collect(m.valueType(), refs);
+            case PrimitiveTypeNode p -> {}
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package kafkasql.lang.semantic.symbol;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import kafkasql.runtime.Name;
+
+/**
+ * Immutable set of names: one bucket of a {@link SymbolTable} or
+ * {@link DependencyGraph} index.
+ * <p>
+ * {@link #with} and {@link #without} share structure like
+ * {@link PersistentMap}. The sorted view SHOW and impact queries list is
+ * built on first use and kept with the set, so repeated listings cost
+ * O(1) and a mutation re-sorts only the bucket it touched. Snapshots
+ * share buckets, and with them the sorted views.
+ */
+final class NameSet {
+
+    // Sorted by display name, as SHOW lists them
+    private static final Comparator<Name> BY_FULL_NAME = Comparator.comparing(Name::fullName);
+
+    private static final NameSet EMPTY = new NameSet(PersistentMap.empty());
+
+    private final PersistentMap<Name, Name> _names;
+
+    // Built once; racing threads build equal views, so either may win
+    private volatile SortedSet<Name> _sorted;
+
+    private NameSet(PersistentMap<Name, Name> names) {
+        _names = names;
+    }
+
+    static NameSet empty() {
+        return EMPTY;
+    }
+
+    boolean contains(Name name) {
+        return _names.containsKey(name);
+    }
+
+    boolean isEmpty() {
+        return _names.isEmpty();
+    }
+
+    NameSet with(Name name) {
+        var names = _names.with(name, name);
+        return names == _names ? this : new NameSet(names);
+    }
+
+    NameSet without(Name name) {
+        var names = _names.without(name);
+        return names == _names ? this : new NameSet(names);
+    }
+
+    /**
+     * The names sorted by full name, unmodifiable.
+     */
+    SortedSet<Name> sorted() {
+        SortedSet<Name> sorted = _sorted;
+        if (sorted == null) {
+            TreeSet<Name> names = new TreeSet<>(BY_FULL_NAME);
+            _names.forEach((name, same) -> names.add(name));
+            _sorted = sorted = Collections.unmodifiableSortedSet(names);
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,216 @@
+package kafkasql.lang.semantic.symbol;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map that shares structure between versions: a hash
+ * array mapped trie with 32-way nodes.
+ * <p>
+ * {@link #with} and {@link #without} copy only the path to the changed
+ * entry, O(log32 n), and leave this map untouched, so the
+ * {@link SymbolTable} can hand out a snapshot of its indexes by
+ * reference. Keys use {@code equals}/{@code hashCode}; values are never
+ * null.
+ */
+final class PersistentMap<K, V> {
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root; // Null when empty
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        int hash = hash(key);
+        Node node = root;
+        for (int shift = 0; node != null; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0)
+                return null;
+            Object slot = node.slots[node.index(bit)];
+            if (slot instanceof Leaf leaf) {
+                return leaf.hash == hash ? (V) leaf.find(key) : null;
+            }
+            node = (Node) slot;
+        }
+        return null;
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * This map with {@code key} mapped to {@code value}; this map if it
+     * already was.
+     */
+    PersistentMap<K, V> with(K key, V value) {
+        if (value == null)
+            throw new NullPointerException("value");
+        V old = get(key);
+        if (old == value)
+            return this;
+        Node newRoot = put(root, 0, new Leaf(hash(key), key, value, null));
+        return new PersistentMap<>(newRoot, old == null ? size + 1 : size);
+    }
+
+    /**
+     * This map without {@code key}; this map if it had no such key.
+     */
+    PersistentMap<K, V> without(Object key) {
+        if (!containsKey(key))
+            return this;
+        return new PersistentMap<>(remove(root, 0, hash(key), key), size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, (BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * The entries, in hash order.
+     */
+    List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(size);
+        forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+        return entries;
+    }
+
+    // ========================================================================
+    // TRIE
+    // ========================================================================
+
+    /** Entries with the same full hash, chained; usually just one. */
+    private record Leaf(int hash, Object key, Object value, Leaf next) {
+
+        Object find(Object key) {
+            for (Leaf l = this; l != null; l = l.next) {
+                if (l.key.equals(key))
+                    return l.value;
+            }
+            return null;
+        }
+
+        /** This chain with the key of {@code entry} set to its value. */
+        Leaf with(Leaf entry) {
+            if (key.equals(entry.key))
+                return new Leaf(hash, key, entry.value, next);
+            return new Leaf(hash, key, value, next == null ? entry : next.with(entry));
+        }
+
+        /** This chain without the key, or null if that empties it. */
+        Leaf without(Object key) {
+            if (this.key.equals(key))
+                return next;
+            Leaf rest = next == null ? null : next.without(key);
+            return rest == next ? this : new Leaf(hash, this.key, value, rest);
+        }
+    }
+
+    /** Occupied slots of 32, in bit order: a {@link Leaf} or a child Node. */
+    private record Node(int bitmap, Object[] slots) {
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        Node withSlot(int bit, Object slot) {
+            int i = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object[] copy = slots.clone();
+                copy[i] = slot;
+                return new Node(bitmap, copy);
+            }
+            Object[] copy = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, copy, 0, i);
+            copy[i] = slot;
+            System.arraycopy(slots, i, copy, i + 1, slots.length - i);
+            return new Node(bitmap | bit, copy);
+        }
+
+        /** This node without the slot, or null if that empties it. */
+        Node withoutSlot(int bit) {
+            if (slots.length == 1)
+                return null;
+            int i = index(bit);
+            Object[] copy = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 1, copy, i, slots.length - i - 1);
+            return new Node(bitmap & ~bit, copy);
+        }
+    }
+
+    private static Node put(Node node, int shift, Leaf entry) {
+        int bit = bit(entry.hash, shift);
+        if (node == null)
+            return new Node(bit, new Object[] { entry });
+        if ((node.bitmap & bit) == 0)
+            return node.withSlot(bit, entry);
+
+        Object slot = node.slots[node.index(bit)];
+        if (slot instanceof Node child)
+            return node.withSlot(bit, put(child, shift + BITS, entry));
+        Leaf leaf = (Leaf) slot;
+        if (leaf.hash == entry.hash)
+            return node.withSlot(bit, leaf.with(entry));
+        // Different hashes sharing this slot: push both one level down
+        return node.withSlot(bit, put(put(null, shift + BITS, leaf), shift + BITS, entry));
+    }
+
+    private static Node remove(Node node, int shift, int hash, Object key) {
+        int bit = bit(hash, shift);
+        Object slot = node.slots[node.index(bit)];
+        Object replacement = slot instanceof Node child
+            ? remove(child, shift + BITS, hash, key)
+            : ((Leaf) slot).without(key);
+        return replacement == null ? node.withoutSlot(bit) : node.withSlot(bit, replacement);
+    }
+
+    private static void forEach(Node node, BiConsumer<Object, Object> action) {
+        if (node == null)
+            return;
+        for (Object slot : node.slots) {
+            if (slot instanceof Node child) {
+                forEach(child, action);
+            } else {
+                for (Leaf l = (Leaf) slot; l != null; l = l.next)
+                    action.accept(l.key, l.value);
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+}
@@ -11,26 +11,252 @@ import kafkasql.lang.syntax.ast.decl.TypeDecl;
 
 public final class SymbolTable {
 
-    public final Map<Name, Decl> _decl = new HashMap<>();
+    // Every index is a PersistentMap: a mutation swaps in new roots that
+    // share all but the changed path, so snapshot() copies five references
+    private PersistentMap<Name, Decl> _byName = PersistentMap.empty();
+
+    /** Read-only view of all declarations; mutate through register/replace/remove. */
+    public final Map<Name, Decl> _decl = new DeclView();
+
+    // Secondary indexes, maintained by index()/unindex() on every mutation
+    private PersistentMap<DeclRef, Name> _names = PersistentMap.empty();
+    private PersistentMap<Class<?>, NameSet> _byKind = PersistentMap.empty();
+    private PersistentMap<Name, NameSet> _children = PersistentMap.empty(); // Parent context → direct children
+    private DependencyGraph _dependencies = new DependencyGraph();
+
+    // Bumped on every mutation; lets callers cache work derived from the table
+    private volatile long _version = 0;
+
+    // Set on snapshots, which reject every mutation
+    private boolean _readOnly = false;
+
+    // Mutations since the outermost open mark; empty (and not recorded) when none is open
+    private final List<Change> _journal = new ArrayList<>();
+    private int _openMarks = 0;
+
+    /**
+     * One journaled mutation. {@code before} is null for a registration,
+     * {@code after} is null for a removal.
+     */
+    public record Change(Name name, Decl before, Decl after) { }
+
+    /**
+     * Monotonic version of this table, incremented by
+     * {@link #register}, {@link #replace} and {@link #remove}.
+     */
+    public long version() {
+        return _version;
+    }
+
+    /**
+     * Returns true for a {@link #snapshot}.
+     */
+    public boolean isReadOnly() {
+        return _readOnly;
+    }
+
+    /**
+     * A read-only copy of the table at its current version. It shares
+     * the indexes as they are now, which later mutations of this table
+     * replace rather than change, so taking it costs O(1). It never
+     * changes, so any number of threads can bind against it without
+     * locking while this table moves on.
+     */
+    public SymbolTable snapshot() {
+        SymbolTable copy = new SymbolTable();
+        copy._byName = _byName;
+        copy._names = _names;
+        copy._byKind = _byKind;
+        copy._children = _children;
+        copy._dependencies = _dependencies;
+        copy._version = _version;
+        copy._readOnly = true;
+        return copy;
+    }
 
     public boolean hasKey(Name name) {
-        return _decl.containsKey(name);
+        return _byName.containsKey(name);
     }
 
     public boolean register(Name name, Decl decl) {
+        checkWritable();
         if (hasKey(name))
             return false;
-        _decl.put(name, decl);
+        _byName = _byName.with(name, decl);
+        index(name, decl);
+        record(name, null, decl);
         return true;
     }
 
     public boolean replace(Name name, Decl decl) {
-        if (!hasKey(name))
+        checkWritable();
+        Decl old = _byName.get(name);
+        if (old == null)
+            return false;
+        Name registered = unindex(old);
+        _byName = _byName.with(registered, decl);
+        index(registered, decl);
+        record(registered, old, decl);
+        return true;
+    }
+
+    public boolean remove(Name name) {
+        checkWritable();
+        Decl old = _byName.get(name);
+        if (old == null)
             return false;
-        _decl.put(name, decl);
+        _byName = _byName.without(name);
+        record(unindex(old), old, null);
         return true;
     }
 
+    private void checkWritable() {
+        if (_readOnly)
+            throw new IllegalStateException("Symbol table snapshot is read-only");
+    }
+
+    private void record(Name name, Decl before, Decl after) {
+        if (_openMarks > 0)
+            _journal.add(new Change(name, before, after));
+        _version++;
+    }
+
+    // ========================================================================
+    // JOURNAL
+    // ========================================================================
+
+    /**
+     * Start recording mutations. Every mark must be closed by
+     * {@link #commit} or {@link #rollback}; marks nest.
+     *
+     * @return Position to pass to {@link #changesSince}, commit or rollback
+     */
+    public int mark() {
+        checkWritable();
+        _openMarks++;
+        return _journal.size();
+    }
+
+    /**
+     * Mutations since the mark, oldest first.
+     */
+    public List<Change> changesSince(int mark) {
+        return Collections.unmodifiableList(_journal.subList(mark, _journal.size()));
+    }
+
+    /**
+     * Names that did not exist at the mark and exist now.
+     */
+    public Set<Name> registeredSince(int mark) {
+        Set<Name> names = new LinkedHashSet<>();
+        netChanges(mark).forEach((name, change) -> {
+            if (change[0].before() == null && change[1].after() != null)
+                names.add(name);
+        });
+        return names;
+    }
+
+    /**
+     * Names that existed at the mark and no longer exist.
+     */
+    public Set<Name> removedSince(int mark) {
+        Set<Name> names = new LinkedHashSet<>();
+        netChanges(mark).forEach((name, change) -> {
+            if (change[0].before() != null && change[1].after() == null)
+                names.add(name);
+        });
+        return names;
+    }
+
+    /** Name → {first, last} change since the mark. */
+    private Map<Name, Change[]> netChanges(int mark) {
+        Map<Name, Change[]> net = new LinkedHashMap<>();
+        for (Change change : changesSince(mark)) {
+            Change[] firstLast = net.computeIfAbsent(change.name(), k -> new Change[] { change, change });
+            firstLast[1] = change;
+        }
+        return net;
+    }
+
+    /**
+     * Keep the mutations since the mark.
+     */
+    public void commit(int mark) {
+        closeMark(mark);
+    }
+
+    /**
+     * Undo every mutation since the mark, newest first.
+     */
+    public void rollback(int mark) {
+        for (int i = _journal.size() - 1; i >= mark; i--) {
+            Change change = _journal.get(i);
+            if (change.after() != null) {
+                _byName = _byName.without(change.name());
+                unindex(change.after());
+            }
+            if (change.before() != null) {
+                _byName = _byName.with(change.name(), change.before());
+                index(change.name(), change.before());
+            }
+        }
+        _journal.subList(mark, _journal.size()).clear();
+        _version++;
+        closeMark(mark);
+    }
+
+    private void closeMark(int mark) {
+        if (_openMarks == 0 || mark > _journal.size())
+            throw new IllegalStateException("No open mark at " + mark);
+        if (--_openMarks == 0)
+            _journal.clear();
+    }
+
+    private void index(Name name, Decl decl) {
+        _names = _names.with(new DeclRef(decl), name);
+        _byKind = addTo(_byKind, decl.getClass(), name);
+        _children = addTo(_children, parentOf(name), name);
+        _dependencies = _dependencies.with(name, decl);
+    }
+
+    /**
+     * Drop a declaration from the secondary indexes.
+     *
+     * @return The name it was registered under, in its original casing
+     */
+    private Name unindex(Decl decl) {
+        DeclRef ref = new DeclRef(decl);
+        Name name = _names.get(ref);
+        _names = _names.without(ref);
+        _byKind = removeFrom(_byKind, decl.getClass(), name);
+        _children = removeFrom(_children, parentOf(name), name);
+        _dependencies = _dependencies.without(name, decl);
+        return name;
+    }
+
+    static <K> PersistentMap<K, NameSet> addTo(PersistentMap<K, NameSet> index, K key, Name name) {
+        NameSet names = index.get(key);
+        return index.with(key, (names == null ? NameSet.empty() : names).with(name));
+    }
+
+    static <K> PersistentMap<K, NameSet> removeFrom(PersistentMap<K, NameSet> index, K key, Name name) {
+        NameSet names = index.get(key);
+        if (names == null || !names.contains(name))
+            return index;
+        names = names.without(name);
+        return names.isEmpty() ? index.without(key) : index.with(key, names);
+    }
+
+    /** Names of a bucket, sorted by full name; the bucket keeps the sorted view. */
+    static SortedSet<Name> sorted(NameSet names) {
+        return names == null ? Collections.emptySortedSet() : names.sorted();
+    }
+
+    private static Name parentOf(Name name) {
+        String context = name.context();
+        return context.isEmpty() ? Name.ROOT : Name.of(context);
+    }
+
     public Optional<TypeDecl> lookupType(Name name) {
         var v = get(name);
         if (v.isPresent() && v.get() instanceof TypeDecl t)
@@ -65,17 +291,99 @@ public final class SymbolTable {
     }
 
     private Optional<Decl> get(Name name) {
-        return Optional.ofNullable(_decl.get(name));
+        return Optional.ofNullable(_byName.get(name));
     }
 
     /**
      * Reverse lookup: find the Name for a given Decl.
      * This is useful when we have a Decl and need its fully qualified name.
+     * Matches by identity, in constant time.
      */
     public Optional<Name> nameOf(Decl decl) {
-        return _decl.entrySet().stream()
-            .filter(e -> e.getValue() == decl)
-            .map(Map.Entry::getKey)
-            .findFirst();
+        return Optional.ofNullable(_names.get(new DeclRef(decl)));
+    }
+
+    /**
+     * Names of all declarations of a kind, e.g. {@code StreamDecl.class},
+     * sorted by full name.
+     */
+    public SortedSet<Name> namesOf(Class<? extends Decl> kind) {
+        return sorted(_byKind.get(kind));
+    }
+
+    /**
+     * Names declared directly in a context (not in nested contexts),
+     * sorted by full name. Use {@link Name#ROOT} for the top level.
+     */
+    public SortedSet<Name> childrenOf(Name context) {
+        return sorted(_children.get(context));
+    }
+
+    /**
+     * Which types and streams refer to which types, for ALTER fan-out,
+     * DROP checks and impact analysis.
+     */
+    public DependencyGraph dependencies() {
+        return _dependencies;
+    }
+
+    /**
+     * Names declared in a context or any context nested in it.
+     */
+    public List<Name> descendantsOf(Name context) {
+        List<Name> result = new ArrayList<>();
+        Deque<Name> pending = new ArrayDeque<>(childrenOf(context));
+        while (!pending.isEmpty()) {
+            Name name = pending.pop();
+            result.add(name);
+            pending.addAll(childrenOf(name));
+        }
+        return result;
+    }
+
+    /** Map key matching a declaration by identity, as nameOf() does. */
+    private record DeclRef(Decl decl) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DeclRef other && other.decl == decl;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(decl);
+        }
+    }
+
+    /** {@link #_decl}: always the current declarations. */
+    private final class DeclView extends AbstractMap<Name, Decl> {
+        @Override
+        public Decl get(Object key) {
+            return _byName.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return _byName.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return _byName.size();
+        }
+
+        @Override
+        public Set<Entry<Name, Decl>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Name, Decl>> iterator() {
+                    return Collections.unmodifiableList(_byName.entries()).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return _byName.size();
+                }
+            };
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package kafkasql.lang.semantic.util;
 
+import kafkasql.lang.semantic.bind.ParameterBinder;
+import kafkasql.lang.semantic.bind.ParameterRef;
+import kafkasql.lang.semantic.bind.ParameterValues;
 import kafkasql.lang.syntax.ast.expr.*;
 import kafkasql.lang.syntax.ast.literal.*;
 import kafkasql.runtime.expr.RuntimeExpr;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Translates lang AST expressions to runtime expression trees.
@@ -16,33 +20,55 @@ public final class RuntimeExprTranslator {
     private RuntimeExprTranslator() {}
     
     public static RuntimeExpr translate(Expr expr) {
+        return translate(expr, ParameterValues.NONE);
+    }
+
+    /**
+     * Translates an expression of a prepared statement, replacing each
+     * parameter with the literal its supplied value stands for.
+     *
+     * @throws IllegalArgumentException if a parameter has no supplied value
+     */
+    public static RuntimeExpr translate(Expr expr, ParameterValues params) {
         return switch (expr) {
-            case LiteralExpr lit -> translateLiteral(lit.literal());
+            case LiteralExpr lit -> translateLiteral(lit.literal(), params);
             case IdentifierExpr id -> new RuntimeExpr.Identifier(id.name().name());
-            case InfixExpr inf -> translateInfix(inf);
-            case PrefixExpr pre -> translatePrefix(pre);
-            case PostfixExpr post -> translatePostfix(post);
-            case TrifixExpr tri -> translateTrifix(tri);
-            case ParenExpr paren -> translate(paren.inner());
-            case MemberExpr mem -> translateMember(mem);
-            case IndexExpr idx -> translateIndex(idx);
+            case InfixExpr inf -> translateInfix(inf, params);
+            case PrefixExpr pre -> translatePrefix(pre, params);
+            case PostfixExpr post -> translatePostfix(post, params);
+            case TrifixExpr tri -> translateTrifix(tri, params);
+            case ParenExpr paren -> translate(paren.inner(), params);
+            case MemberExpr mem -> translateMember(mem, params);
+            case IndexExpr idx -> translateIndex(idx, params);
+            case AggregateExpr agg -> throw new UnsupportedOperationException(
+                agg.function() + " is an aggregate, evaluated per window not per record");
         };
     }
     
-    private static RuntimeExpr translateLiteral(LiteralNode lit) {
-        Object value = switch (lit) {
+    private static RuntimeExpr translateLiteral(LiteralNode lit, ParameterValues params) {
+        return new RuntimeExpr.Literal(literalValue(lit, params));
+    }
+
+    private static Object literalValue(LiteralNode lit, ParameterValues params) {
+        return switch (lit) {
             case BoolLiteralNode b -> b.value();
             case NumberLiteralNode n -> parseNumber(n.text());
             case StringLiteralNode s -> s.value();
             case BytesLiteralNode b -> b.text();  // Store raw text
             case NullLiteralNode n -> null;
-            case EnumLiteralNode e -> throw new UnsupportedOperationException("Enum literals in checks not yet supported");
+            case ParameterLiteralNode p -> {
+                ParameterRef ref = new ParameterRef(
+                    p.position(),
+                    p.name().isPresent() ? Optional.of(p.name().get().name()) : Optional.empty(),
+                    null);
+                yield literalValue(ParameterBinder.toLiteral(ref, params), params);
+            }
+            case EnumLiteralNode e -> e.symbol().name(); // Enum values compare equal to their symbol name
             case StructLiteralNode s -> throw new UnsupportedOperationException("Struct literals in checks not yet supported");
             case UnionLiteralNode u -> throw new UnsupportedOperationException("Union literals in checks not yet supported");
-            case ListLiteralNode l -> translateList(l);
+            case ListLiteralNode l -> translateList(l, params);
             case MapLiteralNode m -> throw new UnsupportedOperationException("Map literals in checks not yet supported");
         };
-        return new RuntimeExpr.Literal(value);
     }
     
     private static Object parseNumber(String text) {
@@ -62,18 +88,15 @@ public final class RuntimeExprTranslator {
         }
     }
     
-    private static Object translateList(ListLiteralNode list) {
+    private static Object translateList(ListLiteralNode list, ParameterValues params) {
         List<Object> values = new ArrayList<>();
         for (LiteralNode elem : list.elements()) {
-            RuntimeExpr translated = translateLiteral(elem);
-            if (translated instanceof RuntimeExpr.Literal lit) {
-                values.add(lit.value());
-            }
+            values.add(literalValue(elem, params));
         }
         return values;
     }
     
-    private static RuntimeExpr translateInfix(InfixExpr inf) {
+    private static RuntimeExpr translateInfix(InfixExpr inf, ParameterValues params) {
         RuntimeExpr.BinaryOp op = switch (inf.op()) {
             case EQ -> RuntimeExpr.BinaryOp.EQ;
             case NEQ -> RuntimeExpr.BinaryOp.NEQ;
@@ -96,39 +119,37 @@ public final class RuntimeExprTranslator {
             case IN -> RuntimeExpr.BinaryOp.IN;
             case CONCAT -> RuntimeExpr.BinaryOp.CONCAT;
         };
-        return new RuntimeExpr.Binary(op, translate(inf.left()), translate(inf.right()));
+        return new RuntimeExpr.Binary(op, translate(inf.left(), params), translate(inf.right(), params));
     }
     
-    private static RuntimeExpr translatePrefix(PrefixExpr pre) {
+    private static RuntimeExpr translatePrefix(PrefixExpr pre, ParameterValues params) {
         RuntimeExpr.UnaryOp op = switch (pre.op()) {
             case NOT -> RuntimeExpr.UnaryOp.NOT;
             case NEG -> RuntimeExpr.UnaryOp.NEGATE;
         };
-        return new RuntimeExpr.Unary(op, translate(pre.expr()));
+        return new RuntimeExpr.Unary(op, translate(pre.expr(), params));
     }
     
-    private static RuntimeExpr translatePostfix(PostfixExpr post) {
+    private static RuntimeExpr translatePostfix(PostfixExpr post, ParameterValues params) {
         RuntimeExpr.UnaryOp op = switch (post.op()) {
             case IS_NULL -> RuntimeExpr.UnaryOp.IS_NULL;
             case IS_NOT_NULL -> RuntimeExpr.UnaryOp.IS_NOT_NULL;
         };
-        return new RuntimeExpr.Unary(op, translate(post.expr()));
+        return new RuntimeExpr.Unary(op, translate(post.expr(), params));
     }
     
-    private static RuntimeExpr translateTrifix(TrifixExpr tri) {
+    private static RuntimeExpr translateTrifix(TrifixExpr tri, ParameterValues params) {
         RuntimeExpr.TernaryOp op = switch (tri.op()) {
             case BETWEEN -> RuntimeExpr.TernaryOp.BETWEEN;
         };
-        return new RuntimeExpr.Ternary(op, translate(tri.left()), translate(tri.middle()), translate(tri.right()));
+        return new RuntimeExpr.Ternary(op, translate(tri.left(), params), translate(tri.middle(), params), translate(tri.right(), params));
     }
     
-    private static RuntimeExpr translateMember(MemberExpr mem) {
-        // For checks, member access like "person.age" should be flattened to just "age"
-        // assuming the check is in the context of the person struct
-        throw new UnsupportedOperationException("Member expressions in checks not yet supported");
+    private static RuntimeExpr translateMember(MemberExpr mem, ParameterValues params) {
+        return new RuntimeExpr.Member(translate(mem.target(), params), mem.name().name());
     }
     
-    private static RuntimeExpr translateIndex(IndexExpr idx) {
-        throw new UnsupportedOperationException("Index expressions in checks not yet supported");
+    private static RuntimeExpr translateIndex(IndexExpr idx, ParameterValues params) {
+        return new RuntimeExpr.Index(translate(idx.target(), params), translate(idx.index(), params));
     }
 }
@@ -1,5 +1,6 @@
 package kafkasql.lang.syntax;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -83,6 +84,8 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
     private static class AstBuilder extends SqlStreamParserBaseVisitor<AstNode> {
         private final String _source;
         private final Diagnostics _diags;
+        private int _parameterCount = 0;  // Ordinal of the next positional parameter
+        private boolean _inDml = false;   // Parameters are only legal inside READ/WRITE
         
         public AstBuilder(String source, Diagnostics diags) {
             this._source = source;
@@ -254,8 +257,12 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
         // ========================================================================
 
         @Override
-        public ExplainStmt visitExplainStmt(SqlStreamParser.ExplainStmtContext ctx) {
+        public Stmt visitExplainStmt(SqlStreamParser.ExplainStmtContext ctx) {
             Range range = range(ctx);
+            if (ctx.readStmt() != null)
+                return new ExplainQueryStmt(range, visitReadStmt(ctx.readStmt()), ctx.ANALYZE() != null);
+            if (ctx.writeStmt() != null)
+                return new ExplainQueryStmt(range, visitWriteStmt(ctx.writeStmt()), ctx.ANALYZE() != null);
             QName target = visitQname(ctx.qname());
             return new ExplainStmt(range, target);
         }
@@ -277,7 +284,13 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
 
         @Override
         public AlterStmt visitAlterStmt(SqlStreamParser.AlterStmtContext ctx) {
-            return (AlterStmt) visit(ctx.alterTarget());
+            AlterStmt stmt = (AlterStmt) visit(ctx.alterTarget());
+            // Span the ALTER keyword too, so the statement text can be replayed
+            Range range = range(ctx);
+            return switch (stmt) {
+                case AlterStmt.AlterType t -> new AlterStmt.AlterType(range, t.target(), t.action());
+                case AlterStmt.AlterStream s -> new AlterStmt.AlterStream(range, s.target(), s.action());
+            };
         }
 
         @Override
@@ -449,7 +462,7 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
 
         @Override
         public Identifier visitIdentifier(SqlStreamParser.IdentifierContext ctx) {
-            if (ctx.ID() == null) {
+            if (ctx.ID() == null && ctx.softKeyword() == null) {
                 Range range = range(ctx);
                 _diags.syntaxError(
                     range,
@@ -457,7 +470,7 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
                 );
                 return new Identifier(range, "<error>");
             }
-            return new Identifier(range(ctx), ctx.ID().getText());
+            return new Identifier(range(ctx), ctx.getText());
         }
 
         @Override
@@ -992,9 +1005,17 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
         @Override
         public ReadStmt visitReadStmt(SqlStreamParser.ReadStmtContext ctx) {
             Range range = range(ctx);
+            ReadMode mode = ctx.LATEST() != null ? ReadMode.LATEST
+                : ctx.FOLLOW() != null ? ReadMode.FOLLOW
+                : ReadMode.ALL;
             QName stream = visitQname(ctx.qname());
-            AstListNode<ReadTypeBlock> blocks = visitReadBlockList(ctx.readBlockList());
-            return new ReadStmt(range, stream, blocks);
+            _inDml = true;
+            try {
+                AstListNode<ReadTypeBlock> blocks = visitReadBlockList(ctx.readBlockList());
+                return new ReadStmt(range, mode, stream, blocks);
+            } finally {
+                _inDml = false;
+            }
         }
 
         @Override
@@ -1011,7 +1032,9 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
             Identifier alias = visitTypeName(ctx.typeName());
             ProjectionNode proj = visitReadProjection(ctx.readProjection());
             AstOptionalNode<WhereNode> where = visitWhereClause(ctx.whereClause());
-            return new ReadTypeBlock(range, alias, proj, where);
+            AstListNode<Identifier> groupBy = visitGroupByClause(ctx.groupByClause());
+            AstOptionalNode<WindowNode> window = visitWindowClause(ctx.windowClause());
+            return new ReadTypeBlock(range, alias, proj, where, groupBy, window);
         }
 
         public ProjectionNode visitReadProjection(SqlStreamParser.ReadProjectionContext ctx) {
@@ -1051,13 +1074,92 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
             return AstOptionalNode.of(node, WhereNode.class);
         }
 
+        public AstListNode<Identifier> visitGroupByClause(SqlStreamParser.GroupByClauseContext ctx) {
+            AstListNode<Identifier> keys = new AstListNode<>(Identifier.class);
+            if (ctx == null)
+                return keys;
+            for (SqlStreamParser.IdentifierContext ic : ctx.identifier())
+                keys.add(visitIdentifier(ic));
+            return keys;
+        }
+
+        public AstOptionalNode<WindowNode> visitWindowClause(SqlStreamParser.WindowClauseContext ctx) {
+            if (ctx == null)
+                return AstOptionalNode.empty(WindowNode.class);
+            Range range = range(ctx);
+            String kindName = ctx.identifier().getText().toUpperCase(Locale.ROOT);
+            List<SqlStreamParser.DurationContext> durations = ctx.duration();
+            Duration size = parseDuration(durations.get(0));
+            Duration advance = durations.size() > 1 ? parseDuration(durations.get(1)) : null;
+
+            WindowKind kind;
+            switch (kindName) {
+                case "TUMBLING" -> {
+                    kind = WindowKind.TUMBLING;
+                    if (advance != null)
+                        reportSyntaxError(range, "TUMBLING window takes a single size");
+                    advance = size;
+                }
+                case "HOPPING" -> {
+                    kind = WindowKind.HOPPING;
+                    if (advance == null) {
+                        reportSyntaxError(range, "HOPPING window requires a size and an advance");
+                        advance = size;
+                    }
+                }
+                default -> {
+                    reportSyntaxError(range(ctx.identifier()),
+                        "Unknown window kind '" + ctx.identifier().getText() + "', expected TUMBLING or HOPPING");
+                    kind = WindowKind.TUMBLING;
+                    advance = size;
+                }
+            }
+            if (advance.compareTo(size) > 0)
+                reportSyntaxError(range, "Window advance cannot exceed its size");
+            return AstOptionalNode.of(new WindowNode(range, kind, size, advance), WindowNode.class);
+        }
+
+        /**
+         * Parse {@code <n> <unit>}; reports a syntax error and returns one
+         * second for a malformed duration so binding can continue.
+         */
+        private Duration parseDuration(SqlStreamParser.DurationContext ctx) {
+            long amount;
+            try {
+                amount = Long.parseLong(ctx.NUMBER_LIT().getText());
+            } catch (NumberFormatException e) {
+                amount = -1;
+            }
+            if (amount <= 0) {
+                reportSyntaxError(range(ctx), "Window duration must be a positive whole number");
+                return Duration.ofSeconds(1);
+            }
+            String unit = ctx.identifier().getText().toUpperCase(Locale.ROOT);
+            return switch (unit) {
+                case "MILLISECOND", "MILLISECONDS" -> Duration.ofMillis(amount);
+                case "SECOND", "SECONDS" -> Duration.ofSeconds(amount);
+                case "MINUTE", "MINUTES" -> Duration.ofMinutes(amount);
+                case "HOUR", "HOURS" -> Duration.ofHours(amount);
+                case "DAY", "DAYS" -> Duration.ofDays(amount);
+                default -> {
+                    reportSyntaxError(range(ctx.identifier()), "Unknown duration unit '" + ctx.identifier().getText() + "'");
+                    yield Duration.ofSeconds(1);
+                }
+            };
+        }
+
         @Override
         public WriteStmt visitWriteStmt(SqlStreamParser.WriteStmtContext ctx) {
             Range range = range(ctx);
             QName stream = visitQname(ctx.qname());
             Identifier alias = visitTypeName(ctx.typeName());
-            AstListNode<StructLiteralNode> values = visitWriteValueList(ctx.writeValueList());
-            return new WriteStmt(range, stream, alias, values);
+            _inDml = true;
+            try {
+                AstListNode<StructLiteralNode> values = visitWriteValueList(ctx.writeValueList());
+                return new WriteStmt(range, stream, alias, values);
+            } finally {
+                _inDml = false;
+            }
         }
 
         @Override
@@ -1355,6 +1457,9 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
                 LiteralNode lit = visitLiteral(ctx.literal());
                 return new LiteralExpr(range(ctx), lit);
             }
+            if (ctx.aggregateCall() != null) {
+                return visitAggregateCall(ctx.aggregateCall());
+            }
             if (ctx.identifier() != null) {
                 return new IdentifierExpr(range(ctx), visitIdentifier(ctx.identifier()));
             }
@@ -1364,6 +1469,27 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
             return new IdentifierExpr(range, new Identifier(range, "<error>"));
         }
 
+        @Override
+        public AggregateExpr visitAggregateCall(SqlStreamParser.AggregateCallContext ctx) {
+            Range range = range(ctx);
+            String name = ctx.identifier().getText().toUpperCase(Locale.ROOT);
+            AggregateFunction function;
+            try {
+                function = AggregateFunction.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                reportSyntaxError(range(ctx.identifier()), "Unknown function '" + ctx.identifier().getText() + "'");
+                function = AggregateFunction.COUNT;
+            }
+            AstOptionalNode<Expr> argument = AstOptionalNode.empty(Expr.class);
+            if (ctx.STAR() != null) {
+                if (function != AggregateFunction.COUNT)
+                    reportSyntaxError(range, function + "(*) is not supported, only COUNT(*)");
+            } else {
+                argument = AstOptionalNode.of(visitExpr(ctx.expr()), Expr.class);
+            }
+            return new AggregateExpr(range, function, argument);
+        }
+
         // ========================================================================
         // LITERALS
         // ========================================================================
@@ -1374,6 +1500,8 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
                 return new NullLiteralNode(range(ctx));
             if (ctx.literalValue() != null)
                 return visitLiteralValue(ctx.literalValue());
+            if (ctx.parameterLiteral() != null)
+                return visitParameterLiteral(ctx.parameterLiteral());
             if (ctx.braceLiteral() != null) {
                 var blc = ctx.braceLiteral();
                 if (blc instanceof SqlStreamParser.EmptyBraceLiteralContext e)
@@ -1396,6 +1524,20 @@ public final class Parser extends SqlStreamParserBaseVisitor<AstNode> {
             return new NullLiteralNode(range);
         }
 
+        @Override
+        public LiteralNode visitParameterLiteral(SqlStreamParser.ParameterLiteralContext ctx) {
+            Range range = range(ctx);
+            if (!_inDml) {
+                reportSyntaxError(range, "Parameters are only allowed in READ and WRITE statements");
+                return new NullLiteralNode(range);
+            }
+            if (ctx.identifier() != null) {
+                Identifier name = visitIdentifier(ctx.identifier());
+                return new ParameterLiteralNode(range, -1, AstOptionalNode.of(name, Identifier.class));
+            }
+            return new ParameterLiteralNode(range, _parameterCount++, AstOptionalNode.empty(Identifier.class));
+        }
+
         @Override
         public PrimitiveLiteralNode visitLiteralValue(SqlStreamParser.LiteralValueContext ctx) {
             Range range = range(ctx);
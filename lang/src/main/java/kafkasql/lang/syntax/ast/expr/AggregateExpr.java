@@ -0,0 +1,14 @@
+package kafkasql.lang.syntax.ast.expr;
+
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.lang.syntax.ast.AstOptionalNode;
+
+/**
+ * Aggregate call in a READ projection, e.g. {@code SUM(Amount)}.
+ * The argument is empty for {@code COUNT(*)}.
+ */
+public final record AggregateExpr(
+    Range range,
+    AggregateFunction function,
+    AstOptionalNode<Expr> argument
+) implements Expr { }
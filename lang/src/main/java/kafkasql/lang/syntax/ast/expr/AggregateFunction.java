@@ -0,0 +1,9 @@
+package kafkasql.lang.syntax.ast.expr;
+
+public enum AggregateFunction {
+    COUNT,
+    SUM,
+    MIN,
+    MAX,
+    AVG
+}
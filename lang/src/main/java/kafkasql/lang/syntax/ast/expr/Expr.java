@@ -5,4 +5,5 @@ import kafkasql.lang.syntax.ast.AstNode;
 public sealed interface Expr extends AstNode
     permits LiteralExpr, IdentifierExpr, PrefixExpr,
             InfixExpr, TrifixExpr, PostfixExpr,
-            MemberExpr, IndexExpr, ParenExpr { }
+            MemberExpr, IndexExpr, ParenExpr,
+            AggregateExpr { }
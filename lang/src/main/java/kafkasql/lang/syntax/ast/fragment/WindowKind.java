@@ -0,0 +1,6 @@
+package kafkasql.lang.syntax.ast.fragment;
+
+public enum WindowKind {
+    TUMBLING,
+    HOPPING
+}
@@ -0,0 +1,17 @@
+package kafkasql.lang.syntax.ast.fragment;
+
+import java.time.Duration;
+
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.lang.syntax.ast.AstNode;
+
+/**
+ * WINDOW clause of an aggregate READ block. Tumbling windows advance by
+ * their size; hopping windows advance by {@code advance}.
+ */
+public record WindowNode(
+    Range range,
+    WindowKind kind,
+    Duration size,
+    Duration advance
+) implements AstNode { }
@@ -4,6 +4,7 @@ import kafkasql.lang.syntax.ast.AstNode;
 
 public sealed interface LiteralNode extends AstNode
     permits NullLiteralNode,
+            ParameterLiteralNode,
             PrimitiveLiteralNode,
             CompositeLiteralNode,
             ComplexLiteralNode
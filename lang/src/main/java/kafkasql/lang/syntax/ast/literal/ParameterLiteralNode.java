@@ -0,0 +1,18 @@
+package kafkasql.lang.syntax.ast.literal;
+
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.lang.syntax.ast.AstOptionalNode;
+import kafkasql.lang.syntax.ast.misc.Identifier;
+
+/**
+ * A statement parameter in a literal position: positional ({@code ?})
+ * or named ({@code :name}).
+ * <p>
+ * {@code position} is the zero-based ordinal of a positional parameter
+ * within its script, or -1 for named parameters.
+ */
+public final record ParameterLiteralNode(
+    Range range,
+    int position,
+    AstOptionalNode<Identifier> name
+) implements LiteralNode { }
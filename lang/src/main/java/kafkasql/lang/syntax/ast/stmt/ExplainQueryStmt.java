@@ -0,0 +1,15 @@
+package kafkasql.lang.syntax.ast.stmt;
+
+import kafkasql.runtime.diagnostics.Range;
+
+/**
+ * {@code EXPLAIN [ANALYZE] READ ...} or {@code EXPLAIN [ANALYZE] WRITE ...}.
+ *
+ * @param query   The READ or WRITE statement to plan
+ * @param analyze Run the statement and report per-operator statistics
+ */
+public record ExplainQueryStmt(
+    Range range,
+    Stmt query,
+    boolean analyze
+) implements Stmt { }
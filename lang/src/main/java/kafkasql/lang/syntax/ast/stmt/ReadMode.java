@@ -0,0 +1,13 @@
+package kafkasql.lang.syntax.ast.stmt;
+
+/**
+ * How a READ statement scans its stream.
+ */
+public enum ReadMode {
+    /** Every record in the stream (full history). */
+    ALL,
+    /** Only the last record per DISTRIBUTE BY key (table semantics). */
+    LATEST,
+    /** Full history, then every new record as it is written (continuous). */
+    FOLLOW
+}
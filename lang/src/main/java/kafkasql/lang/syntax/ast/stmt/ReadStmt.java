@@ -6,6 +6,7 @@ import kafkasql.lang.syntax.ast.misc.QName;
 
 public record ReadStmt(
     Range range,
+    ReadMode mode,
     QName stream,
     AstListNode<ReadTypeBlock> blocks
 ) implements Stmt { }
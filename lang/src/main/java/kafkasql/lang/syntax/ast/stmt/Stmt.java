@@ -7,6 +7,7 @@ public sealed interface Stmt
     permits UseStmt,
             ShowStmt,
             ExplainStmt,
+            ExplainQueryStmt,
             CreateStmt,
             AlterStmt,
             DropStmt,
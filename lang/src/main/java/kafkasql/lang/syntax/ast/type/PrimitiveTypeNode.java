@@ -34,6 +34,14 @@ public final class PrimitiveTypeNode implements TypeNode {
         _scale = scale;
     }
 
+    private PrimitiveTypeNode(Range range, PrimitiveKind type, Long length, Long precision, Long scale) {
+        _range = range;
+        _kind = type;
+        _length = length;
+        _precision = precision;
+        _scale = scale;
+    }
+
     public Range range() {
         return _range;
     }
@@ -66,6 +74,14 @@ public final class PrimitiveTypeNode implements TypeNode {
         return _scale;
     }
 
+    /**
+     * Rebuilds a node from its parts, e.g. when decoding a persisted
+     * declaration.
+     */
+    public static PrimitiveTypeNode of(Range range, PrimitiveKind kind, Long length, Long precision, Long scale) {
+        return new PrimitiveTypeNode(range, kind, length, precision, scale);
+    }
+
     public static PrimitiveTypeNode createBool(Range range) {
         return new PrimitiveTypeNode(range, PrimitiveKind.BOOLEAN);
     }
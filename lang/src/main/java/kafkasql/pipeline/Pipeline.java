@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import kafkasql.runtime.diagnostics.Diagnostics;
+import kafkasql.runtime.jfr.PipelinePhaseEvent;
 
 /**
  * Immutable, reusable pipeline that executes phases in sequence.
@@ -58,7 +59,15 @@ public final class Pipeline {
                 System.err.println("[Pipeline] Executing phase: " + phase.name());
             }
             
+            PipelinePhaseEvent event = new PipelinePhaseEvent();
+            event.begin();
             PhaseResult result = phase.execute(context, model);
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.inputs = context.inputs().size();
+                event.errors = result.diagnostics().errors().size();
+                event.commit();
+            }
             
             // Merge phase diagnostics into overall diagnostics
             result.diagnostics().all().forEach(d -> {
@@ -228,6 +228,25 @@ public class CreateStatementsTest {
         assertTrue(fields.get(6).nullable().isPresent());
     }
 
+    @Test
+    void softKeywordsAreValidFieldNames() {
+        var stmts = TestHelpers.parseAssert("""
+            CREATE TYPE Session AS STRUCT (
+                Window INT32,
+                Group STRING,
+                Analyze BOOLEAN,
+                Follow STRING NULL
+            );
+            """);
+        CreateStmt cstmt = TestHelpers.only(stmts, CreateStmt.class);
+        TypeDecl typeDecl = TestHelpers.assertDecl(TypeDecl.class, cstmt.decl(), "Session");
+        StructDecl st = TestHelpers.assertTypeDecl(StructDecl.class, typeDecl.kind());
+
+        assertEquals(
+            List.of("Window", "Group", "Analyze", "Follow"),
+            st.fields().stream().map(f -> f.name().name()).toList());
+    }
+
     @Test
     void nestedCompositeTypes() {
         var stmts = TestHelpers.parseAssert("""
@@ -114,6 +114,23 @@ class ShowExplainStatementsTest {
         assertEquals("com.example.MyType", stmt.target().fullName());
     }
 
+    @Test
+    void explainRead() {
+        var stmts = TestHelpers.parseAssert("EXPLAIN READ FROM com.Events TYPE Click * WHERE Id = 1;");
+        ExplainQueryStmt stmt = TestHelpers.only(stmts, ExplainQueryStmt.class);
+        assertFalse(stmt.analyze());
+        ReadStmt read = assertInstanceOf(ReadStmt.class, stmt.query());
+        assertEquals("com.Events", read.stream().fullName());
+    }
+
+    @Test
+    void explainAnalyzeWrite() {
+        var stmts = TestHelpers.parseAssert("EXPLAIN ANALYZE WRITE TO com.Events TYPE Click VALUES({Id: 1});");
+        ExplainQueryStmt stmt = TestHelpers.only(stmts, ExplainQueryStmt.class);
+        assertTrue(stmt.analyze());
+        assertInstanceOf(WriteStmt.class, stmt.query());
+    }
+
     @Test
     void mixedStatements() {
         var stmts = TestHelpers.parseAssert("""
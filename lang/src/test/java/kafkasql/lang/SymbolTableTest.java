@@ -0,0 +1,218 @@
+package kafkasql.lang;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import kafkasql.lang.semantic.SemanticModel;
+import kafkasql.lang.semantic.symbol.SymbolTable;
+import kafkasql.lang.syntax.ast.AstListNode;
+import kafkasql.lang.syntax.ast.decl.ContextDecl;
+import kafkasql.lang.syntax.ast.fragment.DeclFragment;
+import kafkasql.lang.syntax.ast.misc.Identifier;
+import kafkasql.runtime.Name;
+import kafkasql.runtime.diagnostics.Range;
+import kafkasql.util.TestHelpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolTableTest {
+
+    private static ContextDecl context(String name) {
+        return new ContextDecl(
+            Range.NONE,
+            new Identifier(Range.NONE, name),
+            new AstListNode<>(DeclFragment.class));
+    }
+
+    @Test
+    public void nameOfMatchesByIdentity() {
+        SymbolTable symbols = new SymbolTable();
+        ContextDecl com = context("com");
+        symbols.register(Name.of("com"), com);
+
+        assertEquals(Name.of("com"), symbols.nameOf(com).orElseThrow());
+        assertTrue(symbols.nameOf(context("com")).isEmpty());
+    }
+
+    @Test
+    public void indexesFollowRegisterReplaceAndRemove() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.register(Name.of("com"), context("com"));
+        symbols.register(Name.of("com", "b"), context("b"));
+        symbols.register(Name.of("com", "a"), context("a"));
+        symbols.register(Name.of("com.a", "deep"), context("deep"));
+
+        assertEquals(List.of(Name.of("com")), List.copyOf(symbols.childrenOf(Name.ROOT)));
+        assertEquals(List.of(Name.of("com", "a"), Name.of("com", "b")),
+            List.copyOf(symbols.childrenOf(Name.of("com"))));
+        assertEquals(4, symbols.namesOf(ContextDecl.class).size());
+        assertEquals(3, symbols.descendantsOf(Name.of("com")).size());
+
+        ContextDecl replacement = context("b");
+        symbols.replace(Name.of("com", "b"), replacement);
+        assertEquals(Name.of("com", "b"), symbols.nameOf(replacement).orElseThrow());
+
+        symbols.remove(Name.of("COM", "A"));
+        assertEquals(List.of(Name.of("com", "b")), List.copyOf(symbols.childrenOf(Name.of("com"))));
+        assertEquals(3, symbols.namesOf(ContextDecl.class).size());
+    }
+
+    @Test
+    public void declMapIsReadOnly() {
+        SymbolTable symbols = new SymbolTable();
+        assertThrows(UnsupportedOperationException.class,
+            () -> symbols._decl.put(Name.of("x"), context("x")));
+    }
+
+    @Test
+    public void rollbackUndoesChangesSinceMark() {
+        SymbolTable symbols = new SymbolTable();
+        ContextDecl com = context("com");
+        ContextDecl org = context("org");
+        symbols.register(Name.of("com"), com);
+        symbols.register(Name.of("org"), org);
+
+        int mark = symbols.mark();
+        symbols.register(Name.of("net"), context("net"));
+        symbols.replace(Name.of("com"), context("com"));
+        symbols.remove(Name.of("org"));
+        assertEquals(3, symbols.changesSince(mark).size());
+
+        symbols.rollback(mark);
+
+        assertEquals(List.of(Name.of("com"), Name.of("org")), List.copyOf(symbols.childrenOf(Name.ROOT)));
+        assertSame(com, symbols.lookupContext(Name.of("com")).orElseThrow());
+        assertEquals(Name.of("org"), symbols.nameOf(org).orElseThrow());
+    }
+
+    @Test
+    public void netChangesSinceMark() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.register(Name.of("com"), context("com"));
+        symbols.register(Name.of("org"), context("org"));
+
+        int mark = symbols.mark();
+        symbols.register(Name.of("net"), context("net"));
+        symbols.register(Name.of("tmp"), context("tmp"));
+        symbols.remove(Name.of("tmp"));
+        symbols.remove(Name.of("org"));
+        symbols.remove(Name.of("com"));
+        symbols.register(Name.of("com"), context("com"));
+
+        assertEquals(Set.of(Name.of("net")), symbols.registeredSince(mark));
+        assertEquals(Set.of(Name.of("org")), symbols.removedSince(mark));
+
+        symbols.commit(mark);
+        assertThrows(IllegalStateException.class, () -> symbols.commit(mark));
+    }
+
+    private static SemanticModel bind(SymbolTable symbols, String text) {
+        SemanticModel model = KafkaSqlParser.bind(TestHelpers.parse(text), symbols);
+        assertFalse(model.hasErrors(), () -> model.diags().toString());
+        return model;
+    }
+
+    @Test
+    public void dependencyGraphTracksNestedTypeReferences() {
+        SymbolTable symbols = new SymbolTable();
+        bind(symbols, """
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Money AS SCALAR DECIMAL(10, 2);
+            CREATE TYPE Line AS STRUCT (Amount com.Money);
+            CREATE TYPE Order AS STRUCT (
+                Lines LIST<com.Line>,
+                ByCode MAP<STRING, com.Line>
+            );
+            CREATE STREAM Orders (TYPE Placed AS com.Order);
+            """);
+
+        var graph = symbols.dependencies();
+        assertEquals(Set.of(Name.of("com", "Line")), graph.dependentsOf(Name.of("com", "Money")));
+        assertEquals(Set.of(Name.of("com", "Order")), graph.dependentsOf(Name.of("com", "Line")));
+        assertEquals(
+            List.of(Name.of("com", "Line"), Name.of("com", "Order"), Name.of("com", "Orders")),
+            List.copyOf(graph.transitiveDependentsOf(Name.of("com", "Money"))));
+    }
+
+    @Test
+    public void dependencyGraphFollowsRemoveAndRollback() {
+        SymbolTable symbols = new SymbolTable();
+        bind(symbols, """
+            CREATE CONTEXT com;
+            USE CONTEXT com;
+            CREATE TYPE Money AS SCALAR DECIMAL(10, 2);
+            CREATE TYPE Line AS STRUCT (Amount com.Money);
+            """);
+        Name money = Name.of("com", "Money");
+
+        int mark = symbols.mark();
+        symbols.remove(Name.of("com", "Line"));
+        assertTrue(symbols.dependencies().dependentsOf(money).isEmpty());
+
+        symbols.rollback(mark);
+        assertEquals(Set.of(Name.of("com", "Line")), symbols.dependencies().dependentsOf(money));
+    }
+
+    @Test
+    public void snapshotIsReadOnlyAndDetached() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.register(Name.of("com"), context("com"));
+
+        SymbolTable snapshot = symbols.snapshot();
+        symbols.register(Name.of("org"), context("org"));
+
+        assertTrue(snapshot.isReadOnly());
+        assertEquals(1, snapshot.version());
+        assertEquals(List.of(Name.of("com")), List.copyOf(snapshot.childrenOf(Name.ROOT)));
+        assertThrows(IllegalStateException.class, () -> snapshot.register(Name.of("net"), context("net")));
+        assertThrows(IllegalStateException.class, snapshot::mark);
+    }
+
+    @Test
+    public void snapshotsShareIndexesAcrossManyMutations() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 2000; i++) {
+            symbols.register(Name.of("c" + i), context("c" + i));
+        }
+        SymbolTable before = symbols.snapshot();
+
+        for (int i = 0; i < 2000; i += 2) {
+            symbols.remove(Name.of("C" + i));
+        }
+        SymbolTable after = symbols.snapshot();
+
+        assertEquals(2000, before._decl.size());
+        assertEquals(2000, before.childrenOf(Name.ROOT).size());
+        assertEquals(1000, after._decl.size());
+        assertEquals(1000, after.namesOf(ContextDecl.class).size());
+        for (int i = 0; i < 2000; i++) {
+            Name name = Name.of("c" + i);
+            assertTrue(before.hasKey(name));
+            assertEquals(i % 2 == 1, after.hasKey(name));
+            assertEquals(i % 2 == 1, after.nameOf(before._decl.get(name)).isPresent());
+        }
+    }
+
+    @Test
+    public void sortedListingsAreReusedUntilTheirBucketChanges() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.register(Name.of("com"), context("com"));
+        symbols.register(Name.of("com", "a"), context("a"));
+
+        var children = symbols.childrenOf(Name.of("com"));
+        assertSame(children, symbols.childrenOf(Name.of("com")));
+
+        // Another bucket changes: this listing is not re-sorted
+        symbols.register(Name.of("org"), context("org"));
+        assertSame(children, symbols.childrenOf(Name.of("com")));
+        assertSame(children, symbols.snapshot().childrenOf(Name.of("com")));
+
+        symbols.register(Name.of("com", "b"), context("b"));
+        assertEquals(List.of(Name.of("com", "a"), Name.of("com", "b")),
+            List.copyOf(symbols.childrenOf(Name.of("com"))));
+        assertEquals(List.of(Name.of("com", "a")), List.copyOf(children));
+    }
+}
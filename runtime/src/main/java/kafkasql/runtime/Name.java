@@ -1,48 +1,96 @@
 package kafkasql.runtime;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Name {
-    public static final Name ROOT = new Name("");
-    private static final Map<String, Name> CACHE = new HashMap<>();
+    public static final Name ROOT = new Name("", "");
     private static final String SEPARATOR = ".";
+
+    // Interned names by their full name split at its last separator, so
+    // of("a.b") and of("a", "b") share an entry; weak values so names
+    // nobody holds any more can be collected
+    private static final ConcurrentHashMap<Key, NameRef> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Name> COLLECTED = new ReferenceQueue<>();
+
+    static {
+        Key root = new Key("", "");
+        CACHE.put(root, new NameRef(ROOT, root));
+    }
+
     private final String _fullName;      // Original casing for display/codegen
     private final String _canonicalName; // Lowercase for case-insensitive lookups
+    private final String _context;       // Segments of _fullName around the last separator
+    private final String _name;
+    private final int _hash;
 
-    private Name(String fullName) {
-        _fullName = fullName;
-        _canonicalName = fullName.toLowerCase();
+    private Name(String context, String name) {
+        _fullName = context.isEmpty() ? name : context + SEPARATOR + name;
+        _canonicalName = _fullName.toLowerCase();
+        _hash = _canonicalName.hashCode();
+        int idx = _fullName.lastIndexOf(SEPARATOR);
+        _context = idx == -1 ? "" : _fullName.substring(0, idx);
+        _name = idx == -1 ? _fullName : _fullName.substring(idx + 1);
     }
 
+    /**
+     * The interned name for a context and a name: one instance per full
+     * name as spelled, however it is split between the two. Safe to call
+     * from any thread; a cache hit on a simple name allocates no strings.
+     */
     public static Name of(String context, String name) {
-        String fullName = context.isEmpty() ?
-            name :
-            context + SEPARATOR + name
-        ;
-        return CACHE.computeIfAbsent(
-            fullName, k -> new Name(fullName)
-        );
+        int idx = name.lastIndexOf(SEPARATOR);
+        if (idx != -1) {
+            String prefix = name.substring(0, idx);
+            return of(context.isEmpty() ? prefix : context + SEPARATOR + prefix, name.substring(idx + 1));
+        }
+        Key key = new Key(context, name);
+        NameRef ref = CACHE.get(key);
+        Name cached = ref == null ? null : ref.get();
+        if (cached != null)
+            return cached;
+
+        expungeCollected();
+        Name[] interned = new Name[1];
+        CACHE.compute(key, (k, existing) -> {
+            Name live = existing == null ? null : existing.get();
+            if (live != null) {
+                interned[0] = live;
+                return existing;
+            }
+            interned[0] = new Name(context, name);
+            return new NameRef(interned[0], k);
+        });
+        return interned[0];
     }
 
-    public static Name of(String name) {;
+    public static Name of(String name) {
         return of("", name);
     }
 
+    /**
+     * Number of live interned names, for diagnostics.
+     */
+    public static int internedCount() {
+        expungeCollected();
+        return CACHE.size();
+    }
+
+    private static void expungeCollected() {
+        for (Reference<? extends Name> ref; (ref = COLLECTED.poll()) != null; ) {
+            NameRef collected = (NameRef) ref;
+            CACHE.remove(collected.key, collected);
+        }
+    }
+
     public String name() {
-        int idx = _fullName.lastIndexOf(SEPARATOR);
-        if (idx == -1)
-            return _fullName;
-        else
-            return _fullName.substring(idx + 1);
+        return _name;
     }
 
     public String context() {
-        int idx = _fullName.lastIndexOf(SEPARATOR);
-        if (idx == -1)
-            return "";
-        else
-            return _fullName.substring(0, idx);
+        return _context;
     }
 
     public String fullName() {
@@ -65,13 +113,25 @@ public final class Name {
     @Override
     public boolean equals(Object o) {
         return switch (o) {
-            case Name other -> _canonicalName.equals(other._canonicalName);
+            case Name other -> this == other
+                || (_hash == other._hash && _canonicalName.equals(other._canonicalName));
             default -> false;
         };
     }
 
     @Override
     public int hashCode() {
-        return _canonicalName.hashCode();
+        return _hash;
+    }
+
+    private record Key(String context, String name) { }
+
+    private static final class NameRef extends WeakReference<Name> {
+        private final Key key;
+
+        NameRef(Name name, Key key) {
+            super(name, COLLECTED);
+            this.key = key;
+        }
     }
 }
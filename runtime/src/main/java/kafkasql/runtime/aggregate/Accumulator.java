@@ -0,0 +1,21 @@
+package kafkasql.runtime.aggregate;
+
+/**
+ * Running state of one aggregate over one group and window.
+ * <p>
+ * Accumulators hold a fixed amount of state regardless of how many
+ * values they have seen. Null values are ignored, as in SQL.
+ */
+public interface Accumulator {
+
+    /**
+     * Fold one value into the aggregate.
+     */
+    void add(Object value);
+
+    /**
+     * The aggregate over the values seen so far, or null if none were
+     * seen (COUNT returns 0).
+     */
+    Object result();
+}
@@ -0,0 +1,215 @@
+package kafkasql.runtime.aggregate;
+
+import java.math.BigDecimal;
+
+import kafkasql.runtime.type.PrimitiveKind;
+
+/**
+ * Factories for {@link Accumulator}s, specialized by the argument's
+ * primitive kind so integral and floating point aggregates run on
+ * {@code long}/{@code double} state without boxing per value.
+ */
+public final class Accumulators {
+
+    private Accumulators() {}
+
+    /**
+     * COUNT: number of non-null values. Feed a non-null marker per
+     * record for {@code COUNT(*)}.
+     */
+    public static Accumulator count() {
+        return new Count();
+    }
+
+    /**
+     * SUM: INT64 for integral kinds, DECIMAL for DECIMAL, else FLOAT64.
+     */
+    public static Accumulator sum(PrimitiveKind kind) {
+        return switch (kind) {
+            case INT8, INT16, INT32, INT64 -> new LongSum();
+            case DECIMAL -> new DecimalSum();
+            default -> new DoubleSum();
+        };
+    }
+
+    public static Accumulator min(PrimitiveKind kind) {
+        return extreme(kind, -1);
+    }
+
+    public static Accumulator max(PrimitiveKind kind) {
+        return extreme(kind, 1);
+    }
+
+    /**
+     * AVG: arithmetic mean as FLOAT64.
+     */
+    public static Accumulator avg() {
+        return new Avg();
+    }
+
+    private static Accumulator extreme(PrimitiveKind kind, int sign) {
+        return switch (kind) {
+            case INT8, INT16, INT32, INT64 -> new LongExtreme(sign);
+            case FLOAT32, FLOAT64 -> new DoubleExtreme(sign);
+            default -> new ComparableExtreme(sign);
+        };
+    }
+
+    private static final class Count implements Accumulator {
+        private long count;
+
+        @Override
+        public void add(Object value) {
+            if (value != null) count++;
+        }
+
+        @Override
+        public Object result() {
+            return count;
+        }
+    }
+
+    private static final class LongSum implements Accumulator {
+        private long sum;
+        private boolean seen;
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            sum = Math.addExact(sum, ((Number) value).longValue());
+            seen = true;
+        }
+
+        @Override
+        public Object result() {
+            return seen ? sum : null;
+        }
+    }
+
+    private static final class DoubleSum implements Accumulator {
+        private double sum;
+        private boolean seen;
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            sum += ((Number) value).doubleValue();
+            seen = true;
+        }
+
+        @Override
+        public Object result() {
+            return seen ? sum : null;
+        }
+    }
+
+    private static final class DecimalSum implements Accumulator {
+        private BigDecimal sum;
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            BigDecimal v = value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+            sum = sum == null ? v : sum.add(v);
+        }
+
+        @Override
+        public Object result() {
+            return sum;
+        }
+    }
+
+    private static final class Avg implements Accumulator {
+        private double sum;
+        private long count;
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            sum += ((Number) value).doubleValue();
+            count++;
+        }
+
+        @Override
+        public Object result() {
+            return count == 0 ? null : sum / count;
+        }
+    }
+
+    /** MIN (sign -1) or MAX (sign 1) over integral values. */
+    private static final class LongExtreme implements Accumulator {
+        private final int sign;
+        private long best;
+        private boolean seen;
+
+        LongExtreme(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            long v = ((Number) value).longValue();
+            if (!seen || Long.compare(v, best) * sign > 0) {
+                best = v;
+                seen = true;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return seen ? best : null;
+        }
+    }
+
+    /** MIN (sign -1) or MAX (sign 1) over floating point values. */
+    private static final class DoubleExtreme implements Accumulator {
+        private final int sign;
+        private double best;
+        private boolean seen;
+
+        DoubleExtreme(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        public void add(Object value) {
+            if (value == null) return;
+            double v = ((Number) value).doubleValue();
+            if (!seen || Double.compare(v, best) * sign > 0) {
+                best = v;
+                seen = true;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return seen ? best : null;
+        }
+    }
+
+    /** MIN (sign -1) or MAX (sign 1) over any other comparable values. */
+    private static final class ComparableExtreme implements Accumulator {
+        private final int sign;
+        private Comparable<Object> best;
+
+        ComparableExtreme(int sign) {
+            this.sign = sign;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void add(Object value) {
+            if (value == null) return;
+            Comparable<Object> v = (Comparable<Object>) value;
+            if (best == null || v.compareTo(best) * sign > 0) {
+                best = v;
+            }
+        }
+
+        @Override
+        public Object result() {
+            return best;
+        }
+    }
+}
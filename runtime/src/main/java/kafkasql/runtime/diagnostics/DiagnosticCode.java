@@ -34,6 +34,7 @@ public enum DiagnosticCode {
     INVALID_OPERATOR,
     INVALID_PROJECTION,
     INVALID_WHERE_TYPE,
+    INVALID_AGGREGATE,
 
     // Runtime
     RUNTIME_ERROR,
@@ -4,9 +4,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
 
+import kafkasql.runtime.type.PrimitiveKind;
+import kafkasql.runtime.type.StructLayout;
+import kafkasql.runtime.value.EnumValue;
+import kafkasql.runtime.value.StructValue;
+import kafkasql.runtime.value.UnionValue;
+
 /**
  * Evaluates runtime expressions against a value environment.
- * Used for CHECK constraint validation.
+ * Used for CHECK constraint validation and READ filters/projections.
  */
 public final class ExpressionEvaluator {
     
@@ -32,16 +38,236 @@ public final class ExpressionEvaluator {
             case RuntimeExpr.Binary bin -> evaluateBinary(bin, env);
             case RuntimeExpr.Unary un -> evaluateUnary(un, env);
             case RuntimeExpr.Ternary ter -> evaluateTernary(ter, env);
+            case RuntimeExpr.Member mem -> member(evaluate(mem.target(), env), mem.name());
+            case RuntimeExpr.Index idx -> index(evaluate(idx.target(), env), evaluate(idx.index(), env));
         };
     }
     
+    /**
+     * Evaluate a predicate against a struct value: true if the expression
+     * evaluates to TRUE with the value's fields as the environment.
+     * <p>
+     * Comparisons, BETWEEN, IS [NOT] NULL, NOT, AND and OR over integer
+     * arithmetic and over fields kept unboxed are computed on primitives,
+     * reading the fields with {@link StructValue#getLong} and friends. Any
+     * other expression, or one over a field that is absent or boxed, is
+     * evaluated as {@code Boolean.TRUE.equals(evaluate(expr, row.fields()))},
+     * with the same result.
+     */
+    public static boolean test(RuntimeExpr expr, StructValue row) {
+        int truth = truth(expr, row);
+        if (truth != UNKNOWN) {
+            return truth == TRUE;
+        }
+        return Boolean.TRUE.equals(evaluate(expr, row.fields()));
+    }
+
+    // Unboxed evaluation for test(): a truth value, or UNKNOWN to evaluate boxed
+
+    private static final int UNKNOWN = -1;
+    private static final int FALSE = 0;
+    private static final int TRUE = 1;
+
+    // Numeric class of an expression: how its boxed evaluation would behave
+
+    private static final int NONE = 0;     // Not computed unboxed
+    private static final int SMALL = 1;    // Byte or Short: negation goes to BigDecimal
+    private static final int INT = 2;      // Integer: negation stays int
+    private static final int LONG = 3;     // Long, or integer arithmetic
+    private static final int FLOATING = 4; // Float or Double field or literal, no arithmetic
+
+    private static int truth(RuntimeExpr expr, StructValue row) {
+        return switch (expr) {
+            case RuntimeExpr.Literal lit -> lit.value() instanceof Boolean b ? truth(b) : UNKNOWN;
+            case RuntimeExpr.Identifier id -> {
+                int slot = packedSlot(id, row);
+                yield slot >= 0 && row.type().layout().kind(slot) == PrimitiveKind.BOOLEAN
+                    ? truth(row.getBoolean(slot))
+                    : UNKNOWN;
+            }
+            case RuntimeExpr.Binary bin -> switch (bin.op()) {
+                case EQ, NEQ, LT, LTE, GT, GTE -> {
+                    int cmp = compareUnboxed(bin.left(), bin.right(), row);
+                    if (cmp != Integer.MIN_VALUE) {
+                        yield truth(switch (bin.op()) {
+                            case EQ -> cmp == 0;
+                            case NEQ -> cmp != 0;
+                            case LT -> cmp < 0;
+                            case LTE -> cmp <= 0;
+                            case GT -> cmp > 0;
+                            default -> cmp >= 0;
+                        });
+                    }
+                    if (bin.op() == RuntimeExpr.BinaryOp.EQ || bin.op() == RuntimeExpr.BinaryOp.NEQ) {
+                        int left = truth(bin.left(), row);
+                        int right = truth(bin.right(), row);
+                        if (left != UNKNOWN && right != UNKNOWN) {
+                            yield truth((left == right) == (bin.op() == RuntimeExpr.BinaryOp.EQ));
+                        }
+                    }
+                    yield UNKNOWN;
+                }
+                case AND, OR -> {
+                    // Both sides, as the boxed evaluation does not short-circuit
+                    int left = truth(bin.left(), row);
+                    int right = truth(bin.right(), row);
+                    if (left == UNKNOWN || right == UNKNOWN) {
+                        yield UNKNOWN;
+                    }
+                    yield bin.op() == RuntimeExpr.BinaryOp.AND ? left & right : left | right;
+                }
+                default -> UNKNOWN;
+            };
+            case RuntimeExpr.Unary un -> switch (un.op()) {
+                case NOT -> {
+                    int inner = truth(un.expr(), row);
+                    yield inner == UNKNOWN ? UNKNOWN : inner ^ 1;
+                }
+                case IS_NULL, IS_NOT_NULL -> {
+                    if (!(un.expr() instanceof RuntimeExpr.Identifier id)) {
+                        yield UNKNOWN;
+                    }
+                    int slot = row.type().layout().slotOf(id.name());
+                    if (slot < 0 || !row.has(slot)) {
+                        yield UNKNOWN;
+                    }
+                    yield truth(row.isNull(slot) == (un.op() == RuntimeExpr.UnaryOp.IS_NULL));
+                }
+                default -> UNKNOWN;
+            };
+            case RuntimeExpr.Ternary ter -> {
+                int lower = compareUnboxed(ter.first(), ter.second(), row);
+                int upper = compareUnboxed(ter.first(), ter.third(), row);
+                yield lower == Integer.MIN_VALUE || upper == Integer.MIN_VALUE
+                    ? UNKNOWN
+                    : truth(lower >= 0 && upper <= 0);
+            }
+            default -> UNKNOWN;
+        };
+    }
+
+    private static int truth(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Compares two numeric expressions unboxed: both integer, or both
+     * finite floating-point. Returns Integer.MIN_VALUE if they are not.
+     */
+    private static int compareUnboxed(RuntimeExpr a, RuntimeExpr b, StructValue row) {
+        int left = numeric(a, row);
+        int right = numeric(b, row);
+        if (left == NONE || right == NONE) {
+            return Integer.MIN_VALUE;
+        }
+        if (left != FLOATING && right != FLOATING) {
+            return Long.compare(longValue(a, row), longValue(b, row));
+        }
+        if (left == FLOATING && right == FLOATING) {
+            double x = doubleValue(a, row);
+            double y = doubleValue(b, row);
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                return Integer.MIN_VALUE; // Boxed comparison rejects these
+            }
+            return x < y ? -1 : x > y ? 1 : 0;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private static int numeric(RuntimeExpr expr, StructValue row) {
+        return switch (expr) {
+            case RuntimeExpr.Literal lit -> switch (lit.value()) {
+                case Byte b -> SMALL;
+                case Short s -> SMALL;
+                case Integer i -> INT;
+                case Long l -> LONG;
+                case Float f -> FLOATING;
+                case Double d -> FLOATING;
+                case null, default -> NONE;
+            };
+            case RuntimeExpr.Identifier id -> {
+                int slot = packedSlot(id, row);
+                if (slot < 0) {
+                    yield NONE;
+                }
+                yield switch (row.type().layout().kind(slot)) {
+                    case INT8, INT16 -> SMALL;
+                    case INT32 -> INT;
+                    case INT64 -> LONG;
+                    case FLOAT32, FLOAT64 -> FLOATING;
+                    default -> NONE;
+                };
+            }
+            case RuntimeExpr.Binary bin -> switch (bin.op()) {
+                case ADD, SUB, MUL, DIV, MOD -> {
+                    int left = numeric(bin.left(), row);
+                    int right = numeric(bin.right(), row);
+                    yield left != NONE && left != FLOATING && right != NONE && right != FLOATING ? LONG : NONE;
+                }
+                default -> NONE;
+            };
+            case RuntimeExpr.Unary un when un.op() == RuntimeExpr.UnaryOp.NEGATE -> {
+                int inner = numeric(un.expr(), row);
+                yield inner == SMALL ? NONE : inner;
+            }
+            default -> NONE;
+        };
+    }
+
+    /**
+     * Value of an expression {@link #numeric} classed as an integer.
+     */
+    private static long longValue(RuntimeExpr expr, StructValue row) {
+        return switch (expr) {
+            case RuntimeExpr.Literal lit -> ((Number) lit.value()).longValue();
+            case RuntimeExpr.Identifier id -> row.getLong(row.type().layout().slotOf(id.name()));
+            case RuntimeExpr.Binary bin -> {
+                long a = longValue(bin.left(), row);
+                long b = longValue(bin.right(), row);
+                yield switch (bin.op()) {
+                    case ADD -> a + b;
+                    case SUB -> a - b;
+                    case MUL -> a * b;
+                    case DIV -> a / b;
+                    case MOD -> a % b;
+                    default -> throw new IllegalStateException("Not arithmetic: " + bin.op());
+                };
+            }
+            case RuntimeExpr.Unary un -> numeric(un.expr(), row) == INT
+                ? -(int) longValue(un.expr(), row)
+                : -longValue(un.expr(), row);
+            default -> throw new IllegalStateException("Not an integer expression: " + expr);
+        };
+    }
+
+    /**
+     * Value of an expression {@link #numeric} classed as floating-point.
+     */
+    private static double doubleValue(RuntimeExpr expr, StructValue row) {
+        return switch (expr) {
+            case RuntimeExpr.Literal lit -> ((Number) lit.value()).doubleValue();
+            case RuntimeExpr.Identifier id -> row.getDouble(row.type().layout().slotOf(id.name()));
+            case RuntimeExpr.Unary un -> -doubleValue(un.expr(), row);
+            default -> throw new IllegalStateException("Not a floating-point expression: " + expr);
+        };
+    }
+
+    /**
+     * Slot of a field the row keeps unboxed, or -1.
+     */
+    private static int packedSlot(RuntimeExpr.Identifier id, StructValue row) {
+        StructLayout layout = row.type().layout();
+        int slot = layout.slotOf(id.name());
+        return slot >= 0 && row.isPacked(slot) ? slot : -1;
+    }
+
     private static Object evaluateBinary(RuntimeExpr.Binary bin, Map<String, Object> env) {
         Object left = evaluate(bin.left(), env);
         Object right = evaluate(bin.right(), env);
         
         return switch (bin.op()) {
-            case EQ -> Objects.equals(left, right);
-            case NEQ -> !Objects.equals(left, right);
+            case EQ -> equalValues(left, right);
+            case NEQ -> !equalValues(left, right);
             case LT -> compare(left, right) < 0;
             case LTE -> compare(left, right) <= 0;
             case GT -> compare(left, right) > 0;
@@ -114,6 +340,57 @@ public final class ExpressionEvaluator {
         throw new RuntimeException("Cannot compare " + a.getClass() + " with " + b.getClass());
     }
     
+    /**
+     * Equality across runtime representations: numbers compare by value
+     * regardless of boxed type, and enum values match other enum values
+     * of the same type or their symbol name.
+     */
+    private static boolean equalValues(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return compare(a, b) == 0;
+        }
+        if (a instanceof EnumValue e) {
+            return enumEquals(e, b);
+        }
+        if (b instanceof EnumValue e) {
+            return enumEquals(e, a);
+        }
+        return Objects.equals(a, b);
+    }
+    
+    private static boolean enumEquals(EnumValue e, Object other) {
+        return switch (other) {
+            case EnumValue o -> e.type().fqn().equals(o.type().fqn())
+                && e.symbolName().equals(o.symbolName());
+            case String s -> e.symbolName().equals(s);
+            case null, default -> false;
+        };
+    }
+    
+    private static Object member(Object target, String name) {
+        return switch (target) {
+            case null -> null;
+            case StructValue sv -> sv.get(name);
+            case UnionValue uv -> uv.memberName().equals(name) ? uv.value() : null;
+            case Map<?, ?> map -> map.get(name);
+            default -> throw new RuntimeException(
+                "Cannot access member '" + name + "' on " + target.getClass().getSimpleName());
+        };
+    }
+    
+    private static Object index(Object target, Object index) {
+        return switch (target) {
+            case null -> null;
+            case List<?> list -> {
+                int i = ((Number) index).intValue();
+                yield i >= 0 && i < list.size() ? list.get(i) : null;
+            }
+            case Map<?, ?> map -> map.get(index);
+            default -> throw new RuntimeException(
+                "Cannot index into " + target.getClass().getSimpleName());
+        };
+    }
+    
     private static Object add(Object a, Object b) {
         if (a instanceof Number && b instanceof Number) {
             return addNumbers((Number) a, (Number) b);
@@ -9,7 +9,9 @@ public sealed interface RuntimeExpr
             RuntimeExpr.Identifier,
             RuntimeExpr.Binary,
             RuntimeExpr.Unary,
-            RuntimeExpr.Ternary {
+            RuntimeExpr.Ternary,
+            RuntimeExpr.Member,
+            RuntimeExpr.Index {
 
     record Literal(Object value) implements RuntimeExpr {}
     
@@ -21,6 +23,10 @@ public sealed interface RuntimeExpr
     
     record Ternary(TernaryOp op, RuntimeExpr first, RuntimeExpr second, RuntimeExpr third) implements RuntimeExpr {}
     
+    record Member(RuntimeExpr target, String name) implements RuntimeExpr {}
+    
+    record Index(RuntimeExpr target, RuntimeExpr index) implements RuntimeExpr {}
+    
     enum BinaryOp {
         // Comparison
         EQ, NEQ, LT, LTE, GT, GTE,
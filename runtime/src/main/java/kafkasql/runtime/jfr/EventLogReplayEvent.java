@@ -0,0 +1,27 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Replay of the symbol event log into a symbol table.
+ */
+@Name("kafkasql.EventLogReplay")
+@Label("Event Log Replay")
+@Category({ "KafkaSQL", "Persistence" })
+@Description("Symbol table rebuilt from the event log")
+public final class EventLogReplayEvent extends KafkaSqlEvent {
+
+    @Label("Stream")
+    public String stream;
+
+    @Label("Events")
+    @Description("Event log entries applied")
+    public long events;
+
+    @Label("Skipped")
+    @Description("Event log entries skipped as duplicates or stale")
+    public long skipped;
+}
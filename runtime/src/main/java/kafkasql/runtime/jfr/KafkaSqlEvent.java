@@ -0,0 +1,25 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the KafkaSQL JDK Flight Recorder events.
+ * <p>
+ * Events are enabled but carry no stack trace, so continuous recording
+ * stays cheap. Emit them with the usual pattern, which costs next to
+ * nothing while no recording is running:
+ * <pre>{@code
+ * var event = new StatementEvent();
+ * event.begin();
+ * ...
+ * if (event.shouldCommit()) {
+ *     event.kind = "READ";
+ *     event.commit();
+ * }
+ * }</pre>
+ */
+@Enabled
+@StackTrace(false)
+public abstract class KafkaSqlEvent extends Event { }
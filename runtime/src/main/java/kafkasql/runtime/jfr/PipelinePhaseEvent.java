@@ -0,0 +1,26 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One compiler phase (PARSE, SEMANTIC, LINT, ...) over a set of inputs.
+ */
+@Name("kafkasql.PipelinePhase")
+@Label("Pipeline Phase")
+@Category({ "KafkaSQL", "Compiler" })
+@Description("A KafkaSQL compiler phase")
+public final class PipelinePhaseEvent extends KafkaSqlEvent {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Inputs")
+    @Description("Source scripts processed by the phase")
+    public int inputs;
+
+    @Label("Errors")
+    public int errors;
+}
@@ -0,0 +1,28 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A schema-change marker written to a data topic after ALTER TYPE.
+ */
+@Name("kafkasql.SchemaMarker")
+@Label("Schema Marker")
+@Category({ "KafkaSQL", "I/O" })
+@Description("Schema-change marker written to a stream")
+public final class SchemaMarkerEvent extends KafkaSqlEvent {
+
+    @Label("Stream")
+    public String stream;
+
+    @Label("Type Name")
+    public String typeName;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("Offset")
+    public long offset;
+}
@@ -0,0 +1,26 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Execution of one READ, WRITE, SHOW or EXPLAIN statement by the engine.
+ */
+@Name("kafkasql.Statement")
+@Label("Statement")
+@Category({ "KafkaSQL", "Engine" })
+@Description("A statement executed by the KafkaSQL engine")
+public final class StatementEvent extends KafkaSqlEvent {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Stream")
+    public String stream;
+
+    @Label("Records")
+    @Description("Records written, or records scanned by a READ")
+    public long records;
+}
@@ -0,0 +1,27 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Decoding of one record read from a stream. Only slow decodes are
+ * recorded by default, since there is one per record.
+ */
+@Name("kafkasql.StreamDecode")
+@Label("Stream Decode")
+@Category({ "KafkaSQL", "I/O" })
+@Description("A record decoded from a stream")
+@Threshold("1 ms")
+public final class StreamDecodeEvent extends KafkaSqlEvent {
+
+    @Label("Stream")
+    public String stream;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,27 @@
+package kafkasql.runtime.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One poll of a stream.
+ */
+@Name("kafkasql.StreamPoll")
+@Label("Stream Poll")
+@Category({ "KafkaSQL", "I/O" })
+@Description("Records fetched from a stream")
+public final class StreamPollEvent extends KafkaSqlEvent {
+
+    @Label("Stream")
+    public String stream;
+
+    @Label("Records")
+    public long records;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -44,4 +44,23 @@ public interface StreamReader<T> {
      * @throws Exception If the read operation fails
      */
     T read() throws Exception;
+    
+    /**
+     * Skips past the next {@code count} messages, e.g. those a snapshot
+     * already covers.
+     * 
+     * <p>The default reads and discards them; implementations that can
+     * reposition directly should override it.
+     * 
+     * @param count Number of messages to skip
+     * @return The number of messages skipped, less than {@code count} at end of stream
+     * @throws Exception If reading fails
+     */
+    default long skip(long count) throws Exception {
+        long skipped = 0;
+        while (skipped < count && read() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
 }
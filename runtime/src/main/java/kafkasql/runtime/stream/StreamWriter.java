@@ -1,5 +1,7 @@
 package kafkasql.runtime.stream;
 
+import java.util.List;
+
 /**
  * Interface for writing messages to a stream.
  * 
@@ -52,6 +54,22 @@ public interface StreamWriter<T> {
      */
     void write(T message) throws Exception;
     
+    /**
+     * Writes several messages in order.
+     * 
+     * <p>Implementations that confirm each write should override this to
+     * send all messages before waiting for the confirmations. The default
+     * writes them one at a time.
+     * 
+     * @param messages The messages to write, in order
+     * @throws Exception If any write fails
+     */
+    default void writeAll(List<? extends T> messages) throws Exception {
+        for (T message : messages) {
+            write(message);
+        }
+    }
+    
     /**
      * Flushes any buffered messages to ensure they are persisted.
      * 
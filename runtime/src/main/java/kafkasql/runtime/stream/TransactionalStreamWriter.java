@@ -0,0 +1,34 @@
+package kafkasql.runtime.stream;
+
+/**
+ * A {@link StreamWriter} that can make a group of writes atomic.
+ * 
+ * <p>Writes between {@link #beginTransaction()} and
+ * {@link #commitTransaction()} become visible to readers together, or
+ * not at all if the transaction is aborted.
+ * 
+ * @param <T> The type of messages written to this stream
+ */
+public interface TransactionalStreamWriter<T> extends StreamWriter<T> {
+    
+    /**
+     * Starts a transaction covering subsequent writes.
+     * 
+     * @throws Exception If the transaction cannot be started
+     */
+    void beginTransaction() throws Exception;
+    
+    /**
+     * Makes the writes since {@link #beginTransaction()} durable and visible.
+     * 
+     * @throws Exception If the commit fails; the transaction should then be aborted
+     */
+    void commitTransaction() throws Exception;
+    
+    /**
+     * Discards the writes since {@link #beginTransaction()}.
+     * 
+     * @throws Exception If the abort fails
+     */
+    void abortTransaction() throws Exception;
+}
@@ -2,7 +2,8 @@ package kafkasql.runtime.type;
 
 import kafkasql.runtime.value.StructValue;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,6 +28,15 @@ import java.util.Map;
  *   <li>Schema fields missing from wire (added after record was written) → filled from defaults or null</li>
  *   <li>Wire fields not in current schema → preserved for backward compatibility</li>
  * </ul>
+ *
+ * <h3>Resolution plans</h3>
+ * The decisions above depend only on the schemas, not on the record, so
+ * {@link #readPlan} and {@link #writePlan} make them once per schema pair
+ * and the plan is then applied to each record with a single map lookup
+ * per field, or none when the record is a {@link StructValue} of the
+ * schema the plan expects: fields are then copied slot to slot. A plan is
+ * bound to the {@link StructType} instances it was compiled from; an
+ * ALTER yields new instances and thus new plans.
  */
 public final class SchemaResolver {
 
@@ -54,39 +64,94 @@ public final class SchemaResolver {
      * @return Resolution result with either a resolved value or an error
      */
     public static WriteResult resolveWrite(StructValue clientValue, StructType serverType) {
-        LinkedHashMap<String, Object> resolved = new LinkedHashMap<>();
-        Map<String, Object> clientFields = clientValue.fields();
+        return writePlan(serverType).apply(clientValue);
+    }
 
-        // Check for writes to dropped fields
-        for (String clientField : clientFields.keySet()) {
-            StructTypeField schemaField = serverType.fields().get(clientField);
-            if (schemaField != null && schemaField.dropped()) {
-                return new WriteResult(null,
-                    "Cannot write to dropped field '" + clientField + "'");
-            }
+    /**
+     * Compile the write resolution against a server schema, for values
+     * written in bulk.
+     */
+    public static WritePlan writePlan(StructType serverType) {
+        List<String> active = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        for (StructTypeField field : serverType.fields().values()) {
+            (field.dropped() ? dropped : active).add(field.name());
         }
+        return new WritePlan(serverType, active.toArray(String[]::new), dropped.toArray(String[]::new));
+    }
 
-        // Build resolved value: iterate server schema fields in declaration order
-        for (var entry : serverType.fields().entrySet()) {
-            String fieldName = entry.getKey();
-            StructTypeField field = entry.getValue();
+    private static int[] slotsOf(StructLayout layout, String[] names) {
+        int[] slots = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            slots[i] = layout.slotOf(names[i]);
+        }
+        return slots;
+    }
 
-            if (field.dropped()) {
-                // Dropped fields are not written
-                continue;
-            }
+    /**
+     * Write resolution compiled for one server schema.
+     */
+    public static final class WritePlan {
+        private final StructType serverType;
+        private final String[] active;  // Written if present, in declaration order
+        private final String[] dropped; // Rejected if present
+        private final int[] activeSlots;
+        private final int[] droppedSlots;
 
-            if (clientFields.containsKey(fieldName)) {
-                resolved.put(fieldName, clientFields.get(fieldName));
-            }
+        private WritePlan(StructType serverType, String[] active, String[] dropped) {
+            this.serverType = serverType;
+            this.active = active;
+            this.dropped = dropped;
+            this.activeSlots = slotsOf(serverType.layout(), active);
+            this.droppedSlots = slotsOf(serverType.layout(), dropped);
+        }
+
+        /**
+         * Resolve one client value; same result as {@link SchemaResolver#resolveWrite}.
+         */
+        public WriteResult apply(StructValue clientValue) {
             // Omitted fields are NOT filled at write time — defaults and
             // nullable resolution happens at read time via resolveRead.
+            if (clientValue.type().layout().equals(serverType.layout()) && !clientValue.hasExtra()) {
+                for (int slot : droppedSlots) {
+                    if (clientValue.has(slot)) {
+                        return writeToDropped(clientValue.fields(), serverType);
+                    }
+                }
+                StructValue resolved = new StructValue(serverType, StructValue.absentSlots(serverType));
+                for (int slot : activeSlots) {
+                    clientValue.copySlot(slot, resolved, slot);
+                }
+                return new WriteResult(resolved, null);
+            }
+
+            Object[] resolved = StructValue.absentSlots(serverType);
+
+            Map<String, Object> clientFields = clientValue.fields();
+            for (String name : dropped) {
+                if (clientFields.containsKey(name)) {
+                    return writeToDropped(clientFields, serverType);
+                }
+            }
+            for (int i = 0; i < active.length; i++) {
+                resolved[activeSlots[i]] = clientFields.getOrDefault(active[i], StructValue.ABSENT);
+            }
+            return new WriteResult(new StructValue(serverType, resolved), null);
         }
+    }
 
-        return new WriteResult(
-            new StructValue(serverType, resolved),
-            null
-        );
+    /**
+     * Reject a write to dropped fields, naming the first in client order.
+     */
+    private static WriteResult writeToDropped(Map<String, Object> clientFields, StructType serverType) {
+        for (String clientField : clientFields.keySet()) {
+            StructTypeField schemaField = serverType.fields().get(clientField);
+            if (schemaField != null && schemaField.dropped()) {
+                return new WriteResult(null,
+                    "Cannot write to dropped field '" + clientField + "'");
+            }
+        }
+        throw new IllegalStateException("No dropped field in " + clientFields.keySet());
     }
 
     // ========================================================================
@@ -101,48 +166,181 @@ public final class SchemaResolver {
      * @return A resolved StructValue with all fields reconciled
      */
     public static StructValue resolveRead(Map<String, Object> wireFields, StructType serverType) {
-        LinkedHashMap<String, Object> resolved = new LinkedHashMap<>();
+        return readPlan(serverType, null).apply(wireFields);
+    }
 
-        // First, walk the server schema in declaration order
-        for (var entry : serverType.fields().entrySet()) {
-            String fieldName = entry.getKey();
-            StructTypeField field = entry.getValue();
+    /**
+     * Compile the read resolution of records written under {@code writerType}
+     * against {@code serverType}.
+     * <p>
+     * Knowing the writer's schema version lets the plan skip the lookup of
+     * fields added after it and of fields it never had, e.g. dropped ones.
+     * Pass null, or a type without fields, if the writer schema is unknown:
+     * every server field is then looked up.
+     *
+     * @param serverType The current (evolved) struct type
+     * @param writerType The struct type the records were written with, or null
+     */
+    public static ReadPlan readPlan(StructType serverType, StructType writerType) {
+        Map<String, StructTypeField> writer = writerType != null && !writerType.fields().isEmpty()
+            ? writerType.fields()
+            : null;
+        StructLayout layout = serverType.layout();
+        StructLayout writerLayout = writer != null ? writerType.layout() : null;
+        List<ReadStep> steps = new ArrayList<>();
+        for (StructTypeField field : serverType.fields().values()) {
+            String name = field.name();
+            StructTypeField written = writer != null ? writer.get(name) : null;
+            boolean onWire = writer == null || (written != null && !written.dropped());
+            int slot = layout.slotOf(name);
+            int writerSlot = writerLayout != null ? writerLayout.slotOf(name) : -1;
 
             if (field.dropped()) {
                 // Dropped field: wire value and DEFAULT are both ignored.
                 // Nullable fields → null; non-nullable → type default.
-                resolved.put(fieldName,
-                    field.nullable() ? null : typeDefault(field.type()));
-            } else if (wireFields.containsKey(fieldName)) {
-                // Wire has this field — use it
-                resolved.put(fieldName, wireFields.get(fieldName));
+                Object value = field.nullable() ? null : typeDefault(field.type());
+                steps.add(new ReadStep(name, slot, writerSlot, onWire ? ReadAction.PROBE_CONSTANT : ReadAction.CONSTANT, value));
             } else if (field.defaultValue().isPresent()) {
-                // Field was added after this record was written — fill default
-                resolved.put(fieldName, field.defaultValue().get());
+                // Field added after the record was written — fill default
+                Object value = field.defaultValue().get();
+                steps.add(new ReadStep(name, slot, writerSlot, onWire ? ReadAction.COPY_OR_CONSTANT : ReadAction.CONSTANT, value));
             } else if (field.nullable()) {
                 // Nullable field missing from wire — null
-                resolved.put(fieldName, null);
+                steps.add(new ReadStep(name, slot, writerSlot, onWire ? ReadAction.COPY_OR_CONSTANT : ReadAction.CONSTANT, null));
+            } else if (onWire) {
+                // Non-nullable field with no default, not on wire — omit
+                steps.add(new ReadStep(name, slot, writerSlot, ReadAction.COPY, null));
+            }
+        }
+
+        // Writer fields the server schema no longer knows (forward compatibility)
+        List<String> extra = new ArrayList<>();
+        if (writer != null) {
+            for (StructTypeField field : writer.values()) {
+                if (!serverType.fields().containsKey(field.name())) {
+                    extra.add(field.name());
+                }
+            }
+        }
+        return new ReadPlan(serverType, writerLayout, steps.toArray(ReadStep[]::new), extra.toArray(String[]::new));
+    }
+
+    /**
+     * Read resolution compiled for one (writer, server) schema pair.
+     */
+    public static final class ReadPlan {
+        private final StructType serverType;
+        private final StructLayout writerLayout; // Null if the writer schema is unknown
+        private final ReadStep[] steps;  // One per resolved server field, in declaration order
+        private final String[] extra;    // Writer fields absent from the server schema
+        private final int[] extraSlots;  // Their writer slots
+
+        private ReadPlan(StructType serverType, StructLayout writerLayout, ReadStep[] steps, String[] extra) {
+            this.serverType = serverType;
+            this.writerLayout = writerLayout;
+            this.steps = steps;
+            this.extra = extra;
+            this.extraSlots = writerLayout != null ? slotsOf(writerLayout, extra) : new int[extra.length];
+        }
+
+        /**
+         * Resolve one record; fields are copied by slot if it has the
+         * writer schema the plan was compiled for.
+         */
+        public StructValue apply(StructValue written) {
+            if (writerLayout == null || written.hasExtra() || !writerLayout.equals(written.type().layout())) {
+                return apply(written.fields());
+            }
+            StructValue resolved = new StructValue(serverType, StructValue.absentSlots(serverType));
+            for (ReadStep step : steps) {
+                switch (step.action()) {
+                    case CONSTANT, PROBE_CONSTANT -> resolved.set(step.slot(), step.value());
+                    case COPY_OR_CONSTANT, COPY -> {
+                        if (written.has(step.writerSlot())) {
+                            written.copySlot(step.writerSlot(), resolved, step.slot());
+                        } else if (step.action() == ReadAction.COPY_OR_CONSTANT) {
+                            resolved.set(step.slot(), step.value());
+                        }
+                    }
+                }
             }
-            // else: non-nullable field with no default, not on wire — omit
-            // (this would be a required field from before the record was written,
-            //  which shouldn't happen in practice)
+            for (int i = 0; i < extra.length; i++) {
+                if (written.has(extraSlots[i])) {
+                    resolved.fields().put(extra[i], written.get(extraSlots[i]));
+                }
+            }
+            return resolved;
         }
 
-        // Then, include wire fields NOT in the current schema
-        // (forward compatibility — data from a future schema version)
-        for (var entry : wireFields.entrySet()) {
-            if (!resolved.containsKey(entry.getKey())) {
-                resolved.put(entry.getKey(), entry.getValue());
+        /**
+         * Resolve one record's wire fields; same result as
+         * {@link SchemaResolver#resolveRead}.
+         */
+        public StructValue apply(Map<String, Object> wireFields) {
+            Object[] resolved = StructValue.absentSlots(serverType);
+            int matched = 0; // Wire fields accounted for
+            for (ReadStep step : steps) {
+                switch (step.action()) {
+                    case CONSTANT -> resolved[step.slot()] = step.value();
+                    case PROBE_CONSTANT -> {
+                        if (wireFields.containsKey(step.name())) {
+                            matched++;
+                        }
+                        resolved[step.slot()] = step.value();
+                    }
+                    case COPY_OR_CONSTANT, COPY -> {
+                        Object value = wireFields.getOrDefault(step.name(), MISSING);
+                        if (value != MISSING) {
+                            matched++;
+                            resolved[step.slot()] = value;
+                        } else if (step.action() == ReadAction.COPY_OR_CONSTANT) {
+                            resolved[step.slot()] = step.value();
+                        }
+                    }
+                }
+            }
+            StructValue value = new StructValue(serverType, resolved);
+            for (String name : extra) {
+                Object field = wireFields.getOrDefault(name, MISSING);
+                if (field != MISSING) {
+                    matched++;
+                    value.fields().put(name, field);
+                }
             }
+
+            // Wire fields the plan did not expect, e.g. from an unknown writer
+            if (matched < wireFields.size()) {
+                Map<String, Object> fields = value.fields();
+                for (var entry : wireFields.entrySet()) {
+                    if (!fields.containsKey(entry.getKey())) {
+                        fields.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            return value;
         }
+    }
 
-        return new StructValue(serverType, resolved);
+    private enum ReadAction {
+        CONSTANT,         // Not on the wire: the fill value
+        PROBE_CONSTANT,   // Dropped: the fill value, whether on the wire or not
+        COPY_OR_CONSTANT, // The wire value, else the fill value
+        COPY              // The wire value, else omitted
     }
 
+    /**
+     * @param slot       Slot of the field in the server layout
+     * @param writerSlot Slot of the field in the writer layout, -1 if not there
+     */
+    private record ReadStep(String name, int slot, int writerSlot, ReadAction action, Object value) {}
+
     // ========================================================================
     // Internal helpers
     // ========================================================================
 
+    /** Marks an absent key in a single map lookup; field values may be null. */
+    private static final Object MISSING = new Object();
+
     /**
      * Returns the type-default (zero) value for the given type.
      * For primitives this delegates to {@link PrimitiveKind#defaultValue()};
@@ -0,0 +1,127 @@
+package kafkasql.runtime.type;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field positions of a {@link StructType}: the slot of each field in
+ * declaration order.
+ * <p>
+ * Computed once per type and shared by every value of it, so a value
+ * stores its fields in a plain array and looks a name up in this index
+ * instead of carrying a map of its own.
+ * <p>
+ * Fields of a {@link #isPacked(PrimitiveKind) packed} primitive kind also
+ * get a lane: a position in a {@code long[]} where a value can keep the
+ * field unboxed.
+ */
+public final class StructLayout {
+
+    private final String[] names;
+    private final Map<String, Integer> slots;
+    private final PrimitiveKind[] kinds; // Packed kind of each slot, or null
+    private final int[] lanes;           // Lane of each slot, or -1
+    private final int laneCount;
+
+    StructLayout(Collection<StructTypeField> fields) {
+        this.names = new String[fields.size()];
+        this.slots = HashMap.newHashMap(names.length);
+        this.kinds = new PrimitiveKind[names.length];
+        this.lanes = new int[names.length];
+        int slot = 0;
+        int lane = 0;
+        for (StructTypeField field : fields) {
+            names[slot] = field.name();
+            slots.put(field.name(), slot);
+            if (field.type() instanceof PrimitiveType pt && isPacked(pt.kind())) {
+                kinds[slot] = pt.kind();
+                lanes[slot] = lane++;
+            } else {
+                lanes[slot] = -1;
+            }
+            slot++;
+        }
+        this.laneCount = lane;
+    }
+
+    /**
+     * Returns true for the kinds a value can keep unboxed in a lane:
+     * BOOLEAN, the integer kinds and the floating-point kinds.
+     */
+    public static boolean isPacked(PrimitiveKind kind) {
+        return switch (kind) {
+            case BOOLEAN, INT8, INT16, INT32, INT64, FLOAT32, FLOAT64 -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Number of slots, one per field.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Name of the field in a slot.
+     */
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Slot of a field, or -1 if the type has no such field.
+     */
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Lane of the field in a slot, or -1 if its type is not packed.
+     */
+    public int lane(int slot) {
+        return lanes[slot];
+    }
+
+    /**
+     * Packed kind of the field in a slot, or null if it has no lane.
+     */
+    public PrimitiveKind kind(int slot) {
+        return kinds[slot];
+    }
+
+    /**
+     * Number of lanes, one per field of a packed kind.
+     */
+    public int lanes() {
+        return laneCount;
+    }
+
+    /**
+     * Field names in slot order.
+     */
+    public List<String> names() {
+        return List.of(names);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StructLayout other
+            && Arrays.equals(names, other.names)
+            && Arrays.equals(kinds, other.kinds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(kinds);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+}
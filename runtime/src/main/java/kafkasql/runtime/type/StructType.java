@@ -2,12 +2,86 @@ package kafkasql.runtime.type;
 
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import kafkasql.runtime.Name;
 
-public final record StructType(
-    Name fqn,
-    LinkedHashMap<String, StructTypeField> fields,
-    List<CheckConstraint> constraints,
-    Optional<String> doc
-) implements ComplexType { }
+/**
+ * STRUCT type: named fields in declaration order.
+ * <p>
+ * The {@link #layout() layout} of the fields is computed when the type is
+ * constructed, so the field map must be complete by then and not change
+ * afterwards.
+ */
+public final class StructType implements ComplexType {
+
+    private final Name fqn;
+    private final LinkedHashMap<String, StructTypeField> fields;
+    private final List<CheckConstraint> constraints;
+    private final Optional<String> doc;
+    private final StructLayout layout;
+    private int hash; // Computed on first use; 0 until then
+
+    public StructType(
+        Name fqn,
+        LinkedHashMap<String, StructTypeField> fields,
+        List<CheckConstraint> constraints,
+        Optional<String> doc
+    ) {
+        this.fqn = fqn;
+        this.fields = fields;
+        this.constraints = constraints;
+        this.doc = doc;
+        this.layout = new StructLayout(fields.values());
+    }
+
+    @Override
+    public Name fqn() {
+        return fqn;
+    }
+
+    public LinkedHashMap<String, StructTypeField> fields() {
+        return fields;
+    }
+
+    public List<CheckConstraint> constraints() {
+        return constraints;
+    }
+
+    @Override
+    public Optional<String> doc() {
+        return doc;
+    }
+
+    /**
+     * Slot of each field, shared by all values of this type.
+     */
+    public StructLayout layout() {
+        return layout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StructType other
+            && Objects.equals(fqn, other.fqn)
+            && Objects.equals(fields, other.fields)
+            && Objects.equals(constraints, other.constraints)
+            && Objects.equals(doc, other.doc);
+    }
+
+    @Override
+    public int hashCode() {
+        // Types key caches of compiled plans, so hash the fields once
+        int h = hash;
+        if (h == 0) {
+            hash = h = Objects.hash(fqn, fields, constraints, doc);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "StructType[fqn=" + fqn + ", fields=" + fields
+            + ", constraints=" + constraints + ", doc=" + doc + "]";
+    }
+}
@@ -0,0 +1,116 @@
+package kafkasql.runtime.value;
+
+import kafkasql.runtime.type.PrimitiveKind;
+
+/**
+ * The {@code long} form of packed primitive values, shared by struct
+ * lanes, {@link ScalarValue} and {@link PrimitiveList}.
+ * <p>
+ * BOOLEAN is 1 or 0, the integer kinds are their value, and FLOAT32 and
+ * FLOAT64 are the bits of the value as a double, with NaN canonical so
+ * that equal bits mean equal boxed values.
+ */
+final class Packed {
+
+    private Packed() {}
+
+    static long ofBoolean(boolean value) {
+        return value ? 1L : 0L;
+    }
+
+    /**
+     * Bits of an integer, checked against the range of its kind.
+     */
+    static long ofLong(PrimitiveKind kind, long value) {
+        boolean fits = switch (kind) {
+            case INT8 -> value == (byte) value;
+            case INT16 -> value == (short) value;
+            case INT32 -> value == (int) value;
+            case INT64 -> true;
+            default -> throw new IllegalArgumentException("Not an integer kind: " + kind);
+        };
+        if (!fits) {
+            throw new IllegalArgumentException(value + " is out of range for " + kind);
+        }
+        return value;
+    }
+
+    /**
+     * Bits of a floating-point value, rounded to float for FLOAT32.
+     */
+    static long ofDouble(PrimitiveKind kind, double value) {
+        return switch (kind) {
+            case FLOAT32 -> Double.doubleToLongBits((float) value);
+            case FLOAT64 -> Double.doubleToLongBits(value);
+            default -> throw new IllegalArgumentException("Not a floating-point kind: " + kind);
+        };
+    }
+
+    /**
+     * Bits of a boxed value of the kind.
+     */
+    static long of(PrimitiveKind kind, Object value) {
+        return switch (kind) {
+            case BOOLEAN -> ofBoolean((Boolean) value);
+            case INT8, INT16, INT32, INT64 -> ((Number) value).longValue();
+            case FLOAT32, FLOAT64 -> Double.doubleToLongBits(((Number) value).doubleValue());
+            default -> throw new IllegalArgumentException("Not a packed kind: " + kind);
+        };
+    }
+
+    /**
+     * The boxed value, of the same class as before packing.
+     */
+    static Object box(PrimitiveKind kind, long bits) {
+        return switch (kind) {
+            case BOOLEAN -> bits != 0;
+            case INT8 -> (byte) bits;
+            case INT16 -> (short) bits;
+            case INT32 -> (int) bits;
+            case INT64 -> bits;
+            case FLOAT32 -> (float) Double.longBitsToDouble(bits);
+            case FLOAT64 -> Double.longBitsToDouble(bits);
+            default -> throw new IllegalArgumentException("Not a packed kind: " + kind);
+        };
+    }
+
+    /**
+     * As {@link Number#longValue()} of the boxed value.
+     */
+    static long toLong(PrimitiveKind kind, long bits) {
+        return switch (kind) {
+            case INT8, INT16, INT32, INT64 -> bits;
+            case FLOAT32, FLOAT64 -> (long) Double.longBitsToDouble(bits);
+            default -> throw new ClassCastException(kind + " is not a number");
+        };
+    }
+
+    /**
+     * As {@link Number#doubleValue()} of the boxed value.
+     */
+    static double toDouble(PrimitiveKind kind, long bits) {
+        return switch (kind) {
+            case INT8, INT16, INT32, INT64 -> bits;
+            case FLOAT32, FLOAT64 -> Double.longBitsToDouble(bits);
+            default -> throw new ClassCastException(kind + " is not a number");
+        };
+    }
+
+    static boolean toBoolean(PrimitiveKind kind, long bits) {
+        if (kind != PrimitiveKind.BOOLEAN) {
+            throw new ClassCastException(kind + " is not a boolean");
+        }
+        return bits != 0;
+    }
+
+    static boolean isInteger(PrimitiveKind kind) {
+        return switch (kind) {
+            case INT8, INT16, INT32, INT64 -> true;
+            default -> false;
+        };
+    }
+
+    static boolean isFloating(PrimitiveKind kind) {
+        return kind == PrimitiveKind.FLOAT32 || kind == PrimitiveKind.FLOAT64;
+    }
+}
@@ -0,0 +1,164 @@
+package kafkasql.runtime.value;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import kafkasql.runtime.type.PrimitiveKind;
+import kafkasql.runtime.type.StructLayout;
+
+/**
+ * Value of a LIST whose items are of a packed primitive kind, kept in a
+ * primitive array instead of one box per item.
+ * <p>
+ * Integer and BOOLEAN items are kept in a {@code long[]}, FLOAT32 and
+ * FLOAT64 items in a {@code double[]}. {@link #getLong}, {@link #getDouble}
+ * and {@link #getBoolean} read an item unboxed; as a {@code List<Object>}
+ * the list boxes items on demand to the same classes a list of boxed
+ * items would hold, so it is equal to such a list. The size is fixed;
+ * {@link #set} is supported.
+ */
+public final class PrimitiveList extends AbstractList<Object> implements RandomAccess {
+
+    private final PrimitiveKind kind;
+    private final long[] longs;     // Integer and BOOLEAN items, else null
+    private final double[] doubles; // FLOAT32 and FLOAT64 items, else null
+
+    private PrimitiveList(PrimitiveKind kind, long[] longs, double[] doubles) {
+        this.kind = kind;
+        this.longs = longs;
+        this.doubles = doubles;
+    }
+
+    /**
+     * Creates a list of {@code size} zero items, to be filled with the
+     * typed setters.
+     *
+     * @throws IllegalArgumentException if the kind is not packed
+     */
+    public static PrimitiveList of(PrimitiveKind kind, int size) {
+        if (!StructLayout.isPacked(kind)) {
+            throw new IllegalArgumentException("Not a packed kind: " + kind);
+        }
+        return Packed.isFloating(kind)
+            ? new PrimitiveList(kind, null, new double[size])
+            : new PrimitiveList(kind, new long[size], null);
+    }
+
+    /**
+     * Item kind.
+     */
+    public PrimitiveKind kind() {
+        return kind;
+    }
+
+    @Override
+    public int size() {
+        return longs != null ? longs.length : doubles.length;
+    }
+
+    /**
+     * Returns an item as {@link Number#longValue()} would.
+     *
+     * @throws ClassCastException if the items are BOOLEAN
+     */
+    public long getLong(int index) {
+        if (longs != null) {
+            return Packed.toLong(kind, longs[index]);
+        }
+        return (long) doubles[index];
+    }
+
+    /**
+     * Returns an item as {@link Number#doubleValue()} would.
+     *
+     * @throws ClassCastException if the items are BOOLEAN
+     */
+    public double getDouble(int index) {
+        if (longs != null) {
+            return Packed.toDouble(kind, longs[index]);
+        }
+        return doubles[index];
+    }
+
+    /**
+     * @throws ClassCastException if the items are not BOOLEAN
+     */
+    public boolean getBoolean(int index) {
+        return Packed.toBoolean(kind, longs != null ? longs[index] : 0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the items are not of an integer
+     *         kind or the value is out of its range
+     */
+    public void setLong(int index, long value) {
+        if (!Packed.isInteger(kind)) {
+            throw new IllegalArgumentException("Items are " + kind + ", not an integer kind");
+        }
+        longs[index] = Packed.ofLong(kind, value);
+    }
+
+    /**
+     * FLOAT32 items are rounded to float.
+     *
+     * @throws IllegalArgumentException if the items are not of a
+     *         floating-point kind
+     */
+    public void setDouble(int index, double value) {
+        if (doubles == null) {
+            throw new IllegalArgumentException("Items are " + kind + ", not a floating-point kind");
+        }
+        doubles[index] = kind == PrimitiveKind.FLOAT32 ? (float) value : value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the items are not BOOLEAN
+     */
+    public void setBoolean(int index, boolean value) {
+        if (kind != PrimitiveKind.BOOLEAN) {
+            throw new IllegalArgumentException("Items are " + kind + ", not BOOLEAN");
+        }
+        longs[index] = Packed.ofBoolean(value);
+    }
+
+    @Override
+    public Object get(int index) {
+        if (longs != null) {
+            return Packed.box(kind, longs[index]);
+        }
+        return kind == PrimitiveKind.FLOAT32 ? (Object) (float) doubles[index] : (Object) doubles[index];
+    }
+
+    /**
+     * Sets an item from a box of the item kind's class.
+     *
+     * @throws ClassCastException if the box is of another class
+     */
+    @Override
+    public Object set(int index, Object element) {
+        Objects.requireNonNull(element, "element");
+        Object previous = get(index);
+        if (previous.getClass() != element.getClass()) {
+            throw new ClassCastException(
+                "Expected " + previous.getClass().getSimpleName() + " but got " + element.getClass().getSimpleName());
+        }
+        if (longs != null) {
+            longs[index] = Packed.of(kind, element);
+        } else {
+            doubles[index] = ((Number) element).doubleValue();
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof PrimitiveList other && kind == other.kind) {
+            return longs != null
+                ? Arrays.equals(longs, other.longs)
+                : Arrays.equals(doubles, other.doubles);
+        }
+        return super.equals(o);
+    }
+}
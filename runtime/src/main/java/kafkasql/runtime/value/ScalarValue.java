@@ -5,20 +5,74 @@ import java.time.*;
 import java.util.Objects;
 import java.util.UUID;
 
+import kafkasql.runtime.type.PrimitiveKind;
 import kafkasql.runtime.type.ScalarType;
+import kafkasql.runtime.type.StructLayout;
 
 /**
  * Runtime value of a SCALAR (named primitive wrapper) type.
+ * <p>
+ * Scalars of a packed kind (BOOLEAN, integers, floating point) keep their
+ * value unboxed; the typed accessors read it without allocating and
+ * {@link #value()} boxes it on demand.
  */
 public final class ScalarValue implements Value {
 
     private final ScalarType type;
-    private final Object value;
+    private final Object value; // Null if packed
+    private final long bits;
 
     public ScalarValue(ScalarType type, Object value) {
         this.type = Objects.requireNonNull(type, "type");
-        this.value = Objects.requireNonNull(value, "value");
+        Objects.requireNonNull(value, "value");
         validatePrimitive(type, value);
+        PrimitiveKind kind = type.primitive().kind();
+        if (StructLayout.isPacked(kind)) {
+            this.value = null;
+            this.bits = Packed.of(kind, value);
+        } else {
+            this.value = value;
+            this.bits = 0;
+        }
+    }
+
+    private ScalarValue(ScalarType type, long bits) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.value = null;
+        this.bits = bits;
+    }
+
+    /**
+     * Creates a scalar of an integer kind without boxing.
+     *
+     * @throws IllegalArgumentException if the scalar is not of an integer
+     *         kind or the value is out of its range
+     */
+    public static ScalarValue ofLong(ScalarType type, long value) {
+        return new ScalarValue(type, Packed.ofLong(type.primitive().kind(), value));
+    }
+
+    /**
+     * Creates a FLOAT32 or FLOAT64 scalar without boxing; FLOAT32 is
+     * rounded to float.
+     *
+     * @throws IllegalArgumentException if the scalar is not of a
+     *         floating-point kind
+     */
+    public static ScalarValue ofDouble(ScalarType type, double value) {
+        return new ScalarValue(type, Packed.ofDouble(type.primitive().kind(), value));
+    }
+
+    /**
+     * Creates a BOOLEAN scalar without boxing.
+     *
+     * @throws IllegalArgumentException if the scalar is not BOOLEAN
+     */
+    public static ScalarValue ofBoolean(ScalarType type, boolean value) {
+        if (type.primitive().kind() != PrimitiveKind.BOOLEAN) {
+            throw new IllegalArgumentException("Expected Boolean for " + type.fqn());
+        }
+        return new ScalarValue(type, Packed.ofBoolean(value));
     }
 
     @Override
@@ -26,17 +80,57 @@ public final class ScalarValue implements Value {
         return type;
     }
 
+    /**
+     * Returns the value, boxed if the scalar is of a packed kind.
+     */
     public Object value() {
-        return value;
+        return value != null ? value : Packed.box(type.primitive().kind(), bits);
     }
 
-    public boolean booleanValue() { return (Boolean) value; }
-    public byte int8Value() { return (Byte) value; }
-    public short int16Value() { return (Short) value; }
-    public int int32Value() { return (Integer) value; }
-    public long int64Value() { return (Long) value; }
-    public float float32Value() { return (Float) value; }
-    public double float64Value() { return (Double) value; }
+    public boolean booleanValue() { return Packed.toBoolean(packed(PrimitiveKind.BOOLEAN), bits); }
+    public byte int8Value() { return (byte) bits(PrimitiveKind.INT8); }
+    public short int16Value() { return (short) bits(PrimitiveKind.INT16); }
+    public int int32Value() { return (int) bits(PrimitiveKind.INT32); }
+    public long int64Value() { return bits(PrimitiveKind.INT64); }
+    public float float32Value() { return (float) Double.longBitsToDouble(bits(PrimitiveKind.FLOAT32)); }
+    public double float64Value() { return Double.longBitsToDouble(bits(PrimitiveKind.FLOAT64)); }
+
+    /**
+     * Returns an integer or floating-point scalar as
+     * {@link Number#longValue()} would, without boxing.
+     */
+    public long longValue() {
+        return Packed.toLong(packed(), bits);
+    }
+
+    /**
+     * Returns an integer or floating-point scalar as
+     * {@link Number#doubleValue()} would, without boxing.
+     */
+    public double doubleValue() {
+        return Packed.toDouble(packed(), bits);
+    }
+
+    private PrimitiveKind packed() {
+        PrimitiveKind kind = type.primitive().kind();
+        if (value != null) {
+            throw new ClassCastException(type.fqn() + " is " + kind + ", not a number");
+        }
+        return kind;
+    }
+
+    private PrimitiveKind packed(PrimitiveKind expected) {
+        PrimitiveKind kind = type.primitive().kind();
+        if (kind != expected) {
+            throw new ClassCastException(type.fqn() + " is " + kind + ", not " + expected);
+        }
+        return kind;
+    }
+
+    private long bits(PrimitiveKind expected) {
+        packed(expected);
+        return bits;
+    }
     public String stringValue() { return (String) value; }
     public byte[] bytesValue() { return (byte[]) value; }
     public UUID uuidValue() { return (UUID) value; }
@@ -76,16 +170,16 @@ public final class ScalarValue implements Value {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ScalarValue that)) return false;
-        return type.equals(that.type) && value.equals(that.value);
+        return type.equals(that.type) && bits == that.bits && Objects.equals(value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, value);
+        return Objects.hash(type, value());
     }
 
     @Override
     public String toString() {
-        return type.fqn().name() + "(" + value + ")";
+        return type.fqn().name() + "(" + value() + ")";
     }
 }
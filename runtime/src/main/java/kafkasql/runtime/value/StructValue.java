@@ -1,8 +1,18 @@
 package kafkasql.runtime.value;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
+import kafkasql.runtime.type.PrimitiveKind;
+import kafkasql.runtime.type.StructLayout;
 import kafkasql.runtime.type.StructType;
 
 /**
@@ -15,31 +25,456 @@ import kafkasql.runtime.type.StructType;
  *  - EnumValue, UnionValue, StructValue
  *  - ListValue, MapValue
  *  - null for nullable fields
+ *
+ * Fields are held in an array in the slot order of the type's
+ * {@link StructLayout}; a slot holding {@link #ABSENT} is a field the
+ * value does not have, as opposed to a null field. Fields the type does
+ * not know, e.g. ones a newer writer added, are kept by name next to the
+ * slots. {@link #fields()} presents both as a map.
+ * <p>
+ * A field with a lane in the layout, i.e. of a packed primitive kind, can
+ * be kept unboxed in a {@code long[]}: {@link #setLong}, {@link #setDouble}
+ * and {@link #setBoolean} store it there, and {@link #getLong},
+ * {@link #getDouble} and {@link #getBoolean} read it without boxing. The
+ * other accessors box it on demand, so callers that use names or the map
+ * view see the same values as before.
  */
 public final class StructValue implements Value {
 
+    /** Slot content of a field the value does not have. */
+    public static final Object ABSENT = new Object() {
+        @Override
+        public String toString() {
+            return "ABSENT";
+        }
+    };
+
+    /** Slot content of a field kept unboxed in its lane. */
+    private static final Object PACKED = new Object();
+
     private final StructType type;
-    private final LinkedHashMap<String, Object> fields;
+    private final Object[] slots;
+    private long[] lanes; // Allocated on the first unboxed store
+    private LinkedHashMap<String, Object> extra; // Fields not in the layout, or null
+    private Fields view;
+
+    /**
+     * Creates a value from its slots.
+     *
+     * @param type  The struct type
+     * @param slots One value per slot of {@code type.layout()}, ABSENT for
+     *              fields the value does not have; the value keeps the array
+     */
+    public StructValue(StructType type, Object[] slots) {
+        this(type, slots, null);
+    }
 
-    public StructValue(StructType type, LinkedHashMap<String, Object> fields) {
+    /**
+     * Creates a value from its slots and fields the type does not know.
+     *
+     * @param extra Fields by name that are not in the layout, or null
+     */
+    public StructValue(StructType type, Object[] slots, Map<String, Object> extra) {
         this.type = Objects.requireNonNull(type, "type");
-        this.fields = Objects.requireNonNull(fields, "fields");
+        this.slots = Objects.requireNonNull(slots, "slots");
+        if (slots.length != type.layout().size()) {
+            throw new IllegalArgumentException(
+                "Struct " + type.fqn() + " has " + type.layout().size() + " fields, got " + slots.length + " slots");
+        }
+        if (extra != null && !extra.isEmpty()) {
+            this.extra = new LinkedHashMap<>(extra);
+        }
+    }
+
+    /**
+     * Creates a value from fields by name.
+     */
+    public StructValue(StructType type, Map<String, Object> fields) {
+        this(type, absentSlots(type));
+        Objects.requireNonNull(fields, "fields");
+        fields().putAll(fields);
+    }
+
+    /**
+     * Returns slots for the type with every field ABSENT.
+     */
+    public static Object[] absentSlots(StructType type) {
+        Object[] slots = new Object[type.layout().size()];
+        Arrays.fill(slots, ABSENT);
+        return slots;
     }
 
     public StructType type() {
         return type;
     }
 
-    public LinkedHashMap<String, Object> fields() {
-        return fields;
+    /**
+     * Returns the fields as a map in slot order, followed by those the
+     * type does not know. Writes go through to the value.
+     */
+    public Map<String, Object> fields() {
+        if (view == null) {
+            view = new Fields();
+        }
+        return view;
+    }
+
+    /**
+     * Returns the field in a slot, null if absent.
+     */
+    public Object get(int slot) {
+        Object value = slots[slot];
+        if (value == PACKED) return unpack(slot);
+        return value == ABSENT ? null : value;
+    }
+
+    /**
+     * Returns true if the value has the field in a slot.
+     */
+    public boolean has(int slot) {
+        return slots[slot] != ABSENT;
+    }
+
+    /**
+     * Returns true if the field in a slot is kept unboxed in its lane.
+     */
+    public boolean isPacked(int slot) {
+        return slots[slot] == PACKED;
+    }
+
+    /**
+     * Returns true if the field in a slot is present and null.
+     */
+    public boolean isNull(int slot) {
+        return slots[slot] == null;
+    }
+
+    /**
+     * Returns the slot content, {@link #ABSENT} included; a field kept
+     * unboxed is boxed.
+     */
+    public Object slot(int slot) {
+        Object value = slots[slot];
+        return value == PACKED ? unpack(slot) : value;
+    }
+
+    /**
+     * Returns a numeric field as {@link Number#longValue()} would, without
+     * boxing if it is kept unboxed.
+     *
+     * @throws NullPointerException if the field is absent or null
+     * @throws ClassCastException   if the field is not a number
+     */
+    public long getLong(int slot) {
+        Object value = slots[slot];
+        if (value == PACKED) {
+            return Packed.toLong(type.layout().kind(slot), lanes[type.layout().lane(slot)]);
+        }
+        return ((Number) present(slot, value)).longValue();
+    }
+
+    /**
+     * Returns a numeric field as {@link Number#doubleValue()} would,
+     * without boxing if it is kept unboxed.
+     *
+     * @throws NullPointerException if the field is absent or null
+     * @throws ClassCastException   if the field is not a number
+     */
+    public double getDouble(int slot) {
+        Object value = slots[slot];
+        if (value == PACKED) {
+            return Packed.toDouble(type.layout().kind(slot), lanes[type.layout().lane(slot)]);
+        }
+        return ((Number) present(slot, value)).doubleValue();
+    }
+
+    /**
+     * Returns a BOOLEAN field, without boxing if it is kept unboxed.
+     *
+     * @throws NullPointerException if the field is absent or null
+     * @throws ClassCastException   if the field is not a boolean
+     */
+    public boolean getBoolean(int slot) {
+        Object value = slots[slot];
+        if (value == PACKED) {
+            return Packed.toBoolean(type.layout().kind(slot), lanes[type.layout().lane(slot)]);
+        }
+        return (Boolean) present(slot, value);
+    }
+
+    /**
+     * Stores an integer field unboxed.
+     *
+     * @throws IllegalArgumentException if the field is not of an integer
+     *         kind or the value is out of its range
+     */
+    public void setLong(int slot, long value) {
+        PrimitiveKind kind = type.layout().kind(slot);
+        if (kind == null || !Packed.isInteger(kind)) {
+            throw notOfKind(slot, "an integer");
+        }
+        pack(slot, Packed.ofLong(kind, value));
+    }
+
+    /**
+     * Stores a FLOAT32 or FLOAT64 field unboxed; FLOAT32 is rounded to float.
+     *
+     * @throws IllegalArgumentException if the field is not of a
+     *         floating-point kind
+     */
+    public void setDouble(int slot, double value) {
+        PrimitiveKind kind = type.layout().kind(slot);
+        if (kind == null || !Packed.isFloating(kind)) {
+            throw notOfKind(slot, "a floating-point");
+        }
+        pack(slot, Packed.ofDouble(kind, value));
+    }
+
+    /**
+     * Stores a BOOLEAN field unboxed.
+     *
+     * @throws IllegalArgumentException if the field is not BOOLEAN
+     */
+    public void setBoolean(int slot, boolean value) {
+        if (type.layout().kind(slot) != PrimitiveKind.BOOLEAN) {
+            throw notOfKind(slot, "a BOOLEAN");
+        }
+        pack(slot, Packed.ofBoolean(value));
+    }
+
+    /**
+     * Sets the content of a slot: a value, null, or {@link #ABSENT}.
+     */
+    public void set(int slot, Object value) {
+        slots[slot] = value;
+    }
+
+    /**
+     * Copies the content of a slot into a slot of another value, unboxed
+     * if both slots have the same packed kind.
+     */
+    public void copySlot(int slot, StructValue target, int targetSlot) {
+        PrimitiveKind kind = type.layout().kind(slot);
+        if (slots[slot] == PACKED && kind == target.type.layout().kind(targetSlot)) {
+            target.pack(targetSlot, lanes[type.layout().lane(slot)]);
+        } else {
+            target.slots[targetSlot] = slot(slot);
+        }
+    }
+
+    private void pack(int slot, long bits) {
+        if (lanes == null) {
+            lanes = new long[type.layout().lanes()];
+        }
+        lanes[type.layout().lane(slot)] = bits;
+        slots[slot] = PACKED;
+    }
+
+    private Object unpack(int slot) {
+        return Packed.box(type.layout().kind(slot), lanes[type.layout().lane(slot)]);
+    }
+
+    private Object present(int slot, Object value) {
+        if (value == null || value == ABSENT) {
+            throw new NullPointerException(
+                "Field " + type.layout().name(slot) + " of " + type.fqn() + " is " + (value == null ? "null" : "absent"));
+        }
+        return value;
+    }
+
+    private IllegalArgumentException notOfKind(int slot, String kind) {
+        return new IllegalArgumentException(
+            "Field " + type.layout().name(slot) + " of " + type.fqn() + " is not of " + kind + " kind");
+    }
+
+    /**
+     * Returns true if the value holds fields its type does not know.
+     */
+    public boolean hasExtra() {
+        return extra != null && !extra.isEmpty();
     }
 
     public Object get(String fieldName) {
-        return fields.get(fieldName);
+        int slot = type.layout().slotOf(fieldName);
+        if (slot >= 0) {
+            return get(slot);
+        }
+        return extra == null ? null : extra.get(fieldName);
     }
 
     @Override
     public String toString() {
-        return "StructValue(" + type.fqn().toString() + " " + fields + ")";
+        return "StructValue(" + type.fqn().toString() + " " + fields() + ")";
+    }
+
+    /**
+     * Map view over the slots and the extra fields.
+     */
+    private final class Fields extends AbstractMap<String, Object> {
+
+        @Override
+        public int size() {
+            int size = extra == null ? 0 : extra.size();
+            for (Object value : slots) {
+                if (value != ABSENT) size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof String name)) return false;
+            int slot = type.layout().slotOf(name);
+            if (slot >= 0) return slots[slot] != ABSENT;
+            return extra != null && extra.containsKey(name);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String name ? StructValue.this.get(name) : null;
+        }
+
+        @Override
+        public Object getOrDefault(Object key, Object defaultValue) {
+            if (!(key instanceof String name)) return defaultValue;
+            int slot = type.layout().slotOf(name);
+            if (slot >= 0) {
+                return slots[slot] == ABSENT ? defaultValue : StructValue.this.get(slot);
+            }
+            return extra == null ? defaultValue : extra.getOrDefault(name, defaultValue);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            int slot = type.layout().slotOf(key);
+            if (slot >= 0) {
+                Object previous = StructValue.this.get(slot);
+                slots[slot] = value;
+                return previous;
+            }
+            if (extra == null) {
+                extra = new LinkedHashMap<>();
+            }
+            return extra.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            if (!(key instanceof String name)) return null;
+            int slot = type.layout().slotOf(name);
+            if (slot >= 0) {
+                Object previous = StructValue.this.get(slot);
+                slots[slot] = ABSENT;
+                return previous;
+            }
+            return extra == null ? null : extra.remove(name);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return Fields.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Entries();
+                }
+            };
+        }
+    }
+
+    /**
+     * Present slots in order, then the extra fields.
+     */
+    private final class Entries implements Iterator<Map.Entry<String, Object>> {
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Map.Entry<String, Object>> extras;
+
+        private int advance(int from) {
+            while (from < slots.length && slots[from] == ABSENT) from++;
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < slots.length) return true;
+            if (extras == null) {
+                extras = extra == null ? Collections.emptyIterator() : extra.entrySet().iterator();
+            }
+            return extras.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (next < slots.length) {
+                last = next;
+                next = advance(next + 1);
+                return new SlotEntry(last);
+            }
+            last = -1;
+            return extras.next();
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                slots[last] = ABSENT;
+                last = -1;
+            } else if (extras != null) {
+                extras.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Entry of a present slot; {@link #setValue} writes the slot.
+     */
+    private final class SlotEntry implements Map.Entry<String, Object> {
+        private final int slot;
+
+        SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return type.layout().name(slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return get(slot);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = get(slot);
+            slots[slot] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e
+                && getKey().equals(e.getKey())
+                && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
     }
 }
@@ -0,0 +1,76 @@
+package kafkasql.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameTest {
+
+    @Test
+    void ofInternsByContextAndName() {
+        assertSame(Name.of("com.example", "Order"), Name.of("com.example", "Order"));
+        assertSame(Name.of("Order"), Name.of("", "Order"));
+    }
+
+    @Test
+    void everySplitOfAFullNameInternsToOneInstance() {
+        Name order = Name.of("com.example.Order");
+        assertSame(order, Name.of("com.example", "Order"));
+        assertSame(order, Name.of("com", "example.Order"));
+        assertSame(order, Name.of("", "com.example.Order"));
+        assertSame(order, Name.of("com").add("example.Order"));
+        assertSame(Name.ROOT, Name.of(""));
+    }
+
+    @Test
+    void segmentsSplitOnLastSeparator() {
+        Name name = Name.of("com.example.Order");
+        assertEquals("com.example", name.context());
+        assertEquals("Order", name.name());
+        assertEquals(Name.of("com.example", "Order"), name);
+        assertEquals("com.example.Order.Id", name.add("Id").fullName());
+        assertTrue(Name.ROOT.isRoot());
+        assertEquals("", Name.ROOT.context());
+    }
+
+    @Test
+    void equalityIgnoresCase() {
+        Name lower = Name.of("com", "order");
+        Name upper = Name.of("COM", "Order");
+        assertNotSame(lower, upper);
+        assertEquals(lower, upper);
+        assertEquals(lower.hashCode(), upper.hashCode());
+        assertEquals("COM.Order", upper.fullName());
+    }
+
+    @Test
+    void concurrentInterningYieldsOneInstance() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Name>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    List<Name> names = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++)
+                        names.add(Name.of("concurrent", "N" + i));
+                    return names;
+                }));
+            }
+            List<Name> first = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<List<Name>> result : results) {
+                List<Name> names = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < names.size(); i++)
+                    assertSame(first.get(i), names.get(i));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
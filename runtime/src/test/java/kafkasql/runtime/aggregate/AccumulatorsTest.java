@@ -0,0 +1,57 @@
+package kafkasql.runtime.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import kafkasql.runtime.type.PrimitiveKind;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccumulatorsTest {
+
+    private static Object fold(Accumulator acc, Object... values) {
+        for (Object v : values) acc.add(v);
+        return acc.result();
+    }
+
+    @Test
+    void countIgnoresNulls() {
+        assertEquals(2L, fold(Accumulators.count(), 1, null, 3));
+        assertEquals(0L, Accumulators.count().result());
+    }
+
+    @Test
+    void sumIsSpecializedByKind() {
+        assertEquals(6L, fold(Accumulators.sum(PrimitiveKind.INT32), 1, 2, 3));
+        assertEquals(1.5, fold(Accumulators.sum(PrimitiveKind.FLOAT64), 0.5, 1.0));
+        assertEquals(new BigDecimal("3.75"),
+            fold(Accumulators.sum(PrimitiveKind.DECIMAL), new BigDecimal("1.25"), new BigDecimal("2.50")));
+    }
+
+    @Test
+    void sumOfNoValuesIsNull() {
+        assertNull(fold(Accumulators.sum(PrimitiveKind.INT64), (Object) null));
+    }
+
+    @Test
+    void sumOverflowIsReported() {
+        assertThrows(ArithmeticException.class,
+            () -> fold(Accumulators.sum(PrimitiveKind.INT64), Long.MAX_VALUE, 1L));
+    }
+
+    @Test
+    void minAndMax() {
+        assertEquals(-2L, fold(Accumulators.min(PrimitiveKind.INT32), 3, -2, 7));
+        assertEquals(7L, fold(Accumulators.max(PrimitiveKind.INT32), 3, -2, 7));
+        assertEquals(0.25, fold(Accumulators.min(PrimitiveKind.FLOAT64), 1.5, 0.25));
+        assertEquals("pear", fold(Accumulators.max(PrimitiveKind.STRING), "apple", "pear", "fig"));
+        assertNull(Accumulators.min(PrimitiveKind.STRING).result());
+    }
+
+    @Test
+    void avg() {
+        assertEquals(2.5, fold(Accumulators.avg(), 1, 2, 3, 4));
+        assertNull(Accumulators.avg().result());
+    }
+}
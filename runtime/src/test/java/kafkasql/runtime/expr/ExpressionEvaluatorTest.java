@@ -3,8 +3,19 @@ package kafkasql.runtime.expr;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.EnumType;
+import kafkasql.runtime.type.EnumTypeSymbol;
+import kafkasql.runtime.type.PrimitiveType;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+import kafkasql.runtime.value.EnumValue;
+import kafkasql.runtime.value.StructValue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -1081,4 +1092,121 @@ public class ExpressionEvaluatorTest {
         );
         assertEquals(true, ExpressionEvaluator.evaluate(expr, Map.of()));
     }
+
+    // ========================================================================
+    // Member and index access
+    // ========================================================================
+
+    @Test
+    void evaluateMember_StructField() {
+        StructType type = new StructType(Name.of("test", "Address"), new LinkedHashMap<>(), List.of(), Optional.empty());
+        LinkedHashMap<String, Object> fields = new LinkedHashMap<>();
+        fields.put("City", "Springfield");
+        RuntimeExpr expr = new RuntimeExpr.Member(new RuntimeExpr.Identifier("Address"), "City");
+        assertEquals("Springfield", ExpressionEvaluator.evaluate(expr, Map.of("Address", new StructValue(type, fields))));
+    }
+
+    @Test
+    void evaluateMember_NullTargetIsNull() {
+        Map<String, Object> env = new HashMap<>();
+        env.put("Address", null);
+        RuntimeExpr expr = new RuntimeExpr.Member(new RuntimeExpr.Identifier("Address"), "City");
+        assertNull(ExpressionEvaluator.evaluate(expr, env));
+    }
+
+    @Test
+    void evaluateIndex_ListAndMap() {
+        Map<String, Object> env = Map.of("Tags", List.of("a", "b"), "Scores", Map.of("math", 100));
+        assertEquals("b", ExpressionEvaluator.evaluate(
+            new RuntimeExpr.Index(new RuntimeExpr.Identifier("Tags"), new RuntimeExpr.Literal(1)), env));
+        assertNull(ExpressionEvaluator.evaluate(
+            new RuntimeExpr.Index(new RuntimeExpr.Identifier("Tags"), new RuntimeExpr.Literal(5)), env));
+        assertEquals(100, ExpressionEvaluator.evaluate(
+            new RuntimeExpr.Index(new RuntimeExpr.Identifier("Scores"), new RuntimeExpr.Literal("math")), env));
+    }
+
+    // ========================================================================
+    // Cross-representation equality
+    // ========================================================================
+
+    @Test
+    void evaluateEQ_NumbersCompareByValue() {
+        RuntimeExpr expr = new RuntimeExpr.Binary(
+            RuntimeExpr.BinaryOp.EQ,
+            new RuntimeExpr.Literal(1L),
+            new RuntimeExpr.Literal(1)
+        );
+        assertEquals(true, ExpressionEvaluator.evaluate(expr, Map.of()));
+    }
+
+    @Test
+    void evaluateEQ_EnumMatchesSymbolName() {
+        EnumTypeSymbol active = new EnumTypeSymbol("ACTIVE", 0, Optional.empty());
+        EnumType type = new EnumType(Name.of("test", "Status"), PrimitiveType.int32(), List.of(active), Optional.empty());
+        Map<String, Object> env = Map.of("Status", new EnumValue(type, active));
+
+        RuntimeExpr eq = new RuntimeExpr.Binary(
+            RuntimeExpr.BinaryOp.EQ,
+            new RuntimeExpr.Identifier("Status"),
+            new RuntimeExpr.Literal("ACTIVE")
+        );
+        RuntimeExpr neq = new RuntimeExpr.Binary(
+            RuntimeExpr.BinaryOp.NEQ,
+            new RuntimeExpr.Identifier("Status"),
+            new RuntimeExpr.Literal("DISABLED")
+        );
+        assertEquals(true, ExpressionEvaluator.evaluate(eq, env));
+        assertEquals(true, ExpressionEvaluator.evaluate(neq, env));
+    }
+
+    // ========================================================================
+    // Unboxed predicates
+    // ========================================================================
+
+    @Test
+    void testOnStructMatchesBoxedEvaluation() {
+        LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+        fields.put("a", new StructTypeField("a", PrimitiveType.int32(), false, Optional.empty(), Optional.empty()));
+        fields.put("b", new StructTypeField("b", PrimitiveType.int64(), true, Optional.empty(), Optional.empty()));
+        fields.put("x", new StructTypeField("x", PrimitiveType.float64(), false, Optional.empty(), Optional.empty()));
+        fields.put("f", new StructTypeField("f", PrimitiveType.bool(), false, Optional.empty(), Optional.empty()));
+        StructType type = new StructType(Name.of("com", "Row"), fields, List.of(), Optional.empty());
+
+        StructValue row = new StructValue(type, StructValue.absentSlots(type));
+        row.setLong(0, Integer.MIN_VALUE);
+        row.set(1, null);
+        row.setDouble(2, 2.5);
+        row.setBoolean(3, true);
+
+        RuntimeExpr a = new RuntimeExpr.Identifier("a");
+        RuntimeExpr b = new RuntimeExpr.Identifier("b");
+        RuntimeExpr x = new RuntimeExpr.Identifier("x");
+        RuntimeExpr f = new RuntimeExpr.Identifier("f");
+        List<RuntimeExpr> predicates = List.of(
+            bin(RuntimeExpr.BinaryOp.LT, a, lit(0)),
+            bin(RuntimeExpr.BinaryOp.LT, new RuntimeExpr.Unary(RuntimeExpr.UnaryOp.NEGATE, a), lit(0)),
+            bin(RuntimeExpr.BinaryOp.EQ, bin(RuntimeExpr.BinaryOp.SUB, a, lit(1)), lit(Integer.MIN_VALUE - 1L)),
+            bin(RuntimeExpr.BinaryOp.GTE, x, lit(2.5)),
+            bin(RuntimeExpr.BinaryOp.LT, x, lit(3)),
+            bin(RuntimeExpr.BinaryOp.AND, f, bin(RuntimeExpr.BinaryOp.NEQ, x, lit(0.0))),
+            bin(RuntimeExpr.BinaryOp.EQ, f, lit(false)),
+            new RuntimeExpr.Unary(RuntimeExpr.UnaryOp.IS_NULL, b),
+            new RuntimeExpr.Unary(RuntimeExpr.UnaryOp.NOT, f),
+            new RuntimeExpr.Ternary(RuntimeExpr.TernaryOp.BETWEEN, x, lit(2.0), lit(2.5)));
+
+        for (RuntimeExpr predicate : predicates) {
+            assertEquals(Boolean.TRUE.equals(ExpressionEvaluator.evaluate(predicate, row.fields())),
+                ExpressionEvaluator.test(predicate, row), predicate.toString());
+        }
+        assertThrows(RuntimeException.class,
+            () -> ExpressionEvaluator.test(bin(RuntimeExpr.BinaryOp.GT, b, lit(0)), row));
+    }
+
+    private static RuntimeExpr bin(RuntimeExpr.BinaryOp op, RuntimeExpr left, RuntimeExpr right) {
+        return new RuntimeExpr.Binary(op, left, right);
+    }
+
+    private static RuntimeExpr lit(Object value) {
+        return new RuntimeExpr.Literal(value);
+    }
 }
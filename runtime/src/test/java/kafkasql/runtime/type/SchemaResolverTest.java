@@ -0,0 +1,114 @@
+package kafkasql.runtime.type;
+
+import kafkasql.runtime.Name;
+import kafkasql.runtime.value.StructValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaResolverTest {
+
+    private static StructTypeField field(String name, boolean nullable, Object defaultValue) {
+        return new StructTypeField(name, PrimitiveType.int32(), nullable, Optional.ofNullable(defaultValue), Optional.empty());
+    }
+
+    private static StructType struct(StructTypeField... fields) {
+        LinkedHashMap<String, StructTypeField> map = new LinkedHashMap<>();
+        for (StructTypeField f : fields) {
+            map.put(f.name(), f);
+        }
+        return new StructType(Name.of("com", "T"), map, List.of(), Optional.empty());
+    }
+
+    private static LinkedHashMap<String, Object> wire(Object... pairs) {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put((String) pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+
+    // v1: A, B   v2: A, B dropped, C default 7, D nullable
+    private final StructType v1 = struct(field("A", false, null), field("B", false, null));
+    private final StructType v2 = struct(
+        field("A", false, null),
+        field("B", false, null).withDropped(true),
+        field("C", false, 7),
+        field("D", true, null));
+
+    @Test
+    void readFillsDroppedAddedAndNullableFields() {
+        StructValue resolved = SchemaResolver.resolveRead(wire("A", 1, "B", 2), v2);
+
+        assertEquals(wire("A", 1, "B", 0, "C", 7, "D", null), resolved.fields());
+        assertEquals(List.of("A", "B", "C", "D"), List.copyOf(resolved.fields().keySet()));
+    }
+
+    @Test
+    void readKeepsWireFieldsUnknownToServer() {
+        StructValue resolved = SchemaResolver.resolveRead(wire("A", 1, "Z", 9, "C", 3), v2);
+
+        assertEquals(wire("A", 1, "B", 0, "C", 3, "D", null, "Z", 9), resolved.fields());
+    }
+
+    @Test
+    void writerPlanMatchesUnknownWriterPlan() {
+        SchemaResolver.ReadPlan known = SchemaResolver.readPlan(v2, v1);
+        SchemaResolver.ReadPlan unknown = SchemaResolver.readPlan(v2, null);
+
+        for (Map<String, Object> record : List.of(wire("A", 1, "B", 2), wire("A", 5), wire("B", null))) {
+            assertEquals(unknown.apply(record).fields(), known.apply(record).fields(), record.toString());
+        }
+    }
+
+    @Test
+    void writerPlanKeepsFieldsTheServerNoLongerHas() {
+        StructType reader = struct(field("A", false, null));
+        SchemaResolver.ReadPlan plan = SchemaResolver.readPlan(reader, v1);
+
+        assertEquals(wire("A", 1, "B", 2), plan.apply(wire("A", 1, "B", 2)).fields());
+    }
+
+    @Test
+    void writeRejectsDroppedFieldAndOmitsMissing() {
+        var rejected = SchemaResolver.resolveWrite(new StructValue(v2, wire("A", 1, "B", 2)), v2);
+        assertTrue(rejected.hasError());
+        assertTrue(rejected.error().contains("'B'"));
+
+        var result = SchemaResolver.writePlan(v2).apply(new StructValue(v2, wire("D", null, "A", 1)));
+        assertFalse(result.hasError());
+        assertEquals(List.of("A", "D"), List.copyOf(result.resolved().fields().keySet()));
+    }
+
+    @Test
+    void slotCopyMatchesMapResolution() {
+        SchemaResolver.ReadPlan plan = SchemaResolver.readPlan(v2, v1);
+        StructType reader = struct(field("A", false, null));
+        SchemaResolver.ReadPlan narrowing = SchemaResolver.readPlan(reader, v1);
+
+        for (Map<String, Object> record : List.of(wire("A", 1, "B", 2), wire("A", 5), wire("B", null))) {
+            StructValue written = new StructValue(v1, record);
+            assertEquals(plan.apply(record).fields(), plan.apply(written).fields(), record.toString());
+            assertEquals(narrowing.apply(record).fields(), narrowing.apply(written).fields(), record.toString());
+        }
+    }
+
+    @Test
+    void writeCopiesSlotsOfSameSchema() {
+        var result = SchemaResolver.writePlan(v2).apply(new StructValue(v2, wire("D", null, "A", 1)));
+        assertFalse(result.hasError());
+        assertTrue(result.resolved().has(0));
+        assertFalse(result.resolved().has(1));
+        assertFalse(result.resolved().has(2));
+        assertTrue(result.resolved().has(3));
+        assertNull(result.resolved().get(3));
+
+        var rejected = SchemaResolver.writePlan(v2).apply(new StructValue(v2, wire("B", 1)));
+        assertTrue(rejected.hasError());
+    }
+}
@@ -0,0 +1,151 @@
+package kafkasql.runtime.value;
+
+import kafkasql.runtime.Name;
+import kafkasql.runtime.type.PrimitiveKind;
+import kafkasql.runtime.type.PrimitiveType;
+import kafkasql.runtime.type.StructType;
+import kafkasql.runtime.type.StructTypeField;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructValueTest {
+
+    private static StructType struct(String... names) {
+        LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+        for (String name : names) {
+            fields.put(name, new StructTypeField(name, PrimitiveType.int32(), true, Optional.empty(), Optional.empty()));
+        }
+        return new StructType(Name.of("com", "T"), fields, List.of(), Optional.empty());
+    }
+
+    @Test
+    void layoutIsSharedByValuesOfType() {
+        StructType type = struct("A", "B", "C");
+        assertEquals(1, type.layout().slotOf("B"));
+        assertEquals(-1, type.layout().slotOf("Z"));
+        assertSame(type.layout(), new StructValue(type, new Object[] { 1, 2, 3 }).type().layout());
+        assertEquals(type, struct("A", "B", "C"));
+    }
+
+    @Test
+    void absentSlotDiffersFromNullField() {
+        StructType type = struct("A", "B", "C");
+        StructValue value = new StructValue(type, new Object[] { 1, null, StructValue.ABSENT });
+
+        assertEquals(1, value.get(0));
+        assertTrue(value.has(1));
+        assertNull(value.get(1));
+        assertFalse(value.has(2));
+        assertNull(value.get("C"));
+
+        Map<String, Object> fields = value.fields();
+        assertEquals(2, fields.size());
+        assertTrue(fields.containsKey("B"));
+        assertFalse(fields.containsKey("C"));
+        assertEquals(List.of("A", "B"), List.copyOf(fields.keySet()));
+    }
+
+    @Test
+    void mapViewWritesThroughAndKeepsUnknownFields() {
+        StructType type = struct("A", "B");
+        StructValue value = new StructValue(type, Map.of("B", 2, "Z", 26));
+
+        assertFalse(value.has(0));
+        assertEquals(2, value.get(1));
+        assertTrue(value.hasExtra());
+        assertEquals(26, value.get("Z"));
+
+        value.fields().put("A", 1);
+        value.fields().remove("B");
+        assertEquals(Map.of("A", 1, "Z", 26), value.fields());
+        assertEquals(List.of("A", "Z"), List.copyOf(value.fields().keySet()));
+    }
+
+    @Test
+    void slotCountMustMatchLayout() {
+        assertThrows(IllegalArgumentException.class, () -> new StructValue(struct("A"), new Object[2]));
+    }
+
+    private static StructType numbers() {
+        LinkedHashMap<String, StructTypeField> fields = new LinkedHashMap<>();
+        fields.put("I", new StructTypeField("I", PrimitiveType.int32(), true, Optional.empty(), Optional.empty()));
+        fields.put("S", new StructTypeField("S", PrimitiveType.string(), false, Optional.empty(), Optional.empty()));
+        fields.put("D", new StructTypeField("D", PrimitiveType.float32(), false, Optional.empty(), Optional.empty()));
+        fields.put("B", new StructTypeField("B", PrimitiveType.bool(), false, Optional.empty(), Optional.empty()));
+        return new StructType(Name.of("com", "N"), fields, List.of(), Optional.empty());
+    }
+
+    @Test
+    void packedFieldsHaveLanes() {
+        StructType type = numbers();
+        assertEquals(3, type.layout().lanes());
+        assertEquals(0, type.layout().lane(0));
+        assertEquals(-1, type.layout().lane(1));
+        assertEquals(PrimitiveKind.FLOAT32, type.layout().kind(2));
+        assertNull(type.layout().kind(1));
+    }
+
+    @Test
+    void packedFieldsBoxOnDemand() {
+        StructValue value = new StructValue(numbers(), StructValue.absentSlots(numbers()));
+        value.setLong(0, 42);
+        value.setDouble(2, 0.1);
+        value.setBoolean(3, true);
+
+        assertTrue(value.isPacked(0));
+        assertEquals(42, value.get(0));
+        assertEquals(0.1f, value.get("D"));
+        assertEquals(0.1f, (float) value.getDouble(2));
+        assertEquals(Map.of("I", 42, "D", 0.1f, "B", true), value.fields());
+
+        value.fields().put("I", 7);
+        assertFalse(value.isPacked(0));
+        assertEquals(7L, value.getLong(0));
+
+        assertThrows(IllegalArgumentException.class, () -> value.setLong(0, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> value.setLong(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> value.setDouble(0, 1));
+        assertThrows(NullPointerException.class, () -> value.getLong(1));
+    }
+
+    @Test
+    void copySlotKeepsPackedValues() {
+        StructValue source = new StructValue(numbers(), StructValue.absentSlots(numbers()));
+        source.setLong(0, -3);
+        source.set(1, "s");
+        StructValue target = new StructValue(numbers(), StructValue.absentSlots(numbers()));
+        source.copySlot(0, target, 0);
+        source.copySlot(1, target, 1);
+        source.copySlot(2, target, 2);
+
+        assertTrue(target.isPacked(0));
+        assertEquals(-3, target.get(0));
+        assertEquals("s", target.get(1));
+        assertFalse(target.has(2));
+    }
+
+    @Test
+    void primitiveListEqualsBoxedList() {
+        PrimitiveList list = PrimitiveList.of(PrimitiveKind.INT64, 3);
+        list.setLong(0, 1);
+        list.setLong(2, 3);
+        assertEquals(List.of(1L, 0L, 3L), list);
+        assertEquals(list, List.of(1L, 0L, 3L));
+        assertEquals(List.of(1L, 0L, 3L).hashCode(), list.hashCode());
+
+        list.set(1, 2L);
+        assertEquals(2L, list.getLong(1));
+        assertThrows(ClassCastException.class, () -> list.set(1, 2));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(4L));
+
+        PrimitiveList floats = PrimitiveList.of(PrimitiveKind.FLOAT32, 1);
+        floats.setDouble(0, 0.1);
+        assertEquals(List.of(0.1f), floats);
+    }
+}